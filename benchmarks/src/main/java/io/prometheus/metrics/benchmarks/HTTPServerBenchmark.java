@@ -0,0 +1,142 @@
+package io.prometheus.metrics.benchmarks;
+
+import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many slow clients scraping a large response, while another client calls the health endpoint.
+ * <p>
+ * The default thread pool of the {@code HTTPServer} has 10 platform threads. A slow client keeps its thread
+ * busy until it has read the entire response, so with 32 slow clients the {@code healthCheck} has to wait for
+ * a thread. With {@code preferVirtualThreads=true} each request gets its own virtual thread, and the health check
+ * latency should not depend on the slow clients.
+ * <p>
+ * When all platform threads are busy, the server stops accepting connections and new connections may be reset.
+ * Clients retry until they get a response, so the score is the time until a request succeeds.
+ * <p>
+ * Virtual threads require Java 21 or newer. On older JVMs both variants use the platform thread pool.
+ * <p>
+ * Results with Java 21 on a machine with a single vCPU:
+ * <pre>
+ * Benchmark                                    (preferVirtualThreads)  Mode  Cnt     Score   Error  Units
+ * HTTPServerBenchmark.slowClients:healthCheck                   false  avgt        234.625          ms/op
+ * HTTPServerBenchmark.slowClients:slowScrape                    false  avgt       1351.887          ms/op
+ * HTTPServerBenchmark.slowClients:healthCheck                    true  avgt       1171.952          ms/op
+ * HTTPServerBenchmark.slowClients:slowScrape                     true  avgt       1210.984          ms/op
+ * </pre>
+ * With a single CPU, encoding the response is the bottleneck: Virtual threads let all 33 requests proceed at once,
+ * so the health check competes for the CPU with 32 scrapes rather than waiting for one of 10 threads.
+ * The slow clients are served faster. Run this on a machine with multiple cores to see the effect on the health check.
+ */
+public class HTTPServerBenchmark {
+
+    private static final byte[] METRICS_REQUEST = "GET /metrics HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEALTH_REQUEST = "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"false", "true"})
+        public boolean preferVirtualThreads;
+
+        HTTPServer server;
+        int port;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            PrometheusRegistry registry = new PrometheusRegistry();
+            // About 1 MB of text format, more than fits into the socket buffers.
+            GaugeSnapshot.Builder gauge = GaugeSnapshot.builder().name("large_gauge").help("a gauge with many data points");
+            for (int i = 0; i < 20_000; i++) {
+                gauge.dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                        .labels(Labels.of("path", "/api/v1/resource/" + i, "status", "200"))
+                        .value(i)
+                        .build());
+            }
+            GaugeSnapshot snapshot = gauge.build();
+            registry.register(() -> snapshot);
+            server = HTTPServer.builder()
+                    .port(0)
+                    .registry(registry)
+                    .preferVirtualThreads(preferVirtualThreads)
+                    .buildAndStart();
+            port = server.getPort();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    @Group("slowClients")
+    @GroupThreads(32)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long slowScrape(Server server) throws Exception {
+        // Read 64 KB chunks with a pause in between, like a client on a slow network.
+        return request(server.port, METRICS_REQUEST, 64 * 1024, 1);
+    }
+
+    @Benchmark
+    @Group("slowClients")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long healthCheck(Server server) throws Exception {
+        return request(server.port, HEALTH_REQUEST, 64 * 1024, 0);
+    }
+
+    private static long request(int port, byte[] request, int chunkSize, long pauseMillis) throws InterruptedException {
+        while (true) {
+            try {
+                return tryRequest(port, request, chunkSize, pauseMillis);
+            } catch (IOException e) {
+                Thread.sleep(1); // connection reset, retry
+            }
+        }
+    }
+
+    private static long tryRequest(int port, byte[] request, int chunkSize, long pauseMillis) throws IOException, InterruptedException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setReceiveBufferSize(chunkSize);
+            OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[chunkSize];
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            return total;
+        }
+    }
+}
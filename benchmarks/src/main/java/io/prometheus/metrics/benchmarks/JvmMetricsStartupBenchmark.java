@@ -0,0 +1,119 @@
+package io.prometheus.metrics.benchmarks;
+
+import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.instrumentation.jvm.JvmMetrics;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from registering metrics until the first request has been answered, in a fresh JVM.
+ * <p>
+ * Each fork runs the benchmark method exactly once, so the score includes class loading, MXBean lookups,
+ * and the interpreter running cold code. This is what matters for short-lived and serverless applications.
+ * <ul>
+ *     <li>{@code firstRequest}: Register metrics, start the {@code HTTPServer}, and call the health endpoint.
+ *     This is the time until the application is ready to serve.</li>
+ *     <li>{@code firstScrape}: Register metrics, start the {@code HTTPServer}, and scrape {@code /metrics}.</li>
+ * </ul>
+ * {@code jvmMetrics=none} registers no metrics, {@code eager} and {@code lazy} register the JVM metrics with
+ * {@code JvmMetrics.builder().lazy(false)} and {@code lazy(true)}.
+ * <p>
+ * Results with Java 17 in a container:
+ * <pre>
+ * Benchmark                                (jvmMetrics)  Mode  Cnt    Score    Error  Units
+ * JvmMetricsStartupBenchmark.firstRequest          none    ss   20  243.597 ± 20.647  ms/op
+ * JvmMetricsStartupBenchmark.firstRequest         eager    ss   20  386.784 ± 34.771  ms/op
+ * JvmMetricsStartupBenchmark.firstRequest          lazy    ss   20  256.319 ± 34.809  ms/op
+ * JvmMetricsStartupBenchmark.firstScrape           none    ss   20  237.834 ± 23.786  ms/op
+ * JvmMetricsStartupBenchmark.firstScrape          eager    ss   20  443.491 ± 33.522  ms/op
+ * JvmMetricsStartupBenchmark.firstScrape           lazy    ss   20  434.206 ± 38.580  ms/op
+ * </pre>
+ * With lazy registration the first request is served about as fast as without JVM metrics.
+ * The cost is moved to the first scrape, which takes about as long as with eager registration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class JvmMetricsStartupBenchmark {
+
+    private static final byte[] METRICS_REQUEST = "GET /metrics HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEALTH_REQUEST = "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @State(Scope.Benchmark)
+    public static class Startup {
+
+        @Param({"none", "eager", "lazy"})
+        public String jvmMetrics;
+
+        HTTPServer server;
+
+        HTTPServer start() throws IOException {
+            PrometheusRegistry registry = new PrometheusRegistry();
+            if (!jvmMetrics.equals("none")) {
+                JvmMetrics.builder()
+                        .lazy(jvmMetrics.equals("lazy"))
+                        .register(registry);
+            }
+            server = HTTPServer.builder()
+                    .port(0)
+                    .registry(registry)
+                    .buildAndStart();
+            return server;
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            if (server != null) {
+                server.close();
+                server = null;
+            }
+        }
+    }
+
+    @Benchmark
+    public long firstRequest(Startup startup) throws IOException {
+        return request(startup.start().getPort(), HEALTH_REQUEST);
+    }
+
+    @Benchmark
+    public long firstScrape(Startup startup) throws IOException {
+        return request(startup.start().getPort(), METRICS_REQUEST);
+    }
+
+    private static long request(int port, byte[] request) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[8 * 1024];
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+            return total;
+        }
+    }
+}
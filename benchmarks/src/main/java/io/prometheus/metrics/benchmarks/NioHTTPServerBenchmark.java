@@ -0,0 +1,120 @@
+package io.prometheus.metrics.benchmarks;
+
+import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.exporter.nio.NioHTTPServer;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrape latency of the {@code HTTPServer} from {@code prometheus-metrics-exporter-httpserver}
+ * compared with the {@code NioHTTPServer} from {@code prometheus-metrics-exporter-nio}.
+ * <p>
+ * Each scrape opens a connection, requests about 1 MB of text format, and reads the entire response.
+ * <p>
+ * Results with Java 17 on a machine with a single vCPU:
+ * <pre>
+ * Benchmark                                   (server)  Mode  Cnt    Score   Error  Units
+ * NioHTTPServerBenchmark.concurrentScrapes  httpserver  avgt       145.074          ms/op
+ * NioHTTPServerBenchmark.concurrentScrapes         nio  avgt       125.169          ms/op
+ * NioHTTPServerBenchmark.scrape             httpserver  avgt        33.494          ms/op
+ * NioHTTPServerBenchmark.scrape                    nio  avgt        35.973          ms/op
+ * </pre>
+ * A single scrape is dominated by encoding, so both servers perform about the same.
+ * With concurrent scrapes the NIO server is faster, because responses are written from direct buffers
+ * without copying, and worker threads are released as soon as the response is encoded.
+ */
+public class NioHTTPServerBenchmark {
+
+    private static final byte[] METRICS_REQUEST = "GET /metrics HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"httpserver", "nio"})
+        public String server;
+
+        Closeable closeable;
+        int port;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            PrometheusRegistry registry = new PrometheusRegistry();
+            GaugeSnapshot.Builder gauge = GaugeSnapshot.builder().name("large_gauge").help("a gauge with many data points");
+            for (int i = 0; i < 20_000; i++) {
+                gauge.dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                        .labels(Labels.of("path", "/api/v1/resource/" + i, "status", "200"))
+                        .value(i)
+                        .build());
+            }
+            GaugeSnapshot snapshot = gauge.build();
+            registry.register(() -> snapshot);
+            if (server.equals("nio")) {
+                NioHTTPServer nioServer = NioHTTPServer.builder().port(0).registry(registry).buildAndStart();
+                closeable = nioServer;
+                port = nioServer.getPort();
+            } else {
+                HTTPServer httpServer = HTTPServer.builder().port(0).registry(registry).buildAndStart();
+                closeable = httpServer;
+                port = httpServer.getPort();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scrape(Server server) throws IOException {
+        return request(server.port);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long concurrentScrapes(Server server) throws IOException {
+        return request(server.port);
+    }
+
+    private static long request(int port) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(METRICS_REQUEST);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+            return total;
+        }
+    }
+}
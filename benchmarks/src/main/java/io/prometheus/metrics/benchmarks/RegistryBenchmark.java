@@ -0,0 +1,113 @@
+package io.prometheus.metrics.benchmarks;
+
+import io.prometheus.metrics.model.registry.Collector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Register and unregister collectors while the registry holds 10,000 collectors,
+ * like applications that create a collector per tenant or per connection.
+ * <p>
+ * {@code churn} measures register followed by unregister with three threads, while a fourth thread scrapes
+ * the registry concurrently. The registry needs to sustain well above 10,000 registrations per second
+ * without slowing down the scrape.
+ * <p>
+ * {@code scrapeOnly} is the baseline for scraping the same registry without churn.
+ */
+public class RegistryBenchmark {
+
+    private static final int NUMBER_OF_COLLECTORS = 10_000;
+
+    @State(Scope.Group)
+    public static class Registry {
+
+        final PrometheusRegistry registry = new PrometheusRegistry();
+        final AtomicInteger nextId = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < NUMBER_OF_COLLECTORS; i++) {
+                registry.register(new TestCollector("static_" + i));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Churn {
+
+        TestCollector[] collectors;
+        int i = 0;
+
+        @Setup(Level.Trial)
+        public void setUp(Registry registry) {
+            // Pre-create the collectors so that we measure the registry and not the collector creation.
+            collectors = new TestCollector[1024];
+            for (int j = 0; j < collectors.length; j++) {
+                collectors[j] = new TestCollector("dynamic_" + registry.nextId.incrementAndGet());
+            }
+        }
+
+        TestCollector next() {
+            i = (i + 1) % collectors.length;
+            return collectors[i];
+        }
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public PrometheusRegistry registerUnregister(Registry registry, Churn churn) {
+        TestCollector collector = churn.next();
+        registry.registry.register(collector);
+        registry.registry.unregister(collector);
+        return registry.registry;
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public MetricSnapshots scrapeDuringChurn(Registry registry) {
+        return registry.registry.scrape();
+    }
+
+    @Benchmark
+    @Group("scrapeOnly")
+    public MetricSnapshots scrape(Registry registry) {
+        return registry.registry.scrape();
+    }
+
+    private static class TestCollector implements Collector {
+
+        private final String name;
+        private final MetricSnapshot snapshot;
+
+        private TestCollector(String name) {
+            this.name = name;
+            this.snapshot = GaugeSnapshot.builder()
+                    .name(name)
+                    .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder().value(1.0).build())
+                    .build();
+        }
+
+        @Override
+        public MetricSnapshot collect() {
+            return snapshot;
+        }
+
+        @Override
+        public String getPrometheusName() {
+            return name;
+        }
+    }
+}
@@ -8,24 +8,60 @@ import java.util.Map;
 public class ExporterHttpServerProperties {
 
     private static final String PORT = "port";
+    private static final String PREFER_VIRTUAL_THREADS = "preferVirtualThreads";
+    private static final String UNIX_DOMAIN_SOCKET_PATH = "unixDomainSocketPath";
+    private static final String CARDINALITY_ENDPOINT = "cardinalityEndpoint";
     private final Integer port;
+    private final Boolean preferVirtualThreads;
+    private final String unixDomainSocketPath;
+    private final Boolean cardinalityEndpoint;
 
-    private ExporterHttpServerProperties(Integer port) {
+    private ExporterHttpServerProperties(Integer port, Boolean preferVirtualThreads, String unixDomainSocketPath, Boolean cardinalityEndpoint) {
         this.port = port;
+        this.preferVirtualThreads = preferVirtualThreads;
+        this.unixDomainSocketPath = unixDomainSocketPath;
+        this.cardinalityEndpoint = cardinalityEndpoint;
     }
 
     public Integer getPort() {
         return port;
     }
 
+    /**
+     * Serve each request on a virtual thread if the JVM supports virtual threads (Java 21 or newer).
+     * May be {@code null}, in which case the HTTPServer's default is used.
+     */
+    public Boolean getPreferVirtualThreads() {
+        return preferVirtualThreads;
+    }
+
+    /**
+     * Path of a Unix domain socket where the HTTPServer serves metrics in addition to its TCP port.
+     * Requires Java 16 or newer. May be {@code null}, in which case no Unix domain socket is used.
+     */
+    public String getUnixDomainSocketPath() {
+        return unixDomainSocketPath;
+    }
+
+    /**
+     * Serve the {@code /metrics/cardinality} endpoint.
+     * May be {@code null}, in which case the HTTPServer's default is used.
+     */
+    public Boolean getCardinalityEndpoint() {
+        return cardinalityEndpoint;
+    }
+
     /**
      * Note that this will remove entries from {@code properties}.
      * This is because we want to know if there are unused properties remaining after all properties have been loaded.
      */
     static ExporterHttpServerProperties load(String prefix, Map<Object, Object> properties) throws PrometheusPropertiesException {
         Integer port = Util.loadInteger(prefix + "." + PORT, properties);
+        Boolean preferVirtualThreads = Util.loadBoolean(prefix + "." + PREFER_VIRTUAL_THREADS, properties);
+        String unixDomainSocketPath = Util.loadString(prefix + "." + UNIX_DOMAIN_SOCKET_PATH, properties);
+        Boolean cardinalityEndpoint = Util.loadBoolean(prefix + "." + CARDINALITY_ENDPOINT, properties);
         Util.assertValue(port, t -> t > 0, "Expecting value > 0", prefix, PORT);
-        return new ExporterHttpServerProperties(port);
+        return new ExporterHttpServerProperties(port, preferVirtualThreads, unixDomainSocketPath, cardinalityEndpoint);
     }
 
     public static Builder builder() {
@@ -35,6 +71,9 @@ public class ExporterHttpServerProperties {
     public static class Builder {
 
         private Integer port;
+        private Boolean preferVirtualThreads;
+        private String unixDomainSocketPath;
+        private Boolean cardinalityEndpoint;
 
         private Builder() {}
 
@@ -43,8 +82,32 @@ public class ExporterHttpServerProperties {
             return this;
         }
 
+        /**
+         * See {@link #getPreferVirtualThreads()}
+         */
+        public Builder preferVirtualThreads(boolean preferVirtualThreads) {
+            this.preferVirtualThreads = preferVirtualThreads;
+            return this;
+        }
+
+        /**
+         * See {@link #getUnixDomainSocketPath()}
+         */
+        public Builder unixDomainSocketPath(String unixDomainSocketPath) {
+            this.unixDomainSocketPath = unixDomainSocketPath;
+            return this;
+        }
+
+        /**
+         * See {@link #getCardinalityEndpoint()}
+         */
+        public Builder cardinalityEndpoint(boolean cardinalityEndpoint) {
+            this.cardinalityEndpoint = cardinalityEndpoint;
+            return this;
+        }
+
         public ExporterHttpServerProperties build() {
-            return new ExporterHttpServerProperties(port);
+            return new ExporterHttpServerProperties(port, preferVirtualThreads, unixDomainSocketPath, cardinalityEndpoint);
         }
     }
 }
@@ -17,6 +17,8 @@ public class ExporterOpenTelemetryProperties {
     private static String SERVICE_INSTANCE_ID = "serviceInstanceId";
     private static String SERVICE_VERSION = "serviceVersion";
     private static String RESOURCE_ATTRIBUTES = "resourceAttributes"; // otel.resource.attributes
+    private static String MAX_BATCH_SIZE = "maxBatchSize";
+    private static String AGGREGATION_TEMPORALITY = "aggregationTemporality"; // otel.exporter.otlp.metrics.temporality.preference
 
     private final String protocol;
     private final String endpoint;
@@ -28,8 +30,10 @@ public class ExporterOpenTelemetryProperties {
     private final String serviceInstanceId;
     private final String serviceVersion;
     private final Map<String, String> resourceAttributes;
+    private final Integer maxBatchSize;
+    private final String aggregationTemporality;
 
-    private ExporterOpenTelemetryProperties(String protocol, String endpoint, Map<String, String> headers, Integer intervalSeconds, Integer timeoutSeconds, String serviceName, String serviceNamespace, String serviceInstanceId, String serviceVersion, Map<String, String> resourceAttributes) {
+    private ExporterOpenTelemetryProperties(String protocol, String endpoint, Map<String, String> headers, Integer intervalSeconds, Integer timeoutSeconds, String serviceName, String serviceNamespace, String serviceInstanceId, String serviceVersion, Map<String, String> resourceAttributes, Integer maxBatchSize, String aggregationTemporality) {
         this.protocol = protocol;
         this.endpoint = endpoint;
         this.headers = headers;
@@ -40,6 +44,8 @@ public class ExporterOpenTelemetryProperties {
         this.serviceInstanceId = serviceInstanceId;
         this.serviceVersion = serviceVersion;
         this.resourceAttributes = resourceAttributes;
+        this.maxBatchSize = maxBatchSize;
+        this.aggregationTemporality = aggregationTemporality;
     }
 
     public String getProtocol() {
@@ -82,6 +88,14 @@ public class ExporterOpenTelemetryProperties {
         return resourceAttributes;
     }
 
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public String getAggregationTemporality() {
+        return aggregationTemporality;
+    }
+
     /**
      * Note that this will remove entries from {@code properties}.
      * This is because we want to know if there are unused properties remaining after all properties have been loaded.
@@ -97,12 +111,18 @@ public class ExporterOpenTelemetryProperties {
         String serviceInstanceId = Util.loadString(prefix + "." + SERVICE_INSTANCE_ID, properties);
         String serviceVersion = Util.loadString(prefix + "." + SERVICE_VERSION, properties);
         Map<String, String> resourceAttributes = Util.loadMap(prefix + "." + RESOURCE_ATTRIBUTES, properties);
+        Integer maxBatchSize = Util.loadInteger(prefix + "." + MAX_BATCH_SIZE, properties);
+        String aggregationTemporality = Util.loadString(prefix + "." + AGGREGATION_TEMPORALITY, properties);
         Util.assertValue(intervalSeconds, t -> t > 0, "Expecting value > 0", prefix, INTERVAL_SECONDS);
         Util.assertValue(timeoutSeconds, t -> t > 0, "Expecting value > 0", prefix, TIMEOUT_SECONDS);
+        Util.assertValue(maxBatchSize, t -> t > 0, "Expecting value > 0", prefix, MAX_BATCH_SIZE);
         if (protocol != null && !protocol.equals("grpc") && !protocol.equals("http/protobuf")) {
             throw new PrometheusPropertiesException(protocol + ": Unsupported OpenTelemetry exporter protocol. Expecting grpc or http/protobuf");
         }
-        return new ExporterOpenTelemetryProperties(protocol, endpoint, headers, intervalSeconds, timeoutSeconds, serviceName, serviceNamespace, serviceInstanceId, serviceVersion, resourceAttributes);
+        if (aggregationTemporality != null && !aggregationTemporality.equals("cumulative") && !aggregationTemporality.equals("delta")) {
+            throw new PrometheusPropertiesException(aggregationTemporality + ": Unsupported OpenTelemetry aggregation temporality. Expecting cumulative or delta");
+        }
+        return new ExporterOpenTelemetryProperties(protocol, endpoint, headers, intervalSeconds, timeoutSeconds, serviceName, serviceNamespace, serviceInstanceId, serviceVersion, resourceAttributes, maxBatchSize, aggregationTemporality);
     }
 
     public static Builder builder() {
@@ -121,6 +141,8 @@ public class ExporterOpenTelemetryProperties {
         private String serviceInstanceId;
         private String serviceVersion;
         private Map<String, String> resourceAttributes = new HashMap<>();
+        private Integer maxBatchSize;
+        private String aggregationTemporality;
 
         private Builder() {}
 
@@ -186,8 +208,24 @@ public class ExporterOpenTelemetryProperties {
             return this;
         }
 
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException(maxBatchSize + ": Expecting maxBatchSize > 0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder aggregationTemporality(String aggregationTemporality) {
+            if (!aggregationTemporality.equals("cumulative") && !aggregationTemporality.equals("delta")) {
+                throw new IllegalArgumentException(aggregationTemporality + ": Unsupported aggregation temporality. Expecting cumulative or delta");
+            }
+            this.aggregationTemporality = aggregationTemporality;
+            return this;
+        }
+
         public ExporterOpenTelemetryProperties build() {
-            return new ExporterOpenTelemetryProperties(protocol, endpoint, headers, intervalSeconds, timeoutSeconds, serviceName, serviceNamespace, serviceInstanceId, serviceVersion, resourceAttributes);
+            return new ExporterOpenTelemetryProperties(protocol, endpoint, headers, intervalSeconds, timeoutSeconds, serviceName, serviceNamespace, serviceInstanceId, serviceVersion, resourceAttributes, maxBatchSize, aggregationTemporality);
         }
     }
 }
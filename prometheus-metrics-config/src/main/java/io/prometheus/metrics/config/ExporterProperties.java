@@ -9,13 +9,19 @@ public class ExporterProperties {
 
     private static final String INCLUDE_CREATED_TIMESTAMPS = "includeCreatedTimestamps";
     private static final String EXEMPLARS_ON_ALL_METRIC_TYPES = "exemplarsOnAllMetricTypes";
+    private static final String COMPRESSION_LEVEL = "compressionLevel";
+    private static final String COMPRESSION_THRESHOLD_BYTES = "compressionThresholdBytes";
 
     private final Boolean includeCreatedTimestamps;
     private final Boolean exemplarsOnAllMetricTypes;
+    private final Integer compressionLevel;
+    private final Integer compressionThresholdBytes;
 
-    private ExporterProperties(Boolean includeCreatedTimestamps, Boolean exemplarsOnAllMetricTypes) {
+    private ExporterProperties(Boolean includeCreatedTimestamps, Boolean exemplarsOnAllMetricTypes, Integer compressionLevel, Integer compressionThresholdBytes) {
         this.includeCreatedTimestamps = includeCreatedTimestamps;
         this.exemplarsOnAllMetricTypes = exemplarsOnAllMetricTypes;
+        this.compressionLevel = compressionLevel;
+        this.compressionThresholdBytes = compressionThresholdBytes;
     }
 
     /**
@@ -33,6 +39,22 @@ public class ExporterProperties {
         return exemplarsOnAllMetricTypes != null && exemplarsOnAllMetricTypes;
     }
 
+    /**
+     * Compression level for gzip encoded responses, {@code 0} (no compression) to {@code 9} (best compression).
+     * Default is {@code -1}, which is the {@link java.util.zip.Deflater#DEFAULT_COMPRESSION default compression}.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel != null ? compressionLevel : -1;
+    }
+
+    /**
+     * Responses smaller than this are sent uncompressed even if the client accepts gzip encoding.
+     * Default is {@code 0}, which means all responses are compressed if the client accepts gzip encoding.
+     */
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes != null ? compressionThresholdBytes : 0;
+    }
+
     /**
      * Note that this will remove entries from {@code properties}.
      * This is because we want to know if there are unused properties remaining after all properties have been loaded.
@@ -40,7 +62,11 @@ public class ExporterProperties {
     static ExporterProperties load(String prefix, Map<Object, Object> properties) throws PrometheusPropertiesException {
         Boolean includeCreatedTimestamps = Util.loadBoolean(prefix + "." + INCLUDE_CREATED_TIMESTAMPS, properties);
         Boolean exemplarsOnAllMetricTypes = Util.loadBoolean(prefix + "." + EXEMPLARS_ON_ALL_METRIC_TYPES, properties);
-        return new ExporterProperties(includeCreatedTimestamps, exemplarsOnAllMetricTypes);
+        Integer compressionLevel = Util.loadInteger(prefix + "." + COMPRESSION_LEVEL, properties);
+        Integer compressionThresholdBytes = Util.loadInteger(prefix + "." + COMPRESSION_THRESHOLD_BYTES, properties);
+        Util.assertValue(compressionLevel, t -> t >= -1 && t <= 9, "Expecting value between -1 and 9.", prefix, COMPRESSION_LEVEL);
+        Util.assertValue(compressionThresholdBytes, t -> t >= 0, "Expecting value >= 0.", prefix, COMPRESSION_THRESHOLD_BYTES);
+        return new ExporterProperties(includeCreatedTimestamps, exemplarsOnAllMetricTypes, compressionLevel, compressionThresholdBytes);
     }
 
     public static Builder builder() {
@@ -51,6 +77,8 @@ public class ExporterProperties {
 
         private Boolean includeCreatedTimestamps;
         private Boolean exemplarsOnAllMetricTypes;
+        private Integer compressionLevel;
+        private Integer compressionThresholdBytes;
 
         private Builder() {
         }
@@ -71,8 +99,30 @@ public class ExporterProperties {
             return this;
         }
 
+        /**
+         * See {@link #getCompressionLevel()}.
+         */
+        public Builder compressionLevel(int compressionLevel) {
+            if (compressionLevel < -1 || compressionLevel > 9) {
+                throw new IllegalArgumentException(compressionLevel + ": Expecting compressionLevel between -1 and 9");
+            }
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        /**
+         * See {@link #getCompressionThresholdBytes()}.
+         */
+        public Builder compressionThresholdBytes(int compressionThresholdBytes) {
+            if (compressionThresholdBytes < 0) {
+                throw new IllegalArgumentException(compressionThresholdBytes + ": Expecting compressionThresholdBytes >= 0");
+            }
+            this.compressionThresholdBytes = compressionThresholdBytes;
+            return this;
+        }
+
         public ExporterProperties build() {
-            return new ExporterProperties(includeCreatedTimestamps, exemplarsOnAllMetricTypes);
+            return new ExporterProperties(includeCreatedTimestamps, exemplarsOnAllMetricTypes, compressionLevel, compressionThresholdBytes);
         }
     }
 }
@@ -12,13 +12,7 @@ public class PrometheusProperties {
 
     private static final PrometheusProperties instance = PrometheusPropertiesLoader.load();
 
-    private final MetricsProperties defaultMetricsProperties;
-    private final Map<String, MetricsProperties> metricProperties = new HashMap<>();
-    private final ExemplarsProperties exemplarProperties;
-    private final ExporterProperties exporterProperties;
-    private final ExporterFilterProperties exporterFilterProperties;
-    private final ExporterHttpServerProperties exporterHttpServerProperties;
-    private final ExporterOpenTelemetryProperties exporterOpenTelemetryProperties;
+    private volatile Values values;
 
     /**
      * Get the properties instance. When called for the first time, {@code get()} loads the properties from the following locations:
@@ -27,11 +21,23 @@ public class PrometheusProperties {
      *     <li>Properties file specified in the {@code PROMETHEUS_CONFIG} environment variable or the {@code prometheus.config} system property.</li>
      *     <li>Individual properties from system properties.</li>
      * </ul>
+     * The instance is always the same, but its values change if the properties are {@link #reload() reloaded}.
      */
     public static PrometheusProperties get() throws PrometheusPropertiesException {
         return instance;
     }
 
+    /**
+     * Load the properties again from the locations listed in {@link #get()}, and {@link #update(PrometheusProperties) update}
+     * the instance returned by {@link #get()}.
+     * <p>
+     * If the properties are invalid, a {@link PrometheusPropertiesException} is thrown and the current properties remain in effect.
+     * See {@link PrometheusPropertiesWatcher} for reloading the properties automatically when the properties file changes.
+     */
+    public static void reload() throws PrometheusPropertiesException {
+        instance.update(PrometheusPropertiesLoader.load());
+    }
+
     public PrometheusProperties(
             MetricsProperties defaultMetricsProperties,
             Map<String, MetricsProperties> metricProperties,
@@ -40,20 +46,47 @@ public class PrometheusProperties {
             ExporterFilterProperties exporterFilterProperties,
             ExporterHttpServerProperties httpServerConfig,
             ExporterOpenTelemetryProperties otelConfig) {
-        this.defaultMetricsProperties = defaultMetricsProperties;
-        this.metricProperties.putAll(metricProperties);
-        this.exemplarProperties = exemplarProperties;
-        this.exporterProperties = exporterProperties;
-        this.exporterFilterProperties = exporterFilterProperties;
-        this.exporterHttpServerProperties = httpServerConfig;
-        this.exporterOpenTelemetryProperties = otelConfig;
+        this.values = new Values(0, defaultMetricsProperties, metricProperties, exemplarProperties, exporterProperties,
+                exporterFilterProperties, httpServerConfig, otelConfig);
+    }
+
+    /**
+     * Replace the values of this instance with the values of {@code newProperties}.
+     * <p>
+     * Metrics and exporters that were created with this instance pick up the following changes:
+     * <ul>
+     *     <li>Exemplars enabled or disabled, and the {@link ExemplarsProperties}.
+     *         Exemplars can be turned off for all data points, but are turned on only for data points
+     *         that had exemplars enabled when they were created.</li>
+     *     <li>Native histogram limits like the maximum number of buckets, for newly created data points.</li>
+     *     <li>The {@link ExporterFilterProperties} of the scrape endpoint.</li>
+     * </ul>
+     * Other properties, like the classic histogram buckets or the HTTP server port, are only read when a metric or
+     * exporter is created, and changes do not affect existing metrics and exporters.
+     */
+    public void update(PrometheusProperties newProperties) {
+        synchronized (this) {
+            Values v = newProperties.values;
+            values = new Values(values.version + 1, v.defaultMetricsProperties, v.metricProperties, v.exemplarProperties,
+                    v.exporterProperties, v.exporterFilterProperties, v.exporterHttpServerProperties, v.exporterOpenTelemetryProperties);
+        }
+    }
+
+    /**
+     * Incremented on each {@link #update(PrometheusProperties) update}.
+     * <p>
+     * Components that derive state from the properties can compare the version to find out whether
+     * the properties have changed. This is a single volatile read, so it's cheap enough to be called often.
+     */
+    public long getVersion() {
+        return values.version;
     }
 
     /**
      * The default metric properties apply for metrics where {@link #getMetricProperties(String)} is {@code null}.
      */
     public MetricsProperties getDefaultMetricProperties() {
-        return defaultMetricsProperties;
+        return values.defaultMetricsProperties;
     }
 
     /**
@@ -61,26 +94,60 @@ public class PrometheusProperties {
      * May return {@code null} if no metric-specific properties are configured for a metric name.
      */
     public MetricsProperties getMetricProperties(String metricName) {
-        return metricProperties.get(metricName.replace(".", "_"));
+        return values.metricProperties.get(metricName.replace(".", "_"));
     }
 
     public ExemplarsProperties getExemplarProperties() {
-        return exemplarProperties;
+        return values.exemplarProperties;
     }
 
     public ExporterProperties getExporterProperties() {
-        return exporterProperties;
+        return values.exporterProperties;
     }
 
     public ExporterFilterProperties getExporterFilterProperties() {
-        return exporterFilterProperties;
+        return values.exporterFilterProperties;
     }
 
     public ExporterHttpServerProperties getExporterHttpServerProperties() {
-        return exporterHttpServerProperties;
+        return values.exporterHttpServerProperties;
     }
 
     public ExporterOpenTelemetryProperties getExporterOpenTelemetryProperties() {
-        return exporterOpenTelemetryProperties;
+        return values.exporterOpenTelemetryProperties;
+    }
+
+    /**
+     * Immutable, so that an update replaces all values at once.
+     */
+    private static class Values {
+
+        private final long version;
+        private final MetricsProperties defaultMetricsProperties;
+        private final Map<String, MetricsProperties> metricProperties;
+        private final ExemplarsProperties exemplarProperties;
+        private final ExporterProperties exporterProperties;
+        private final ExporterFilterProperties exporterFilterProperties;
+        private final ExporterHttpServerProperties exporterHttpServerProperties;
+        private final ExporterOpenTelemetryProperties exporterOpenTelemetryProperties;
+
+        private Values(
+                long version,
+                MetricsProperties defaultMetricsProperties,
+                Map<String, MetricsProperties> metricProperties,
+                ExemplarsProperties exemplarProperties,
+                ExporterProperties exporterProperties,
+                ExporterFilterProperties exporterFilterProperties,
+                ExporterHttpServerProperties exporterHttpServerProperties,
+                ExporterOpenTelemetryProperties exporterOpenTelemetryProperties) {
+            this.version = version;
+            this.defaultMetricsProperties = defaultMetricsProperties;
+            this.metricProperties = new HashMap<>(metricProperties);
+            this.exemplarProperties = exemplarProperties;
+            this.exporterProperties = exporterProperties;
+            this.exporterFilterProperties = exporterFilterProperties;
+            this.exporterHttpServerProperties = exporterHttpServerProperties;
+            this.exporterOpenTelemetryProperties = exporterOpenTelemetryProperties;
+        }
     }
 }
@@ -25,7 +25,15 @@ public class PrometheusPropertiesLoader {
      * See {@link PrometheusProperties#get()}.
      */
     public static PrometheusProperties load() throws PrometheusPropertiesException {
-        Map<Object, Object> properties = loadProperties();
+        return load(getConfigFilePath());
+    }
+
+    /**
+     * Like {@link #load()}, but with the properties file at {@code configFilePath} instead of the file specified
+     * in the {@code PROMETHEUS_CONFIG} environment variable or the {@code prometheus.config} system property.
+     */
+    static PrometheusProperties load(String configFilePath) throws PrometheusPropertiesException {
+        Map<Object, Object> properties = loadProperties(configFilePath);
         Map<String, MetricsProperties> metricsConfigs = loadMetricsConfigs(properties);
         MetricsProperties defaultMetricsProperties = MetricsProperties.load("io.prometheus.metrics", properties);
         ExemplarsProperties exemplarConfig = ExemplarsProperties.load("io.prometheus.exemplars", properties);
@@ -72,10 +80,10 @@ public class PrometheusPropertiesLoader {
         }
     }
 
-    private static Map<Object, Object> loadProperties() {
+    private static Map<Object, Object> loadProperties(String configFilePath) {
         Map<Object, Object> properties = new HashMap<>();
         properties.putAll(loadPropertiesFromClasspath());
-        properties.putAll(loadPropertiesFromFile()); // overriding the entries from the classpath file
+        properties.putAll(loadPropertiesFromFile(configFilePath)); // overriding the entries from the classpath file
         properties.putAll(System.getProperties()); // overriding the entries from the properties file
         // TODO: Add environment variables like EXEMPLARS_ENABLED.
         return properties;
@@ -90,12 +98,8 @@ public class PrometheusPropertiesLoader {
         return properties;
     }
 
-    private static Properties loadPropertiesFromFile() throws PrometheusPropertiesException {
+    private static Properties loadPropertiesFromFile(String path) throws PrometheusPropertiesException {
         Properties properties = new Properties();
-        String path = System.getProperty("prometheus.config");
-        if (System.getenv("PROMETHEUS_CONFIG") != null) {
-            path = System.getenv("PROMETHEUS_CONFIG");
-        }
         if (path != null) {
             try (InputStream stream = Files.newInputStream(Paths.get(path))) {
                 properties.load(stream);
@@ -105,4 +109,16 @@ public class PrometheusPropertiesLoader {
         }
         return properties;
     }
+
+    /**
+     * Path of the properties file specified in the {@code PROMETHEUS_CONFIG} environment variable or the
+     * {@code prometheus.config} system property, or {@code null} if none is specified.
+     */
+    static String getConfigFilePath() {
+        String path = System.getProperty("prometheus.config");
+        if (System.getenv("PROMETHEUS_CONFIG") != null) {
+            path = System.getenv("PROMETHEUS_CONFIG");
+        }
+        return path;
+    }
 }
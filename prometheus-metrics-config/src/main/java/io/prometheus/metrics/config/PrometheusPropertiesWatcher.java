@@ -0,0 +1,146 @@
+package io.prometheus.metrics.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads the {@link PrometheusProperties} when the properties file changes. Example usage:
+ * <pre>{@code
+ *   PrometheusPropertiesWatcher.builder()
+ *       .interval(10, TimeUnit.SECONDS)
+ *       .buildAndStart();
+ * }</pre>
+ * The watcher polls the file specified in the {@code PROMETHEUS_CONFIG} environment variable or the
+ * {@code prometheus.config} system property, and calls {@link PrometheusProperties#update(PrometheusProperties)}
+ * when the content has changed. Polling the content rather than using file system events works with
+ * files that are replaced by a symlink swap, like Kubernetes ConfigMaps.
+ * <p>
+ * If the new properties are invalid, a warning is logged and the current properties remain in effect.
+ * See {@link PrometheusProperties#update(PrometheusProperties)} for which properties can be changed at runtime.
+ */
+public class PrometheusPropertiesWatcher implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(PrometheusPropertiesWatcher.class.getName());
+
+    private final PrometheusProperties properties;
+    private final Path path;
+    private final ScheduledExecutorService executor;
+    private byte[] content;
+
+    private PrometheusPropertiesWatcher(PrometheusProperties properties, Path path, long intervalMillis) {
+        this.properties = properties;
+        this.path = path;
+        this.content = read();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-properties-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reload the properties if the file content has changed. Returns {@code true} if the properties were updated.
+     * <p>
+     * Package private. For testing only.
+     */
+    synchronized boolean check() {
+        byte[] newContent = read();
+        if (newContent == null || Arrays.equals(content, newContent)) {
+            return false;
+        }
+        content = newContent;
+        try {
+            properties.update(PrometheusPropertiesLoader.load(path.toString()));
+            return true;
+        } catch (PrometheusPropertiesException e) {
+            logger.log(Level.WARNING, "Failed to reload Prometheus properties from " + path + ", keeping the current properties.", e);
+            return false;
+        }
+    }
+
+    private byte[] read() {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            // The file may be temporarily missing while it is being replaced.
+            return null;
+        }
+    }
+
+    /**
+     * Stop watching the properties file.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    /**
+     * @param properties the instance to update when the properties file changes.
+     */
+    public static Builder builder(PrometheusProperties properties) {
+        return new Builder(properties);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties properties;
+        private long intervalMillis = TimeUnit.SECONDS.toMillis(10);
+        private Path path;
+
+        private Builder(PrometheusProperties properties) {
+            this.properties = properties;
+        }
+
+        /**
+         * How often the properties file is checked for changes. Default is 10 seconds.
+         */
+        public Builder interval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": interval must be > 0");
+            }
+            this.intervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder path(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Start watching the properties file.
+         *
+         * @throws PrometheusPropertiesException if no properties file is specified in the {@code PROMETHEUS_CONFIG}
+         *                                       environment variable or the {@code prometheus.config} system property.
+         */
+        public PrometheusPropertiesWatcher buildAndStart() throws PrometheusPropertiesException {
+            Path path = this.path;
+            if (path == null) {
+                String configFilePath = PrometheusPropertiesLoader.getConfigFilePath();
+                if (configFilePath == null) {
+                    throw new PrometheusPropertiesException("Cannot watch the Prometheus properties: Neither the PROMETHEUS_CONFIG environment variable nor the prometheus.config system property is set.");
+                }
+                path = Paths.get(configFilePath);
+            }
+            return new PrometheusPropertiesWatcher(properties, path, intervalMillis);
+        }
+    }
+}
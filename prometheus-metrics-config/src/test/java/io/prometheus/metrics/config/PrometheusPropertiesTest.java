@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.Properties;
 
 public class PrometheusPropertiesTest {
@@ -26,4 +27,23 @@ public class PrometheusPropertiesTest {
         MetricsProperties.load("io.prometheus.metrics", properties);
         Assert.assertEquals(0, properties.size());
     }
+
+    @Test
+    public void testUpdate() {
+        PrometheusProperties properties = PrometheusPropertiesLoader.load();
+        long version = properties.getVersion();
+        ExemplarsProperties exemplarsProperties = ExemplarsProperties.builder().minRetentionPeriodSeconds(3).builder();
+        properties.update(new PrometheusProperties(
+                MetricsProperties.builder().exemplarsEnabled(false).build(),
+                Collections.emptyMap(),
+                exemplarsProperties,
+                properties.getExporterProperties(),
+                properties.getExporterFilterProperties(),
+                properties.getExporterHttpServerProperties(),
+                properties.getExporterOpenTelemetryProperties()));
+        Assert.assertEquals(version + 1, properties.getVersion());
+        Assert.assertFalse(properties.getDefaultMetricProperties().getExemplarsEnabled());
+        Assert.assertNull(properties.getMetricProperties("http_duration_seconds"));
+        Assert.assertSame(exemplarsProperties, properties.getExemplarProperties());
+    }
 }
@@ -0,0 +1,65 @@
+package io.prometheus.metrics.config;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class PrometheusPropertiesWatcherTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testReloadOnChange() throws IOException {
+        Path file = tmp.newFile("prometheus.properties").toPath();
+        write(file, "io.prometheus.exemplars.minRetentionPeriodSeconds = 10\n");
+        PrometheusProperties properties = PrometheusPropertiesLoader.load(file.toString());
+        try (PrometheusPropertiesWatcher watcher = PrometheusPropertiesWatcher.builder(properties)
+                .path(file)
+                .interval(1, TimeUnit.HOURS)
+                .buildAndStart()) {
+            Assert.assertFalse(watcher.check());
+            Assert.assertEquals(0, properties.getVersion());
+
+            write(file, "io.prometheus.exemplars.minRetentionPeriodSeconds = 20\n");
+            Assert.assertTrue(watcher.check());
+            Assert.assertEquals(1, properties.getVersion());
+            Assert.assertEquals(Integer.valueOf(20), properties.getExemplarProperties().getMinRetentionPeriodSeconds());
+
+            // unchanged content
+            Assert.assertFalse(watcher.check());
+            Assert.assertEquals(1, properties.getVersion());
+        }
+    }
+
+    @Test
+    public void testInvalidPropertiesAreIgnored() throws IOException {
+        Path file = tmp.newFile("prometheus.properties").toPath();
+        write(file, "io.prometheus.exemplars.minRetentionPeriodSeconds = 10\n");
+        PrometheusProperties properties = PrometheusPropertiesLoader.load(file.toString());
+        try (PrometheusPropertiesWatcher watcher = PrometheusPropertiesWatcher.builder(properties)
+                .path(file)
+                .interval(1, TimeUnit.HOURS)
+                .buildAndStart()) {
+            write(file, "io.prometheus.exemplars.minRetentionPeriodSeconds = 20\nio.prometheus.typo = 1\n");
+            Assert.assertFalse(watcher.check());
+            Assert.assertEquals(0, properties.getVersion());
+            Assert.assertEquals(Integer.valueOf(10), properties.getExemplarProperties().getMinRetentionPeriodSeconds());
+
+            Files.delete(file);
+            Assert.assertFalse(watcher.check());
+            Assert.assertEquals(0, properties.getVersion());
+        }
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
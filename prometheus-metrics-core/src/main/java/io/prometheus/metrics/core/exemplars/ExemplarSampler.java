@@ -44,6 +44,25 @@ public class ExemplarSampler {
         this.customExemplars = new Exemplar[exemplars.length];
     }
 
+    /**
+     * Rough estimate of the heap retained by this sampler and its current exemplars in bytes,
+     * assuming a 64-bit JVM with compressed references.
+     */
+    public long estimateBytes() {
+        // The sampler, its two AtomicBooleans, and the two arrays.
+        long result = 24 + 2 * 16 + 2 * (16 + 4L * exemplars.length);
+        for (int i = 0; i < exemplars.length; i++) {
+            // An exemplar with trace_id and span_id labels is about 256 bytes.
+            if (exemplars[i] != null) {
+                result += 256;
+            }
+            if (customExemplars[i] != null) {
+                result += 256;
+            }
+        }
+        return result;
+    }
+
     public Exemplars collect() {
         // this may run in parallel with observe()
         long now = System.currentTimeMillis();
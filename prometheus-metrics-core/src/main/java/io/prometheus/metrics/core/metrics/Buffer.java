@@ -16,6 +16,9 @@ import java.util.function.Supplier;
  */
 class Buffer {
 
+    // Rough estimate of an idle buffer. The observation array only grows while a scrape is in progress.
+    static final long ESTIMATED_BYTES = 128;
+
     private static final long signBit = 1L << 63;
     private final AtomicLong observationCount = new AtomicLong(0);
     private double[] observationBuffer = new double[0];
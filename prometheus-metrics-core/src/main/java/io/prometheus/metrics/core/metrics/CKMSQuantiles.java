@@ -227,6 +227,15 @@ final class CKMSQuantiles {
         }
     }
 
+    /**
+     * Rough estimate of the heap retained by this instance, see {@link MemoryEstimates}.
+     */
+    long estimateBytes() {
+        long linkedListNode = MemoryEstimates.OBJECT + 3 * MemoryEstimates.REFERENCE;
+        long sample = MemoryEstimates.OBJECT + 16;
+        return MemoryEstimates.OBJECT + 32 + MemoryEstimates.array(buffer.length, 8) + 32 + samples.size() * (linkedListNode + sample);
+    }
+
     static class Sample {
 
         /**
@@ -31,20 +31,26 @@ import java.util.concurrent.atomic.LongAdder;
  */
 public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint> implements CounterDataPoint {
 
-    private final boolean exemplarsEnabled;
-    private final ExemplarSamplerConfig exemplarSamplerConfig;
+    private volatile ExemplarSamplerConfig exemplarSamplerConfig; // null if exemplars are disabled
 
     private Counter(Builder builder, PrometheusProperties prometheusProperties) {
         super(builder);
-        MetricsProperties[] properties = getMetricProperties(builder, prometheusProperties);
-        exemplarsEnabled = getConfigProperty(properties, MetricsProperties::getExemplarsEnabled);
-        if (exemplarsEnabled) {
-            exemplarSamplerConfig = new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 1);
+        exemplarSamplerConfig = makeExemplarSamplerConfig(getMetricProperties(), prometheusProperties);
+    }
+
+    private ExemplarSamplerConfig makeExemplarSamplerConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        if (getConfigProperty(properties, MetricsProperties::getExemplarsEnabled)) {
+            return new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 1);
         } else {
-            exemplarSamplerConfig = null;
+            return null;
         }
     }
 
+    @Override
+    protected void reloadConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -87,13 +93,14 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
 
     @Override
     protected boolean isExemplarsEnabled() {
-        return exemplarsEnabled;
+        return exemplarSamplerConfig != null;
     }
 
     @Override
     protected DataPoint newDataPoint() {
-        if (isExemplarsEnabled()) {
-            return new DataPoint(new ExemplarSampler(exemplarSamplerConfig));
+        ExemplarSamplerConfig config = exemplarSamplerConfig;
+        if (config != null) {
+            return new DataPoint(new ExemplarSampler(config));
         } else {
             return new DataPoint(null);
         }
@@ -115,6 +122,15 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         return name;
     }
 
+    @Override
+    protected long estimateBytes(DataPoint dataPoint) {
+        long result = MemoryEstimates.OBJECT + 8 + 3 * MemoryEstimates.REFERENCE + 2 * MemoryEstimates.ADDER;
+        if (dataPoint.exemplarSampler != null) {
+            result += dataPoint.exemplarSampler.estimateBytes();
+        }
+        return result;
+    }
+
     class DataPoint implements CounterDataPoint {
 
         private final DoubleAdder doubleValue = new DoubleAdder();
@@ -123,7 +139,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         // we will be using the LongAdder and get the best performance.
         private final LongAdder longValue = new LongAdder();
         private final long createdTimeMillis = System.currentTimeMillis();
-        private final ExemplarSampler exemplarSampler; // null if isExemplarsEnabled() is false
+        private final ExemplarSampler exemplarSampler; // null if exemplars were disabled when the data point was created
 
         private DataPoint(ExemplarSampler exemplarSampler) {
             this.exemplarSampler = exemplarSampler;
@@ -135,7 +151,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         @Override
         public void inc(long amount) {
             validateAndAdd(amount);
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(amount);
             }
         }
@@ -146,7 +162,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         @Override
         public void inc(double amount) {
             validateAndAdd(amount);
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(amount);
             }
         }
@@ -157,7 +173,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         @Override
         public void incWithExemplar(long amount, Labels labels) {
             validateAndAdd(amount);
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(amount, labels);
             }
         }
@@ -168,7 +184,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
         @Override
         public void incWithExemplar(double amount, Labels labels) {
             validateAndAdd(amount);
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(amount, labels);
             }
         }
@@ -192,7 +208,7 @@ public class Counter extends StatefulMetric<CounterDataPoint, Counter.DataPoint>
             // see an Exemplar for a value that's not counted yet.
             // If there are multiple Exemplars (by default it's just one), use the newest.
             Exemplar latestExemplar = null;
-            if (exemplarSampler != null) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 for (Exemplar exemplar : exemplarSampler.collect()) {
                     if (latestExemplar == null || exemplar.getTimestampMillis() > latestExemplar.getTimestampMillis()) {
                         latestExemplar = exemplar;
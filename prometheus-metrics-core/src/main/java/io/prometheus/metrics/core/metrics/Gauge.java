@@ -38,20 +38,26 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> implements GaugeDataPoint {
 
-    private final boolean exemplarsEnabled;
-    private final ExemplarSamplerConfig exemplarSamplerConfig;
+    private volatile ExemplarSamplerConfig exemplarSamplerConfig; // null if exemplars are disabled
 
     private Gauge(Builder builder, PrometheusProperties prometheusProperties) {
         super(builder);
-        MetricsProperties[] properties = getMetricProperties(builder, prometheusProperties);
-        exemplarsEnabled = getConfigProperty(properties, MetricsProperties::getExemplarsEnabled);
-        if (exemplarsEnabled) {
-            exemplarSamplerConfig = new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 1);
+        exemplarSamplerConfig = makeExemplarSamplerConfig(getMetricProperties(), prometheusProperties);
+    }
+
+    private ExemplarSamplerConfig makeExemplarSamplerConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        if (getConfigProperty(properties, MetricsProperties::getExemplarsEnabled)) {
+            return new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 1);
         } else {
-            exemplarSamplerConfig = null;
+            return null;
         }
     }
 
+    @Override
+    protected void reloadConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -103,8 +109,9 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
 
     @Override
     protected DataPoint newDataPoint() {
-        if (isExemplarsEnabled()) {
-            return new DataPoint(new ExemplarSampler(exemplarSamplerConfig));
+        ExemplarSamplerConfig config = exemplarSamplerConfig;
+        if (config != null) {
+            return new DataPoint(new ExemplarSampler(config));
         } else {
             return new DataPoint(null);
         }
@@ -112,12 +119,21 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
 
     @Override
     protected boolean isExemplarsEnabled() {
-        return exemplarsEnabled;
+        return exemplarSamplerConfig != null;
+    }
+
+    @Override
+    protected long estimateBytes(DataPoint dataPoint) {
+        long result = MemoryEstimates.OBJECT + 2 * MemoryEstimates.REFERENCE + MemoryEstimates.ATOMIC_LONG;
+        if (dataPoint.exemplarSampler != null) {
+            result += dataPoint.exemplarSampler.estimateBytes();
+        }
+        return result;
     }
 
     class DataPoint implements GaugeDataPoint {
 
-        private final ExemplarSampler exemplarSampler; // null if isExemplarsEnabled() is false
+        private final ExemplarSampler exemplarSampler; // null if exemplars were disabled when the data point was created
 
         private DataPoint(ExemplarSampler exemplarSampler) {
             this.exemplarSampler = exemplarSampler;
@@ -131,7 +147,7 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
         @Override
         public void inc(double amount) {
             long next = value.updateAndGet(l -> Double.doubleToRawLongBits(Double.longBitsToDouble(l) + amount));
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(Double.longBitsToDouble(next));
             }
         }
@@ -142,7 +158,7 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
         @Override
         public void incWithExemplar(double amount, Labels labels) {
             long next = value.updateAndGet(l -> Double.doubleToRawLongBits(Double.longBitsToDouble(l) + amount));
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(Double.longBitsToDouble(next), labels);
             }
         }
@@ -153,7 +169,7 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
         @Override
         public void set(double value) {
             this.value.set(Double.doubleToRawLongBits(value));
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(value);
             }
         }
@@ -164,7 +180,7 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
         @Override
         public void setWithExemplar(double value, Labels labels) {
             this.value.set(Double.doubleToRawLongBits(value));
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(value, labels);
             }
         }
@@ -175,7 +191,7 @@ public class Gauge extends StatefulMetric<GaugeDataPoint, Gauge.DataPoint> imple
             // If there are multiple Exemplars (by default it's just one), use the oldest
             // so that we don't violate min age.
             Exemplar oldest = null;
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 for (Exemplar exemplar : exemplarSampler.collect()) {
                     if (oldest == null || exemplar.getTimestampMillis() < oldest.getTimestampMillis()) {
                         oldest = exemplar;
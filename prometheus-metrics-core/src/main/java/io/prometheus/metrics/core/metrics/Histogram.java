@@ -63,8 +63,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
     // NATIVE_BOUNDS is used to look up the native bucket index depending on the current schema.
     private static final double[][] NATIVE_BOUNDS;
 
-    private final boolean exemplarsEnabled;
-    private final ExemplarSamplerConfig exemplarSamplerConfig;
+    private volatile ExemplarSamplerConfig exemplarSamplerConfig; // null if exemplars are disabled
 
     // Upper bounds for the classic histogram buckets. Contains at least +Inf.
     // An empty array indicates that this is a native histogram only.
@@ -87,30 +86,13 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
     // if the number of native histogram buckets exceeds nativeMaxBuckets.
     private final int nativeInitialSchema; // integer in [-4, 8]
 
-    // Native histogram buckets get smaller and smaller the closer they get to zero.
-    // To avoid wasting a lot of buckets for observations fluctuating around zero, we consider all
-    // values in [-zeroThreshold, +zeroThreshold] to be equal to zero.
-    //
-    // The zeroThreshold is initialized with minZeroThreshold, and will grow up to maxZeroThreshold if
-    // the number of native histogram buckets exceeds nativeMaxBuckets.
-    private final double nativeMinZeroThreshold;
-    private final double nativeMaxZeroThreshold;
-
-    // When the number of native histogram buckets becomes larger than nativeMaxBuckets,
-    // an attempt is made to reduce the number of buckets:
-    // (1) Reset if the last reset is longer than the reset duration ago
-    // (2) Increase the zero bucket width if it's smaller than nativeMaxZeroThreshold
-    // (3) Decrease the nativeSchema, i.e. merge pairs of neighboring buckets into one
-    private final int nativeMaxBuckets;
-
-    // If the number of native histogram buckets exceeds nativeMaxBuckets,
-    // the histogram may reset (all values set to zero) after nativeResetDurationSeconds is expired.
-    private final long nativeResetDurationSeconds; // 0 indicates no reset
+    // The limits may change when the PrometheusProperties are reloaded.
+    // Each data point uses the limits that were in effect when it was created.
+    private volatile NativeLimits nativeLimits;
 
     private Histogram(Histogram.Builder builder, PrometheusProperties prometheusProperties) {
         super(builder);
-        MetricsProperties[] properties = getMetricProperties(builder, prometheusProperties);
-        exemplarsEnabled = getConfigProperty(properties, MetricsProperties::getExemplarsEnabled);
+        MetricsProperties[] properties = getMetricProperties();
         nativeInitialSchema = getConfigProperty(properties, props -> {
             if (Boolean.TRUE.equals(props.getHistogramClassicOnly())) {
                 return CLASSIC_HISTOGRAM;
@@ -134,18 +116,62 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
                 return null;
             }
         });
-        double max = getConfigProperty(properties, MetricsProperties::getHistogramNativeMaxZeroThreshold);
-        double min = getConfigProperty(properties, MetricsProperties::getHistogramNativeMinZeroThreshold);
-        nativeMaxZeroThreshold = max == builder.DEFAULT_NATIVE_MAX_ZERO_THRESHOLD && min > max ? min : max;
-        nativeMinZeroThreshold = Math.min(min, nativeMaxZeroThreshold);
-        nativeMaxBuckets = getConfigProperty(properties, MetricsProperties::getHistogramNativeMaxNumberOfBuckets);
-        nativeResetDurationSeconds = getConfigProperty(properties, MetricsProperties::getHistogramNativeResetDurationSeconds);
+        nativeLimits = new NativeLimits(properties);
+        exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
+    }
+
+    private ExemplarSamplerConfig makeExemplarSamplerConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        if (!getConfigProperty(properties, MetricsProperties::getExemplarsEnabled)) {
+            return null;
+        }
         ExemplarsProperties exemplarsProperties = prometheusProperties.getExemplarProperties();
-        exemplarSamplerConfig = classicUpperBounds.length == 0 ?
+        return classicUpperBounds.length == 0 ?
                 new ExemplarSamplerConfig(exemplarsProperties, 4) :
                 new ExemplarSamplerConfig(exemplarsProperties, classicUpperBounds);
     }
 
+    /**
+     * Exemplars and the native histogram limits can change at runtime.
+     * The classic buckets and the native initial schema are fixed.
+     */
+    @Override
+    protected void reloadConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        nativeLimits = new NativeLimits(properties);
+        exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
+    }
+
+    private class NativeLimits {
+
+        // Native histogram buckets get smaller and smaller the closer they get to zero.
+        // To avoid wasting a lot of buckets for observations fluctuating around zero, we consider all
+        // values in [-zeroThreshold, +zeroThreshold] to be equal to zero.
+        //
+        // The zeroThreshold is initialized with minZeroThreshold, and will grow up to maxZeroThreshold if
+        // the number of native histogram buckets exceeds nativeMaxBuckets.
+        private final double nativeMinZeroThreshold;
+        private final double nativeMaxZeroThreshold;
+
+        // When the number of native histogram buckets becomes larger than nativeMaxBuckets,
+        // an attempt is made to reduce the number of buckets:
+        // (1) Reset if the last reset is longer than the reset duration ago
+        // (2) Increase the zero bucket width if it's smaller than nativeMaxZeroThreshold
+        // (3) Decrease the nativeSchema, i.e. merge pairs of neighboring buckets into one
+        private final int nativeMaxBuckets;
+
+        // If the number of native histogram buckets exceeds nativeMaxBuckets,
+        // the histogram may reset (all values set to zero) after nativeResetDurationSeconds is expired.
+        private final long nativeResetDurationSeconds; // 0 indicates no reset
+
+        private NativeLimits(MetricsProperties[] properties) {
+            double max = getConfigProperty(properties, MetricsProperties::getHistogramNativeMaxZeroThreshold);
+            double min = getConfigProperty(properties, MetricsProperties::getHistogramNativeMinZeroThreshold);
+            nativeMaxZeroThreshold = max == Builder.DEFAULT_NATIVE_MAX_ZERO_THRESHOLD && min > max ? min : max;
+            nativeMinZeroThreshold = Math.min(min, nativeMaxZeroThreshold);
+            nativeMaxBuckets = getConfigProperty(properties, MetricsProperties::getHistogramNativeMaxNumberOfBuckets);
+            nativeResetDurationSeconds = getConfigProperty(properties, MetricsProperties::getHistogramNativeResetDurationSeconds);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -164,7 +190,22 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
 
     @Override
     protected boolean isExemplarsEnabled() {
-        return exemplarsEnabled;
+        return exemplarSamplerConfig != null;
+    }
+
+    @Override
+    protected long estimateBytes(DataPoint dataPoint) {
+        long result = MemoryEstimates.OBJECT + 48 + MemoryEstimates.REFERENCE // fields
+                + MemoryEstimates.array(dataPoint.classicBuckets.length, MemoryEstimates.REFERENCE + MemoryEstimates.ADDER)
+                + 2 * 64 // the two native bucket maps without entries
+                + (long) (dataPoint.nativeBucketsForPositiveValues.size() + dataPoint.nativeBucketsForNegativeValues.size())
+                * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.BOXED_INTEGER + MemoryEstimates.ADDER)
+                + 3 * MemoryEstimates.ADDER // zero count, count, and sum
+                + Buffer.ESTIMATED_BYTES;
+        if (dataPoint.exemplarSampler != null) {
+            result += dataPoint.exemplarSampler.estimateBytes();
+        }
+        return result;
     }
 
     public class DataPoint implements DistributionDataPoint {
@@ -175,18 +216,22 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
         private final LongAdder count = new LongAdder();
         private final DoubleAdder sum = new DoubleAdder();
         private volatile int nativeSchema = nativeInitialSchema; // integer in [-4, 8] or CLASSIC_HISTOGRAM
-        private volatile double nativeZeroThreshold = Histogram.this.nativeMinZeroThreshold;
+        private volatile double nativeZeroThreshold;
         private volatile long createdTimeMillis = System.currentTimeMillis();
         private final Buffer buffer = new Buffer();
         private volatile boolean resetDurationExpired = false;
-        private final ExemplarSampler exemplarSampler;
+        private final ExemplarSampler exemplarSampler; // null if exemplars were disabled when the data point was created
+        private final NativeLimits limits; // limits in effect when the data point was created
 
         private DataPoint() {
-            if (exemplarsEnabled) {
-                exemplarSampler = new ExemplarSampler(exemplarSamplerConfig);
+            ExemplarSamplerConfig config = exemplarSamplerConfig;
+            if (config != null) {
+                exemplarSampler = new ExemplarSampler(config);
             } else {
                 exemplarSampler = null;
             }
+            limits = nativeLimits;
+            nativeZeroThreshold = limits.nativeMinZeroThreshold;
             classicBuckets = new LongAdder[classicUpperBounds.length];
             for (int i = 0; i < classicUpperBounds.length; i++) {
                 classicBuckets[i] = new LongAdder();
@@ -206,7 +251,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
             if (!buffer.append(value)) {
                 doObserve(value, false);
             }
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(value);
             }
         }
@@ -223,7 +268,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
             if (!buffer.append(value)) {
                 doObserve(value, false);
             }
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(value, labels);
             }
         }
@@ -260,7 +305,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
         }
 
         private HistogramSnapshot.HistogramDataPointSnapshot collect(Labels labels) {
-            Exemplars exemplars = exemplarSampler != null ? exemplarSampler.collect() : Exemplars.EMPTY;
+            Exemplars exemplars = exemplarSampler != null && isExemplarsEnabled() ? exemplarSampler.collect() : Exemplars.EMPTY;
             return buffer.run(
                     expectedCount -> count.sum() == expectedCount,
                     () -> {
@@ -416,11 +461,11 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
         }
 
         private void maybeScaleDown(AtomicBoolean wasReset) {
-            if (nativeMaxBuckets == 0 || nativeSchema == -4) {
+            if (limits.nativeMaxBuckets == 0 || nativeSchema == -4) {
                 return;
             }
             int numberOfBuckets = nativeBucketsForPositiveValues.size() + nativeBucketsForNegativeValues.size();
-            if (numberOfBuckets <= nativeMaxBuckets) {
+            if (numberOfBuckets <= limits.nativeMaxBuckets) {
                 return;
             }
             buffer.run(
@@ -430,7 +475,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
                         // Check again if we need to limit the bucket size, because another thread might
                         // have limited it in the meantime.
                         int nBuckets = nativeBucketsForPositiveValues.size() + nativeBucketsForNegativeValues.size();
-                        if (nBuckets <= nativeMaxBuckets || nativeSchema == -4) {
+                        if (nBuckets <= limits.nativeMaxBuckets || nativeSchema == -4) {
                             return null;
                         }
                         if (maybeReset()) {
@@ -462,7 +507,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
             for (int i = 0; i < classicBuckets.length; i++) {
                 classicBuckets[i].reset();
             }
-            nativeZeroThreshold = nativeMinZeroThreshold;
+            nativeZeroThreshold = limits.nativeMinZeroThreshold;
             nativeSchema = Histogram.this.nativeInitialSchema;
             createdTimeMillis = System.currentTimeMillis();
             if (exemplarSampler != null) {
@@ -474,7 +519,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
 
         // maybeWidenZeroBucket is called in the synchronized block while new observations go into the buffer.
         private boolean maybeWidenZeroBucket() {
-            if (nativeZeroThreshold >= nativeMaxZeroThreshold) {
+            if (nativeZeroThreshold >= limits.nativeMaxZeroThreshold) {
                 return false;
             }
             int smallestIndex = findSmallestIndex(nativeBucketsForPositiveValues);
@@ -486,7 +531,7 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
                 return false;
             }
             double newZeroThreshold = nativeBucketIndexToUpperBound(nativeSchema, smallestIndex);
-            if (newZeroThreshold > nativeMaxZeroThreshold) {
+            if (newZeroThreshold > limits.nativeMaxZeroThreshold) {
                 return false;
             }
             mergeWithZeroBucket(smallestIndex, nativeBucketsForPositiveValues);
@@ -589,8 +634,8 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
         }
 
         private void maybeScheduleNextReset() {
-            if (nativeResetDurationSeconds > 0) {
-                Scheduler.schedule(() -> resetDurationExpired = true, nativeResetDurationSeconds, TimeUnit.SECONDS);
+            if (limits.nativeResetDurationSeconds > 0) {
+                Scheduler.schedule(() -> resetDurationExpired = true, limits.nativeResetDurationSeconds, TimeUnit.SECONDS);
             }
         }
     }
@@ -647,11 +692,11 @@ public class Histogram extends StatefulMetric<DistributionDataPoint, Histogram.D
     public static class Builder extends StatefulMetric.Builder<Histogram.Builder, Histogram> {
 
         public static final double[] DEFAULT_CLASSIC_UPPER_BOUNDS = new double[]{.005, .01, .025, .05, .1, .25, .5, 1, 2.5, 5, 10};
-        private final double DEFAULT_NATIVE_MIN_ZERO_THRESHOLD = Math.pow(2.0, -128);
-        private final double DEFAULT_NATIVE_MAX_ZERO_THRESHOLD = Math.pow(2.0, -128);
-        private final int DEFAULT_NATIVE_INITIAL_SCHEMA = 5;
-        private final int DEFAULT_NATIVE_MAX_NUMBER_OF_BUCKETS = 160;
-        private final long DEFAULT_NATIVE_RESET_DURATION_SECONDS = 0; // 0 means no reset
+        private static final double DEFAULT_NATIVE_MIN_ZERO_THRESHOLD = Math.pow(2.0, -128);
+        private static final double DEFAULT_NATIVE_MAX_ZERO_THRESHOLD = Math.pow(2.0, -128);
+        private static final int DEFAULT_NATIVE_INITIAL_SCHEMA = 5;
+        private static final int DEFAULT_NATIVE_MAX_NUMBER_OF_BUCKETS = 160;
+        private static final long DEFAULT_NATIVE_RESET_DURATION_SECONDS = 0; // 0 means no reset
 
         private Boolean nativeOnly;
         private Boolean classicOnly;
@@ -0,0 +1,43 @@
+package io.prometheus.metrics.core.metrics;
+
+import java.util.List;
+
+/**
+ * Rough heap size estimates for the data structures of stateful metrics, used for
+ * {@link io.prometheus.metrics.model.registry.PrometheusRegistry#cardinality()}.
+ * <p>
+ * The numbers assume a 64-bit JVM with compressed references. They are meant for finding out which metric
+ * uses most of the heap, not for exact accounting.
+ */
+final class MemoryEstimates {
+
+    static final long OBJECT = 16;
+    static final long REFERENCE = 4;
+    static final long ARRAY = 16;
+    static final long MAP_ENTRY = 32 + REFERENCE; // ConcurrentHashMap node plus table slot
+    static final long BOXED_INTEGER = 16;
+    static final long ADDER = 24; // LongAdder or DoubleAdder without contention, i.e. without cells
+    static final long ATOMIC_LONG = 24;
+
+    private MemoryEstimates() {
+    }
+
+    static long array(int length, long elementSize) {
+        return ARRAY + length * elementSize;
+    }
+
+    static long string(String s) {
+        return OBJECT + 8 + array(s.length(), 1); // assuming compact strings
+    }
+
+    /**
+     * Size of a label values key in the {@link StatefulMetric} data map, including the map entry.
+     */
+    static long labelValuesEntry(List<String> labelValues) {
+        long result = MAP_ENTRY + OBJECT + array(labelValues.size(), REFERENCE);
+        for (String labelValue : labelValues) {
+            result += string(labelValue);
+        }
+        return result;
+    }
+}
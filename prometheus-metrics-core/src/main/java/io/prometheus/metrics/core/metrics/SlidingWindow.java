@@ -4,6 +4,7 @@ import java.lang.reflect.Array;
 import java.util.concurrent.TimeUnit;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * Maintains a ring buffer of T to implement a sliding time window.
@@ -59,6 +60,18 @@ public class SlidingWindow<T> {
         observeFunction.accept(rotate(), value);
     }
 
+    /**
+     * Sum of the estimated sizes of all instances of {@code T} in the window plus the window itself.
+     * See {@link MemoryEstimates}.
+     */
+    synchronized long estimateBytes(ToLongFunction<T> estimator) {
+        long result = MemoryEstimates.OBJECT + 32 + MemoryEstimates.array(ringBuffer.length, MemoryEstimates.REFERENCE);
+        for (T t : ringBuffer) {
+            result += estimator.applyAsLong(t);
+        }
+        return result;
+    }
+
     private T rotate() {
         long timeSinceLastRotateMillis = System.currentTimeMillis() - lastRotateTimestampMillis;
         while (timeSinceLastRotateMillis > durationBetweenRotatesMillis) {
@@ -56,7 +56,7 @@ public class StateSet extends StatefulMetric<StateSetDataPoint, StateSet.DataPoi
 
     private StateSet(Builder builder, PrometheusProperties prometheusProperties) {
         super(builder);
-        MetricsProperties[] properties = getMetricProperties(builder, prometheusProperties);
+        MetricsProperties[] properties = getMetricProperties();
         exemplarsEnabled = getConfigProperty(properties, MetricsProperties::getExemplarsEnabled);
         this.names = builder.names; // builder.names is already a validated copy
         for (String name : names) {
@@ -109,6 +109,11 @@ public class StateSet extends StatefulMetric<StateSetDataPoint, StateSet.DataPoi
         return exemplarsEnabled;
     }
 
+    @Override
+    protected long estimateBytes(DataPoint dataPoint) {
+        return MemoryEstimates.OBJECT + 2 * MemoryEstimates.REFERENCE + MemoryEstimates.array(dataPoint.values.length, 1);
+    }
+
     class DataPoint implements StateSetDataPoint {
 
         private final boolean[] values = new boolean[names.length];
@@ -2,14 +2,18 @@ package io.prometheus.metrics.core.metrics;
 
 import io.prometheus.metrics.config.MetricsProperties;
 import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.model.registry.MetricCardinality;
 import io.prometheus.metrics.model.snapshots.Labels;
 import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import io.prometheus.metrics.core.datapoints.DataPoint;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
@@ -38,8 +42,22 @@ abstract class StatefulMetric<D extends DataPoint, T extends D> extends MetricWi
      */
     private volatile T noLabels;
 
+    private final PrometheusProperties prometheusProperties;
+    private final MetricsProperties builderProperties;
+    private final MetricsProperties builderDefaultProperties;
+
+    /**
+     * {@link PrometheusProperties#getVersion()} of the properties that the current config was derived from.
+     */
+    private volatile long configVersion;
+    private final Object configLock = new Object();
+
     protected StatefulMetric(Builder<?, ?> builder) {
         super(builder);
+        this.prometheusProperties = builder.properties;
+        this.builderProperties = builder.toProperties();
+        this.builderDefaultProperties = builder.getDefaultProperties();
+        this.configVersion = prometheusProperties.getVersion();
     }
 
     /**
@@ -48,6 +66,7 @@ abstract class StatefulMetric<D extends DataPoint, T extends D> extends MetricWi
     protected abstract MetricSnapshot collect(List<Labels> labels, List<T> metricData);
 
     public MetricSnapshot collect() {
+        maybeReloadConfig();
         if (labelNames.length == 0 && data.size() == 0) {
             // This is a metric without labels that has not been used yet. Initialize the data on the fly.
             labelValues();
@@ -62,6 +81,37 @@ abstract class StatefulMetric<D extends DataPoint, T extends D> extends MetricWi
         return collect(labels, metricData);
     }
 
+    /**
+     * Walks the data points directly, so this is cheaper than {@link #collect()} and doesn't create snapshots.
+     */
+    @Override
+    public MetricCardinality getCardinality() {
+        List<Set<String>> labelValues = new ArrayList<>(labelNames.length);
+        for (int i = 0; i < labelNames.length; i++) {
+            labelValues.add(new HashSet<>());
+        }
+        int seriesCount = 0;
+        long estimatedBytes = 0;
+        for (Map.Entry<List<String>, T> entry : data.entrySet()) {
+            List<String> key = entry.getKey();
+            for (int i = 0; i < labelNames.length && i < key.size(); i++) {
+                labelValues.get(i).add(key.get(i));
+            }
+            seriesCount++;
+            estimatedBytes += MemoryEstimates.labelValuesEntry(key) + estimateBytes(entry.getValue());
+        }
+        Map<String, Integer> distinctLabelValues = new HashMap<>();
+        for (int i = 0; i < labelNames.length; i++) {
+            distinctLabelValues.put(labelNames[i], labelValues.get(i).size());
+        }
+        return new MetricCardinality(getMetadata().getPrometheusName(), seriesCount, distinctLabelValues, estimatedBytes);
+    }
+
+    /**
+     * Rough estimate of the heap retained by {@code dataPoint} in bytes, see {@link MemoryEstimates}.
+     */
+    protected abstract long estimateBytes(T dataPoint);
+
     /**
      * Initialize label values.
      * <p>
@@ -98,7 +148,10 @@ abstract class StatefulMetric<D extends DataPoint, T extends D> extends MetricWi
                 throw new IllegalArgumentException("Expected " + labelNames.length + " label values, but got " + labelValues.length + ".");
             }
         }
-        return data.computeIfAbsent(Arrays.asList(labelValues), l -> newDataPoint());
+        return data.computeIfAbsent(Arrays.asList(labelValues), l -> {
+            maybeReloadConfig();
+            return newDataPoint();
+        });
     }
 
     /**
@@ -122,24 +175,50 @@ abstract class StatefulMetric<D extends DataPoint, T extends D> extends MetricWi
         return noLabels;
     }
 
-    protected MetricsProperties[] getMetricProperties(Builder builder, PrometheusProperties prometheusProperties) {
+    protected MetricsProperties[] getMetricProperties() {
         String metricName = getMetadata().getName();
-        if (prometheusProperties.getMetricProperties(metricName) != null) {
+        MetricsProperties metricProperties = prometheusProperties.getMetricProperties(metricName);
+        if (metricProperties != null) {
             return new MetricsProperties[]{
-                    prometheusProperties.getMetricProperties(metricName), // highest precedence
-                    builder.toProperties(), // second-highest precedence
+                    metricProperties, // highest precedence
+                    builderProperties, // second-highest precedence
                     prometheusProperties.getDefaultMetricProperties(), // third-highest precedence
-                    builder.getDefaultProperties() // fallback
+                    builderDefaultProperties // fallback
             };
         } else {
             return new MetricsProperties[]{
-                    builder.toProperties(), // highest precedence
+                    builderProperties, // highest precedence
                     prometheusProperties.getDefaultMetricProperties(), // second-highest precedence
-                    builder.getDefaultProperties() // fallback
+                    builderDefaultProperties // fallback
             };
         }
     }
 
+    /**
+     * Called when the {@link PrometheusProperties} have been updated, see {@link PrometheusProperties#update(PrometheusProperties)}.
+     * <p>
+     * Override this to apply the properties that can change at runtime. The default implementation does nothing.
+     * Changes should be applied with a single volatile write, because data points may be created concurrently.
+     */
+    protected void reloadConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+    }
+
+    /**
+     * Properties are checked for updates when data points are created and on collect, but not when data points are updated.
+     * That way, recording values stays as fast as with static properties.
+     */
+    private void maybeReloadConfig() {
+        if (prometheusProperties.getVersion() != configVersion) {
+            synchronized (configLock) {
+                long version = prometheusProperties.getVersion();
+                if (version != configVersion) {
+                    reloadConfig(getMetricProperties(), prometheusProperties);
+                    configVersion = version;
+                }
+            }
+        }
+    }
+
     protected <T> T getConfigProperty(MetricsProperties[] properties, Function<MetricsProperties, T> getter) {
         T result;
         for (MetricsProperties props : properties) {
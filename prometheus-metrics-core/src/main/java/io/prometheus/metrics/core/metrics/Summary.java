@@ -42,17 +42,31 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
     private final List<CKMSQuantiles.Quantile> quantiles; // May be empty, but cannot be null.
     private final long maxAgeSeconds;
     private final int ageBuckets;
-    private final boolean exemplarsEnabled;
-    private final ExemplarSamplerConfig exemplarSamplerConfig;
+    private volatile ExemplarSamplerConfig exemplarSamplerConfig; // null if exemplars are disabled
 
     private Summary(Builder builder, PrometheusProperties prometheusProperties) {
         super(builder);
-        MetricsProperties[] properties = getMetricProperties(builder, prometheusProperties);
-        this.exemplarsEnabled = getConfigProperty(properties, MetricsProperties::getExemplarsEnabled);
+        MetricsProperties[] properties = getMetricProperties();
         this.quantiles = Collections.unmodifiableList(makeQuantiles(properties));
         this.maxAgeSeconds = getConfigProperty(properties, MetricsProperties::getSummaryMaxAgeSeconds);
         this.ageBuckets = getConfigProperty(properties, MetricsProperties::getSummaryNumberOfAgeBuckets);
-        this.exemplarSamplerConfig = new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 4);
+        this.exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
+    }
+
+    private ExemplarSamplerConfig makeExemplarSamplerConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        if (getConfigProperty(properties, MetricsProperties::getExemplarsEnabled)) {
+            return new ExemplarSamplerConfig(prometheusProperties.getExemplarProperties(), 4);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Exemplars can be turned on and off at runtime, the quantiles and the sliding window are fixed.
+     */
+    @Override
+    protected void reloadConfig(MetricsProperties[] properties, PrometheusProperties prometheusProperties) {
+        exemplarSamplerConfig = makeExemplarSamplerConfig(properties, prometheusProperties);
     }
 
     private List<CKMSQuantiles.Quantile> makeQuantiles(MetricsProperties[] properties) {
@@ -73,7 +87,7 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
 
     @Override
     protected boolean isExemplarsEnabled() {
-        return exemplarsEnabled;
+        return exemplarSamplerConfig != null;
     }
 
     /**
@@ -115,13 +129,27 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
     }
 
 
+    @Override
+    protected long estimateBytes(DataPoint dataPoint) {
+        long result = MemoryEstimates.OBJECT + 24 // fields
+                + 2 * MemoryEstimates.ADDER // count and sum
+                + Buffer.ESTIMATED_BYTES;
+        if (dataPoint.quantileValues != null) {
+            result += dataPoint.quantileValues.estimateBytes(CKMSQuantiles::estimateBytes);
+        }
+        if (dataPoint.exemplarSampler != null) {
+            result += dataPoint.exemplarSampler.estimateBytes();
+        }
+        return result;
+    }
+
     public class DataPoint implements DistributionDataPoint {
 
         private final LongAdder count = new LongAdder();
         private final DoubleAdder sum = new DoubleAdder();
         private final SlidingWindow<CKMSQuantiles> quantileValues;
         private final Buffer buffer = new Buffer();
-        private final ExemplarSampler exemplarSampler;
+        private final ExemplarSampler exemplarSampler; // null if exemplars were disabled when the data point was created
 
         private final long createdTimeMillis = System.currentTimeMillis();
 
@@ -132,8 +160,9 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
             } else {
                 quantileValues = null;
             }
-            if (exemplarsEnabled) {
-                exemplarSampler = new ExemplarSampler(exemplarSamplerConfig);
+            ExemplarSamplerConfig config = exemplarSamplerConfig;
+            if (config != null) {
+                exemplarSampler = new ExemplarSampler(config);
             } else {
                 exemplarSampler = null;
             }
@@ -150,7 +179,7 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
             if (!buffer.append(value)) {
                 doObserve(value);
             }
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observe(value);
             }
         }
@@ -166,7 +195,7 @@ public class Summary extends StatefulMetric<DistributionDataPoint, Summary.DataP
             if (!buffer.append(value)) {
                 doObserve(value);
             }
-            if (isExemplarsEnabled()) {
+            if (exemplarSampler != null && isExemplarsEnabled()) {
                 exemplarSampler.observeWithExemplar(value, labels);
             }
         }
@@ -1,5 +1,8 @@
 package io.prometheus.metrics.core.metrics;
 
+import io.prometheus.metrics.config.MetricsProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.config.PrometheusPropertiesLoader;
 import io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.TextFormat;
 import io.prometheus.metrics.expositionformats.PrometheusProtobufWriter;
 import io.prometheus.metrics.expositionformats.generated.com_google_protobuf_3_21_7.Metrics;
@@ -17,6 +20,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Collections;
 import java.util.Iterator;
 
 import static io.prometheus.metrics.core.metrics.TestUtil.assertExemplarEquals;
@@ -171,6 +175,31 @@ public class CounterTest {
         assertExemplar(noLabels, 3, "key1", "value1", "key2", "value2");
     }
 
+    @Test
+    public void testReloadExemplarsEnabled() {
+        PrometheusProperties properties = PrometheusPropertiesLoader.load();
+        Counter counter = Counter.builder(properties).name("reload").build();
+        counter.incWithExemplar(Labels.of("key", "value"));
+        assertExemplar(counter, 1.0, "key", "value");
+
+        properties.update(withDefaultMetricProperties(properties, MetricsProperties.builder().exemplarsEnabled(false).build()));
+        Assert.assertNull(getData(counter).getExemplar());
+
+        properties.update(withDefaultMetricProperties(properties, MetricsProperties.builder().exemplarsEnabled(true).build()));
+        assertExemplar(counter, 1.0, "key", "value");
+    }
+
+    private static PrometheusProperties withDefaultMetricProperties(PrometheusProperties properties, MetricsProperties defaultMetricProperties) {
+        return new PrometheusProperties(
+                defaultMetricProperties,
+                Collections.emptyMap(),
+                properties.getExemplarProperties(),
+                properties.getExporterProperties(),
+                properties.getExporterFilterProperties(),
+                properties.getExporterHttpServerProperties(),
+                properties.getExporterOpenTelemetryProperties());
+    }
+
     private void assertExemplar(Counter counter, double value, String... labels) {
         Exemplar exemplar = getData(counter).getExemplar();
         Assert.assertEquals(value, exemplar.getValue(), 0.0001);
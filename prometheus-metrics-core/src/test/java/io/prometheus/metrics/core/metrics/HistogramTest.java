@@ -1,5 +1,8 @@
 package io.prometheus.metrics.core.metrics;
 
+import io.prometheus.metrics.config.MetricsProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.config.PrometheusPropertiesLoader;
 import io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.TextFormat;
 import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
 import io.prometheus.metrics.core.exemplars.ExemplarSamplerConfigTestUtil;
@@ -1252,6 +1255,42 @@ public class HistogramTest {
         assertEquals(0.19, data500.getSum(), 0.0000001);
     }
 
+    @Test
+    public void testReloadNativeMaxBuckets() {
+        PrometheusProperties properties = PrometheusPropertiesLoader.load();
+        Histogram histogram = Histogram.builder(properties)
+                .name("test")
+                .nativeOnly()
+                .labelNames("path")
+                .build();
+        for (int i = 1; i <= 100; i++) {
+            histogram.labelValues("/a").observe(i);
+        }
+        properties.update(withDefaultMetricProperties(properties, MetricsProperties.builder().histogramNativeMaxNumberOfBuckets(4).build()));
+        for (int i = 1; i <= 100; i++) {
+            histogram.labelValues("/a").observe(i);
+            histogram.labelValues("/b").observe(i);
+        }
+        // The new limit applies to new data points only.
+        HistogramSnapshot.HistogramDataPointSnapshot a = getData(histogram, "path", "/a");
+        HistogramSnapshot.HistogramDataPointSnapshot b = getData(histogram, "path", "/b");
+        assertEquals(5, a.getNativeSchema());
+        Assert.assertTrue(a.getNativeBucketsForPositiveValues().size() > 4);
+        Assert.assertTrue(b.getNativeSchema() < 5);
+        Assert.assertTrue(b.getNativeBucketsForPositiveValues().size() <= 4);
+    }
+
+    private static PrometheusProperties withDefaultMetricProperties(PrometheusProperties properties, MetricsProperties defaultMetricProperties) {
+        return new PrometheusProperties(
+                defaultMetricProperties,
+                Collections.emptyMap(),
+                properties.getExemplarProperties(),
+                properties.getExporterProperties(),
+                properties.getExporterFilterProperties(),
+                properties.getExporterHttpServerProperties(),
+                properties.getExporterOpenTelemetryProperties());
+    }
+
     @Test
     public void testObserveMultithreaded() throws InterruptedException, ExecutionException, TimeoutException {
         // Hard to test concurrency, but let's run a couple of observations in parallel and assert none gets lost.
@@ -1,5 +1,6 @@
 package io.prometheus.metrics.core.metrics;
 
+import io.prometheus.metrics.model.registry.MetricCardinality;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -33,4 +34,41 @@ public class StatefulMetricTest {
             Assert.assertNotNull(entry.getValue());
         }
     }
+
+    @Test
+    public void testCardinality() {
+        Counter counter = Counter.builder().name("requests").labelNames("path", "status").build();
+        for (int i = 0; i < 10; i++) {
+            counter.labelValues("/" + i, "200").inc();
+            counter.labelValues("/" + i, "500").inc();
+        }
+        MetricCardinality cardinality = counter.getCardinality();
+        Assert.assertEquals("requests", cardinality.getName());
+        Assert.assertEquals(20, cardinality.getSeriesCount());
+        Assert.assertEquals("[path, status]", cardinality.getDistinctLabelValues().keySet().toString()); // most distinct values first
+        Assert.assertEquals(10, cardinality.getDistinctLabelValues().get("path").intValue());
+        Assert.assertEquals(2, cardinality.getDistinctLabelValues().get("status").intValue());
+        Assert.assertTrue(cardinality.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    public void testCardinalityEstimatedBytes() {
+        Histogram classic = Histogram.builder().name("classic").classicOnly().build();
+        Histogram nativeOnly = Histogram.builder().name("native").nativeOnly().build();
+        classic.observe(1.0);
+        nativeOnly.observe(1.0);
+        long nativeBytes = nativeOnly.getCardinality().getEstimatedBytes();
+        for (int i = 1; i <= 100; i++) {
+            nativeOnly.observe(i);
+        }
+        // Each native bucket adds a map entry
+        Assert.assertTrue(nativeOnly.getCardinality().getEstimatedBytes() > nativeBytes);
+        Assert.assertTrue(classic.getCardinality().getEstimatedBytes() > 0);
+
+        Summary summary = Summary.builder().name("summary").quantile(0.5, 0.01).build();
+        summary.observe(1.0);
+        Counter counter = Counter.builder().name("counter").build();
+        counter.inc();
+        Assert.assertTrue(summary.getCardinality().getEstimatedBytes() > counter.getCardinality().getEstimatedBytes());
+    }
 }
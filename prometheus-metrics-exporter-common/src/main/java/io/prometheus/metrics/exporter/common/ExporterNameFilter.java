@@ -0,0 +1,59 @@
+package io.prometheus.metrics.exporter.common;
+
+import io.prometheus.metrics.config.ExporterFilterProperties;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+
+import java.util.function.Predicate;
+
+/**
+ * Creates the metric name filter from the {@code io.prometheus.exporter.filter} properties.
+ * <p>
+ * Exporters should use this so that the properties are interpreted the same way everywhere.
+ */
+public class ExporterNameFilter {
+
+    /**
+     * {@code target_info} and {@code otel_scope_info}. OpenTelemetry exporters need them for the resource and the
+     * instrumentation scope, even if they are excluded by the name filter.
+     */
+    public static final Predicate<String> INFO_FILTER = MetricNameFilter.builder()
+            .nameMustBeEqualTo("target", "otel_scope")
+            .build();
+
+    private ExporterNameFilter() {
+    }
+
+    /**
+     * @return {@code null} if none of the filter properties is configured.
+     */
+    public static MetricNameFilter of(ExporterFilterProperties properties) {
+        if (properties == null || (properties.getAllowedMetricNames() == null && properties.getExcludedMetricNames() == null
+                && properties.getAllowedMetricNamePrefixes() == null && properties.getExcludedMetricNamePrefixes() == null)) {
+            return null;
+        }
+        return MetricNameFilter.builder()
+                .nameMustBeEqualTo(properties.getAllowedMetricNames())
+                .nameMustNotBeEqualTo(properties.getExcludedMetricNames())
+                .nameMustStartWith(properties.getAllowedMetricNamePrefixes())
+                .nameMustNotStartWith(properties.getExcludedMetricNamePrefixes())
+                .build();
+    }
+
+    /**
+     * Select the snapshots where {@code nameFilter.test(name)} is {@code true}.
+     * <p>
+     * This is used to split the result of a single scrape with {@code nameFilter.or(INFO_FILTER)}, so that the
+     * registry is only scraped once.
+     */
+    public static MetricSnapshots select(MetricSnapshots snapshots, Predicate<String> nameFilter) {
+        MetricSnapshots.Builder result = MetricSnapshots.builder();
+        for (MetricSnapshot snapshot : snapshots) {
+            if (nameFilter.test(snapshot.getMetadata().getPrometheusName())) {
+                result.metricSnapshot(snapshot);
+            }
+        }
+        return result.build();
+    }
+}
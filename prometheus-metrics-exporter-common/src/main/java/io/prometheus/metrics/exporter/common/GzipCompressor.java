@@ -0,0 +1,86 @@
+package io.prometheus.metrics.exporter.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes gzip encoded data like {@link java.util.zip.GZIPOutputStream}, but the {@link Deflater}
+ * and the output buffer can be reused for multiple responses.
+ * <p>
+ * {@link java.util.zip.GZIPOutputStream} allocates a new native {@link Deflater} for each instance,
+ * which is expensive if responses are large and scrapes are frequent.
+ * <p>
+ * Used by the {@link PrometheusScrapeHandler} and by push exporters that compress their requests.
+ * <p>
+ * Not thread safe. Each instance must only be used by one thread at a time.
+ */
+public class GzipCompressor {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final byte[] HEADER = new byte[]{
+            (byte) GZIP_MAGIC,        // magic number (low byte)
+            (byte) (GZIP_MAGIC >> 8), // magic number (high byte)
+            Deflater.DEFLATED,        // compression method
+            0,                        // flags
+            0, 0, 0, 0,               // modification time
+            0,                        // extra flags
+            0                         // operating system
+    };
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] out = new byte[8192];
+
+    public GzipCompressor(int compressionLevel) {
+        // nowrap = true because we write the gzip header and trailer ourselves.
+        this.deflater = new Deflater(compressionLevel, true);
+    }
+
+    /**
+     * Write the first {@code length} bytes of {@code data} gzip encoded to {@code outputStream}.
+     * The {@code outputStream} is not closed.
+     *
+     * @return number of bytes written.
+     */
+    public long compress(byte[] data, int length, OutputStream outputStream) throws IOException {
+        try {
+            outputStream.write(HEADER);
+            crc.update(data, 0, length);
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(out, 0, out.length);
+                if (n > 0) {
+                    outputStream.write(out, 0, n);
+                }
+            }
+            writeTrailer(outputStream, (int) crc.getValue(), length);
+            return HEADER.length + deflater.getBytesWritten() + 8;
+        } finally {
+            deflater.reset();
+            crc.reset();
+        }
+    }
+
+    private void writeTrailer(OutputStream outputStream, int crcValue, int uncompressedLength) throws IOException {
+        // gzip uses little endian byte order
+        out[0] = (byte) crcValue;
+        out[1] = (byte) (crcValue >> 8);
+        out[2] = (byte) (crcValue >> 16);
+        out[3] = (byte) (crcValue >> 24);
+        out[4] = (byte) uncompressedLength;
+        out[5] = (byte) (uncompressedLength >> 8);
+        out[6] = (byte) (uncompressedLength >> 16);
+        out[7] = (byte) (uncompressedLength >> 24);
+        outputStream.write(out, 0, 8);
+    }
+
+    /**
+     * Release the native resources of the {@link Deflater}. The compressor cannot be used afterwards.
+     */
+    public void end() {
+        deflater.end();
+    }
+}
@@ -0,0 +1,253 @@
+package io.prometheus.metrics.exporter.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * Sends HTTP POST requests for push exporters, like the OTLP and the remote write exporter.
+ * <p>
+ * Requests are retried with exponential backoff on connection errors and on the status codes configured with
+ * {@link Builder#retryOn(IntPredicate)}. A {@code Retry-After} header in seconds is respected, limited to the
+ * maximum backoff. Other status codes fail immediately, because sending the same request again would fail as well.
+ * <p>
+ * Thread safe. The request body is written by the caller, so the caller can reuse its buffers.
+ */
+public class HttpPushClient {
+
+    private final URL url;
+    private final Map<String, String> headers;
+    private final int timeoutMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double backoffMultiplier;
+    private final boolean jitter;
+    private final IntPredicate retryOn;
+
+    private HttpPushClient(URL url, Map<String, String> headers, int timeoutMillis, int maxAttempts, long initialBackoffMillis,
+                           long maxBackoffMillis, double backoffMultiplier, boolean jitter, IntPredicate retryOn) {
+        this.url = url;
+        this.headers = headers;
+        this.timeoutMillis = timeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.backoffMultiplier = backoffMultiplier;
+        this.jitter = jitter;
+        this.retryOn = retryOn;
+    }
+
+    /**
+     * Writes the request body. May be called multiple times if the request is retried.
+     */
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Send the request, and retry if it fails with a connection error or a retryable status code.
+     *
+     * @param contentLength length of the body in bytes.
+     * @throws IOException if the request failed with a status code that should not be retried,
+     *                     or if it still failed after the maximum number of attempts.
+     */
+    public void post(int contentLength, Body body) throws IOException, InterruptedException {
+        long backoffMillis = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            long retryAfterMillis;
+            try {
+                retryAfterMillis = send(contentLength, body);
+                if (retryAfterMillis < 0) {
+                    return;
+                }
+            } catch (UnexpectedStatusException e) {
+                throw e;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                retryAfterMillis = 0;
+            }
+            if (attempt >= maxAttempts) {
+                throw new IOException(url + ": request failed after " + attempt + " attempts");
+            }
+            if (retryAfterMillis > 0) {
+                Thread.sleep(Math.min(retryAfterMillis, maxBackoffMillis));
+            } else {
+                Thread.sleep(jitter ? ThreadLocalRandom.current().nextLong(backoffMillis + 1) : backoffMillis);
+            }
+            backoffMillis = Math.min((long) (backoffMillis * backoffMultiplier), maxBackoffMillis);
+        }
+    }
+
+    /**
+     * Send the request once.
+     *
+     * @return {@code -1} on success, or the time to wait before retrying in milliseconds ({@code 0} if the
+     * server didn't send a {@code Retry-After} header).
+     * @throws IOException on connection errors.
+     * @throws UnexpectedStatusException on responses that should not be retried.
+     */
+    private long send(int contentLength, Body body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                connection.setRequestProperty(header.getKey(), header.getValue());
+            }
+            connection.setFixedLengthStreamingMode(contentLength);
+            try (OutputStream out = connection.getOutputStream()) {
+                body.writeTo(out);
+            }
+            int status = connection.getResponseCode();
+            drain(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+            if (status >= 200 && status < 300) {
+                return -1;
+            }
+            if (retryOn.test(status)) {
+                return parseRetryAfter(connection.getHeaderField("Retry-After"));
+            }
+            throw new UnexpectedStatusException(url + ": unexpected response status " + status);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static long parseRetryAfter(String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException ignored) {
+                // Retry-After may also be an HTTP date, use the default backoff in that case.
+            }
+        }
+        return 0;
+    }
+
+    // Read the response so that the connection can be reused.
+    private static void drain(InputStream in) throws IOException {
+        if (in != null) {
+            try (InputStream stream = in) {
+                byte[] buf = new byte[512];
+                while (stream.read(buf) != -1) {
+                    // discard
+                }
+            }
+        }
+    }
+
+    private static class UnexpectedStatusException extends IOException {
+
+        private UnexpectedStatusException(String message) {
+            super(message);
+        }
+    }
+
+    public static Builder builder(URL url) {
+        return new Builder(url);
+    }
+
+    public static class Builder {
+
+        private final URL url;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private int timeoutMillis = 10_000;
+        private int maxAttempts = 5;
+        private long initialBackoffMillis = 1000;
+        private long maxBackoffMillis = 5000;
+        private double backoffMultiplier = 2;
+        private boolean jitter = false;
+        private IntPredicate retryOn = status -> status == 429 || status >= 500;
+
+        private Builder(URL url) {
+            if (url == null) {
+                throw new NullPointerException("url");
+            }
+            this.url = url;
+        }
+
+        /**
+         * Add an HTTP header. Call multiple times to add multiple headers.
+         */
+        public Builder header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Timeout for connecting and for reading the response, per attempt. Default is 10 seconds.
+         */
+        public Builder timeoutMillis(int timeoutMillis) {
+            if (timeoutMillis <= 0) {
+                throw new IllegalArgumentException(timeoutMillis + ": timeoutMillis must be > 0");
+            }
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * Maximum number of attempts including the first one. Default is 5.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException(maxAttempts + ": maxAttempts must be > 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Exponential backoff between attempts. Default is 1 second initially, multiplied by 2 after each attempt,
+         * and at most 5 seconds.
+         */
+        public Builder backoff(long initialBackoffMillis, double multiplier, long maxBackoffMillis) {
+            if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+                throw new IllegalArgumentException("expecting 0 <= initialBackoffMillis <= maxBackoffMillis");
+            }
+            if (multiplier < 1) {
+                throw new IllegalArgumentException(multiplier + ": multiplier must be >= 1");
+            }
+            this.initialBackoffMillis = initialBackoffMillis;
+            this.backoffMultiplier = multiplier;
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        /**
+         * If {@code true}, the time between attempts is a random value between 0 and the current backoff,
+         * so that many clients that fail at the same time don't retry at the same time. Default is {@code false}.
+         */
+        public Builder jitter(boolean jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * HTTP status codes that should be retried. Default is 429 and 5xx.
+         */
+        public Builder retryOn(IntPredicate retryOn) {
+            if (retryOn == null) {
+                throw new NullPointerException("retryOn");
+            }
+            this.retryOn = retryOn;
+            return this;
+        }
+
+        public HttpPushClient build() {
+            return new HttpPushClient(url, new LinkedHashMap<>(headers), timeoutMillis, maxAttempts, initialBackoffMillis,
+                    maxBackoffMillis, backoffMultiplier, jitter, retryOn);
+        }
+    }
+}
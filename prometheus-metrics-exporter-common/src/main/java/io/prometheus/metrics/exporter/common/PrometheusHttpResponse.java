@@ -15,4 +15,20 @@ public interface PrometheusHttpResponse {
      * followed by {@link com.sun.net.httpserver.HttpExchange#getResponseBody()}.
      */
     OutputStream sendHeadersAndGetBody(int statusCode, int contentLength) throws IOException;
+
+    /**
+     * Send the first {@code length} bytes of {@code body} as the response body.
+     * <p>
+     * {@code body} is a pooled buffer of the scrape handler, and {@code release} returns it to the pool.
+     * The default implementation writes the body to {@link #sendHeadersAndGetBody(int, int)} and releases it right away.
+     * Implementations writing the response asynchronously may keep a reference to {@code body} instead of copying it,
+     * and must call {@code release} exactly once when they no longer need it, even if the response fails.
+     */
+    default void sendHeadersAndBody(int statusCode, byte[] body, int length, Runnable release) throws IOException {
+        try (OutputStream outputStream = sendHeadersAndGetBody(statusCode, length)) {
+            outputStream.write(body, 0, length);
+        } finally {
+            release.run();
+        }
+    }
 }
@@ -6,26 +6,44 @@ import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
 import io.prometheus.metrics.expositionformats.ExpositionFormats;
 import io.prometheus.metrics.model.registry.MetricNameFilter;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.registry.ScrapeMetrics;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Prometheus scrape endpoint.
  */
 public class PrometheusScrapeHandler {
 
+    // Maximum number of idle response buffers and compressors kept for reuse.
+    // Concurrent scrapes beyond that will allocate and discard their own.
+    private static final int MAX_POOL_SIZE = 4;
+
+    // Maximum number of distinct query strings for which the compiled name filter is cached.
+    private static final int MAX_CACHED_FILTERS = 100;
+
+    // Placeholder in the filter cache for query strings that don't need a name filter.
+    private static final Predicate<String> NO_FILTER = name -> true;
+
     private final PrometheusRegistry registry;
     private final ExpositionFormats expositionFormats;
-    private final Predicate<String> nameFilter;
+    private final PrometheusProperties config;
+    private volatile NameFilters nameFilters;
+    private final int compressionLevel;
+    private final int compressionThresholdBytes;
+    private final BlockingQueue<ResponseBuffer> bufferPool = new ArrayBlockingQueue<>(MAX_POOL_SIZE);
+    private final BlockingQueue<GzipCompressor> compressorPool = new ArrayBlockingQueue<>(MAX_POOL_SIZE);
     private AtomicInteger lastResponseSize = new AtomicInteger(2 << 9); //  0.5 MB
 
     public PrometheusScrapeHandler() {
@@ -43,10 +61,17 @@ public class PrometheusScrapeHandler {
     public PrometheusScrapeHandler(PrometheusProperties config, PrometheusRegistry registry) {
         this.expositionFormats = ExpositionFormats.init(config.getExporterProperties());
         this.registry = registry;
-        this.nameFilter = makeNameFilter(config.getExporterFilterProperties());
+        this.config = config;
+        this.nameFilters = new NameFilters(config.getExporterFilterProperties());
+        this.compressionLevel = config.getExporterProperties().getCompressionLevel();
+        this.compressionThresholdBytes = config.getExporterProperties().getCompressionThresholdBytes();
     }
 
     public void handleRequest(PrometheusHttpExchange exchange) throws IOException {
+        ScrapeMetrics scrapeMetrics = registry.getScrapeMetrics();
+        if (scrapeMetrics != null) {
+            scrapeMetrics.scrapeStarted();
+        }
         try {
             PrometheusHttpRequest request = exchange.getRequest();
             PrometheusHttpResponse response = exchange.getResponse();
@@ -54,31 +79,49 @@ public class PrometheusScrapeHandler {
             if (writeDebugResponse(snapshots, exchange)) {
                 return;
             }
-            ByteArrayOutputStream responseBuffer = new ByteArrayOutputStream(lastResponseSize.get() + 1024);
-            String acceptHeader = request.getHeader("Accept");
-            ExpositionFormatWriter writer = expositionFormats.findWriter(acceptHeader);
-            writer.write(responseBuffer, snapshots);
-            lastResponseSize.set(responseBuffer.size());
-            response.setHeader("Content-Type", writer.getContentType());
-
-            if (shouldUseCompression(request)) {
-                response.setHeader("Content-Encoding", "gzip");
-                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(response.sendHeadersAndGetBody(200, 0))) {
-                    responseBuffer.writeTo(gzipOutputStream);
-                }
-            } else {
-                int contentLength = responseBuffer.size();
-                if (contentLength > 0) {
-                    response.setHeader("Content-Length", String.valueOf(contentLength));
-                }
-                if (request.getMethod().equals("HEAD")) {
-                    // The HTTPServer implementation will throw an Exception if we close the output stream
-                    // without sending a response body, so let's not close the output stream in case of a HEAD response.
-                    response.sendHeadersAndGetBody(200, -1);
+            ResponseBuffer responseBuffer = acquireBuffer();
+            try {
+                String acceptHeader = request.getHeader("Accept");
+                ExpositionFormatWriter writer = expositionFormats.findWriter(acceptHeader);
+                long encodeStart = scrapeMetrics != null ? System.nanoTime() : 0;
+                writer.write(responseBuffer, snapshots);
+                long encodeNanos = scrapeMetrics != null ? System.nanoTime() - encodeStart : 0;
+                int uncompressedBytes = responseBuffer.size();
+                lastResponseSize.set(uncompressedBytes);
+                response.setHeader("Content-Type", writer.getContentType());
+
+                long responseBytes = uncompressedBytes;
+                if (shouldUseCompression(request) && uncompressedBytes >= compressionThresholdBytes) {
+                    response.setHeader("Content-Encoding", "gzip");
+                    // The compressed output is streamed to the response rather than buffered in a second array.
+                    // The compressed length is not known up front, so there is no Content-Length header.
+                    GzipCompressor compressor = acquireCompressor();
+                    try (OutputStream outputStream = response.sendHeadersAndGetBody(200, 0)) {
+                        responseBytes = compressor.compress(responseBuffer.getBuffer(), uncompressedBytes, outputStream);
+                    } finally {
+                        releaseCompressor(compressor);
+                    }
                 } else {
-                    try (OutputStream outputStream = response.sendHeadersAndGetBody(200, contentLength)) {
-                        responseBuffer.writeTo(outputStream);
+                    if (uncompressedBytes > 0) {
+                        response.setHeader("Content-Length", String.valueOf(uncompressedBytes));
                     }
+                    if (request.getMethod().equals("HEAD")) {
+                        // The HTTPServer implementation will throw an Exception if we close the output stream
+                        // without sending a response body, so let's not close the output stream in case of a HEAD response.
+                        response.sendHeadersAndGetBody(200, -1);
+                    } else {
+                        // The response takes ownership of the buffer and returns it to the pool when it is done with it.
+                        ResponseBuffer ownedByResponse = responseBuffer;
+                        responseBuffer = null;
+                        response.sendHeadersAndBody(200, ownedByResponse.getBuffer(), uncompressedBytes, () -> releaseBuffer(ownedByResponse));
+                    }
+                }
+                if (scrapeMetrics != null) {
+                    scrapeMetrics.recordEncoding(formatName(writer), encodeNanos, uncompressedBytes, responseBytes);
+                }
+            } finally {
+                if (responseBuffer != null) {
+                    releaseBuffer(responseBuffer);
                 }
             }
         } catch (IOException e) {
@@ -86,25 +129,63 @@ public class PrometheusScrapeHandler {
         } catch (RuntimeException e) {
             exchange.handleException(e);
         } finally {
+            if (scrapeMetrics != null) {
+                scrapeMetrics.scrapeFinished();
+            }
             exchange.close();
         }
     }
 
-    private Predicate<String> makeNameFilter(ExporterFilterProperties props) {
-        if (props.getAllowedMetricNames() == null && props.getExcludedMetricNames() == null && props.getAllowedMetricNamePrefixes() == null && props.getExcludedMetricNamePrefixes() == null) {
-            return null;
+    /**
+     * Value of the {@code format} label in {@link ScrapeMetrics}.
+     */
+    private String formatName(ExpositionFormatWriter writer) {
+        if (writer == expositionFormats.getPrometheusProtobufWriter()) {
+            return "prometheus-protobuf";
+        } else if (writer == expositionFormats.getOpenMetricsTextFormatWriter()) {
+            return "openmetrics-text";
+        } else if (writer == expositionFormats.getPrometheusTextFormatWriter()) {
+            return "prometheus-text";
         } else {
-            return MetricNameFilter.builder()
-                    .nameMustBeEqualTo(props.getAllowedMetricNames())
-                    .nameMustNotBeEqualTo(props.getExcludedMetricNames())
-                    .nameMustStartWith(props.getAllowedMetricNamePrefixes())
-                    .nameMustNotStartWith(props.getExcludedMetricNamePrefixes())
-                    .build();
+            return writer.getClass().getSimpleName();
+        }
+    }
+
+    private ResponseBuffer acquireBuffer() {
+        ResponseBuffer buffer = bufferPool.poll();
+        if (buffer == null) {
+            buffer = new ResponseBuffer(lastResponseSize.get() + 1024);
+        }
+        return buffer;
+    }
+
+    private void releaseBuffer(ResponseBuffer buffer) {
+        // reset() keeps the internal byte array, so the next scrape of similar size will not need to grow the buffer.
+        // Buffers that grew much larger than the last response, e.g. during a cardinality spike, are dropped
+        // so that the pool doesn't pin the peak size for the lifetime of the process.
+        if (buffer.getBuffer().length <= 2L * (lastResponseSize.get() + 1024)) {
+            buffer.reset();
+            bufferPool.offer(buffer);
+        }
+    }
+
+    private GzipCompressor acquireCompressor() {
+        GzipCompressor compressor = compressorPool.poll();
+        if (compressor == null) {
+            compressor = new GzipCompressor(compressionLevel);
+        }
+        return compressor;
+    }
+
+    private void releaseCompressor(GzipCompressor compressor) {
+        if (!compressorPool.offer(compressor)) {
+            // Pool is full. Release native memory now rather than waiting for the garbage collector.
+            compressor.end();
         }
     }
 
     private MetricSnapshots scrape(PrometheusHttpRequest request) {
-        Predicate<String> filter = makeNameFilter(request.getParameterValues("name[]"));
+        Predicate<String> filter = getNameFilters().get(request);
         if (filter != null) {
             return registry.scrape(filter);
         } else {
@@ -112,19 +193,76 @@ public class PrometheusScrapeHandler {
         }
     }
 
-    private Predicate<String> makeNameFilter(String[] includedNames) {
-        Predicate<String> result = null;
-        if (includedNames != null && includedNames.length > 0) {
-            result = MetricNameFilter.builder().nameMustBeEqualTo(includedNames).build();
-        }
-        if (result != null && nameFilter != null) {
-            result = result.and(nameFilter);
-        } else if (nameFilter != null) {
-            result = nameFilter;
+    /**
+     * The {@link ExporterFilterProperties} may change when the {@link PrometheusProperties} are reloaded.
+     * In that case the name filters are compiled again.
+     */
+    private NameFilters getNameFilters() {
+        NameFilters result = nameFilters;
+        ExporterFilterProperties filterProperties = config.getExporterFilterProperties();
+        if (result.filterProperties != filterProperties) {
+            result = new NameFilters(filterProperties);
+            nameFilters = result;
         }
         return result;
     }
 
+    /**
+     * Name filters compiled from the {@link ExporterFilterProperties} and the {@code name[]} request parameters.
+     */
+    private static class NameFilters {
+
+        private final ExporterFilterProperties filterProperties;
+        private final Predicate<String> nameFilter;
+        private final Map<String, Predicate<String>> filterCache = new ConcurrentHashMap<>();
+
+        private NameFilters(ExporterFilterProperties filterProperties) {
+            this.filterProperties = filterProperties;
+            this.nameFilter = ExporterNameFilter.of(filterProperties);
+        }
+
+        /**
+         * The name filter only depends on the query string, so it is compiled once and cached by query string.
+         */
+        private Predicate<String> get(PrometheusHttpRequest request) {
+            String queryString = request.getQueryString();
+            if (queryString == null) {
+                return nameFilter;
+            }
+            Predicate<String> filter = filterCache.get(queryString);
+            if (filter == null) {
+                filter = makeNameFilter(request.getParameterValues("name[]"));
+                if (filter == null) {
+                    filter = NO_FILTER;
+                }
+                if (filterCache.size() >= MAX_CACHED_FILTERS) {
+                    // Don't let arbitrary query strings grow the cache without bounds.
+                    filterCache.clear();
+                }
+                filterCache.put(queryString, filter);
+            }
+            return filter == NO_FILTER ? null : filter;
+        }
+
+        private Predicate<String> makeNameFilter(String[] includedNames) {
+            if (includedNames == null || includedNames.length == 0) {
+                return nameFilter;
+            }
+            if (filterProperties.getAllowedMetricNames() == null) {
+                // Combine name[] and the configured filter into a single MetricNameFilter
+                // so that the registry can look up the included names in its name index.
+                return MetricNameFilter.builder()
+                        .nameMustBeEqualTo(includedNames)
+                        .nameMustNotBeEqualTo(filterProperties.getExcludedMetricNames())
+                        .nameMustStartWith(filterProperties.getAllowedMetricNamePrefixes())
+                        .nameMustNotStartWith(filterProperties.getExcludedMetricNamePrefixes())
+                        .build();
+            }
+            Predicate<String> result = MetricNameFilter.builder().nameMustBeEqualTo(includedNames).build();
+            return result.and(nameFilter);
+        }
+    }
+
     private boolean writeDebugResponse(MetricSnapshots snapshots, PrometheusHttpExchange exchange) throws IOException {
         String debugParam = exchange.getRequest().getParameter("debug");
         PrometheusHttpResponse response = exchange.getResponse();
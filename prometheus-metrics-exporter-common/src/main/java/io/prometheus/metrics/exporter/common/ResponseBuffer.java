@@ -0,0 +1,21 @@
+package io.prometheus.metrics.exporter.common;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A {@link ByteArrayOutputStream} that gives access to its internal byte array,
+ * so that it can be compressed and reused without copying.
+ */
+class ResponseBuffer extends ByteArrayOutputStream {
+
+    ResponseBuffer(int initialSize) {
+        super(initialSize);
+    }
+
+    /**
+     * The internal byte array. Only the first {@link #size()} bytes are valid.
+     */
+    byte[] getBuffer() {
+        return buf;
+    }
+}
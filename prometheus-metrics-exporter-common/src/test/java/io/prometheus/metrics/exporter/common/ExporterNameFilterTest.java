@@ -0,0 +1,45 @@
+package io.prometheus.metrics.exporter.common;
+
+import io.prometheus.metrics.config.ExporterFilterProperties;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.InfoSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExporterNameFilterTest {
+
+    @Test
+    public void testNotConfigured() {
+        Assert.assertNull(ExporterNameFilter.of(null));
+        Assert.assertNull(ExporterNameFilter.of(ExporterFilterProperties.builder().build()));
+    }
+
+    @Test
+    public void testOf() {
+        MetricNameFilter filter = ExporterNameFilter.of(ExporterFilterProperties.builder()
+                .allowedPrefixes("jvm_", "http_")
+                .excludedNames("jvm_threads_state")
+                .excludedPrefixes("http_client_")
+                .build());
+        Assert.assertTrue(filter.test("jvm_memory_used_bytes"));
+        Assert.assertTrue(filter.test("http_server_requests_seconds"));
+        Assert.assertFalse(filter.test("jvm_threads_state"));
+        Assert.assertFalse(filter.test("http_client_requests_seconds"));
+        Assert.assertFalse(filter.test("process_cpu_seconds_total"));
+    }
+
+    @Test
+    public void testSelect() {
+        MetricSnapshots snapshots = MetricSnapshots.of(
+                GaugeSnapshot.builder().name("jvm_memory_used_bytes").build(),
+                GaugeSnapshot.builder().name("process_open_fds").build(),
+                InfoSnapshot.builder().name("target").build());
+        MetricNameFilter filter = MetricNameFilter.builder().nameMustStartWith("jvm_").build();
+        MetricSnapshots selected = ExporterNameFilter.select(snapshots, filter);
+        Assert.assertEquals(1, selected.size());
+        Assert.assertEquals("jvm_memory_used_bytes", selected.get(0).getMetadata().getPrometheusName());
+        Assert.assertEquals(1, ExporterNameFilter.select(snapshots, ExporterNameFilter.INFO_FILTER).size());
+    }
+}
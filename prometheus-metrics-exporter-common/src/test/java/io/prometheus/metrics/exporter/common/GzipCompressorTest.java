@@ -0,0 +1,86 @@
+package io.prometheus.metrics.exporter.common;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+public class GzipCompressorTest {
+
+    private final GzipCompressor compressor = new GzipCompressor(Deflater.DEFAULT_COMPRESSION);
+
+    @After
+    public void tearDown() {
+        compressor.end();
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        assertRoundTrip(new byte[0], 0);
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+        // Much larger than the internal 8 KiB output buffer, and partly incompressible.
+        byte[] data = new byte[1024 * 1024];
+        Random random = new Random(42);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 2 == 0 ? (byte) random.nextInt() : (byte) 'x';
+        }
+        assertRoundTrip(data, data.length);
+    }
+
+    @Test
+    public void testOnlyLengthBytesAreCompressed() throws IOException {
+        byte[] data = "metric_a 1.0\nmetric_b 2.0\n".getBytes(StandardCharsets.UTF_8);
+        assertRoundTrip(data, 13);
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        // The Deflater and the CRC are reset after each call, so the second result must not depend on the first.
+        byte[] first = "first response, a bit longer than the second one\n".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second response\n".getBytes(StandardCharsets.UTF_8);
+        assertRoundTrip(first, first.length);
+        byte[] compressed = assertRoundTrip(second, second.length);
+
+        GzipCompressor fresh = new GzipCompressor(Deflater.DEFAULT_COMPRESSION);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            fresh.compress(second, second.length, out);
+            Assert.assertArrayEquals(out.toByteArray(), compressed);
+        } finally {
+            fresh.end();
+        }
+    }
+
+    private byte[] assertRoundTrip(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = compressor.compress(data, length, out);
+        byte[] compressed = out.toByteArray();
+        Assert.assertEquals(compressed.length, written);
+        Assert.assertArrayEquals(Arrays.copyOf(data, length), gunzip(compressed));
+        return compressed;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                result.write(buf, 0, n);
+            }
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,74 @@
+package io.prometheus.metrics.exporter.httpserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.prometheus.metrics.model.registry.MetricCardinality;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Handler for the /metrics/cardinality endpoint.
+ * <p>
+ * Lists the number of series, the estimated heap usage, and the label names with the most distinct values
+ * for each metric, see {@link PrometheusRegistry#cardinality()}.
+ * <p>
+ * The endpoint is disabled by default, see {@link HTTPServer.Builder#cardinalityEndpoint(boolean)}.
+ */
+public class CardinalityHandler implements HttpHandler {
+
+    private static final int MAX_LABEL_NAMES = 3;
+
+    private final PrometheusRegistry registry;
+
+    public CardinalityHandler(PrometheusRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] responseBytes = report().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(responseBytes.length));
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                // Content-Length is set, but there is no response body.
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, responseBytes.length);
+                exchange.getResponseBody().write(responseBytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String report() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%-60s %10s %16s  %s%n", "METRIC", "SERIES", "ESTIMATED_BYTES", "TOP_LABELS"));
+        for (MetricCardinality metric : registry.cardinality()) {
+            result.append(String.format("%-60s %10d %16s  %s%n",
+                    metric.getName(),
+                    metric.getSeriesCount(),
+                    metric.getEstimatedBytes() < 0 ? "-" : Long.toString(metric.getEstimatedBytes()),
+                    topLabels(metric.getDistinctLabelValues())));
+        }
+        return result.toString();
+    }
+
+    private String topLabels(Map<String, Integer> distinctLabelValues) {
+        StringBuilder result = new StringBuilder();
+        Iterator<Map.Entry<String, Integer>> iterator = distinctLabelValues.entrySet().iterator();
+        for (int i = 0; i < MAX_LABEL_NAMES && iterator.hasNext(); i++) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return result.toString();
+    }
+}
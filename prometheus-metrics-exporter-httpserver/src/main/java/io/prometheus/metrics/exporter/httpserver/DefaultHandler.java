@@ -15,6 +15,10 @@ public class DefaultHandler implements HttpHandler {
     private final String contentType;
 
     public DefaultHandler() {
+        this(false);
+    }
+
+    DefaultHandler(boolean cardinalityEndpoint) {
         String responseString = "" +
                 "<html>\n" +
                 "<head><title>Prometheus Java Client</title></head>\n" +
@@ -50,6 +54,10 @@ public class DefaultHandler implements HttpHandler {
                 "<li><a href=\"/metrics?debug=prometheus-protobuf\">/metrics?debug=prometheus-protobuf</a>: View a text representation of the Prometheus protobuf format.</li>\n" +
                 "</ul>\n" +
                 "Note that the <tt>debug</tt> parameter is only for viewing different formats in a Web browser, it should not be used by the Prometheus server for scraping. The Prometheus server uses the <tt>Accept</tt> header for indicating which format it accepts.\n" +
+                (cardinalityEndpoint ? "" +
+                        "<h2>Cardinality</h2>\n" +
+                        "<a href=\"/metrics/cardinality\">/metrics/cardinality</a> lists the number of series and the estimated memory usage for each metric.\n"
+                        : "") +
                 "</body>\n" +
                 "</html>\n";
         this.responseBytes = responseString.getBytes(StandardCharsets.UTF_8);
@@ -8,6 +8,7 @@ import com.sun.net.httpserver.HttpsConfigurator;
 import com.sun.net.httpserver.HttpsServer;
 import io.prometheus.metrics.config.ExporterHttpServerProperties;
 import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.nio.NioHTTPServer;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 
 import java.io.Closeable;
@@ -45,15 +46,20 @@ public class HTTPServer implements Closeable {
 
     protected final HttpServer server;
     protected final ExecutorService executorService;
+    private final NioHTTPServer unixDomainSocketServer; // null if no Unix domain socket is configured
 
-    private HTTPServer(PrometheusProperties config, ExecutorService executorService, HttpServer httpServer, PrometheusRegistry registry, Authenticator authenticator, HttpHandler defaultHandler) {
+    private HTTPServer(PrometheusProperties config, ExecutorService executorService, HttpServer httpServer, PrometheusRegistry registry, Authenticator authenticator, HttpHandler defaultHandler, boolean cardinalityEndpoint, NioHTTPServer unixDomainSocketServer) {
         if (httpServer.getAddress() == null) {
             throw new IllegalArgumentException("HttpServer hasn't been bound to an address");
         }
         this.server = httpServer;
         this.executorService = executorService;
-        registerHandler("/", defaultHandler == null ? new DefaultHandler() : defaultHandler, authenticator);
+        this.unixDomainSocketServer = unixDomainSocketServer;
+        registerHandler("/", defaultHandler == null ? new DefaultHandler(cardinalityEndpoint) : defaultHandler, authenticator);
         registerHandler("/metrics", new MetricsHandler(config, registry), authenticator);
+        if (cardinalityEndpoint) {
+            registerHandler("/metrics/cardinality", new CardinalityHandler(registry), authenticator);
+        }
         registerHandler("/-/healthy", new HealthyHandler(), authenticator);
         this.server.start();
     }
@@ -78,6 +84,9 @@ public class HTTPServer implements Closeable {
     @Override
     public void close() {
         server.stop(0);
+        if (unixDomainSocketServer != null) {
+            unixDomainSocketServer.close();
+        }
         executorService.shutdown(); // Free any (parked/idle) threads in pool
     }
 
@@ -108,6 +117,9 @@ public class HTTPServer implements Closeable {
         private Authenticator authenticator = null;
         private HttpsConfigurator httpsConfigurator = null;
         private HttpHandler defaultHandler = null;
+        private boolean preferVirtualThreads = false;
+        private boolean cardinalityEndpoint = false;
+        private String unixDomainSocketPath = null;
 
         private Builder(PrometheusProperties config) {
             this.config = config;
@@ -150,6 +162,52 @@ public class HTTPServer implements Closeable {
             return this;
         }
 
+        /**
+         * Optional: Serve each request on its own virtual thread if the JVM supports virtual threads (Java 21 or newer).
+         * On older JVMs the default thread pool is used.
+         * <p>
+         * Virtual threads don't tie up a platform thread while a slow client is reading a large response.
+         * This is ignored if an {@link #executorService(ExecutorService)} is configured.
+         * Default is {@code false}.
+         */
+        public Builder preferVirtualThreads(boolean preferVirtualThreads) {
+            this.preferVirtualThreads = preferVirtualThreads;
+            return this;
+        }
+
+        /**
+         * Optional: Serve metrics on a Unix domain socket at this path in addition to the TCP port.
+         * <p>
+         * This is useful if the scraper runs on the same host, like a node-local agent scraping many JVMs:
+         * Scrapes don't go through the TCP stack, and each JVM can use a well-known path rather than a unique port.
+         * Access is controlled by file system permissions of the socket file, the {@link #authenticator(Authenticator)}
+         * and {@link #httpsConfigurator(HttpsConfigurator)} do not apply to the Unix domain socket.
+         * <p>
+         * The Unix domain socket provides the {@code /metrics} and {@code /-/healthy} endpoints. It is served by
+         * a {@link NioHTTPServer}, because {@code com.sun.net.httpserver} does not support Unix domain sockets.
+         * A stale socket file left behind by a previous process is deleted when the server starts, but the server refuses
+         * to start if the path is another kind of file or if another server is listening on the socket.
+         * The file is deleted when the server is closed.
+         * <p>
+         * Requires Java 16 or newer. On older JVMs {@link #buildAndStart()} throws an {@link UnsupportedOperationException}.
+         */
+        public Builder unixDomainSocketPath(String path) {
+            this.unixDomainSocketPath = path;
+            return this;
+        }
+
+        /**
+         * Optional: Serve the {@code /metrics/cardinality} endpoint, see {@link CardinalityHandler}.
+         * Default is {@code false}.
+         * <p>
+         * The report walks all series in the registry and lists metric and label names, so it is off by default.
+         * It is not served on the {@link #unixDomainSocketPath(String) Unix domain socket}.
+         */
+        public Builder cardinalityEndpoint(boolean cardinalityEndpoint) {
+            this.cardinalityEndpoint = cardinalityEndpoint;
+            return this;
+        }
+
         /**
          * Optional: Default is {@link PrometheusRegistry#defaultRegistry}.
          */
@@ -196,9 +254,32 @@ public class HTTPServer implements Closeable {
             } else {
                 httpServer = HttpServer.create(makeInetSocketAddress(), 3);
             }
+            NioHTTPServer unixDomainSocketServer = null;
+            String path = findUnixDomainSocketPath();
+            if (path != null) {
+                try {
+                    unixDomainSocketServer = NioHTTPServer.builder(config)
+                            .registry(registry)
+                            .unixDomainSocketPath(path)
+                            .buildAndStart();
+                } catch (IOException | RuntimeException e) {
+                    httpServer.stop(0); // release the TCP port, the server was never started
+                    throw e;
+                }
+            }
             ExecutorService executorService = makeExecutorService();
             httpServer.setExecutor(executorService);
-            return new HTTPServer(config, executorService, httpServer, registry, authenticator, defaultHandler);
+            return new HTTPServer(config, executorService, httpServer, registry, authenticator, defaultHandler, findCardinalityEndpoint(), unixDomainSocketServer);
+        }
+
+        private String findUnixDomainSocketPath() {
+            if (config != null && config.getExporterHttpServerProperties() != null) {
+                String result = config.getExporterHttpServerProperties().getUnixDomainSocketPath();
+                if (result != null) {
+                    return result;
+                }
+            }
+            return unixDomainSocketPath;
         }
 
         private InetSocketAddress makeInetSocketAddress() {
@@ -215,16 +296,41 @@ public class HTTPServer implements Closeable {
         private ExecutorService makeExecutorService() {
             if (executorService != null) {
                 return executorService;
-            } else {
-                return new ThreadPoolExecutor(
-                                1,
-                                10,
-                                120,
-                                TimeUnit.SECONDS,
-                                new SynchronousQueue<>(true),
-                                NamedDaemonThreadFactory.defaultThreadFactory(true),
-                                new BlockingRejectedExecutionHandler());
             }
+            if (findPreferVirtualThreads()) {
+                ExecutorService virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor("prometheus-http-virtual-");
+                if (virtualThreadExecutor != null) {
+                    return virtualThreadExecutor;
+                }
+            }
+            return new ThreadPoolExecutor(
+                            1,
+                            10,
+                            120,
+                            TimeUnit.SECONDS,
+                            new SynchronousQueue<>(true),
+                            NamedDaemonThreadFactory.defaultThreadFactory(true),
+                            new BlockingRejectedExecutionHandler());
+        }
+
+        private boolean findPreferVirtualThreads() {
+            if (config != null && config.getExporterHttpServerProperties() != null) {
+                Boolean result = config.getExporterHttpServerProperties().getPreferVirtualThreads();
+                if (result != null) {
+                    return result;
+                }
+            }
+            return preferVirtualThreads;
+        }
+
+        private boolean findCardinalityEndpoint() {
+            if (config != null && config.getExporterHttpServerProperties() != null) {
+                Boolean result = config.getExporterHttpServerProperties().getCardinalityEndpoint();
+                if (result != null) {
+                    return result;
+                }
+            }
+            return cardinalityEndpoint;
         }
 
         private int findPort() {
@@ -0,0 +1,34 @@
+package io.prometheus.metrics.exporter.httpserver;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads are available in Java 21 and newer. This library is compiled for Java 8,
+ * so the virtual thread API is called via reflection.
+ */
+class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Executor that starts a new virtual thread for each task,
+     * or {@code null} if the JVM does not support virtual threads.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java < 21, or Java 19/20 without --enable-preview.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.prometheus.metrics.exporter.httpserver;
+
+import io.prometheus.metrics.config.ExporterHttpServerProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class CardinalityHandlerTest {
+
+    private PrometheusRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new PrometheusRegistry();
+        Counter counter = Counter.builder()
+                .name("requests_total")
+                .labelNames("path")
+                .register(registry);
+        counter.labelValues("/a").inc();
+        counter.labelValues("/b").inc();
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        try (HTTPServer server = HTTPServer.builder()
+                .inetAddress(InetAddress.getLoopbackAddress())
+                .registry(registry)
+                .buildAndStart()) {
+            // Without the cardinality handler the request falls through to the /metrics context.
+            String body = body(open(server, "GET", "/metrics/cardinality"));
+            Assert.assertFalse(body, body.contains("TOP_LABELS"));
+            Assert.assertFalse(body(open(server, "GET", "/")).contains("/metrics/cardinality"));
+        }
+    }
+
+    @Test
+    public void testGet() throws IOException {
+        try (HTTPServer server = HTTPServer.builder()
+                .inetAddress(InetAddress.getLoopbackAddress())
+                .registry(registry)
+                .cardinalityEndpoint(true)
+                .buildAndStart()) {
+            HttpURLConnection connection = open(server, "GET", "/metrics/cardinality");
+            Assert.assertEquals(200, connection.getResponseCode());
+            String body = body(connection);
+            Assert.assertTrue(body, body.contains("TOP_LABELS"));
+            Assert.assertTrue(body, body.contains("requests"));
+            Assert.assertTrue(body, body.contains("path=2"));
+            Assert.assertTrue(body(open(server, "GET", "/")).contains("/metrics/cardinality"));
+        }
+    }
+
+    @Test
+    public void testHead() throws IOException {
+        try (HTTPServer server = HTTPServer.builder()
+                .inetAddress(InetAddress.getLoopbackAddress())
+                .registry(registry)
+                .cardinalityEndpoint(true)
+                .buildAndStart()) {
+            int expectedLength = body(open(server, "GET", "/metrics/cardinality")).getBytes(StandardCharsets.UTF_8).length;
+            HttpURLConnection connection = open(server, "HEAD", "/metrics/cardinality");
+            Assert.assertEquals(200, connection.getResponseCode());
+            Assert.assertEquals(Integer.toString(expectedLength), connection.getHeaderField("Content-Length"));
+            Assert.assertEquals("", body(connection));
+        }
+    }
+
+    @Test
+    public void testEnabledByProperties() throws IOException {
+        PrometheusProperties defaults = PrometheusProperties.get();
+        PrometheusProperties config = new PrometheusProperties(
+                defaults.getDefaultMetricProperties(),
+                Collections.emptyMap(),
+                defaults.getExemplarProperties(),
+                defaults.getExporterProperties(),
+                defaults.getExporterFilterProperties(),
+                ExporterHttpServerProperties.builder().cardinalityEndpoint(true).build(),
+                defaults.getExporterOpenTelemetryProperties());
+        try (HTTPServer server = HTTPServer.builder(config)
+                .inetAddress(InetAddress.getLoopbackAddress())
+                .registry(registry)
+                .buildAndStart()) {
+            Assert.assertTrue(body(open(server, "GET", "/metrics/cardinality")).contains("TOP_LABELS"));
+        }
+    }
+
+    private HttpURLConnection open(HTTPServer server, String method, String path) throws IOException {
+        URL url = new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+
+    private String body(HttpURLConnection connection) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                result.write(buffer, 0, n);
+            }
+        }
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
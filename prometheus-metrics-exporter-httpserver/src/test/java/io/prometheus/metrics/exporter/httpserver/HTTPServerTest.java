@@ -0,0 +1,136 @@
+package io.prometheus.metrics.exporter.httpserver;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class HTTPServerTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private PrometheusRegistry registry;
+    private Path socketPath;
+
+    @Before
+    public void setUp() throws IOException {
+        // The Unix domain socket API is available in Java 16 and newer.
+        Assume.assumeTrue(isUnixDomainSocketSupported());
+        registry = new PrometheusRegistry();
+        Counter.builder().name("requests_total").register(registry).inc();
+        socketPath = tmp.getRoot().toPath().resolve("metrics.sock");
+    }
+
+    @Test
+    public void testScrapeUnixDomainSocket() throws Exception {
+        try (HTTPServer server = startServer()) {
+            String response = get("/metrics");
+            Assert.assertTrue(response, response.startsWith("HTTP/1.1 200 OK\r\n"));
+            Assert.assertTrue(response, response.contains("requests_total 1.0"));
+        }
+        Assert.assertFalse(Files.exists(socketPath));
+    }
+
+    @Test
+    public void testStaleSocketFileIsReplaced() throws Exception {
+        // Like a process that was killed before it could clean up: the socket file exists, but nobody is listening.
+        try (ServerSocketChannel stale = (ServerSocketChannel) open(ServerSocketChannel.class)) {
+            stale.bind(address(socketPath));
+        }
+        Assert.assertTrue(Files.exists(socketPath));
+        try (HTTPServer server = startServer()) {
+            Assert.assertTrue(get("/-/healthy").startsWith("HTTP/1.1 200 OK\r\n"));
+        }
+    }
+
+    @Test
+    public void testRegularFileIsNotDeleted() throws Exception {
+        Files.write(socketPath, "important".getBytes(StandardCharsets.UTF_8));
+        try {
+            startServer().close();
+            Assert.fail("expected BindException");
+        } catch (BindException expected) {
+        }
+        Assert.assertEquals("important", new String(Files.readAllBytes(socketPath), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSocketInUseIsNotTakenOver() throws Exception {
+        try (HTTPServer server = startServer()) {
+            try {
+                startServer().close();
+                Assert.fail("expected BindException");
+            } catch (BindException expected) {
+            }
+            // The first server is still reachable.
+            Assert.assertTrue(get("/-/healthy").startsWith("HTTP/1.1 200 OK\r\n"));
+        }
+    }
+
+    private HTTPServer startServer() throws IOException {
+        return HTTPServer.builder(PrometheusProperties.get())
+                .hostname("localhost")
+                .registry(registry)
+                .unixDomainSocketPath(socketPath.toString())
+                .buildAndStart();
+    }
+
+    private String get(String path) throws Exception {
+        try (SocketChannel channel = (SocketChannel) open(SocketChannel.class)) {
+            channel.connect(address(socketPath));
+            String request = "GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+            ByteBuffer requestBuffer = ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+            while (requestBuffer.hasRemaining()) {
+                channel.write(requestBuffer);
+            }
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                response.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+            return new String(response.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // The library is compiled for Java 8, so the Java 16 API is called via reflection:
+    // open() is SocketChannel.open(StandardProtocolFamily.UNIX) and ServerSocketChannel.open(StandardProtocolFamily.UNIX),
+    // address() is UnixDomainSocketAddress.of(path).
+
+    private static boolean isUnixDomainSocketSupported() {
+        try {
+            Class.forName("java.net.UnixDomainSocketAddress");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Object open(Class<?> channelClass) throws Exception {
+        return channelClass.getMethod("open", ProtocolFamily.class).invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+    }
+
+    private static SocketAddress address(Path path) throws Exception {
+        return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class).invoke(null, path);
+    }
+}
@@ -0,0 +1,78 @@
+package io.prometheus.metrics.exporter.nio;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the response body in a list of buffers from the {@link DirectBufferPool}.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream} the content is never copied when the stream grows,
+ * and the buffers can be written to the socket with a single gathering write.
+ */
+class DirectBufferOutputStream extends OutputStream {
+
+    private final DirectBufferPool pool;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private ByteBuffer current;
+    private int size;
+
+    DirectBufferOutputStream(DirectBufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        if (current == null || !current.hasRemaining()) {
+            nextBuffer();
+        }
+        current.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) {
+                nextBuffer();
+            }
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    private void nextBuffer() {
+        current = pool.acquire();
+        buffers.add(current);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Flip the buffers for reading. The stream must not be written to afterwards.
+     */
+    List<ByteBuffer> getBuffers() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.flip();
+        }
+        return buffers;
+    }
+
+    /**
+     * Return all buffers to the pool and reset the stream.
+     */
+    void release() {
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        buffers.clear();
+        current = null;
+        size = 0;
+    }
+}
@@ -0,0 +1,74 @@
+package io.prometheus.metrics.exporter.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of fixed-size direct {@link ByteBuffer ByteBuffers}.
+ * <p>
+ * Writing a heap buffer to a socket makes the JDK copy it into a temporary direct buffer first.
+ * Encoding responses directly into pooled direct buffers avoids that copy, and avoids allocating
+ * direct memory for each scrape.
+ * <p>
+ * The pool never allocates more than {@code maxDirectBuffers} direct buffers. If all of them are in use,
+ * {@link #acquire()} returns heap buffers, which are left to the garbage collector when released.
+ * This bounds the direct memory used by the server, at the cost of a copy for responses exceeding the pool.
+ */
+class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxDirectBuffers;
+    private final BlockingQueue<ByteBuffer> pool;
+    private final AtomicInteger directBuffersAllocated = new AtomicInteger();
+
+    /**
+     * @param bufferSize       size of each buffer in bytes.
+     * @param maxDirectBuffers maximum number of direct buffers allocated by this pool.
+     */
+    DirectBufferPool(int bufferSize, int maxDirectBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxDirectBuffers = maxDirectBuffers;
+        this.pool = new ArrayBlockingQueue<>(maxDirectBuffers);
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (directBuffersAllocated.incrementAndGet() <= maxDirectBuffers) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        directBuffersAllocated.decrementAndGet();
+        return ByteBuffer.allocate(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        buffer.clear();
+        // Every direct buffer was allocated by this pool, so there is always room for it.
+        pool.offer(buffer);
+    }
+
+    /**
+     * Number of direct buffers allocated so far. Package private. For testing only.
+     */
+    int getDirectBuffersAllocated() {
+        return directBuffersAllocated.get();
+    }
+
+    /**
+     * Number of direct buffers in the pool, i.e. not in use. Package private. For testing only.
+     */
+    int getIdleBuffers() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,180 @@
+package io.prometheus.metrics.exporter.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * State of a single client connection.
+ * <p>
+ * A connection is either reading a request, waiting for a worker thread to handle the request,
+ * or writing the response. While the request is handled the connection does not read, so a client
+ * pipelining requests cannot make the server buffer an unbounded number of responses.
+ * <p>
+ * All methods except {@link #sendResponse(List, boolean)} are called on the selector thread.
+ */
+class NioConnection {
+
+    private static final int MAX_REQUEST_HEAD_BYTES = 8 * 1024;
+
+    private enum State {
+        READING, HANDLING, WRITING
+    }
+
+    private final NioHTTPServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final DirectBufferPool bufferPool;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_REQUEST_HEAD_BYTES); // always in write mode
+    private State state = State.READING;
+    private long bodyBytesToSkip;
+    private long lastActivityNanos = System.nanoTime();
+
+    // set by the worker thread in sendResponse(), published to the selector thread via NioHTTPServer's queue
+    private ByteBuffer[] response;
+    private int responseOffset;
+    private boolean closeAfterResponse;
+
+    NioConnection(NioHTTPServer server, SocketChannel channel, SelectionKey key, DirectBufferPool bufferPool) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.bufferPool = bufferPool;
+    }
+
+    void onReadable() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            close();
+            return;
+        }
+        lastActivityNanos = System.nanoTime();
+        processInput();
+    }
+
+    /**
+     * Parse the next request from the read buffer and dispatch it, if it is complete.
+     */
+    private void processInput() throws IOException {
+        NioHttpRequest request;
+        readBuffer.flip();
+        try {
+            skipBody();
+            if (bodyBytesToSkip > 0) {
+                return;
+            }
+            try {
+                request = NioHttpRequest.parse(readBuffer);
+                if (request == null) {
+                    if (readBuffer.limit() == readBuffer.capacity()) {
+                        sendError(431);
+                    }
+                    return;
+                }
+                bodyBytesToSkip = request.getContentLength();
+            } catch (IOException e) {
+                sendError(400);
+                return;
+            }
+            skipBody();
+        } finally {
+            readBuffer.compact();
+        }
+        state = State.HANDLING;
+        key.interestOps(0);
+        server.dispatch(this, request);
+    }
+
+    private void skipBody() {
+        int n = (int) Math.min(readBuffer.remaining(), bodyBytesToSkip);
+        readBuffer.position(readBuffer.position() + n);
+        bodyBytesToSkip -= n;
+    }
+
+    /**
+     * Respond with an error and close the connection.
+     */
+    void sendError(int statusCode) throws IOException {
+        String head = "HTTP/1.1 " + statusCode + " " + NioHttpExchange.reasonPhrase(statusCode) + "\r\n" +
+                "Content-Length: 0\r\n" +
+                "Connection: close\r\n\r\n";
+        response = new ByteBuffer[]{ByteBuffer.wrap(head.getBytes(StandardCharsets.ISO_8859_1))};
+        responseOffset = 0;
+        closeAfterResponse = true;
+        startWriting();
+    }
+
+    /**
+     * Called by the worker thread when the response is ready.
+     */
+    void sendResponse(List<ByteBuffer> buffers, boolean keepAlive) {
+        response = buffers.toArray(new ByteBuffer[0]);
+        responseOffset = 0;
+        closeAfterResponse = !keepAlive;
+        server.responseReady(this);
+    }
+
+    void startWriting() throws IOException {
+        if (!channel.isOpen()) {
+            // The connection was closed by the server while the request was handled.
+            releaseResponse();
+            return;
+        }
+        state = State.WRITING;
+        lastActivityNanos = System.nanoTime();
+        key.interestOps(SelectionKey.OP_WRITE);
+        onWritable();
+    }
+
+    void onWritable() throws IOException {
+        // Gathering write: header and all body chunks in a single system call, if the socket buffer has room.
+        if (channel.write(response, responseOffset, response.length - responseOffset) > 0) {
+            lastActivityNanos = System.nanoTime();
+        }
+        while (responseOffset < response.length && !response[responseOffset].hasRemaining()) {
+            responseOffset++;
+        }
+        if (responseOffset < response.length) {
+            return; // wait for OP_WRITE
+        }
+        releaseResponse();
+        if (closeAfterResponse) {
+            close();
+            return;
+        }
+        state = State.READING;
+        key.interestOps(SelectionKey.OP_READ);
+        processInput(); // the client may have pipelined the next request
+    }
+
+    /**
+     * {@code true} if the connection is waiting for the client for longer than {@code timeoutNanos}.
+     * Connections waiting for a worker thread never time out.
+     */
+    boolean isIdle(long nowNanos, long timeoutNanos) {
+        return state != State.HANDLING && nowNanos - lastActivityNanos > timeoutNanos;
+    }
+
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        if (state != State.HANDLING) {
+            // Otherwise the response is still being produced and will be released in startWriting().
+            releaseResponse();
+        }
+    }
+
+    private void releaseResponse() {
+        if (response != null) {
+            for (ByteBuffer buffer : response) {
+                bufferPool.release(buffer);
+            }
+            response = null;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package io.prometheus.metrics.exporter.nio;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.common.PrometheusScrapeHandler;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Expose Prometheus metrics using a non-blocking HTTP server based on {@code java.nio}.
+ * <p>
+ * This is an alternative to the {@code HTTPServer} in {@code prometheus-metrics-exporter-httpserver}.
+ * A single selector thread accepts connections, reads requests, and writes responses.
+ * Worker threads only collect and encode metrics, so a slow client reading a large response
+ * does not block a worker thread. The encoded response is copied once from the scrape handler's heap buffer
+ * into pooled direct buffers, which are written to the socket with gathering writes. This saves the JDK's
+ * additional copy into a temporary direct buffer, except for large responses exceeding the pool,
+ * see {@link DirectBufferPool}.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ * NioHTTPServer server = NioHTTPServer.builder()
+ *     .port(9090)
+ *     .buildAndStart();
+ * }</pre>
+ * The server provides the {@code /metrics} and {@code /-/healthy} endpoints. It supports HTTP/1.1 keep-alive,
+ * but no TLS and no authentication.
+ * <p>
+ * Instead of a TCP port the server can listen on a Unix domain socket, see {@link Builder#unixDomainSocketPath(String)}.
+ */
+public class NioHTTPServer implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(NioHTTPServer.class.getName());
+
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_DIRECT_BUFFERS = 64;
+    private static final int MAX_QUEUED_REQUESTS = 100;
+
+    private final String unixDomainSocketPath; // null if listening on a TCP port
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService executorService;
+    private final PrometheusScrapeHandler scrapeHandler;
+    private final DirectBufferPool bufferPool = new DirectBufferPool(BUFFER_SIZE, MAX_DIRECT_BUFFERS);
+    private final Queue<NioConnection> responsesReady = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    private NioHTTPServer(PrometheusProperties config, PrometheusRegistry registry, ExecutorService executorService, SocketAddress address, String unixDomainSocketPath) throws IOException {
+        this.executorService = executorService;
+        this.unixDomainSocketPath = unixDomainSocketPath;
+        this.scrapeHandler = new PrometheusScrapeHandler(config, registry);
+        if (unixDomainSocketPath != null) {
+            UnixDomainSockets.deleteStaleSocketFile(unixDomainSocketPath, address);
+            this.serverChannel = UnixDomainSockets.openServerSocketChannel();
+        } else {
+            this.serverChannel = ServerSocketChannel.open();
+        }
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        this.selectorThread = new Thread(this::run, "prometheus-nio-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    private void run() {
+        long lastIdleCheck = System.nanoTime();
+        while (running) {
+            try {
+                selector.select(1000);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "The Prometheus metrics NioHTTPServer failed to select.", e);
+                break;
+            }
+            NioConnection ready;
+            while ((ready = responsesReady.poll()) != null) {
+                try {
+                    ready.startWriting();
+                } catch (IOException | CancelledKeyException e) {
+                    ready.close();
+                } catch (RuntimeException e) {
+                    closeAfterUnexpectedError(ready, e);
+                }
+            }
+            for (SelectionKey key : selector.selectedKeys()) {
+                if (key.isValid() && key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                NioConnection connection = (NioConnection) key.attachment();
+                try {
+                    if (key.isValid() && key.isReadable()) {
+                        connection.onReadable();
+                    } else if (key.isValid() && key.isWritable()) {
+                        connection.onWritable();
+                    }
+                } catch (IOException | CancelledKeyException e) {
+                    connection.close();
+                } catch (RuntimeException e) {
+                    closeAfterUnexpectedError(connection, e);
+                }
+            }
+            selector.selectedKeys().clear();
+            long now = System.nanoTime();
+            if (now - lastIdleCheck > TimeUnit.SECONDS.toNanos(1)) {
+                lastIdleCheck = now;
+                closeIdleConnections(now);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection) {
+                ((NioConnection) key.attachment()).close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+            if (unixDomainSocketPath != null) {
+                Files.deleteIfExists(Paths.get(unixDomainSocketPath));
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * A bug in handling a single connection must not stop the selector thread, which serves all connections.
+     */
+    private void closeAfterUnexpectedError(NioConnection connection, RuntimeException e) {
+        logger.log(Level.WARNING, "Unexpected error in the Prometheus metrics NioHTTPServer, closing the connection.", e);
+        connection.close();
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            if (unixDomainSocketPath == null) {
+                channel.socket().setTcpNoDelay(true);
+            }
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new NioConnection(this, channel, key, bufferPool));
+        } catch (IOException e) {
+            // The client went away before we could register the connection. Nothing to do.
+        }
+    }
+
+    private void closeIdleConnections(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection) {
+                NioConnection connection = (NioConnection) key.attachment();
+                if (connection.isIdle(now, IDLE_TIMEOUT_NANOS)) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Called on the selector thread when a request has been read.
+     */
+    void dispatch(NioConnection connection, NioHttpRequest request) throws IOException {
+        try {
+            executorService.execute(() -> handle(connection, request));
+        } catch (RejectedExecutionException e) {
+            connection.sendError(503);
+        }
+    }
+
+    /**
+     * Called on a worker thread when the response is ready for writing.
+     */
+    void responseReady(NioConnection connection) {
+        responsesReady.add(connection);
+        selector.wakeup();
+    }
+
+    private void handle(NioConnection connection, NioHttpRequest request) {
+        NioHttpExchange exchange = new NioHttpExchange(connection, request, bufferPool);
+        try {
+            switch (request.getPath()) {
+                case "/metrics":
+                    scrapeHandler.handleRequest(exchange);
+                    break;
+                case "/-/healthy":
+                    respond(exchange, 200, "text/plain; charset=utf-8", "Exporter is healthy.\n");
+                    break;
+                case "/":
+                    respond(exchange, 200, "text/html; charset=utf-8", "<html><head><title>Prometheus Java Client</title></head><body>\n" +
+                            "<h1>Prometheus Java Client</h1>\n" +
+                            "<p><a href=\"metrics\">/metrics</a></p>\n" +
+                            "<p><a href=\"-/healthy\">/-/healthy</a></p>\n" +
+                            "</body></html>\n");
+                    break;
+                default:
+                    respond(exchange, 404, "text/plain; charset=utf-8", "Not Found\n");
+            }
+        } catch (IOException e) {
+            exchange.handleException(e);
+        } catch (RuntimeException e) {
+            exchange.handleException(e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(NioHttpExchange exchange, int statusCode, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponse().setHeader("Content-Type", contentType);
+        if (exchange.getRequest().getMethod().equals("HEAD")) {
+            exchange.getResponse().setHeader("Content-Length", Integer.toString(bytes.length));
+            exchange.getResponse().sendHeadersAndGetBody(statusCode, -1);
+        } else {
+            try (OutputStream out = exchange.getResponse().sendHeadersAndGetBody(statusCode, bytes.length)) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Package private. For testing only.
+     */
+    DirectBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Stop the server. Same as {@link #close()}.
+     */
+    public void stop() {
+        close();
+    }
+
+    /**
+     * Stop the server, close all connections, and shut down the executor service.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * Gets the port number.
+     * This is useful if you did not specify a port and the server picked a free port automatically.
+     * Returns {@code -1} if the server listens on a Unix domain socket.
+     */
+    public int getPort() {
+        if (unixDomainSocketPath != null) {
+            return -1;
+        }
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private int port = 0;
+        private String hostname = null;
+        private InetAddress inetAddress = null;
+        private String unixDomainSocketPath = null;
+        private ExecutorService executorService = null;
+        private PrometheusRegistry registry = null;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Port to bind to. Default is 0, indicating that a random port will be selected.
+         * You can learn the randomly selected port by calling {@link NioHTTPServer#getPort()}.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Use this hostname to resolve the IP address to bind to.
+         * Must not be called together with {@link #inetAddress(InetAddress)}.
+         * Default is empty, indicating that the server binds to the wildcard address.
+         */
+        public Builder hostname(String hostname) {
+            this.hostname = hostname;
+            return this;
+        }
+
+        /**
+         * Bind to this IP address.
+         * Must not be called together with {@link #hostname(String)}.
+         * Default is empty, indicating that the server binds to the wildcard address.
+         */
+        public Builder inetAddress(InetAddress address) {
+            this.inetAddress = address;
+            return this;
+        }
+
+        /**
+         * Listen on a Unix domain socket at this path instead of a TCP port.
+         * Must not be called together with {@link #port(int)}, {@link #hostname(String)}, or {@link #inetAddress(InetAddress)}.
+         * <p>
+         * A Unix domain socket avoids the TCP stack and port management if the scraper runs on the same host.
+         * Access is controlled by file system permissions of the socket file.
+         * A stale socket file left behind by a previous process is deleted when the server starts, but the server refuses
+         * to start if the path is another kind of file or if another server is listening on the socket.
+         * The file is deleted when the server is closed.
+         * <p>
+         * Requires Java 16 or newer. On older JVMs {@link #buildAndStart()} throws an {@link UnsupportedOperationException}.
+         */
+        public Builder unixDomainSocketPath(String path) {
+            this.unixDomainSocketPath = path;
+            return this;
+        }
+
+        /**
+         * Optional: ExecutorService for collecting and encoding metrics.
+         * Reading requests and writing responses is always done on the selector thread.
+         * <p>
+         * The default executor has 10 threads and queues up to 100 requests. Requests exceeding that,
+         * i.e. requests rejected by the executor, are answered with HTTP 503.
+         */
+        public Builder executorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Optional: Default is {@link PrometheusRegistry#defaultRegistry}.
+         */
+        public Builder registry(PrometheusRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * Build and start the server.
+         */
+        public NioHTTPServer buildAndStart() throws IOException {
+            if (registry == null) {
+                registry = PrometheusRegistry.defaultRegistry;
+            }
+            SocketAddress address = makeSocketAddress();
+            return new NioHTTPServer(config, registry, makeExecutorService(), address, unixDomainSocketPath);
+        }
+
+        private SocketAddress makeSocketAddress() {
+            if (unixDomainSocketPath != null) {
+                if (port != 0 || hostname != null || inetAddress != null) {
+                    throw new IllegalStateException("cannot configure 'unixDomainSocketPath' together with 'port', 'hostname', or 'inetAddress'");
+                }
+                return UnixDomainSockets.address(unixDomainSocketPath);
+            }
+            return makeInetSocketAddress();
+        }
+
+        private InetSocketAddress makeInetSocketAddress() {
+            if (inetAddress != null) {
+                if (hostname != null) {
+                    throw new IllegalStateException("cannot configure 'inetAddress' and 'hostname' at the same time");
+                }
+                return new InetSocketAddress(inetAddress, port);
+            } else if (hostname != null) {
+                return new InetSocketAddress(hostname, port);
+            } else {
+                return new InetSocketAddress(port);
+            }
+        }
+
+        private ExecutorService makeExecutorService() {
+            if (executorService != null) {
+                return executorService;
+            }
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            ThreadPoolExecutor result = new ThreadPoolExecutor(
+                    10,
+                    10,
+                    120,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "prometheus-nio-worker-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            result.allowCoreThreadTimeOut(true);
+            return result;
+        }
+    }
+}
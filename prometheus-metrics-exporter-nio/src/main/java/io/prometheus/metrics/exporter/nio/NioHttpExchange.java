@@ -0,0 +1,165 @@
+package io.prometheus.metrics.exporter.nio;
+
+import io.prometheus.metrics.exporter.common.PrometheusHttpExchange;
+import io.prometheus.metrics.exporter.common.PrometheusHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exchange for a single request on a {@link NioConnection}.
+ * <p>
+ * The response body is buffered in direct buffers, and nothing is sent until {@link #close()}.
+ * Therefore the {@code Content-Length} is always known, and an exception during the scrape
+ * can still be turned into an HTTP 500 response.
+ */
+class NioHttpExchange implements PrometheusHttpExchange {
+
+    private final NioConnection connection;
+    private final NioHttpRequest request;
+    private final DirectBufferPool bufferPool;
+    private final Response response = new Response();
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final DirectBufferOutputStream body;
+    private int statusCode = 200;
+    private boolean responseSent = false;
+    private boolean headOnly = false;
+    private boolean closed = false;
+
+    NioHttpExchange(NioConnection connection, NioHttpRequest request, DirectBufferPool bufferPool) {
+        this.connection = connection;
+        this.request = request;
+        this.bufferPool = bufferPool;
+        this.body = new DirectBufferOutputStream(bufferPool);
+    }
+
+    private class Response implements PrometheusHttpResponse {
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public OutputStream sendHeadersAndGetBody(int statusCode, int contentLength) throws IOException {
+            if (responseSent) {
+                throw new IOException("Cannot send multiple HTTP responses for a single HTTP exchange.");
+            }
+            responseSent = true;
+            NioHttpExchange.this.statusCode = statusCode;
+            // The scrape handler does not pass -1 for HEAD requests if the response is gzip encoded.
+            headOnly = contentLength == -1 || "HEAD".equals(request.getMethod());
+            return body;
+        }
+    }
+
+    @Override
+    public NioHttpRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public PrometheusHttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public void handleException(IOException e) {
+        sendErrorResponseWithStackTrace(e);
+    }
+
+    @Override
+    public void handleException(RuntimeException e) {
+        sendErrorResponseWithStackTrace(e);
+    }
+
+    private void sendErrorResponseWithStackTrace(Exception requestHandlerException) {
+        // Nothing has been written to the socket yet, so we can replace whatever the handler produced.
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+        printWriter.write("An Exception occurred while scraping metrics: ");
+        requestHandlerException.printStackTrace(printWriter);
+        byte[] stackTrace = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
+        body.release();
+        headers.clear();
+        headers.put("Content-Type", "text/plain; charset=utf-8");
+        statusCode = 500;
+        headOnly = false;
+        responseSent = true;
+        body.write(stackTrace, 0, stackTrace.length);
+    }
+
+    /**
+     * Hand the response over to the selector thread for writing. Calling this more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!responseSent) {
+            statusCode = 500;
+        }
+        boolean keepAlive = request.isKeepAlive();
+        List<ByteBuffer> buffers = new ArrayList<>();
+        if (headOnly) {
+            headers.putIfAbsent("Content-Length", Integer.toString(body.size()));
+            body.release();
+        } else {
+            headers.put("Content-Length", Integer.toString(body.size()));
+        }
+        buffers.add(encodeHead(statusCode, headers, keepAlive, "HTTP/1.0".equals(request.getVersion())));
+        buffers.addAll(body.getBuffers());
+        connection.sendResponse(buffers, keepAlive);
+    }
+
+    private ByteBuffer encodeHead(int statusCode, Map<String, String> headers, boolean keepAlive, boolean http10) {
+        StringBuilder head = new StringBuilder(256);
+        head.append("HTTP/1.1 ").append(statusCode).append(' ').append(reasonPhrase(statusCode)).append("\r\n");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        if (!keepAlive) {
+            head.append("Connection: close\r\n");
+        } else if (http10) {
+            head.append("Connection: keep-alive\r\n");
+        }
+        head.append("\r\n");
+        byte[] bytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+        if (bytes.length > bufferPool.getBufferSize()) {
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer buffer = bufferPool.acquire();
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    static String reasonPhrase(int statusCode) {
+        switch (statusCode) {
+            case 200:
+                return "OK";
+            case 400:
+                return "Bad Request";
+            case 404:
+                return "Not Found";
+            case 431:
+                return "Request Header Fields Too Large";
+            case 500:
+                return "Internal Server Error";
+            case 503:
+                return "Service Unavailable";
+            default:
+                return "Unknown";
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.prometheus.metrics.exporter.nio;
+
+import io.prometheus.metrics.exporter.common.PrometheusHttpRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP/1.x request line and headers. The request body is ignored.
+ */
+class NioHttpRequest implements PrometheusHttpRequest {
+
+    private final String method;
+    private final String path;
+    private final String rawQuery;
+    private final String version;
+    private final Map<String, List<String>> headers; // keys are lower case
+
+    private NioHttpRequest(String method, String path, String rawQuery, String version, Map<String, List<String>> headers) {
+        this.method = method;
+        this.path = path;
+        this.rawQuery = rawQuery;
+        this.version = version;
+        this.headers = headers;
+    }
+
+    /**
+     * Parse the request head from {@code buffer}, which must be in read mode.
+     * <p>
+     * If the buffer contains the complete head, the buffer's position is moved to the first byte after the head.
+     * Otherwise, the position is unchanged and {@code null} is returned.
+     *
+     * @throws IOException if the request is malformed.
+     */
+    static NioHttpRequest parse(ByteBuffer buffer) throws IOException {
+        int end = findEndOfHead(buffer);
+        if (end < 0) {
+            return null;
+        }
+        byte[] head = new byte[end - buffer.position()];
+        buffer.get(head);
+        buffer.position(end + 4); // skip \r\n\r\n
+        String[] lines = new String(head, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            throw new IOException("Malformed request line: " + lines[0]);
+        }
+        Map<String, List<String>> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                throw new IOException("Malformed header: " + lines[i]);
+            }
+            String name = lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = lines[i].substring(colon + 1).trim();
+            headers.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value);
+        }
+        String target = requestLine[1];
+        int questionMark = target.indexOf('?');
+        String path = questionMark < 0 ? target : target.substring(0, questionMark);
+        String rawQuery = questionMark < 0 ? null : target.substring(questionMark + 1);
+        return new NioHttpRequest(requestLine[0], path, rawQuery, requestLine[2], headers);
+    }
+
+    /**
+     * Index of the {@code \r\n\r\n} sequence terminating the request head, or -1 if not found.
+     */
+    private static int findEndOfHead(ByteBuffer buffer) {
+        for (int i = buffer.position(); i + 3 < buffer.limit(); i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n' && buffer.get(i + 2) == '\r' && buffer.get(i + 3) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * Length of the request body, which must be skipped before the next request on the same connection.
+     *
+     * @throws IOException for chunked request bodies, which are not supported.
+     */
+    long getContentLength() throws IOException {
+        if (getHeader("Transfer-Encoding") != null) {
+            throw new IOException("Transfer-Encoding is not supported for requests.");
+        }
+        String contentLength = getHeader("Content-Length");
+        if (contentLength == null) {
+            return 0;
+        }
+        try {
+            long result = Long.parseLong(contentLength);
+            if (result < 0) {
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Content-Length: " + contentLength);
+        }
+    }
+
+    boolean isKeepAlive() {
+        String connection = getHeader("Connection");
+        if ("HTTP/1.0".equals(version)) {
+            return "keep-alive".equalsIgnoreCase(connection);
+        } else {
+            return !"close".equalsIgnoreCase(connection);
+        }
+    }
+
+    @Override
+    public String getQueryString() {
+        return rawQuery;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        if (values == null) {
+            return Collections.emptyEnumeration();
+        } else {
+            return Collections.enumeration(values);
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,109 @@
+package io.prometheus.metrics.exporter.nio;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.BindException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Unix domain socket channels are available in Java 16 and newer. This library is compiled for Java 8,
+ * so the API is called via reflection.
+ */
+class UnixDomainSockets {
+
+    private UnixDomainSockets() {
+    }
+
+    /**
+     * Equivalent to {@code ServerSocketChannel.open(StandardProtocolFamily.UNIX)}.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support Unix domain sockets.
+     */
+    static ServerSocketChannel openServerSocketChannel() throws IOException {
+        return (ServerSocketChannel) open(ServerSocketChannel.class);
+    }
+
+    /**
+     * Equivalent to {@code SocketChannel.open(StandardProtocolFamily.UNIX)}.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support Unix domain sockets.
+     */
+    static SocketChannel openSocketChannel() throws IOException {
+        return (SocketChannel) open(SocketChannel.class);
+    }
+
+    private static Object open(Class<?> channelClass) throws IOException {
+        ProtocolFamily unix;
+        try {
+            unix = StandardProtocolFamily.valueOf("UNIX");
+        } catch (IllegalArgumentException e) {
+            throw unsupported(e);
+        }
+        try {
+            return channelClass.getMethod("open", ProtocolFamily.class).invoke(null, unix);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw unsupported(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Equivalent to {@code UnixDomainSocketAddress.of(path)}.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support Unix domain sockets.
+     */
+    static SocketAddress address(String path) {
+        try {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class).invoke(null, path);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Delete the socket file left behind by a previous process that was killed before it could clean up,
+     * because binding fails if the file exists.
+     * <p>
+     * The file is only deleted if it is not a regular file, directory, or symbolic link, and if nobody accepts
+     * connections on it. Otherwise, a {@link BindException} is thrown, so that a misconfigured path neither
+     * deletes an unrelated file nor takes over the socket of a running server.
+     */
+    static void deleteStaleSocketFile(String path, SocketAddress address) throws IOException {
+        Path file = Paths.get(path);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!attributes.isOther()) {
+            throw new BindException(path + ": file exists and is not a Unix domain socket.");
+        }
+        try (SocketChannel channel = openSocketChannel()) {
+            channel.connect(address);
+        } catch (IOException e) {
+            // Nobody is listening, the socket file is stale.
+            Files.deleteIfExists(file);
+            return;
+        }
+        throw new BindException(path + ": address already in use.");
+    }
+
+    private static UnsupportedOperationException unsupported(Throwable cause) {
+        return new UnsupportedOperationException("Unix domain sockets require Java 16 or newer.", cause);
+    }
+}
@@ -0,0 +1,34 @@
+package io.prometheus.metrics.exporter.nio;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class DirectBufferPoolTest {
+
+    @Test
+    public void testFallBackToHeapBuffersWhenExhausted() {
+        DirectBufferPool pool = new DirectBufferPool(1024, 2);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        ByteBuffer third = pool.acquire();
+        Assert.assertTrue(first.isDirect());
+        Assert.assertTrue(second.isDirect());
+        Assert.assertFalse(third.isDirect());
+        Assert.assertEquals(1024, third.capacity());
+        Assert.assertEquals(2, pool.getDirectBuffersAllocated());
+
+        pool.release(third);
+        Assert.assertEquals(0, pool.getIdleBuffers());
+        first.put((byte) 1);
+        pool.release(first);
+        Assert.assertEquals(1, pool.getIdleBuffers());
+
+        // released direct buffers are reused and cleared
+        ByteBuffer reused = pool.acquire();
+        Assert.assertSame(first, reused);
+        Assert.assertEquals(0, reused.position());
+        Assert.assertEquals(2, pool.getDirectBuffersAllocated());
+    }
+}
@@ -0,0 +1,228 @@
+package io.prometheus.metrics.exporter.nio;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+public class NioHTTPServerTest {
+
+    private PrometheusRegistry registry;
+    private NioHTTPServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        registry = new PrometheusRegistry();
+        Counter.builder().name("requests_total").labelNames("path").register(registry).labelValues("/hello").inc();
+        server = NioHTTPServer.builder(PrometheusProperties.get())
+                .hostname("localhost")
+                .registry(registry)
+                .buildAndStart();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testKeepAliveAndPipelining() throws IOException {
+        try (Socket socket = connect()) {
+            // two requests in a single write
+            send(socket, "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\n\r\n" +
+                    "GET /metrics HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            Response healthy = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(200, healthy.status);
+            Assert.assertEquals("Exporter is healthy.\n", healthy.bodyAsString());
+            Response metrics = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(200, metrics.status);
+            Assert.assertTrue(metrics.bodyAsString().contains("requests_total{path=\"/hello\"} 1.0"));
+            Assert.assertNull(metrics.headers.get("connection"));
+
+            // the connection is still open
+            send(socket, "GET /nothing-here HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            Assert.assertEquals(404, Response.read(socket.getInputStream(), false).status);
+
+            send(socket, "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+            Response last = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(200, last.status);
+            Assert.assertEquals("close", last.headers.get("connection"));
+            Assert.assertEquals(-1, socket.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testHead() throws IOException {
+        testHead("");
+        testHead("Accept-Encoding: gzip\r\n");
+    }
+
+    private void testHead(String extraHeaders) throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, "HEAD /metrics HTTP/1.1\r\nHost: localhost\r\n" + extraHeaders + "\r\n");
+            Response head = Response.read(socket.getInputStream(), true);
+            Assert.assertEquals(200, head.status);
+            Assert.assertTrue(Integer.parseInt(head.headers.get("content-length")) > 0);
+            // If the HEAD response had a body, this would read the body instead of the next response.
+            send(socket, "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            Response healthy = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(200, healthy.status);
+            Assert.assertEquals("Exporter is healthy.\n", healthy.bodyAsString());
+        }
+    }
+
+    @Test
+    public void testMalformedRequestLine() throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, "GET /metrics\r\nHost: localhost\r\n\r\n");
+            Response response = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(400, response.status);
+            Assert.assertEquals("close", response.headers.get("connection"));
+            Assert.assertEquals(-1, socket.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testHeaderTooLarge() throws IOException {
+        try (Socket socket = connect()) {
+            // Exactly fills the server's 8 KiB request buffer without terminating the request head.
+            StringBuilder request = new StringBuilder("GET /metrics HTTP/1.1\r\nX-Large: ");
+            while (request.length() < 8 * 1024) {
+                request.append('x');
+            }
+            send(socket, request.toString());
+            Response response = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(431, response.status);
+            Assert.assertEquals(-1, socket.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, "GET /metrics HTTP/1.1\r\nHost: localhost\r\nAccept-Encoding: deflate, gzip\r\n\r\n");
+            Response response = Response.read(socket.getInputStream(), false);
+            Assert.assertEquals(200, response.status);
+            Assert.assertEquals("gzip", response.headers.get("content-encoding"));
+            String body = new String(readAll(new GZIPInputStream(new ByteArrayInputStream(response.body))), StandardCharsets.UTF_8);
+            Assert.assertTrue(body.contains("requests_total{path=\"/hello\"} 1.0"));
+        }
+    }
+
+    @Test
+    public void testClientClosesDuringWrite() throws Exception {
+        // ~8 MB response: larger than the socket buffers and larger than the direct buffer pool.
+        Counter counter = Counter.builder().name("large_total").labelNames("value").register(registry);
+        char[] padding = new char[200];
+        Arrays.fill(padding, 'x');
+        for (int i = 0; i < 32_000; i++) {
+            counter.labelValues(i + new String(padding)).inc();
+        }
+        DirectBufferPool pool = server.getBufferPool();
+        for (int i = 0; i < 3; i++) {
+            try (Socket socket = connect()) {
+                socket.setReceiveBufferSize(4096);
+                send(socket, "GET /metrics HTTP/1.1\r\nHost: localhost\r\n\r\n");
+                Assert.assertTrue(socket.getInputStream().read(new byte[1024]) > 0);
+                socket.setSoLinger(true, 0); // reset the connection rather than closing it gracefully
+            }
+            // The server notices the reset when writing, and returns the direct buffers to the pool.
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (pool.getIdleBuffers() < pool.getDirectBuffersAllocated() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(pool.getDirectBuffersAllocated(), pool.getIdleBuffers());
+        }
+        Assert.assertTrue(pool.getDirectBuffersAllocated() <= 64);
+
+        // The server is still working.
+        try (Socket socket = connect()) {
+            send(socket, "GET /-/healthy HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            Assert.assertEquals(200, Response.read(socket.getInputStream(), false).status);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", server.getPort());
+        socket.setSoTimeout(10_000);
+        return socket;
+    }
+
+    private static void send(Socket socket, String request) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(request.getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            result.write(buffer, 0, n);
+        }
+        return result.toByteArray();
+    }
+
+    private static class Response {
+
+        private int status;
+        private final Map<String, String> headers = new HashMap<>(); // keys are lower case
+        private byte[] body;
+
+        /**
+         * Read a single response from the stream, leaving the stream positioned at the next response.
+         */
+        private static Response read(InputStream in, boolean head) throws IOException {
+            Response response = new Response();
+            String statusLine = readLine(in);
+            Assert.assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 "));
+            response.status = Integer.parseInt(statusLine.split(" ")[1]);
+            for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                response.headers.put(line.substring(0, colon).toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+            int contentLength = head ? 0 : Integer.parseInt(response.headers.get("content-length"));
+            response.body = new byte[contentLength];
+            int offset = 0;
+            while (offset < contentLength) {
+                int n = in.read(response.body, offset, contentLength - offset);
+                Assert.assertTrue("unexpected end of stream", n > 0);
+                offset += n;
+            }
+            return response;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\n') {
+                Assert.assertTrue("unexpected end of stream", b >= 0);
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        private String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
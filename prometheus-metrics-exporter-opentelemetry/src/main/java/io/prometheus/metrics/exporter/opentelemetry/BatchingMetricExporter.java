@@ -0,0 +1,166 @@
+package io.prometheus.metrics.exporter.opentelemetry;
+
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.common.CompletableResultCode;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.Aggregation;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.InstrumentType;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.AggregationTemporality;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.DoublePointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.ExponentialHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.HistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.PointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.SumData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.SummaryPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.export.MetricExporter;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableMetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableSumData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableSummaryData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Split exports into batches of at most {@code maxBatchSize} data points.
+ * <p>
+ * Batches are exported one after the other, i.e. the next batch is sent when the previous export has completed.
+ * That way only one batch is encoded and in flight at a time, and the size of each request is bounded.
+ * Metrics with more than {@code maxBatchSize} data points are split across multiple batches.
+ */
+class BatchingMetricExporter implements MetricExporter {
+
+    private final MetricExporter delegate;
+    private final int maxBatchSize;
+
+    BatchingMetricExporter(MetricExporter delegate, int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<MetricData> metrics) {
+        CompletableResultCode result = new CompletableResultCode();
+        exportRemaining(split(metrics).iterator(), result, new AtomicBoolean(false));
+        return result;
+    }
+
+    private void exportRemaining(Iterator<List<MetricData>> batches, CompletableResultCode result, AtomicBoolean failed) {
+        while (batches.hasNext()) {
+            CompletableResultCode batchResult = delegate.export(batches.next());
+            if (!batchResult.isDone()) {
+                batchResult.whenComplete(() -> {
+                    if (!batchResult.isSuccess()) {
+                        failed.set(true);
+                    }
+                    exportRemaining(batches, result, failed);
+                });
+                return;
+            }
+            if (!batchResult.isSuccess()) {
+                failed.set(true); // keep going, a partial export is better than none
+            }
+        }
+        if (failed.get()) {
+            result.fail();
+        } else {
+            result.succeed();
+        }
+    }
+
+    List<List<MetricData>> split(Collection<MetricData> metrics) {
+        List<List<MetricData>> result = new ArrayList<>();
+        List<MetricData> batch = new ArrayList<>();
+        int batchSize = 0;
+        for (MetricData metric : metrics) {
+            int size = metric.getData().getPoints().size();
+            if (batchSize + size <= maxBatchSize) {
+                batch.add(metric);
+                batchSize += size;
+                continue;
+            }
+            if (size <= maxBatchSize) {
+                // Doesn't fit into the current batch, but fits into a new one.
+                result.add(batch);
+                batch = new ArrayList<>();
+                batch.add(metric);
+                batchSize = size;
+                continue;
+            }
+            // Too large for a single batch. Fill up the current batch and continue with new batches.
+            List<PointData> points = new ArrayList<>(metric.getData().getPoints());
+            int offset = 0;
+            while (offset < points.size()) {
+                if (batchSize == maxBatchSize) {
+                    result.add(batch);
+                    batch = new ArrayList<>();
+                    batchSize = 0;
+                }
+                int n = Math.min(points.size() - offset, maxBatchSize - batchSize);
+                batch.add(withPoints(metric, points.subList(offset, offset + n)));
+                offset += n;
+                batchSize += n;
+            }
+        }
+        if (!batch.isEmpty()) {
+            result.add(batch);
+        }
+        return result;
+    }
+
+    /**
+     * Copy of {@code metric} with a subset of its data points.
+     */
+    @SuppressWarnings("unchecked")
+    private MetricData withPoints(MetricData metric, Collection<? extends PointData> points) {
+        // ImmutableMetricData doesn't allow null. In OTLP an empty string is the same as no description or unit.
+        String description = metric.getDescription() != null ? metric.getDescription() : "";
+        String unit = metric.getUnit() != null ? metric.getUnit() : "";
+        switch (metric.getType()) {
+            case DOUBLE_GAUGE:
+                return ImmutableMetricData.createDoubleGauge(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableGaugeData.create((Collection<DoublePointData>) points));
+            case DOUBLE_SUM:
+                SumData<DoublePointData> sumData = metric.getDoubleSumData();
+                return ImmutableMetricData.createDoubleSum(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableSumData.create(sumData.isMonotonic(), sumData.getAggregationTemporality(), (Collection<DoublePointData>) points));
+            case HISTOGRAM:
+                AggregationTemporality histogramTemporality = metric.getHistogramData().getAggregationTemporality();
+                return ImmutableMetricData.createDoubleHistogram(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableHistogramData.create(histogramTemporality, (Collection<HistogramPointData>) points));
+            case EXPONENTIAL_HISTOGRAM:
+                AggregationTemporality exponentialHistogramTemporality = metric.getExponentialHistogramData().getAggregationTemporality();
+                return ImmutableMetricData.createExponentialHistogram(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableExponentialHistogramData.create(exponentialHistogramTemporality, (Collection<ExponentialHistogramPointData>) points));
+            case SUMMARY:
+                return ImmutableMetricData.createDoubleSummary(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableSummaryData.create((Collection<SummaryPointData>) points));
+            default:
+                throw new IllegalArgumentException(metric.getType() + ": unexpected metric type");
+        }
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+
+    @Override
+    public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+        return delegate.getDefaultAggregation(instrumentType);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+}
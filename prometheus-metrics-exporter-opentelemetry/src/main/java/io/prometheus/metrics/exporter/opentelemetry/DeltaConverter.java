@@ -0,0 +1,336 @@
+package io.prometheus.metrics.exporter.opentelemetry;
+
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.api.common.Attributes;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.AggregationTemporality;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.DoublePointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.ExponentialHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.HistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.PointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.SumData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableMetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableSumData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convert cumulative counters, classic histograms, and exponential histograms to delta temporality.
+ * <p>
+ * The converter remembers the last cumulative values of each series in primitive fields and arrays,
+ * and emits the difference to the previous collection. Other metric types are passed through unchanged.
+ * <ul>
+ * <li>A series seen for the first time is reported with its full cumulative value, because it started at zero.</li>
+ * <li>If a value decreases, or the start timestamp changes, the series was reset and the full cumulative value is reported as well.
+ * The delta interval starts at the new start timestamp, but not before the end of the previous point.</li>
+ * <li>Series that are missing from a collection are forgotten. If they re-appear, they are treated as new series.</li>
+ * </ul>
+ * The delta interval of a point starts at the timestamp of the previous point of the same series.
+ */
+class DeltaConverter {
+
+    private Map<String, Map<Attributes, Series>> previous = new HashMap<>();
+    private long lastEpochNanos;
+
+    synchronized List<MetricData> convert(Collection<MetricData> metrics) {
+        Map<String, Map<Attributes, Series>> current = new HashMap<>();
+        List<MetricData> result = new ArrayList<>(metrics.size());
+        long epochNanos = lastEpochNanos;
+        for (MetricData metric : metrics) {
+            Map<Attributes, Series> previousSeries = previous.getOrDefault(metric.getName(), Collections.emptyMap());
+            Map<Attributes, Series> currentSeries = new HashMap<>();
+            MetricData converted = convert(metric, previousSeries, currentSeries);
+            result.add(converted);
+            if (!currentSeries.isEmpty()) {
+                current.put(metric.getName(), currentSeries);
+            }
+            for (PointData point : metric.getData().getPoints()) {
+                epochNanos = Math.max(epochNanos, point.getEpochNanos());
+            }
+        }
+        previous = current; // series that were not collected this time are dropped here
+        lastEpochNanos = epochNanos;
+        return result;
+    }
+
+    private MetricData convert(MetricData metric, Map<Attributes, Series> previousSeries, Map<Attributes, Series> currentSeries) {
+        // ImmutableMetricData doesn't allow null. In OTLP an empty string is the same as no description or unit.
+        String description = metric.getDescription() != null ? metric.getDescription() : "";
+        String unit = metric.getUnit() != null ? metric.getUnit() : "";
+        switch (metric.getType()) {
+            case DOUBLE_SUM:
+                SumData<DoublePointData> sumData = metric.getDoubleSumData();
+                if (!sumData.isMonotonic() || sumData.getAggregationTemporality() != AggregationTemporality.CUMULATIVE) {
+                    return metric;
+                }
+                List<DoublePointData> sumPoints = new ArrayList<>(sumData.getPoints().size());
+                for (DoublePointData point : sumData.getPoints()) {
+                    CounterSeries series = previousSeries.get(point.getAttributes()) instanceof CounterSeries ? (CounterSeries) previousSeries.get(point.getAttributes()) : null;
+                    if (series == null) {
+                        series = new CounterSeries();
+                    }
+                    sumPoints.add(series.delta(point, lastEpochNanos));
+                    currentSeries.put(point.getAttributes(), series);
+                }
+                return ImmutableMetricData.createDoubleSum(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableSumData.create(true, AggregationTemporality.DELTA, sumPoints));
+            case HISTOGRAM:
+                if (metric.getHistogramData().getAggregationTemporality() != AggregationTemporality.CUMULATIVE) {
+                    return metric;
+                }
+                List<HistogramPointData> histogramPoints = new ArrayList<>(metric.getHistogramData().getPoints().size());
+                for (HistogramPointData point : metric.getHistogramData().getPoints()) {
+                    HistogramSeries series = previousSeries.get(point.getAttributes()) instanceof HistogramSeries ? (HistogramSeries) previousSeries.get(point.getAttributes()) : null;
+                    if (series == null) {
+                        series = new HistogramSeries();
+                    }
+                    histogramPoints.add(series.delta(point, lastEpochNanos));
+                    currentSeries.put(point.getAttributes(), series);
+                }
+                return ImmutableMetricData.createDoubleHistogram(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableHistogramData.create(AggregationTemporality.DELTA, histogramPoints));
+            case EXPONENTIAL_HISTOGRAM:
+                if (metric.getExponentialHistogramData().getAggregationTemporality() != AggregationTemporality.CUMULATIVE) {
+                    return metric;
+                }
+                List<ExponentialHistogramPointData> exponentialPoints = new ArrayList<>(metric.getExponentialHistogramData().getPoints().size());
+                for (ExponentialHistogramPointData point : metric.getExponentialHistogramData().getPoints()) {
+                    ExponentialHistogramSeries series = previousSeries.get(point.getAttributes()) instanceof ExponentialHistogramSeries ? (ExponentialHistogramSeries) previousSeries.get(point.getAttributes()) : null;
+                    if (series == null) {
+                        series = new ExponentialHistogramSeries();
+                    }
+                    exponentialPoints.add(series.delta(point, lastEpochNanos));
+                    currentSeries.put(point.getAttributes(), series);
+                }
+                return ImmutableMetricData.createExponentialHistogram(metric.getResource(), metric.getInstrumentationScopeInfo(), metric.getName(), description, unit,
+                        ImmutableExponentialHistogramData.create(AggregationTemporality.DELTA, exponentialPoints));
+            default:
+                return metric;
+        }
+    }
+
+    /**
+     * Last cumulative state of a series.
+     */
+    private abstract static class Series {
+
+        private boolean initialized;
+        private long startEpochNanos;
+        private long epochNanos;
+
+        /**
+         * Start of the delta interval, or {@code -1} if the series is new or was reset.
+         *
+         * @param decreased {@code true} if one of the cumulative values is lower than in the previous collection.
+         */
+        long deltaStart(long pointStartEpochNanos, boolean decreased) {
+            boolean reset = !initialized || decreased || (pointStartEpochNanos != 0 && startEpochNanos != 0 && pointStartEpochNanos != startEpochNanos);
+            return reset ? -1 : epochNanos;
+        }
+
+        /**
+         * Start of the delta interval of a new or reset series.
+         */
+        long resetStart(long pointStartEpochNanos, long lastCollectionEpochNanos) {
+            if (initialized) {
+                // The start timestamp may be unchanged after a reset. Don't overlap with the previous delta interval.
+                return Math.max(pointStartEpochNanos, epochNanos);
+            }
+            return pointStartEpochNanos != 0 ? pointStartEpochNanos : lastCollectionEpochNanos;
+        }
+
+        void update(long pointStartEpochNanos, long pointEpochNanos) {
+            initialized = true;
+            startEpochNanos = pointStartEpochNanos;
+            epochNanos = pointEpochNanos;
+        }
+    }
+
+    private static class CounterSeries extends Series {
+
+        private double value;
+
+        DoublePointData delta(DoublePointData point, long lastCollectionEpochNanos) {
+            long start = deltaStart(point.getStartEpochNanos(), point.getValue() < value);
+            double delta = point.getValue();
+            if (start < 0) {
+                start = resetStart(point.getStartEpochNanos(), lastCollectionEpochNanos);
+            } else {
+                delta -= value;
+            }
+            value = point.getValue();
+            update(point.getStartEpochNanos(), point.getEpochNanos());
+            return ImmutableDoublePointData.create(start, point.getEpochNanos(), point.getAttributes(), delta, point.getExemplars());
+        }
+    }
+
+    private static class HistogramSeries extends Series {
+
+        private double sum;
+        private long count;
+        private long[] counts = new long[0];
+
+        HistogramPointData delta(HistogramPointData point, long lastCollectionEpochNanos) {
+            List<Long> pointCounts = point.getCounts();
+            boolean decreased = point.getCount() < count || pointCounts.size() != counts.length;
+            for (int i = 0; !decreased && i < counts.length; i++) {
+                decreased = pointCounts.get(i) < counts[i];
+            }
+            long start = deltaStart(point.getStartEpochNanos(), decreased);
+            boolean reset = start < 0;
+            if (reset) {
+                start = resetStart(point.getStartEpochNanos(), lastCollectionEpochNanos);
+                counts = new long[pointCounts.size()];
+                sum = 0;
+                count = 0;
+            }
+            List<Long> deltaCounts = new ArrayList<>(pointCounts.size());
+            for (int i = 0; i < counts.length; i++) {
+                long pointCount = pointCounts.get(i);
+                deltaCounts.add(pointCount - counts[i]);
+                counts[i] = pointCount;
+            }
+            double deltaSum = point.getSum() - sum;
+            long deltaCount = point.getCount() - count;
+            sum = point.getSum();
+            count = point.getCount();
+            update(point.getStartEpochNanos(), point.getEpochNanos());
+            List<Double> boundaries = point.getBoundaries();
+            if (boundaries.size() == deltaCounts.size() && !boundaries.isEmpty() && boundaries.get(boundaries.size() - 1) == Double.POSITIVE_INFINITY) {
+                // In OTel the +Inf bucket is implicit, there is one more count than there are boundaries.
+                boundaries = boundaries.subList(0, boundaries.size() - 1);
+            }
+            return ImmutableHistogramPointData.create(start, point.getEpochNanos(), point.getAttributes(), deltaSum,
+                    false, Double.NaN, false, Double.NaN, boundaries, deltaCounts, point.getExemplars());
+        }
+    }
+
+    private static class ExponentialHistogramSeries extends Series {
+
+        private double sum;
+        private long count;
+        private long zeroCount;
+        private int scale;
+        private final Buckets positive = new Buckets();
+        private final Buckets negative = new Buckets();
+
+        ExponentialHistogramPointData delta(ExponentialHistogramPointData point, long lastCollectionEpochNanos) {
+            // Native histograms reduce the scale if there are too many buckets, but never increase it without a reset.
+            boolean decreased = point.getScale() > scale || point.getCount() < count || point.getZeroCount() < zeroCount;
+            if (!decreased && point.getScale() < scale) {
+                positive.downscale(scale - point.getScale());
+                negative.downscale(scale - point.getScale());
+                scale = point.getScale();
+            }
+            decreased = decreased || positive.decreased(point.getPositiveBuckets()) || negative.decreased(point.getNegativeBuckets());
+            long start = deltaStart(point.getStartEpochNanos(), decreased);
+            if (start < 0) {
+                start = resetStart(point.getStartEpochNanos(), lastCollectionEpochNanos);
+                sum = 0;
+                count = 0;
+                zeroCount = 0;
+                positive.clear();
+                negative.clear();
+            }
+            ExponentialHistogramBuckets deltaPositive = positive.delta(point.getScale(), point.getPositiveBuckets());
+            ExponentialHistogramBuckets deltaNegative = negative.delta(point.getScale(), point.getNegativeBuckets());
+            double deltaSum = point.getSum() - sum;
+            long deltaZeroCount = point.getZeroCount() - zeroCount;
+            sum = point.getSum();
+            count = point.getCount();
+            zeroCount = point.getZeroCount();
+            scale = point.getScale();
+            update(point.getStartEpochNanos(), point.getEpochNanos());
+            return ImmutableExponentialHistogramPointData.create(point.getScale(), deltaSum, deltaZeroCount,
+                    false, Double.NaN, false, Double.NaN, deltaPositive, deltaNegative,
+                    start, point.getEpochNanos(), point.getAttributes(), point.getExemplars());
+        }
+    }
+
+    /**
+     * Cumulative counts of consecutive exponential histogram buckets, starting at bucket index {@code offset}.
+     */
+    private static class Buckets {
+
+        private int offset;
+        private long[] counts = new long[0];
+
+        private long get(int index) {
+            int i = index - offset;
+            return i >= 0 && i < counts.length ? counts[i] : 0;
+        }
+
+        boolean decreased(ExponentialHistogramBuckets buckets) {
+            List<Long> bucketCounts = buckets.getBucketCounts();
+            for (int i = 0; i < counts.length; i++) {
+                int index = offset + i;
+                int j = index - buckets.getOffset();
+                long pointCount = j >= 0 && j < bucketCounts.size() ? bucketCounts.get(j) : 0;
+                if (pointCount < counts[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Merge buckets when the scale is reduced by {@code scaleReduction}.
+         */
+        void downscale(int scaleReduction) {
+            if (counts.length == 0) {
+                return;
+            }
+            int newOffset = offset >> scaleReduction;
+            int newLast = (offset + counts.length - 1) >> scaleReduction;
+            long[] newCounts = new long[newLast - newOffset + 1];
+            for (int i = 0; i < counts.length; i++) {
+                newCounts[((offset + i) >> scaleReduction) - newOffset] += counts[i];
+            }
+            offset = newOffset;
+            counts = newCounts;
+        }
+
+        void clear() {
+            counts = new long[0];
+        }
+
+        /**
+         * Compute the delta to {@code buckets} and remember {@code buckets} as the new cumulative state.
+         * Leading and trailing empty buckets are omitted from the result.
+         */
+        ExponentialHistogramBuckets delta(int scale, ExponentialHistogramBuckets buckets) {
+            List<Long> bucketCounts = buckets.getBucketCounts();
+            long[] newCounts = new long[bucketCounts.size()];
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < newCounts.length; i++) {
+                newCounts[i] = bucketCounts.get(i);
+                if (newCounts[i] - get(buckets.getOffset() + i) != 0) {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    last = i;
+                }
+            }
+            List<Long> deltaCounts = new ArrayList<>(first < 0 ? 0 : last - first + 1);
+            for (int i = first; first >= 0 && i <= last; i++) {
+                deltaCounts.add(newCounts[i] - get(buckets.getOffset() + i));
+            }
+            int deltaOffset = first < 0 ? buckets.getOffset() : buckets.getOffset() + first;
+            offset = buckets.getOffset();
+            counts = newCounts;
+            return ImmutableExponentialHistogramBuckets.create(scale, deltaOffset, deltaCounts);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package io.prometheus.metrics.exporter.opentelemetry;
 
+import io.prometheus.metrics.config.ExporterFilterProperties;
 import io.prometheus.metrics.config.ExporterOpenTelemetryProperties;
 import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.common.ExporterNameFilter;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.exporter.otlp.http.metrics.OtlpHttpMetricExporter;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.exporter.otlp.http.metrics.OtlpHttpMetricExporterBuilder;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.exporter.otlp.metrics.OtlpGrpcMetricExporter;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.exporter.otlp.metrics.OtlpGrpcMetricExporterBuilder;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.common.InstrumentationScopeInfo;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.AggregationTemporality;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.export.MetricExporter;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.export.PeriodicMetricReader;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.resources.Resource;
@@ -17,6 +21,7 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 public class OpenTelemetryExporter {
 
@@ -42,10 +47,16 @@ public class OpenTelemetryExporter {
             }
             exporter = exporterBuilder.build();
         }
+        Integer maxBatchSize = ConfigHelper.getMaxBatchSize(builder, properties);
+        if (maxBatchSize != null) {
+            exporter = new BatchingMetricExporter(exporter, maxBatchSize);
+        }
         PeriodicMetricReader reader = PeriodicMetricReader.builder(exporter)
                 .setInterval(Duration.ofSeconds(ConfigHelper.getIntervalSeconds(builder, properties)))
                 .build();
-        PrometheusMetricProducer prometheusMetricProducer = new PrometheusMetricProducer(registry, instrumentationScopeInfo, resource);
+        Predicate<String> nameFilter = ConfigHelper.getNameFilter(builder, config.getExporterFilterProperties());
+        AggregationTemporality aggregationTemporality = ConfigHelper.getAggregationTemporality(builder, properties).equals("delta") ? AggregationTemporality.DELTA : AggregationTemporality.CUMULATIVE;
+        PrometheusMetricProducer prometheusMetricProducer = new PrometheusMetricProducer(registry, nameFilter, aggregationTemporality, instrumentationScopeInfo, resource);
         reader.register(prometheusMetricProducer);
     }
 
@@ -84,6 +95,9 @@ public class OpenTelemetryExporter {
         private String serviceInstanceId;
         private String serviceVersion;
         private final Map<String, String> resourceAttributes = new HashMap<>();
+        private Integer maxBatchSize;
+        private Predicate<String> nameFilter;
+        private String aggregationTemporality;
 
         private Builder(PrometheusProperties config) {
             this.config = config;
@@ -218,6 +232,56 @@ public class OpenTelemetryExporter {
             return this;
         }
 
+        /**
+         * Split each export into requests of at most {@code maxBatchSize} data points.
+         * Requests are sent one after the other, so the size of each request and the memory used for encoding
+         * are bounded, even for very large registries.
+         * <p>
+         * Metrics with more data points than {@code maxBatchSize} are split across multiple requests.
+         * Default is no limit, i.e. all metrics are exported in a single request.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalStateException(maxBatchSize + ": expecting a max batch size > 0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Only export metrics where {@code nameFilter.test(name)} is {@code true}.
+         * The filter is passed to {@link PrometheusRegistry#scrape(Predicate)}, so collectors of excluded metrics are not called.
+         * <p>
+         * Use {@link MetricNameFilter} for allowing or excluding metric names and prefixes.
+         * This is ignored if the {@code io.prometheus.exporter.filter} properties are configured,
+         * see {@link ExporterFilterProperties}. Default is to export all metrics.
+         */
+        public Builder metricNameFilter(Predicate<String> nameFilter) {
+            this.nameFilter = nameFilter;
+            return this;
+        }
+
+        /**
+         * Aggregation temporality of counters and histograms.
+         * <p>
+         * Supported values are {@code "cumulative"} and {@code "delta"}. Default is {@code "cumulative"}.
+         * <p>
+         * With {@code "delta"}, the exporter remembers the previous values of each counter and histogram series
+         * and exports the difference since the last export. Native histograms are exported as delta exponential histograms.
+         * New series and counter resets are exported with their full value. Note that if an export fails,
+         * the delta for that interval is lost. Gauges and summaries are not affected by this setting.
+         * <p>
+         * See OpenTelemetry's <a href="https://github.com/open-telemetry/opentelemetry-java/blob/main/sdk-extensions/autoconfigure/README.md#otlp-exporter-span-metric-and-log-exporters">OTEL_EXPORTER_OTLP_METRICS_TEMPORALITY_PREFERENCE</a>.
+         * OpenTelemetry's {@code lowmemory} preference is treated like {@code delta}.
+         */
+        public Builder aggregationTemporality(String aggregationTemporality) {
+            if (!aggregationTemporality.equals("cumulative") && !aggregationTemporality.equals("delta")) {
+                throw new IllegalArgumentException(aggregationTemporality + ": Unsupported aggregation temporality. Expecting cumulative or delta");
+            }
+            this.aggregationTemporality = aggregationTemporality;
+            return this;
+        }
+
         public OpenTelemetryExporter buildAndStart() {
             if (registry == null) {
                 registry = PrometheusRegistry.defaultRegistry;
@@ -390,6 +454,42 @@ public class OpenTelemetryExporter {
             return new HashMap<>();
         }
 
+        private static Integer getMaxBatchSize(OpenTelemetryExporter.Builder builder, ExporterOpenTelemetryProperties config) {
+            Integer maxBatchSize = config.getMaxBatchSize();
+            if (maxBatchSize != null) {
+                return maxBatchSize;
+            }
+            return builder.maxBatchSize;
+        }
+
+        private static String getAggregationTemporality(OpenTelemetryExporter.Builder builder, ExporterOpenTelemetryProperties config) {
+            String aggregationTemporality = config.getAggregationTemporality();
+            if (aggregationTemporality != null) {
+                return aggregationTemporality;
+            }
+            aggregationTemporality = getString("otel.exporter.otlp.metrics.temporality.preference");
+            if (aggregationTemporality != null) {
+                switch (aggregationTemporality.toLowerCase()) {
+                    case "cumulative":
+                        return "cumulative";
+                    case "delta":
+                    case "lowmemory":
+                        return "delta";
+                    default:
+                        throw new IllegalStateException(aggregationTemporality + ": Unsupported OpenTelemetry temporality preference. Expecting cumulative, delta, or lowmemory.");
+                }
+            }
+            if (builder.aggregationTemporality != null) {
+                return builder.aggregationTemporality;
+            }
+            return "cumulative";
+        }
+
+        private static Predicate<String> getNameFilter(OpenTelemetryExporter.Builder builder, ExporterFilterProperties config) {
+            MetricNameFilter result = ExporterNameFilter.of(config);
+            return result != null ? result : builder.nameFilter;
+        }
+
         private static String getString(String otelPropertyName) {
             String otelEnvVarName = otelPropertyName.replace(".", "_").replace("-", "_").toUpperCase();
             if (System.getenv(otelEnvVarName) != null) {
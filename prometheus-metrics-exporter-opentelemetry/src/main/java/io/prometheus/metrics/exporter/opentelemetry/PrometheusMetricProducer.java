@@ -1,5 +1,6 @@
 package io.prometheus.metrics.exporter.opentelemetry;
 
+import io.prometheus.metrics.exporter.common.ExporterNameFilter;
 import io.prometheus.metrics.exporter.opentelemetry.otelmodel.MetricDataFactory;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import io.prometheus.metrics.model.snapshots.CounterSnapshot;
@@ -15,6 +16,7 @@ import io.prometheus.metrics.model.snapshots.UnknownSnapshot;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.api.common.Attributes;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.api.common.AttributesBuilder;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.common.InstrumentationScopeInfo;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.AggregationTemporality;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.MetricData;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.export.MetricProducer;
 import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.resources.Resource;
@@ -23,25 +25,47 @@ import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.resources.Resour
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 
 class PrometheusMetricProducer implements MetricProducer {
 
     private final PrometheusRegistry registry;
+    private final Predicate<String> nameFilter;
+    private final DeltaConverter deltaConverter;
     private final Resource resource;
     private final InstrumentationScopeInfo instrumentationScopeInfo;
 
     public PrometheusMetricProducer(PrometheusRegistry registry, InstrumentationScopeInfo instrumentationScopeInfo, Resource resource) {
+        this(registry, null, AggregationTemporality.CUMULATIVE, instrumentationScopeInfo, resource);
+    }
+
+    /**
+     * @param nameFilter             only metrics with matching names are collected, {@code null} means all metrics are collected.
+     * @param aggregationTemporality with {@link AggregationTemporality#DELTA} counters and histograms are converted to deltas.
+     */
+    public PrometheusMetricProducer(PrometheusRegistry registry, Predicate<String> nameFilter, AggregationTemporality aggregationTemporality, InstrumentationScopeInfo instrumentationScopeInfo, Resource resource) {
         this.registry = registry;
+        this.nameFilter = nameFilter;
+        this.deltaConverter = aggregationTemporality == AggregationTemporality.DELTA ? new DeltaConverter() : null;
         this.instrumentationScopeInfo = instrumentationScopeInfo;
         this.resource = resource;
     }
 
     @Override
     public Collection<MetricData> collectAllMetrics() {
-        // TODO: We could add a filter configuration for the OpenTelemetry exporter and call registry.scrape(filter) if a filter is configured, like in the Servlet exporter.
-        MetricSnapshots snapshots = registry.scrape();
-        Resource resourceWithTargetInfo = resource.merge(resourceFromTargetInfo(snapshots));
-        InstrumentationScopeInfo scopeFromInfo = instrumentationScopeFromOTelScopeInfo(snapshots);
+        MetricSnapshots snapshots;
+        MetricSnapshots infoSnapshots;
+        if (nameFilter != null) {
+            // Push the filter down to the registry so that excluded collectors are not called at all.
+            // Scrape once including the info metrics, and split the result afterwards.
+            infoSnapshots = registry.scrape(nameFilter.or(ExporterNameFilter.INFO_FILTER));
+            snapshots = ExporterNameFilter.select(infoSnapshots, nameFilter);
+        } else {
+            snapshots = registry.scrape();
+            infoSnapshots = snapshots;
+        }
+        Resource resourceWithTargetInfo = resource.merge(resourceFromTargetInfo(infoSnapshots));
+        InstrumentationScopeInfo scopeFromInfo = instrumentationScopeFromOTelScopeInfo(infoSnapshots);
         List<MetricData> result = new ArrayList<>(snapshots.size());
         MetricDataFactory factory = new MetricDataFactory(resourceWithTargetInfo, scopeFromInfo != null ? scopeFromInfo : instrumentationScopeInfo, System.currentTimeMillis());
         for (MetricSnapshot snapshot : snapshots) {
@@ -66,6 +90,9 @@ class PrometheusMetricProducer implements MetricProducer {
                 addUnlessNull(result, factory.create((UnknownSnapshot) snapshot));
             }
         }
+        if (deltaConverter != null) {
+            return deltaConverter.convert(result);
+        }
         return result;
     }
 
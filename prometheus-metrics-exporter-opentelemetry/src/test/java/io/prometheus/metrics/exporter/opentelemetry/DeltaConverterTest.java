@@ -0,0 +1,158 @@
+package io.prometheus.metrics.exporter.opentelemetry;
+
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.api.common.AttributeKey;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.api.common.Attributes;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.common.InstrumentationScopeInfo;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.AggregationTemporality;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.DoublePointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.ExponentialHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.HistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableMetricData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.metrics.internal.data.ImmutableSumData;
+import io.prometheus.metrics.shaded.io_opentelemetry_1_28_0.sdk.resources.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DeltaConverterTest {
+
+    private static final Attributes A = Attributes.of(AttributeKey.stringKey("path"), "/a");
+    private static final Attributes B = Attributes.of(AttributeKey.stringKey("path"), "/b");
+
+    private final DeltaConverter converter = new DeltaConverter();
+
+    @Test
+    public void testCounterFirstAndSecondPoint() {
+        DoublePointData first = convertCounter(counterPoint(A, 100, 1000, 10.0)).get(0);
+        Assert.assertEquals(10.0, first.getValue(), 0.0); // the series started at zero
+        Assert.assertEquals(100, first.getStartEpochNanos());
+        Assert.assertEquals(1000, first.getEpochNanos());
+
+        DoublePointData second = convertCounter(counterPoint(A, 100, 2000, 15.0)).get(0);
+        Assert.assertEquals(5.0, second.getValue(), 0.0);
+        Assert.assertEquals(1000, second.getStartEpochNanos());
+        Assert.assertEquals(2000, second.getEpochNanos());
+    }
+
+    @Test
+    public void testCounterReset() {
+        convertCounter(counterPoint(A, 100, 1000, 10.0));
+        DoublePointData afterReset = convertCounter(counterPoint(A, 100, 2000, 3.0)).get(0);
+        Assert.assertEquals(3.0, afterReset.getValue(), 0.0);
+        // The start timestamp did not change, but the interval must not overlap with the previous point.
+        Assert.assertEquals(1000, afterReset.getStartEpochNanos());
+
+        DoublePointData next = convertCounter(counterPoint(A, 100, 3000, 4.0)).get(0);
+        Assert.assertEquals(1.0, next.getValue(), 0.0);
+        Assert.assertEquals(2000, next.getStartEpochNanos());
+    }
+
+    @Test
+    public void testStartTimestampChanged() {
+        convertCounter(counterPoint(A, 100, 1000, 10.0));
+        // The value increased, but the series was restarted at 1500.
+        DoublePointData restarted = convertCounter(counterPoint(A, 1500, 2000, 12.0)).get(0);
+        Assert.assertEquals(12.0, restarted.getValue(), 0.0);
+        Assert.assertEquals(1500, restarted.getStartEpochNanos());
+    }
+
+    @Test
+    public void testSeriesDisappearsAndComesBack() {
+        List<DoublePointData> points = convertCounter(counterPoint(A, 100, 1000, 10.0), counterPoint(B, 100, 1000, 5.0));
+        Assert.assertEquals(2, points.size());
+
+        points = convertCounter(counterPoint(A, 100, 2000, 11.0));
+        Assert.assertEquals(1, points.size());
+        Assert.assertEquals(1.0, points.get(0).getValue(), 0.0);
+
+        // B was forgotten, so it is treated as a new series.
+        points = convertCounter(counterPoint(A, 100, 3000, 12.0), counterPoint(B, 100, 3000, 7.0));
+        Assert.assertEquals(1.0, find(points, A).getValue(), 0.0);
+        Assert.assertEquals(7.0, find(points, B).getValue(), 0.0);
+        Assert.assertEquals(100, find(points, B).getStartEpochNanos());
+    }
+
+    @Test
+    public void testClassicHistogram() {
+        List<Double> boundaries = Arrays.asList(1.0, 2.0);
+        // There is one more count than there are boundaries, the last bucket is the implicit +Inf bucket.
+        convertHistogram(ImmutableHistogramPointData.create(100, 1000, A, 10.0, false, Double.NaN, false, Double.NaN,
+                boundaries, Arrays.asList(1L, 2L, 3L)));
+        HistogramPointData delta = convertHistogram(ImmutableHistogramPointData.create(100, 2000, A, 16.0, false, Double.NaN, false, Double.NaN,
+                boundaries, Arrays.asList(2L, 2L, 5L)));
+        Assert.assertEquals(boundaries, delta.getBoundaries());
+        Assert.assertEquals(Arrays.asList(1L, 0L, 2L), delta.getCounts());
+        Assert.assertEquals(3, delta.getCount());
+        Assert.assertEquals(6.0, delta.getSum(), 0.0);
+        Assert.assertEquals(1000, delta.getStartEpochNanos());
+    }
+
+    @Test
+    public void testNativeHistogramScaleReduced() {
+        // scale 5: buckets 10, 11, 12, 13
+        convertExponentialHistogram(exponentialPoint(5, 1000, 10, Arrays.asList(1L, 2L, 3L, 4L), 10.0));
+        // scale 4: bucket 5 contains buckets 10 and 11 of scale 5, bucket 6 contains buckets 12 and 13
+        ExponentialHistogramPointData delta = convertExponentialHistogram(exponentialPoint(4, 2000, 5, Arrays.asList(4L, 9L), 13.0));
+        Assert.assertEquals(4, delta.getScale());
+        Assert.assertEquals(5, delta.getPositiveBuckets().getOffset());
+        Assert.assertEquals(Arrays.asList(1L, 2L), delta.getPositiveBuckets().getBucketCounts());
+        Assert.assertEquals(3, delta.getCount());
+        Assert.assertEquals(3.0, delta.getSum(), 0.0);
+        Assert.assertEquals(1000, delta.getStartEpochNanos()); // reducing the scale is not a reset
+    }
+
+    private List<DoublePointData> convertCounter(DoublePointData... points) {
+        MetricData metric = ImmutableMetricData.createDoubleSum(Resource.empty(), InstrumentationScopeInfo.create("test"), "requests", "", "",
+                ImmutableSumData.create(true, AggregationTemporality.CUMULATIVE, Arrays.asList(points)));
+        MetricData result = converter.convert(Collections.singletonList(metric)).get(0);
+        Assert.assertEquals(AggregationTemporality.DELTA, result.getDoubleSumData().getAggregationTemporality());
+        return new ArrayList<>(result.getDoubleSumData().getPoints());
+    }
+
+    private HistogramPointData convertHistogram(HistogramPointData point) {
+        MetricData metric = ImmutableMetricData.createDoubleHistogram(Resource.empty(), InstrumentationScopeInfo.create("test"), "latency", "", "",
+                ImmutableHistogramData.create(AggregationTemporality.CUMULATIVE, Collections.singletonList(point)));
+        MetricData result = converter.convert(Collections.singletonList(metric)).get(0);
+        Assert.assertEquals(AggregationTemporality.DELTA, result.getHistogramData().getAggregationTemporality());
+        return result.getHistogramData().getPoints().iterator().next();
+    }
+
+    private ExponentialHistogramPointData convertExponentialHistogram(ExponentialHistogramPointData point) {
+        MetricData metric = ImmutableMetricData.createExponentialHistogram(Resource.empty(), InstrumentationScopeInfo.create("test"), "latency", "", "",
+                ImmutableExponentialHistogramData.create(AggregationTemporality.CUMULATIVE, Collections.singletonList(point)));
+        MetricData result = converter.convert(Collections.singletonList(metric)).get(0);
+        Assert.assertEquals(AggregationTemporality.DELTA, result.getExponentialHistogramData().getAggregationTemporality());
+        return result.getExponentialHistogramData().getPoints().iterator().next();
+    }
+
+    private static DoublePointData counterPoint(Attributes attributes, long startEpochNanos, long epochNanos, double value) {
+        return ImmutableDoublePointData.create(startEpochNanos, epochNanos, attributes, value);
+    }
+
+    private static ExponentialHistogramPointData exponentialPoint(int scale, long epochNanos, int offset, List<Long> counts, double sum) {
+        return ImmutableExponentialHistogramPointData.create(scale, sum, 0, false, Double.NaN, false, Double.NaN,
+                ImmutableExponentialHistogramBuckets.create(scale, offset, counts),
+                ImmutableExponentialHistogramBuckets.create(scale, 0, Collections.emptyList()),
+                100, epochNanos, A, Collections.emptyList());
+    }
+
+    private static DoublePointData find(List<DoublePointData> points, Attributes attributes) {
+        for (DoublePointData point : points) {
+            if (point.getAttributes().equals(attributes)) {
+                return point;
+            }
+        }
+        throw new AssertionError(attributes + ": not found");
+    }
+}
@@ -0,0 +1,504 @@
+package io.prometheus.metrics.exporter.otlp;
+
+import io.prometheus.metrics.config.ExporterFilterProperties;
+import io.prometheus.metrics.config.ExporterOpenTelemetryProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.common.ExporterNameFilter;
+import io.prometheus.metrics.exporter.common.GzipCompressor;
+import io.prometheus.metrics.exporter.common.HttpPushClient;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.InfoSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.StateSetSnapshot;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import io.prometheus.metrics.model.snapshots.UnknownSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+/**
+ * Push metrics to an OpenTelemetry collector or any other OTLP receiver via OTLP/HTTP with protobuf encoding.
+ * <p>
+ * Unlike {@code OpenTelemetryExporter} from {@code prometheus-metrics-exporter-opentelemetry}, this exporter
+ * does not depend on the OpenTelemetry SDK. It encodes the {@link MetricSnapshots} directly into a reusable
+ * protobuf buffer, without creating intermediate OpenTelemetry objects.
+ * <pre>{@code
+ * OtlpExporter.builder()
+ *     .endpoint("http://localhost:4318/v1/metrics")
+ *     .buildAndStart();
+ * }</pre>
+ * The exporter is configured with the same {@code io.prometheus.exporter.opentelemetry.*} properties as the
+ * {@code OpenTelemetryExporter}, see {@link ExporterOpenTelemetryProperties}. Only the {@code http/protobuf} protocol
+ * and {@code cumulative} aggregation temporality are supported.
+ * <p>
+ * Requests are retried with exponential backoff on connection errors and on HTTP status 429, 502, 503, and 504,
+ * as specified for OTLP exporters.
+ */
+public class OtlpExporter implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(OtlpExporter.class.getName());
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+
+    private final PrometheusRegistry registry;
+    private final Predicate<String> nameFilter;
+    private final Integer maxBatchSize; // null means no limit
+    private final URL endpoint;
+    private final HttpPushClient client;
+    private final boolean gzip;
+    private final Map<String, String> resourceAttributes;
+    private final String scopeName;
+    private final String scopeVersion;
+    private final ScheduledExecutorService scheduler;
+
+    // Buffers are reused between exports. Guarded by this.
+    private final ProtobufWriter writer = new ProtobufWriter(16 * 1024);
+    private final OtlpMetricsEncoder encoder = new OtlpMetricsEncoder(writer);
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(4 * 1024);
+    private final GzipCompressor compressor; // null if gzip is disabled
+
+    private OtlpExporter(PrometheusRegistry registry, Predicate<String> nameFilter, Integer maxBatchSize, URL endpoint, Map<String, String> headers,
+                         int timeoutMillis, boolean gzip, Map<String, String> resourceAttributes, int intervalSeconds) {
+        this.registry = registry;
+        this.nameFilter = nameFilter;
+        this.maxBatchSize = maxBatchSize;
+        this.endpoint = endpoint;
+        HttpPushClient.Builder client = HttpPushClient.builder(endpoint)
+                .timeoutMillis(timeoutMillis)
+                .maxAttempts(MAX_ATTEMPTS)
+                .backoff(INITIAL_BACKOFF_MILLIS, BACKOFF_MULTIPLIER, MAX_BACKOFF_MILLIS)
+                .jitter(true)
+                .retryOn(status -> status == 429 || status == 502 || status == 503 || status == 504)
+                .header("Content-Type", "application/x-protobuf");
+        if (gzip) {
+            client.header("Content-Encoding", "gzip");
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            client.header(header.getKey(), header.getValue());
+        }
+        this.client = client.build();
+        this.gzip = gzip;
+        this.compressor = gzip ? new GzipCompressor(Deflater.DEFAULT_COMPRESSION) : null;
+        this.resourceAttributes = resourceAttributes;
+        Properties scope = loadInstrumentationScope();
+        this.scopeName = scope.getProperty("instrumentationScope.name");
+        this.scopeVersion = scope.getProperty("instrumentationScope.version");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-otlp-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                export();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to export metrics to " + endpoint, e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Collect the metrics and send them now, independent of the export interval.
+     * Blocks until the export succeeded or all retries failed.
+     * <p>
+     * If {@link Builder#maxBatchSize(int) maxBatchSize} is set, the batches are sent one after the other.
+     * If a batch fails, the remaining batches are still sent.
+     *
+     * @throws IOException if the export (or one of the batches) failed after retrying.
+     */
+    public synchronized void export() throws IOException {
+        MetricSnapshots snapshots;
+        MetricSnapshots infoSnapshots;
+        if (nameFilter != null) {
+            // Scrape once including the info metrics, and split the result afterwards.
+            infoSnapshots = registry.scrape(nameFilter.or(ExporterNameFilter.INFO_FILTER));
+            snapshots = ExporterNameFilter.select(infoSnapshots, nameFilter);
+        } else {
+            snapshots = registry.scrape();
+            infoSnapshots = snapshots;
+        }
+        long timestampMillis = System.currentTimeMillis();
+        if (maxBatchSize == null) {
+            send(snapshots, infoSnapshots, timestampMillis);
+            return;
+        }
+        IOException failure = null;
+        for (MetricSnapshots batch : split(snapshots, maxBatchSize)) {
+            try {
+                send(batch, infoSnapshots, timestampMillis);
+            } catch (IOException e) {
+                if (e.getCause() instanceof InterruptedException) {
+                    throw e;
+                }
+                failure = e; // keep going, a partial export is better than none
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void send(MetricSnapshots snapshots, MetricSnapshots infoSnapshots, long timestampMillis) throws IOException {
+        encoder.encode(snapshots, infoSnapshots, resourceAttributes, scopeName, scopeVersion, timestampMillis);
+        if (gzip) {
+            compressed.reset();
+            compressor.compress(writer.buffer(), writer.size(), compressed);
+        }
+        try {
+            if (gzip) {
+                client.post(compressed.size(), compressed::writeTo);
+            } else {
+                client.post(writer.size(), writer::writeTo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(endpoint + ": export interrupted", e);
+        }
+    }
+
+    /**
+     * Split {@code snapshots} into batches of at most {@code maxBatchSize} data points.
+     * Metrics with more than {@code maxBatchSize} data points are split across multiple batches.
+     */
+    static List<MetricSnapshots> split(MetricSnapshots snapshots, int maxBatchSize) {
+        List<MetricSnapshots> result = new ArrayList<>();
+        MetricSnapshots.Builder batch = MetricSnapshots.builder();
+        int batchSize = 0;
+        for (MetricSnapshot snapshot : snapshots) {
+            int size = snapshot.getDataPoints().size();
+            if (batchSize + size <= maxBatchSize) {
+                batch.metricSnapshot(snapshot);
+                batchSize += size;
+                continue;
+            }
+            if (size <= maxBatchSize) {
+                // Doesn't fit into the current batch, but fits into a new one.
+                result.add(batch.build());
+                batch = MetricSnapshots.builder();
+                batch.metricSnapshot(snapshot);
+                batchSize = size;
+                continue;
+            }
+            // Too large for a single batch. Fill up the current batch and continue with new batches.
+            int offset = 0;
+            while (offset < size) {
+                if (batchSize == maxBatchSize) {
+                    result.add(batch.build());
+                    batch = MetricSnapshots.builder();
+                    batchSize = 0;
+                }
+                int n = Math.min(size - offset, maxBatchSize - batchSize);
+                batch.metricSnapshot(withDataPoints(snapshot, offset, offset + n));
+                offset += n;
+                batchSize += n;
+            }
+        }
+        if (batchSize > 0) {
+            result.add(batch.build());
+        }
+        return result;
+    }
+
+    /**
+     * Copy of {@code snapshot} with the data points from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     */
+    private static MetricSnapshot withDataPoints(MetricSnapshot snapshot, int fromIndex, int toIndex) {
+        MetricMetadata metadata = snapshot.getMetadata();
+        if (snapshot instanceof CounterSnapshot) {
+            return new CounterSnapshot(metadata, ((CounterSnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof GaugeSnapshot) {
+            return new GaugeSnapshot(metadata, ((GaugeSnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof HistogramSnapshot) {
+            HistogramSnapshot histogram = (HistogramSnapshot) snapshot;
+            return new HistogramSnapshot(histogram.isGaugeHistogram(), metadata, histogram.getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof SummarySnapshot) {
+            return new SummarySnapshot(metadata, ((SummarySnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof InfoSnapshot) {
+            return new InfoSnapshot(metadata, ((InfoSnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof StateSetSnapshot) {
+            return new StateSetSnapshot(metadata, ((StateSetSnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        } else if (snapshot instanceof UnknownSnapshot) {
+            return new UnknownSnapshot(metadata, ((UnknownSnapshot) snapshot).getDataPoints().subList(fromIndex, toIndex));
+        }
+        throw new IllegalArgumentException(snapshot.getClass().getName() + ": Unexpected snapshot type.");
+    }
+
+    private static Properties loadInstrumentationScope() {
+        Properties properties = new Properties();
+        try (InputStream in = OtlpExporter.class.getResourceAsStream("instrumentationScope.properties")) {
+            properties.load(in);
+        } catch (Exception e) {
+            throw new IllegalStateException("Prometheus metrics library initialization error: Failed to read instrumentationScope.properties from classpath.", e);
+        }
+        return properties;
+    }
+
+    /**
+     * Stop the periodic export. Metrics collected since the last export are not sent,
+     * call {@link #export()} before {@code close()} if you need them.
+     * The exporter cannot be used after it is closed.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (compressor != null) {
+            synchronized (this) {
+                // wait for a running export, so that the Deflater isn't released while in use
+                compressor.end();
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private PrometheusRegistry registry = null;
+        private String endpoint;
+        private final Map<String, String> headers = new HashMap<>();
+        private Integer intervalSeconds;
+        private Integer timeoutSeconds;
+        private boolean gzip = true;
+        private String serviceName;
+        private String serviceNamespace;
+        private String serviceInstanceId;
+        private String serviceVersion;
+        private final Map<String, String> resourceAttributes = new HashMap<>();
+        private Predicate<String> nameFilter;
+        private Integer maxBatchSize;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        public Builder registry(PrometheusRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * The OTLP/HTTP endpoint. Default is {@code "http://localhost:4318/v1/metrics"}.
+         * The {@code "/v1/metrics"} suffix is appended if missing.
+         */
+        public Builder endpoint(String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Add an HTTP header to be applied to outgoing requests.
+         * Call multiple times to add multiple headers.
+         */
+        public Builder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * The interval between the start of two exports. Default is 60.
+         */
+        public Builder intervalSeconds(int intervalSeconds) {
+            if (intervalSeconds <= 0) {
+                throw new IllegalStateException(intervalSeconds + ": expecting a push interval > 0s");
+            }
+            this.intervalSeconds = intervalSeconds;
+            return this;
+        }
+
+        /**
+         * The timeout for connecting and for reading the response, per attempt. Default is 10.
+         */
+        public Builder timeoutSeconds(int timeoutSeconds) {
+            if (timeoutSeconds <= 0) {
+                throw new IllegalStateException(timeoutSeconds + ": expecting a timeout > 0s");
+            }
+            this.timeoutSeconds = timeoutSeconds;
+            return this;
+        }
+
+        /**
+         * Compress requests with gzip. Default is {@code true}.
+         */
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * The {@code service.name} resource attribute. Default is {@code "unknown_service:java"}.
+         */
+        public Builder serviceName(String serviceName) {
+            this.serviceName = serviceName;
+            return this;
+        }
+
+        /**
+         * The {@code service.namespace} resource attribute.
+         */
+        public Builder serviceNamespace(String serviceNamespace) {
+            this.serviceNamespace = serviceNamespace;
+            return this;
+        }
+
+        /**
+         * The {@code service.instance.id} resource attribute.
+         */
+        public Builder serviceInstanceId(String serviceInstanceId) {
+            this.serviceInstanceId = serviceInstanceId;
+            return this;
+        }
+
+        /**
+         * The {@code service.version} resource attribute.
+         */
+        public Builder serviceVersion(String serviceVersion) {
+            this.serviceVersion = serviceVersion;
+            return this;
+        }
+
+        /**
+         * Add a resource attribute. Call multiple times to add multiple resource attributes.
+         * Labels of the {@code target_info} metric are added as resource attributes as well.
+         */
+        public Builder resourceAttribute(String name, String value) {
+            this.resourceAttributes.put(name, value);
+            return this;
+        }
+
+        /**
+         * Only export metrics where {@code nameFilter.test(name)} is {@code true}.
+         * This is ignored if the {@code io.prometheus.exporter.filter} properties are configured,
+         * see {@link ExporterFilterProperties}. Default is to export all metrics.
+         */
+        public Builder metricNameFilter(Predicate<String> nameFilter) {
+            this.nameFilter = nameFilter;
+            return this;
+        }
+
+        /**
+         * Split each export into requests of at most {@code maxBatchSize} data points.
+         * Requests are sent one after the other, so the size of each request and the memory used for encoding
+         * are bounded, even for very large registries.
+         * <p>
+         * Metrics with more data points than {@code maxBatchSize} are split across multiple requests.
+         * Default is no limit, i.e. all metrics are exported in a single request.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalStateException(maxBatchSize + ": expecting a max batch size > 0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public OtlpExporter buildAndStart() {
+            if (registry == null) {
+                registry = PrometheusRegistry.defaultRegistry;
+            }
+            ExporterOpenTelemetryProperties properties = config.getExporterOpenTelemetryProperties();
+            if ("grpc".equals(properties.getProtocol())) {
+                throw new IllegalStateException("grpc: Unsupported protocol. The OtlpExporter supports http/protobuf only.");
+            }
+            if ("delta".equals(properties.getAggregationTemporality())) {
+                throw new IllegalStateException("delta: Unsupported aggregation temporality. The OtlpExporter supports cumulative only.");
+            }
+            try {
+                return new OtlpExporter(registry, getNameFilter(config.getExporterFilterProperties()), getMaxBatchSize(properties), new URL(getEndpoint(properties)),
+                        getHeaders(properties), (int) TimeUnit.SECONDS.toMillis(getTimeoutSeconds(properties)), gzip,
+                        getResourceAttributes(properties), getIntervalSeconds(properties));
+            } catch (IOException e) {
+                throw new IllegalStateException(getEndpoint(properties) + ": Invalid OTLP endpoint", e);
+            }
+        }
+
+        private String getEndpoint(ExporterOpenTelemetryProperties properties) {
+            String result = properties.getEndpoint() != null ? properties.getEndpoint() : endpoint;
+            if (result == null) {
+                return "http://localhost:4318/v1/metrics";
+            }
+            if (result.endsWith("v1/metrics")) {
+                return result;
+            }
+            return result.endsWith("/") ? result + "v1/metrics" : result + "/v1/metrics";
+        }
+
+        private Map<String, String> getHeaders(ExporterOpenTelemetryProperties properties) {
+            return !properties.getHeaders().isEmpty() ? properties.getHeaders() : headers;
+        }
+
+        private Integer getMaxBatchSize(ExporterOpenTelemetryProperties properties) {
+            return properties.getMaxBatchSize() != null ? properties.getMaxBatchSize() : maxBatchSize;
+        }
+
+        private int getIntervalSeconds(ExporterOpenTelemetryProperties properties) {
+            if (properties.getIntervalSeconds() != null) {
+                return properties.getIntervalSeconds();
+            }
+            return intervalSeconds != null ? intervalSeconds : 60;
+        }
+
+        private int getTimeoutSeconds(ExporterOpenTelemetryProperties properties) {
+            if (properties.getTimeoutSeconds() != null) {
+                return properties.getTimeoutSeconds();
+            }
+            return timeoutSeconds != null ? timeoutSeconds : 10;
+        }
+
+        private Map<String, String> getResourceAttributes(ExporterOpenTelemetryProperties properties) {
+            Map<String, String> result = new LinkedHashMap<>();
+            putIfNotNull(result, "service.name", properties.getServiceName() != null ? properties.getServiceName() : serviceName);
+            putIfNotNull(result, "service.namespace", properties.getServiceNamespace() != null ? properties.getServiceNamespace() : serviceNamespace);
+            putIfNotNull(result, "service.instance.id", properties.getServiceInstanceId() != null ? properties.getServiceInstanceId() : serviceInstanceId);
+            putIfNotNull(result, "service.version", properties.getServiceVersion() != null ? properties.getServiceVersion() : serviceVersion);
+            Map<String, String> configured = !properties.getResourceAttributes().isEmpty() ? properties.getResourceAttributes() : resourceAttributes;
+            for (Map.Entry<String, String> attribute : configured.entrySet()) {
+                result.putIfAbsent(attribute.getKey(), attribute.getValue());
+            }
+            result.putIfAbsent("service.name", "unknown_service:java");
+            return result;
+        }
+
+        private static void putIfNotNull(Map<String, String> map, String key, String value) {
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+
+        private Predicate<String> getNameFilter(ExporterFilterProperties properties) {
+            MetricNameFilter result = ExporterNameFilter.of(properties);
+            return result != null ? result : nameFilter;
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package io.prometheus.metrics.exporter.otlp;
+
+import io.prometheus.metrics.model.snapshots.ClassicHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.DataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.Exemplar;
+import io.prometheus.metrics.model.snapshots.Exemplars;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.InfoSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.NativeHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.Quantile;
+import io.prometheus.metrics.model.snapshots.StateSetSnapshot;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import io.prometheus.metrics.model.snapshots.Unit;
+import io.prometheus.metrics.model.snapshots.UnknownSnapshot;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode {@link MetricSnapshots} as an OTLP {@code ExportMetricsServiceRequest}.
+ * <p>
+ * Field numbers are from {@code opentelemetry/proto/collector/metrics/v1/metrics_service.proto}
+ * and {@code opentelemetry/proto/metrics/v1/metrics.proto}.
+ * The mapping of Prometheus metric types is the same as in {@code prometheus-metrics-exporter-opentelemetry}.
+ * <p>
+ * Exemplars of counters, gauges, and histograms are exported as well. If the {@code trace_id} and {@code span_id}
+ * labels are valid hex IDs they are encoded as OTLP trace and span IDs, all other labels are encoded as filtered
+ * attributes. OTLP summaries don't have exemplars, so exemplars of summaries are dropped.
+ */
+class OtlpMetricsEncoder {
+
+    // ExportMetricsServiceRequest
+    private static final int REQUEST_RESOURCE_METRICS = 1;
+    // ResourceMetrics
+    private static final int RESOURCE_METRICS_RESOURCE = 1;
+    private static final int RESOURCE_METRICS_SCOPE_METRICS = 2;
+    // Resource
+    private static final int RESOURCE_ATTRIBUTES = 1;
+    // ScopeMetrics
+    private static final int SCOPE_METRICS_SCOPE = 1;
+    private static final int SCOPE_METRICS_METRICS = 2;
+    // InstrumentationScope
+    private static final int SCOPE_NAME = 1;
+    private static final int SCOPE_VERSION = 2;
+    private static final int SCOPE_ATTRIBUTES = 3;
+    // KeyValue and AnyValue
+    private static final int KEY_VALUE_KEY = 1;
+    private static final int KEY_VALUE_VALUE = 2;
+    private static final int ANY_VALUE_STRING_VALUE = 1;
+    // Metric
+    private static final int METRIC_NAME = 1;
+    private static final int METRIC_DESCRIPTION = 2;
+    private static final int METRIC_UNIT = 3;
+    private static final int METRIC_GAUGE = 5;
+    private static final int METRIC_SUM = 7;
+    private static final int METRIC_HISTOGRAM = 9;
+    private static final int METRIC_EXPONENTIAL_HISTOGRAM = 10;
+    private static final int METRIC_SUMMARY = 11;
+    // Gauge, Sum, Histogram, ExponentialHistogram, Summary
+    private static final int DATA_POINTS = 1;
+    private static final int AGGREGATION_TEMPORALITY = 2;
+    private static final int SUM_IS_MONOTONIC = 3;
+    private static final int AGGREGATION_TEMPORALITY_CUMULATIVE = 2;
+    // NumberDataPoint
+    private static final int NUMBER_ATTRIBUTES = 7;
+    private static final int NUMBER_AS_DOUBLE = 4;
+    private static final int NUMBER_EXEMPLARS = 5;
+    // HistogramDataPoint
+    private static final int HISTOGRAM_ATTRIBUTES = 9;
+    private static final int HISTOGRAM_EXEMPLARS = 8;
+    private static final int HISTOGRAM_COUNT = 4;
+    private static final int HISTOGRAM_SUM = 5;
+    private static final int HISTOGRAM_BUCKET_COUNTS = 6;
+    private static final int HISTOGRAM_EXPLICIT_BOUNDS = 7;
+    // ExponentialHistogramDataPoint
+    private static final int EXPONENTIAL_ATTRIBUTES = 1;
+    private static final int EXPONENTIAL_COUNT = 4;
+    private static final int EXPONENTIAL_SUM = 5;
+    private static final int EXPONENTIAL_SCALE = 6;
+    private static final int EXPONENTIAL_ZERO_COUNT = 7;
+    private static final int EXPONENTIAL_POSITIVE = 8;
+    private static final int EXPONENTIAL_NEGATIVE = 9;
+    private static final int EXPONENTIAL_EXEMPLARS = 11;
+    private static final int EXPONENTIAL_ZERO_THRESHOLD = 14;
+    private static final int BUCKETS_OFFSET = 1;
+    private static final int BUCKETS_BUCKET_COUNTS = 2;
+    // SummaryDataPoint
+    private static final int SUMMARY_ATTRIBUTES = 7;
+    private static final int SUMMARY_COUNT = 4;
+    private static final int SUMMARY_SUM = 5;
+    private static final int SUMMARY_QUANTILE_VALUES = 6;
+    private static final int QUANTILE_QUANTILE = 1;
+    private static final int QUANTILE_VALUE = 2;
+    // Exemplar
+    private static final int EXEMPLAR_TIME_UNIX_NANO = 2;
+    private static final int EXEMPLAR_AS_DOUBLE = 3;
+    private static final int EXEMPLAR_SPAN_ID = 4;
+    private static final int EXEMPLAR_TRACE_ID = 5;
+    private static final int EXEMPLAR_FILTERED_ATTRIBUTES = 7;
+    private static final int TRACE_ID_HEX_LENGTH = 32;
+    private static final int SPAN_ID_HEX_LENGTH = 16;
+    // Common to all data points
+    private static final int START_TIME_UNIX_NANO = 2;
+    private static final int TIME_UNIX_NANO = 3;
+
+    private final ProtobufWriter writer;
+
+    OtlpMetricsEncoder(ProtobufWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Encode the snapshots into the writer. {@code target_info} from {@code infoSnapshots} is added to the resource
+     * attributes, and {@code otel_scope_info} replaces the default instrumentation scope.
+     */
+    void encode(MetricSnapshots snapshots, MetricSnapshots infoSnapshots, Map<String, String> resourceAttributes, String scopeName, String scopeVersion, long currentTimeMillis) {
+        writer.reset();
+        long timeNanos = TimeUnit.MILLISECONDS.toNanos(currentTimeMillis);
+        int resourceMetrics = writer.startMessage(REQUEST_RESOURCE_METRICS);
+        int resource = writer.startMessage(RESOURCE_METRICS_RESOURCE);
+        Labels targetInfo = findInfoLabels(infoSnapshots, "target");
+        for (Map.Entry<String, String> attribute : resourceAttributes.entrySet()) {
+            if (targetInfo == null || !targetInfo.contains(attribute.getKey())) {
+                writeKeyValue(RESOURCE_ATTRIBUTES, attribute.getKey(), attribute.getValue());
+            }
+        }
+        if (targetInfo != null) {
+            writeAttributes(RESOURCE_ATTRIBUTES, targetInfo);
+        }
+        writer.endMessage(resource);
+        int scopeMetrics = writer.startMessage(RESOURCE_METRICS_SCOPE_METRICS);
+        writeScope(findInfoLabels(infoSnapshots, "otel_scope"), scopeName, scopeVersion);
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot instanceof CounterSnapshot) {
+                writeCounter((CounterSnapshot) snapshot, timeNanos);
+            } else if (snapshot instanceof GaugeSnapshot) {
+                writeGauge((GaugeSnapshot) snapshot, timeNanos);
+            } else if (snapshot instanceof HistogramSnapshot) {
+                if (!((HistogramSnapshot) snapshot).isGaugeHistogram()) {
+                    writeHistogram((HistogramSnapshot) snapshot, timeNanos);
+                }
+            } else if (snapshot instanceof SummarySnapshot) {
+                writeSummary((SummarySnapshot) snapshot, timeNanos);
+            } else if (snapshot instanceof InfoSnapshot) {
+                String name = snapshot.getMetadata().getPrometheusName();
+                if (!name.equals("target") && !name.equals("otel_scope")) {
+                    writeInfo((InfoSnapshot) snapshot, timeNanos);
+                }
+            } else if (snapshot instanceof StateSetSnapshot) {
+                writeStateSet((StateSetSnapshot) snapshot, timeNanos);
+            } else if (snapshot instanceof UnknownSnapshot) {
+                writeUnknown((UnknownSnapshot) snapshot, timeNanos);
+            }
+        }
+        writer.endMessage(scopeMetrics);
+        writer.endMessage(resourceMetrics);
+    }
+
+    private Labels findInfoLabels(MetricSnapshots snapshots, String prometheusName) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot instanceof InfoSnapshot && snapshot.getMetadata().getPrometheusName().equals(prometheusName)) {
+                if (!snapshot.getDataPoints().isEmpty()) {
+                    return snapshot.getDataPoints().get(0).getLabels();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void writeScope(Labels otelScopeInfo, String defaultName, String defaultVersion) {
+        int scope = writer.startMessage(SCOPE_METRICS_SCOPE);
+        String name = null;
+        String version = null;
+        if (otelScopeInfo != null) {
+            for (int i = 0; i < otelScopeInfo.size(); i++) {
+                if (otelScopeInfo.getPrometheusName(i).equals("otel_scope_name")) {
+                    name = otelScopeInfo.getValue(i);
+                } else if (otelScopeInfo.getPrometheusName(i).equals("otel_scope_version")) {
+                    version = otelScopeInfo.getValue(i);
+                }
+            }
+        }
+        if (name != null) {
+            writer.writeString(SCOPE_NAME, name);
+            if (version != null) {
+                writer.writeString(SCOPE_VERSION, version);
+            }
+            for (int i = 0; i < otelScopeInfo.size(); i++) {
+                String labelName = otelScopeInfo.getPrometheusName(i);
+                if (!labelName.equals("otel_scope_name") && !labelName.equals("otel_scope_version")) {
+                    writeKeyValue(SCOPE_ATTRIBUTES, otelScopeInfo.getName(i), otelScopeInfo.getValue(i));
+                }
+            }
+        } else {
+            writer.writeString(SCOPE_NAME, defaultName);
+            writer.writeString(SCOPE_VERSION, defaultVersion);
+        }
+        writer.endMessage(scope);
+    }
+
+    private void writeCounter(CounterSnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int sum = writer.startMessage(METRIC_SUM);
+        for (CounterSnapshot.CounterDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            writeNumberDataPoint(dataPoint, dataPoint.getLabels(), dataPoint.getValue(), dataPoint.getExemplar(), timeNanos);
+        }
+        writer.writeEnum(AGGREGATION_TEMPORALITY, AGGREGATION_TEMPORALITY_CUMULATIVE);
+        writer.writeBool(SUM_IS_MONOTONIC, true);
+        writer.endMessage(sum);
+        writer.endMessage(metric);
+    }
+
+    private void writeGauge(GaugeSnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int gauge = writer.startMessage(METRIC_GAUGE);
+        for (GaugeSnapshot.GaugeDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            writeNumberDataPoint(dataPoint, dataPoint.getLabels(), dataPoint.getValue(), dataPoint.getExemplar(), timeNanos);
+        }
+        writer.endMessage(gauge);
+        writer.endMessage(metric);
+    }
+
+    private void writeUnknown(UnknownSnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int gauge = writer.startMessage(METRIC_GAUGE);
+        for (UnknownSnapshot.UnknownDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            writeNumberDataPoint(dataPoint, dataPoint.getLabels(), dataPoint.getValue(), dataPoint.getExemplar(), timeNanos);
+        }
+        writer.endMessage(gauge);
+        writer.endMessage(metric);
+    }
+
+    private void writeInfo(InfoSnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int sum = writer.startMessage(METRIC_SUM);
+        for (InfoSnapshot.InfoDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            writeNumberDataPoint(dataPoint, dataPoint.getLabels(), 1.0, null, timeNanos);
+        }
+        writer.writeEnum(AGGREGATION_TEMPORALITY, AGGREGATION_TEMPORALITY_CUMULATIVE);
+        writer.endMessage(sum);
+        writer.endMessage(metric);
+    }
+
+    private void writeStateSet(StateSetSnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int sum = writer.startMessage(METRIC_SUM);
+        for (StateSetSnapshot.StateSetDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            for (int i = 0; i < dataPoint.size(); i++) {
+                Labels labels = dataPoint.getLabels().merge(Labels.of(snapshot.getMetadata().getName(), dataPoint.getName(i)));
+                writeNumberDataPoint(dataPoint, labels, dataPoint.isTrue(i) ? 1.0 : 0.0, null, timeNanos);
+            }
+        }
+        writer.writeEnum(AGGREGATION_TEMPORALITY, AGGREGATION_TEMPORALITY_CUMULATIVE);
+        writer.endMessage(sum);
+        writer.endMessage(metric);
+    }
+
+    private void writeNumberDataPoint(DataPointSnapshot dataPoint, Labels labels, double value, Exemplar exemplar, long timeNanos) {
+        int point = writer.startMessage(DATA_POINTS);
+        writeTimestamps(dataPoint, timeNanos);
+        writer.writeDouble(NUMBER_AS_DOUBLE, value);
+        if (exemplar != null) {
+            writeExemplar(NUMBER_EXEMPLARS, exemplar);
+        }
+        writeAttributes(NUMBER_ATTRIBUTES, labels);
+        writer.endMessage(point);
+    }
+
+    private void writeHistogram(HistogramSnapshot snapshot, long timeNanos) {
+        if (snapshot.getDataPoints().isEmpty()) {
+            return;
+        }
+        // Like in prometheus-metrics-exporter-opentelemetry, the first data point decides whether this is
+        // an exponential histogram or a histogram with explicit buckets.
+        boolean exponential = snapshot.getDataPoints().get(0).hasNativeHistogramData();
+        if (!exponential && !snapshot.getDataPoints().get(0).hasClassicHistogramData()) {
+            return;
+        }
+        int metric = startMetric(snapshot.getMetadata());
+        int histogram = writer.startMessage(exponential ? METRIC_EXPONENTIAL_HISTOGRAM : METRIC_HISTOGRAM);
+        for (HistogramSnapshot.HistogramDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            if (exponential && dataPoint.hasNativeHistogramData()) {
+                writeExponentialHistogramDataPoint(dataPoint, timeNanos);
+            } else if (!exponential && dataPoint.hasClassicHistogramData()) {
+                writeHistogramDataPoint(dataPoint, timeNanos);
+            }
+        }
+        writer.writeEnum(AGGREGATION_TEMPORALITY, AGGREGATION_TEMPORALITY_CUMULATIVE);
+        writer.endMessage(histogram);
+        writer.endMessage(metric);
+    }
+
+    private void writeHistogramDataPoint(HistogramSnapshot.HistogramDataPointSnapshot dataPoint, long timeNanos) {
+        ClassicHistogramBuckets buckets = dataPoint.getClassicBuckets();
+        int point = writer.startMessage(DATA_POINTS);
+        writeTimestamps(dataPoint, timeNanos);
+        long count = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            count += buckets.getCount(i);
+        }
+        writer.writeFixed64(HISTOGRAM_COUNT, dataPoint.hasCount() ? dataPoint.getCount() : count);
+        if (dataPoint.hasSum()) {
+            writer.writeDouble(HISTOGRAM_SUM, dataPoint.getSum());
+        }
+        // In OTLP the +Inf bucket is implicit, there is one more bucket count than there are explicit bounds.
+        int bounds = buckets.size();
+        boolean hasInfBucket = bounds > 0 && buckets.getUpperBound(bounds - 1) == Double.POSITIVE_INFINITY;
+        if (hasInfBucket) {
+            bounds--;
+        }
+        writer.startPackedFixed64(HISTOGRAM_BUCKET_COUNTS, bounds + 1);
+        for (int i = 0; i < buckets.size(); i++) {
+            writer.writePackedFixed64Value(buckets.getCount(i));
+        }
+        if (!hasInfBucket) {
+            writer.writePackedFixed64Value(0);
+        }
+        if (bounds > 0) {
+            writer.startPackedFixed64(HISTOGRAM_EXPLICIT_BOUNDS, bounds);
+            for (int i = 0; i < bounds; i++) {
+                writer.writePackedDoubleValue(buckets.getUpperBound(i));
+            }
+        }
+        writeExemplars(HISTOGRAM_EXEMPLARS, dataPoint.getExemplars());
+        writeAttributes(HISTOGRAM_ATTRIBUTES, dataPoint.getLabels());
+        writer.endMessage(point);
+    }
+
+    private void writeExponentialHistogramDataPoint(HistogramSnapshot.HistogramDataPointSnapshot dataPoint, long timeNanos) {
+        NativeHistogramBuckets positive = dataPoint.getNativeBucketsForPositiveValues();
+        NativeHistogramBuckets negative = dataPoint.getNativeBucketsForNegativeValues();
+        int point = writer.startMessage(DATA_POINTS);
+        writeTimestamps(dataPoint, timeNanos);
+        long count = dataPoint.getNativeZeroCount();
+        for (int i = 0; i < positive.size(); i++) {
+            count += positive.getCount(i);
+        }
+        for (int i = 0; i < negative.size(); i++) {
+            count += negative.getCount(i);
+        }
+        writer.writeFixed64(EXPONENTIAL_COUNT, dataPoint.hasCount() ? dataPoint.getCount() : count);
+        if (dataPoint.hasSum()) {
+            writer.writeDouble(EXPONENTIAL_SUM, dataPoint.getSum());
+        }
+        writer.writeSInt32(EXPONENTIAL_SCALE, dataPoint.getNativeSchema());
+        writer.writeFixed64(EXPONENTIAL_ZERO_COUNT, dataPoint.getNativeZeroCount());
+        writeBuckets(EXPONENTIAL_POSITIVE, positive);
+        writeBuckets(EXPONENTIAL_NEGATIVE, negative);
+        writeExemplars(EXPONENTIAL_EXEMPLARS, dataPoint.getExemplars());
+        writer.writeDouble(EXPONENTIAL_ZERO_THRESHOLD, dataPoint.getNativeZeroThreshold());
+        writeAttributes(EXPONENTIAL_ATTRIBUTES, dataPoint.getLabels());
+        writer.endMessage(point);
+    }
+
+    private void writeBuckets(int fieldNumber, NativeHistogramBuckets buckets) {
+        int message = writer.startMessage(fieldNumber);
+        if (buckets.size() > 0) {
+            // Prometheus bucket i is (base^(i-1), base^i], OTel bucket i is (base^i, base^(i+1)].
+            int offset = buckets.getBucketIndex(0);
+            writer.writeSInt32(BUCKETS_OFFSET, offset - 1);
+            int counts = writer.startPackedVarint(BUCKETS_BUCKET_COUNTS);
+            int current = 0;
+            for (int index = offset; index <= buckets.getBucketIndex(buckets.size() - 1); index++) {
+                if (buckets.getBucketIndex(current) == index) {
+                    writer.writePackedVarintValue(buckets.getCount(current++));
+                } else {
+                    writer.writePackedVarintValue(0);
+                }
+            }
+            writer.endMessage(counts);
+        }
+        writer.endMessage(message);
+    }
+
+    private void writeSummary(SummarySnapshot snapshot, long timeNanos) {
+        int metric = startMetric(snapshot.getMetadata());
+        int summary = writer.startMessage(METRIC_SUMMARY);
+        for (SummarySnapshot.SummaryDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            int point = writer.startMessage(DATA_POINTS);
+            writeTimestamps(dataPoint, timeNanos);
+            writer.writeFixed64(SUMMARY_COUNT, dataPoint.hasCount() ? dataPoint.getCount() : 0);
+            if (dataPoint.hasSum()) {
+                writer.writeDouble(SUMMARY_SUM, dataPoint.getSum());
+            }
+            for (Quantile quantile : dataPoint.getQuantiles()) {
+                int quantileValue = writer.startMessage(SUMMARY_QUANTILE_VALUES);
+                writer.writeDouble(QUANTILE_QUANTILE, quantile.getQuantile());
+                writer.writeDouble(QUANTILE_VALUE, quantile.getValue());
+                writer.endMessage(quantileValue);
+            }
+            writeAttributes(SUMMARY_ATTRIBUTES, dataPoint.getLabels());
+            writer.endMessage(point);
+        }
+        writer.endMessage(summary);
+        writer.endMessage(metric);
+    }
+
+    private void writeExemplars(int fieldNumber, Exemplars exemplars) {
+        for (Exemplar exemplar : exemplars) {
+            writeExemplar(fieldNumber, exemplar);
+        }
+    }
+
+    private void writeExemplar(int fieldNumber, Exemplar exemplar) {
+        int message = writer.startMessage(fieldNumber);
+        if (exemplar.hasTimestamp()) {
+            writer.writeFixed64(EXEMPLAR_TIME_UNIX_NANO, TimeUnit.MILLISECONDS.toNanos(exemplar.getTimestampMillis()));
+        }
+        writer.writeDouble(EXEMPLAR_AS_DOUBLE, exemplar.getValue());
+        Labels labels = exemplar.getLabels();
+        String traceId = labels.get(Exemplar.TRACE_ID);
+        String spanId = labels.get(Exemplar.SPAN_ID);
+        boolean hasIds = isHex(traceId, TRACE_ID_HEX_LENGTH) && isHex(spanId, SPAN_ID_HEX_LENGTH);
+        if (hasIds) {
+            writer.writeHexAsBytes(EXEMPLAR_SPAN_ID, spanId);
+            writer.writeHexAsBytes(EXEMPLAR_TRACE_ID, traceId);
+        }
+        for (int i = 0; i < labels.size(); i++) {
+            String name = labels.getName(i);
+            if (!hasIds || (!name.equals(Exemplar.TRACE_ID) && !name.equals(Exemplar.SPAN_ID))) {
+                writeKeyValue(EXEMPLAR_FILTERED_ATTRIBUTES, name, labels.getValue(i));
+            }
+        }
+        writer.endMessage(message);
+    }
+
+    private static boolean isHex(String s, int length) {
+        if (s == null || s.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.digit(s.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int startMetric(MetricMetadata metadata) {
+        int metric = writer.startMessage(SCOPE_METRICS_METRICS);
+        writer.writeString(METRIC_NAME, getNameWithoutUnit(metadata));
+        if (metadata.getHelp() != null) {
+            writer.writeString(METRIC_DESCRIPTION, metadata.getHelp());
+        }
+        if (metadata.hasUnit()) {
+            writer.writeString(METRIC_UNIT, convertUnit(metadata.getUnit()));
+        }
+        return metric;
+    }
+
+    private void writeTimestamps(DataPointSnapshot dataPoint, long timeNanos) {
+        if (dataPoint.hasCreatedTimestamp()) {
+            writer.writeFixed64(START_TIME_UNIX_NANO, TimeUnit.MILLISECONDS.toNanos(dataPoint.getCreatedTimestampMillis()));
+        }
+        writer.writeFixed64(TIME_UNIX_NANO, dataPoint.hasScrapeTimestamp() ? TimeUnit.MILLISECONDS.toNanos(dataPoint.getScrapeTimestampMillis()) : timeNanos);
+    }
+
+    private void writeAttributes(int fieldNumber, Labels labels) {
+        for (int i = 0; i < labels.size(); i++) {
+            writeKeyValue(fieldNumber, labels.getName(i), labels.getValue(i));
+        }
+    }
+
+    private void writeKeyValue(int fieldNumber, String key, String value) {
+        int keyValue = writer.startMessage(fieldNumber);
+        writer.writeString(KEY_VALUE_KEY, key);
+        int anyValue = writer.startMessage(KEY_VALUE_VALUE);
+        writer.writeString(ANY_VALUE_STRING_VALUE, value);
+        writer.endMessage(anyValue);
+        writer.endMessage(keyValue);
+    }
+
+    // In OpenTelemetry the unit should not be part of the metric name.
+    private static String getNameWithoutUnit(MetricMetadata metadata) {
+        String name = metadata.getName();
+        if (metadata.getUnit() != null) {
+            String unit = metadata.getUnit().toString();
+            if (name.endsWith(unit)) {
+                name = name.substring(0, name.length() - unit.length());
+            }
+            while (name.endsWith("_")) {
+                name = name.substring(0, name.length() - 1);
+            }
+        }
+        return name;
+    }
+
+    // Same mapping as PrometheusMetricData in prometheus-metrics-exporter-opentelemetry, see
+    // https://github.com/open-telemetry/opentelemetry-collector-contrib/blob/6cf4dec6cb42d87d8840e9f67d4acf66d4eb8fda/pkg/translator/prometheus/normalize_name.go#L19
+    private static String convertUnit(Unit unit) {
+        switch (unit.toString()) {
+            // Time
+            case "days": return "d";
+            case "hours": return "h";
+            case "minutes": return "min";
+            case "seconds": return "s";
+            case "milliseconds": return "ms";
+            case "microseconds": return "us";
+            case "nanoseconds": return "ns";
+            // Bytes
+            case "bytes": return "By";
+            case "kibibytes": return "KiBy";
+            case "mebibytes": return "MiBy";
+            case "gibibytes": return "GiBy";
+            case "tibibytes": return "TiBy";
+            case "kilobytes": return "KBy";
+            case "megabytes": return "MBy";
+            case "gigabytes": return "GBy";
+            case "terabytes": return "TBy";
+            // SI
+            case "meters": return "m";
+            case "volts": return "V";
+            case "amperes": return "A";
+            case "joules": return "J";
+            case "watts": return "W";
+            case "grams": return "g";
+            // Misc
+            case "celsius": return "Cel";
+            case "hertz": return "Hz";
+            case "percent": return "%";
+            // default
+            default:
+                return unit.toString();
+        }
+    }
+}
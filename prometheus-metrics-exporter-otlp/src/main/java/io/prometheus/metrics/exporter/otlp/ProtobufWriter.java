@@ -0,0 +1,197 @@
+package io.prometheus.metrics.exporter.otlp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Minimal protobuf encoder writing into a growable byte array.
+ * <p>
+ * The buffer is kept between calls to {@link #reset()}, so after a few exports no more allocation is needed
+ * unless the payload grows.
+ * <p>
+ * Nested messages are written with {@link #startMessage(int)} and {@link #endMessage(int)}.
+ * The length prefix is inserted when the message ends, which requires moving the message content
+ * by the size of the length prefix (usually 1 or 2 bytes).
+ */
+class ProtobufWriter {
+
+    private static final int WIRE_TYPE_VARINT = 0;
+    private static final int WIRE_TYPE_FIXED64 = 1;
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private byte[] buf;
+    private int pos;
+
+    ProtobufWriter(int initialSize) {
+        buf = new byte[initialSize];
+    }
+
+    void reset() {
+        pos = 0;
+    }
+
+    int size() {
+        return pos;
+    }
+
+    byte[] buffer() {
+        return buf;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, pos);
+    }
+
+    /**
+     * Start a nested message.
+     *
+     * @return the start position, to be passed to {@link #endMessage(int)}.
+     */
+    int startMessage(int fieldNumber) {
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        return pos;
+    }
+
+    void endMessage(int start) {
+        int length = pos - start;
+        int prefixLength = varintSize(length);
+        ensureCapacity(prefixLength);
+        System.arraycopy(buf, start, buf, start + prefixLength, length);
+        int end = pos + prefixLength;
+        pos = start;
+        writeVarint(length);
+        pos = end;
+    }
+
+    void writeString(int fieldNumber, String value) {
+        int start = startMessage(fieldNumber);
+        writeUtf8(value);
+        endMessage(start);
+    }
+
+    void writeDouble(int fieldNumber, double value) {
+        writeTag(fieldNumber, WIRE_TYPE_FIXED64);
+        writeFixed64(Double.doubleToRawLongBits(value));
+    }
+
+    void writeFixed64(int fieldNumber, long value) {
+        writeTag(fieldNumber, WIRE_TYPE_FIXED64);
+        writeFixed64(value);
+    }
+
+    void writeSInt32(int fieldNumber, int value) {
+        writeTag(fieldNumber, WIRE_TYPE_VARINT);
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL); // zigzag encoding
+    }
+
+    void writeBool(int fieldNumber, boolean value) {
+        writeTag(fieldNumber, WIRE_TYPE_VARINT);
+        writeVarint(value ? 1 : 0);
+    }
+
+    void writeEnum(int fieldNumber, int value) {
+        writeTag(fieldNumber, WIRE_TYPE_VARINT);
+        writeVarint(value);
+    }
+
+    /**
+     * Write a bytes field from its hex representation. {@code hex} must have an even number of valid hex digits.
+     */
+    void writeHexAsBytes(int fieldNumber, String hex) {
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        writeVarint(hex.length() / 2);
+        ensureCapacity(hex.length() / 2);
+        for (int i = 0; i < hex.length(); i += 2) {
+            buf[pos++] = (byte) ((Character.digit(hex.charAt(i), 16) << 4) | Character.digit(hex.charAt(i + 1), 16));
+        }
+    }
+
+    /**
+     * Write a packed repeated fixed64 or double field. Call {@link #writePackedFixed64Value(long)}
+     * or {@link #writePackedDoubleValue(double)} exactly {@code count} times after this.
+     */
+    void startPackedFixed64(int fieldNumber, int count) {
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        writeVarint(8L * count);
+    }
+
+    void writePackedFixed64Value(long value) {
+        writeFixed64(value);
+    }
+
+    void writePackedDoubleValue(double value) {
+        writeFixed64(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Start a packed repeated varint field, to be ended with {@link #endMessage(int)}.
+     */
+    int startPackedVarint(int fieldNumber) {
+        return startMessage(fieldNumber);
+    }
+
+    void writePackedVarintValue(long value) {
+        writeVarint(value);
+    }
+
+    private void writeTag(int fieldNumber, int wireType) {
+        writeVarint((fieldNumber << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    private void writeFixed64(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buf[pos++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void writeUtf8(String s) {
+        ensureCapacity(3 * s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = (byte) '?'; // unpaired surrogate, same replacement as String.getBytes()
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void ensureCapacity(int n) {
+        if (pos + n > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package io.prometheus.metrics.exporter.otlp;
+
+import com.google.protobuf.ByteString;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.metrics.v1.ExponentialHistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.HistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.NumberDataPoint;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.proto.metrics.v1.SummaryDataPoint;
+import io.prometheus.metrics.config.ExporterOpenTelemetryProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.Collector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.ClassicHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.Exemplar;
+import io.prometheus.metrics.model.snapshots.Exemplars;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.NativeHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.Quantiles;
+import io.prometheus.metrics.model.snapshots.StateSetSnapshot;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+public class OtlpExporterTest {
+
+    private HttpServer receiver;
+    private final List<byte[]> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> contentEncodings = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile int failureStatus = 503;
+
+    @Before
+    public void setUp() throws IOException {
+        // Stand-in for an OTLP/HTTP receiver like the OpenTelemetry collector.
+        receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/v1/metrics", exchange -> {
+            Assert.assertEquals("POST", exchange.getRequestMethod());
+            Assert.assertEquals("application/x-protobuf", exchange.getRequestHeaders().getFirst("Content-Type"));
+            contentEncodings.add(String.valueOf(exchange.getRequestHeaders().getFirst("Content-Encoding")));
+            bodies.add(readAll(exchange.getRequestBody()));
+            int status = failuresBeforeSuccess.getAndDecrement() > 0 ? failureStatus : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        receiver.start();
+    }
+
+    @After
+    public void tearDown() {
+        receiver.stop(0);
+    }
+
+    private OtlpExporter.Builder exporter(PrometheusRegistry registry) {
+        return OtlpExporter.builder(PrometheusProperties.get())
+                .registry(registry)
+                .endpoint("http://localhost:" + receiver.getAddress().getPort())
+                .intervalSeconds(3600)
+                .serviceName("test-service");
+    }
+
+    @Test
+    public void testExportWithGzipAndRetry() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter.builder().name("requests_total").labelNames("path").register(registry).labelValues("/hello").inc();
+        failuresBeforeSuccess.set(1);
+        try (OtlpExporter exporter = exporter(registry).buildAndStart()) {
+            exporter.export();
+        }
+        Assert.assertEquals(2, bodies.size()); // 503 was retried
+        Assert.assertEquals("gzip", contentEncodings.get(1));
+        ExportMetricsServiceRequest request = ExportMetricsServiceRequest.parseFrom(new GZIPInputStream(new ByteArrayInputStream(bodies.get(1))));
+        ResourceMetrics resourceMetrics = request.getResourceMetrics(0);
+        Assert.assertEquals("test-service", attributes(resourceMetrics.getResource().getAttributesList()).get("service.name"));
+        Metric metric = resourceMetrics.getScopeMetrics(0).getMetrics(0);
+        Assert.assertEquals("requests", metric.getName());
+        Assert.assertTrue(metric.getSum().getIsMonotonic());
+        NumberDataPoint dataPoint = metric.getSum().getDataPoints(0);
+        Assert.assertEquals(1.0, dataPoint.getAsDouble(), 0.0);
+        Assert.assertEquals("/hello", attributes(dataPoint.getAttributesList()).get("path"));
+    }
+
+    @Test
+    public void testGzipCompressorIsReused() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter counter = Counter.builder().name("events_total").register(registry);
+        try (OtlpExporter exporter = exporter(registry).buildAndStart()) {
+            counter.inc();
+            exporter.export();
+            counter.inc();
+            exporter.export();
+        }
+        Assert.assertEquals(2, bodies.size());
+        for (int i = 0; i < 2; i++) {
+            ExportMetricsServiceRequest request = ExportMetricsServiceRequest.parseFrom(new GZIPInputStream(new ByteArrayInputStream(bodies.get(i))));
+            Metric metric = request.getResourceMetrics(0).getScopeMetrics(0).getMetrics(0);
+            Assert.assertEquals(i + 1, metric.getSum().getDataPoints(0).getAsDouble(), 0.0);
+        }
+    }
+
+    @Test
+    public void testClassicHistogram() throws IOException {
+        Metric metric = exportSingleMetric(HistogramSnapshot.builder()
+                .name("latency")
+                .dataPoint(HistogramSnapshot.HistogramDataPointSnapshot.builder()
+                        .classicHistogramBuckets(ClassicHistogramBuckets.of(
+                                new double[]{0.1, 1.0, Double.POSITIVE_INFINITY},
+                                new long[]{3, 0, 2}))
+                        .sum(4.2)
+                        .build())
+                .build());
+        Assert.assertTrue(metric.hasHistogram());
+        HistogramDataPoint dataPoint = metric.getHistogram().getDataPoints(0);
+        // +Inf is implicit in OTLP, so there is one more bucket count than explicit bounds.
+        Assert.assertEquals(Arrays.asList(0.1, 1.0), dataPoint.getExplicitBoundsList());
+        Assert.assertEquals(Arrays.asList(3L, 0L, 2L), dataPoint.getBucketCountsList());
+        Assert.assertEquals(5, dataPoint.getCount());
+        Assert.assertEquals(4.2, dataPoint.getSum(), 0.0);
+    }
+
+    @Test
+    public void testExponentialHistogram() throws IOException {
+        Metric metric = exportSingleMetric(HistogramSnapshot.builder()
+                .name("latency")
+                .dataPoint(HistogramSnapshot.HistogramDataPointSnapshot.builder()
+                        .nativeSchema(2)
+                        .nativeZeroCount(1)
+                        .nativeZeroThreshold(0.001)
+                        .nativeBucketsForPositiveValues(NativeHistogramBuckets.builder()
+                                .bucket(1, 2)
+                                .bucket(3, 1)
+                                .build())
+                        .nativeBucketsForNegativeValues(NativeHistogramBuckets.builder()
+                                .bucket(0, 4)
+                                .build())
+                        .sum(-3.0)
+                        .build())
+                .build());
+        Assert.assertTrue(metric.hasExponentialHistogram());
+        ExponentialHistogramDataPoint dataPoint = metric.getExponentialHistogram().getDataPoints(0);
+        Assert.assertEquals(2, dataPoint.getScale());
+        Assert.assertEquals(1, dataPoint.getZeroCount());
+        Assert.assertEquals(0.001, dataPoint.getZeroThreshold(), 0.0);
+        Assert.assertEquals(8, dataPoint.getCount());
+        // Prometheus bucket index i is OTel bucket index i-1, empty buckets in between are filled with 0.
+        Assert.assertEquals(0, dataPoint.getPositive().getOffset());
+        Assert.assertEquals(Arrays.asList(2L, 0L, 1L), dataPoint.getPositive().getBucketCountsList());
+        Assert.assertEquals(-1, dataPoint.getNegative().getOffset());
+        Assert.assertEquals(Arrays.asList(4L), dataPoint.getNegative().getBucketCountsList());
+    }
+
+    @Test
+    public void testSummary() throws IOException {
+        Metric metric = exportSingleMetric(SummarySnapshot.builder()
+                .name("request_size")
+                .dataPoint(SummarySnapshot.SummaryDataPointSnapshot.builder()
+                        .quantiles(Quantiles.builder()
+                                .quantile(0.5, 1.0)
+                                .quantile(0.99, 3.0)
+                                .build())
+                        .count(10)
+                        .sum(12.0)
+                        .labels(Labels.of("path", "/"))
+                        .build())
+                .build());
+        Assert.assertTrue(metric.hasSummary());
+        SummaryDataPoint dataPoint = metric.getSummary().getDataPoints(0);
+        Assert.assertEquals(10, dataPoint.getCount());
+        Assert.assertEquals(12.0, dataPoint.getSum(), 0.0);
+        Assert.assertEquals(2, dataPoint.getQuantileValuesCount());
+        Assert.assertEquals(0.5, dataPoint.getQuantileValues(0).getQuantile(), 0.0);
+        Assert.assertEquals(1.0, dataPoint.getQuantileValues(0).getValue(), 0.0);
+        Assert.assertEquals(0.99, dataPoint.getQuantileValues(1).getQuantile(), 0.0);
+        Assert.assertEquals(3.0, dataPoint.getQuantileValues(1).getValue(), 0.0);
+        Assert.assertEquals("/", attributes(dataPoint.getAttributesList()).get("path"));
+    }
+
+    @Test
+    public void testStateSet() throws IOException {
+        Metric metric = exportSingleMetric(StateSetSnapshot.builder()
+                .name("feature")
+                .dataPoint(StateSetSnapshot.StateSetDataPointSnapshot.builder()
+                        .state("a", true)
+                        .state("b", false)
+                        .labels(Labels.of("env", "prod"))
+                        .build())
+                .build());
+        // Each state is a non-monotonic sum data point with the state name as label value.
+        Assert.assertTrue(metric.hasSum());
+        Assert.assertFalse(metric.getSum().getIsMonotonic());
+        Assert.assertEquals(2, metric.getSum().getDataPointsCount());
+        Map<String, Double> states = new HashMap<>();
+        for (NumberDataPoint dataPoint : metric.getSum().getDataPointsList()) {
+            Map<String, String> attributes = attributes(dataPoint.getAttributesList());
+            Assert.assertEquals("prod", attributes.get("env"));
+            states.put(attributes.get("feature"), dataPoint.getAsDouble());
+        }
+        Assert.assertEquals(1.0, states.get("a"), 0.0);
+        Assert.assertEquals(0.0, states.get("b"), 0.0);
+    }
+
+    @Test
+    public void testExemplars() throws IOException {
+        String traceId = "0af7651916cd43dd8448eb211c80319c";
+        String spanId = "b7ad6b7169203331";
+        Exemplar counterExemplar = Exemplar.builder()
+                .value(1.0)
+                .traceId(traceId)
+                .spanId(spanId)
+                .labels(Labels.of("user", "alice"))
+                .timestampMillis(1690000000000L)
+                .build();
+        Metric counter = exportSingleMetric(CounterSnapshot.builder()
+                .name("requests")
+                .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                        .value(3.0)
+                        .exemplar(counterExemplar)
+                        .build())
+                .build());
+        io.opentelemetry.proto.metrics.v1.Exemplar exemplar = counter.getSum().getDataPoints(0).getExemplars(0);
+        Assert.assertEquals(1.0, exemplar.getAsDouble(), 0.0);
+        Assert.assertEquals(1690000000000000000L, exemplar.getTimeUnixNano());
+        Assert.assertEquals(ByteString.fromHex(traceId), exemplar.getTraceId());
+        Assert.assertEquals(ByteString.fromHex(spanId), exemplar.getSpanId());
+        // trace_id and span_id are not duplicated as attributes
+        Map<String, String> attributes = attributes(exemplar.getFilteredAttributesList());
+        Assert.assertEquals(1, attributes.size());
+        Assert.assertEquals("alice", attributes.get("user"));
+
+        // IDs that are not valid hex are kept as attributes.
+        Exemplar invalidIds = Exemplar.builder()
+                .value(0.05)
+                .traceId("not-a-trace-id")
+                .spanId(spanId)
+                .build();
+        Metric histogram = exportSingleMetric(HistogramSnapshot.builder()
+                .name("latency")
+                .dataPoint(HistogramSnapshot.HistogramDataPointSnapshot.builder()
+                        .classicHistogramBuckets(ClassicHistogramBuckets.of(
+                                new double[]{0.1, Double.POSITIVE_INFINITY},
+                                new long[]{1, 0}))
+                        .exemplars(Exemplars.of(invalidIds))
+                        .build())
+                .build());
+        exemplar = histogram.getHistogram().getDataPoints(0).getExemplars(0);
+        Assert.assertEquals(0.05, exemplar.getAsDouble(), 0.0);
+        Assert.assertTrue(exemplar.getTraceId().isEmpty());
+        Assert.assertEquals("not-a-trace-id", attributes(exemplar.getFilteredAttributesList()).get("trace_id"));
+        Assert.assertEquals(spanId, attributes(exemplar.getFilteredAttributesList()).get("span_id"));
+    }
+
+    private Metric exportSingleMetric(MetricSnapshot snapshot) throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Collector collector = () -> snapshot;
+        registry.register(collector);
+        bodies.clear();
+        try (OtlpExporter exporter = exporter(registry).gzip(false).buildAndStart()) {
+            exporter.export();
+        }
+        ExportMetricsServiceRequest request = ExportMetricsServiceRequest.parseFrom(bodies.get(0));
+        Assert.assertEquals(1, request.getResourceMetrics(0).getScopeMetrics(0).getMetricsCount());
+        return request.getResourceMetrics(0).getScopeMetrics(0).getMetrics(0);
+    }
+
+    private static Map<String, String> attributes(List<KeyValue> keyValues) {
+        Map<String, String> result = new HashMap<>();
+        for (KeyValue keyValue : keyValues) {
+            result.put(keyValue.getKey(), keyValue.getValue().getStringValue());
+        }
+        return result;
+    }
+
+    @Test
+    public void testBuffersAreReused() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter counter = Counter.builder().name("events_total").register(registry);
+        try (OtlpExporter exporter = exporter(registry).gzip(false).buildAndStart()) {
+            counter.inc();
+            exporter.export();
+            counter.inc();
+            exporter.export();
+        }
+        Assert.assertEquals(2, bodies.size());
+        Assert.assertEquals("null", contentEncodings.get(0));
+        // Same size, but the counter value differs. The second request must not contain leftovers from the first.
+        Assert.assertEquals(bodies.get(0).length, bodies.get(1).length);
+        Assert.assertFalse(Arrays.equals(bodies.get(0), bodies.get(1)));
+    }
+
+    @Test
+    public void testMaxBatchSize() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter.builder().name("small_total").register(registry).inc();
+        Counter large = Counter.builder().name("large_total").labelNames("n").register(registry);
+        for (int i = 0; i < 5; i++) {
+            large.labelValues(Integer.toString(i)).inc();
+        }
+        try (OtlpExporter exporter = exporter(registry).gzip(false).maxBatchSize(2).buildAndStart()) {
+            exporter.export();
+        }
+        Assert.assertEquals(3, bodies.size());
+        int dataPoints = 0;
+        for (byte[] body : bodies) {
+            ResourceMetrics resourceMetrics = ExportMetricsServiceRequest.parseFrom(body).getResourceMetrics(0);
+            Assert.assertEquals("test-service", attributes(resourceMetrics.getResource().getAttributesList()).get("service.name"));
+            int batchSize = 0;
+            for (Metric metric : resourceMetrics.getScopeMetrics(0).getMetricsList()) {
+                batchSize += metric.getSum().getDataPointsCount();
+            }
+            Assert.assertTrue(batchSize <= 2);
+            dataPoints += batchSize;
+        }
+        Assert.assertEquals(6, dataPoints);
+    }
+
+    @Test
+    public void testSplit() {
+        MetricSnapshots snapshots = MetricSnapshots.of(
+                CounterSnapshot.builder().name("requests")
+                        .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().value(1).labels(Labels.of("n", "1")).build())
+                        .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().value(2).labels(Labels.of("n", "2")).build())
+                        .build(),
+                CounterSnapshot.builder().name("responses")
+                        .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().value(3).build())
+                        .build());
+        List<MetricSnapshots> batches = OtlpExporter.split(snapshots, 3);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(2, batches.get(0).size());
+        batches = OtlpExporter.split(snapshots, 1);
+        Assert.assertEquals(3, batches.size());
+        Assert.assertEquals("requests", batches.get(0).get(0).getMetadata().getName());
+        Assert.assertEquals(Labels.of("n", "1"), batches.get(0).get(0).getDataPoints().get(0).getLabels());
+        Assert.assertEquals("requests", batches.get(1).get(0).getMetadata().getName());
+        Assert.assertEquals(Labels.of("n", "2"), batches.get(1).get(0).getDataPoints().get(0).getLabels());
+        Assert.assertEquals("responses", batches.get(2).get(0).getMetadata().getName());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeltaTemporalityIsRejected() {
+        PrometheusProperties defaults = PrometheusProperties.get();
+        PrometheusProperties config = new PrometheusProperties(
+                defaults.getDefaultMetricProperties(),
+                Collections.emptyMap(),
+                defaults.getExemplarProperties(),
+                defaults.getExporterProperties(),
+                defaults.getExporterFilterProperties(),
+                defaults.getExporterHttpServerProperties(),
+                ExporterOpenTelemetryProperties.builder().aggregationTemporality("delta").build());
+        OtlpExporter.builder(config).registry(new PrometheusRegistry()).buildAndStart();
+    }
+
+    @Test
+    public void testNoRetryOnBadRequest() {
+        failureStatus = 400;
+        failuresBeforeSuccess.set(1);
+        try (OtlpExporter exporter = exporter(new PrometheusRegistry()).buildAndStart()) {
+            exporter.export();
+            Assert.fail("expected IOException");
+        } catch (IOException expected) {
+            Assert.assertTrue(expected.getMessage().contains("400"));
+        }
+        Assert.assertEquals(1, bodies.size());
+    }
+
+    @Test
+    public void testNestedMessageLength() {
+        ProtobufWriter writer = new ProtobufWriter(4);
+        int outer = writer.startMessage(1);
+        writer.writeString(2, new String(new char[200]).replace('\0', 'x')); // length 200 needs a 2 byte varint
+        writer.writeSInt32(3, -1);
+        writer.endMessage(outer);
+        byte[] bytes = Arrays.copyOf(writer.buffer(), writer.size());
+        // outer: tag 0x0A, length 3 + 200 + 2 = 205 = 0xCD 0x01
+        Assert.assertEquals(0x0A, bytes[0] & 0xFF);
+        Assert.assertEquals(0xCD, bytes[1] & 0xFF);
+        Assert.assertEquals(0x01, bytes[2] & 0xFF);
+        // inner string: tag 0x12, length 200 = 0xC8 0x01
+        Assert.assertEquals(0x12, bytes[3] & 0xFF);
+        Assert.assertEquals(0xC8, bytes[4] & 0xFF);
+        Assert.assertEquals(0x01, bytes[5] & 0xFF);
+        Assert.assertEquals('x', bytes[6]);
+        // sint32 -1 is zigzag encoded as 1
+        Assert.assertEquals(0x18, bytes[206] & 0xFF);
+        Assert.assertEquals(0x01, bytes[207] & 0xFF);
+        Assert.assertEquals(208, bytes.length);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            result.write(buf, 0, n);
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,13 @@
+#!/bin/bash
+
+set -e
+
+# We use the shaded protobuf JAR from the protobuf-shaded module.
+# Same as in prometheus-metrics-exposition-formats, the sources are generated manually.
+
+# The version string must be the same as in protobuf-shaded/pom.xml.
+export PROTOBUF_VERSION_STRING="3_21_7"
+
+rm -rf src/main/generated/*
+protoc --java_out src/main/generated src/main/protobuf/remote.proto
+sed -i "s/com\\.google\\.protobuf/io.prometheus.metrics.shaded.com_google_protobuf_${PROTOBUF_VERSION_STRING}/g" "src/main/generated/io/prometheus/metrics/exporter/remotewrite/generated/com_google_protobuf_${PROTOBUF_VERSION_STRING}/Remote.java"
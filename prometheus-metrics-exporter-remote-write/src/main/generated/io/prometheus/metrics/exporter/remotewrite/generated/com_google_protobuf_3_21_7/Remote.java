@@ -0,0 +1,4976 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: src/main/protobuf/remote.proto
+
+package io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7;
+
+public final class Remote {
+  private Remote() {}
+  public static void registerAllExtensions(
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite) registry);
+  }
+  public interface WriteRequestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:prometheus.WriteRequest)
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.MessageOrBuilder {
+
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> 
+        getTimeseriesList();
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getTimeseries(int index);
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    int getTimeseriesCount();
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder> 
+        getTimeseriesOrBuilderList();
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder getTimeseriesOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> 
+        getMetadataList();
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getMetadata(int index);
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    int getMetadataCount();
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder> 
+        getMetadataOrBuilderList();
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder getMetadataOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code prometheus.WriteRequest}
+   */
+  public static final class WriteRequest extends
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:prometheus.WriteRequest)
+      WriteRequestOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use WriteRequest.newBuilder() to construct.
+    private WriteRequest(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private WriteRequest() {
+      timeseries_ = java.util.Collections.emptyList();
+      metadata_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new WriteRequest();
+    }
+
+    @java.lang.Override
+    public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+        getDescriptor() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_WriteRequest_descriptor;
+    }
+
+    @java.lang.Override
+    protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_WriteRequest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.Builder.class);
+    }
+
+    public static final int TIMESERIES_FIELD_NUMBER = 1;
+    private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> timeseries_;
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> getTimeseriesList() {
+      return timeseries_;
+    }
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder> 
+        getTimeseriesOrBuilderList() {
+      return timeseries_;
+    }
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    @java.lang.Override
+    public int getTimeseriesCount() {
+      return timeseries_.size();
+    }
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getTimeseries(int index) {
+      return timeseries_.get(index);
+    }
+    /**
+     * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder getTimeseriesOrBuilder(
+        int index) {
+      return timeseries_.get(index);
+    }
+
+    public static final int METADATA_FIELD_NUMBER = 3;
+    private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> metadata_;
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> getMetadataList() {
+      return metadata_;
+    }
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder> 
+        getMetadataOrBuilderList() {
+      return metadata_;
+    }
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    @java.lang.Override
+    public int getMetadataCount() {
+      return metadata_.size();
+    }
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getMetadata(int index) {
+      return metadata_.get(index);
+    }
+    /**
+     * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder getMetadataOrBuilder(
+        int index) {
+      return metadata_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < timeseries_.size(); i++) {
+        output.writeMessage(1, timeseries_.get(i));
+      }
+      for (int i = 0; i < metadata_.size(); i++) {
+        output.writeMessage(3, metadata_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < timeseries_.size(); i++) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeMessageSize(1, timeseries_.get(i));
+      }
+      for (int i = 0; i < metadata_.size(); i++) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeMessageSize(3, metadata_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest)) {
+        return super.equals(obj);
+      }
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest other = (io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest) obj;
+
+      if (!getTimeseriesList()
+          .equals(other.getTimeseriesList())) return false;
+      if (!getMetadataList()
+          .equals(other.getMetadataList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getTimeseriesCount() > 0) {
+        hash = (37 * hash) + TIMESERIES_FIELD_NUMBER;
+        hash = (53 * hash) + getTimeseriesList().hashCode();
+      }
+      if (getMetadataCount() > 0) {
+        hash = (37 * hash) + METADATA_FIELD_NUMBER;
+        hash = (53 * hash) + getMetadataList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        java.nio.ByteBuffer data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        java.nio.ByteBuffer data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(byte[] data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        byte[] data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code prometheus.WriteRequest}
+     */
+    public static final class Builder extends
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:prometheus.WriteRequest)
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequestOrBuilder {
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_WriteRequest_descriptor;
+      }
+
+      @java.lang.Override
+      protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_WriteRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.Builder.class);
+      }
+
+      // Construct using io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        if (timeseriesBuilder_ == null) {
+          timeseries_ = java.util.Collections.emptyList();
+        } else {
+          timeseries_ = null;
+          timeseriesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (metadataBuilder_ == null) {
+          metadata_ = java.util.Collections.emptyList();
+        } else {
+          metadata_ = null;
+          metadataBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptorForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_WriteRequest_descriptor;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest getDefaultInstanceForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest build() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest buildPartial() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest result = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest(this);
+        int from_bitField0_ = bitField0_;
+        if (timeseriesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            timeseries_ = java.util.Collections.unmodifiableList(timeseries_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.timeseries_ = timeseries_;
+        } else {
+          result.timeseries_ = timeseriesBuilder_.build();
+        }
+        if (metadataBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) != 0)) {
+            metadata_ = java.util.Collections.unmodifiableList(metadata_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.metadata_ = metadata_;
+        } else {
+          result.metadata_ = metadataBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Message other) {
+        if (other instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest) {
+          return mergeFrom((io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest other) {
+        if (other == io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest.getDefaultInstance()) return this;
+        if (timeseriesBuilder_ == null) {
+          if (!other.timeseries_.isEmpty()) {
+            if (timeseries_.isEmpty()) {
+              timeseries_ = other.timeseries_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureTimeseriesIsMutable();
+              timeseries_.addAll(other.timeseries_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.timeseries_.isEmpty()) {
+            if (timeseriesBuilder_.isEmpty()) {
+              timeseriesBuilder_.dispose();
+              timeseriesBuilder_ = null;
+              timeseries_ = other.timeseries_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              timeseriesBuilder_ = 
+                io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getTimeseriesFieldBuilder() : null;
+            } else {
+              timeseriesBuilder_.addAllMessages(other.timeseries_);
+            }
+          }
+        }
+        if (metadataBuilder_ == null) {
+          if (!other.metadata_.isEmpty()) {
+            if (metadata_.isEmpty()) {
+              metadata_ = other.metadata_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureMetadataIsMutable();
+              metadata_.addAll(other.metadata_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.metadata_.isEmpty()) {
+            if (metadataBuilder_.isEmpty()) {
+              metadataBuilder_.dispose();
+              metadataBuilder_ = null;
+              metadata_ = other.metadata_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              metadataBuilder_ = 
+                io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getMetadataFieldBuilder() : null;
+            } else {
+              metadataBuilder_.addAllMessages(other.metadata_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries m =
+                    input.readMessage(
+                        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.parser(),
+                        extensionRegistry);
+                if (timeseriesBuilder_ == null) {
+                  ensureTimeseriesIsMutable();
+                  timeseries_.add(m);
+                } else {
+                  timeseriesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 10
+              case 26: {
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata m =
+                    input.readMessage(
+                        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.parser(),
+                        extensionRegistry);
+                if (metadataBuilder_ == null) {
+                  ensureMetadataIsMutable();
+                  metadata_.add(m);
+                } else {
+                  metadataBuilder_.addMessage(m);
+                }
+                break;
+              } // case 26
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> timeseries_ =
+        java.util.Collections.emptyList();
+      private void ensureTimeseriesIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          timeseries_ = new java.util.ArrayList<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries>(timeseries_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder> timeseriesBuilder_;
+
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> getTimeseriesList() {
+        if (timeseriesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(timeseries_);
+        } else {
+          return timeseriesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public int getTimeseriesCount() {
+        if (timeseriesBuilder_ == null) {
+          return timeseries_.size();
+        } else {
+          return timeseriesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getTimeseries(int index) {
+        if (timeseriesBuilder_ == null) {
+          return timeseries_.get(index);
+        } else {
+          return timeseriesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder setTimeseries(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries value) {
+        if (timeseriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTimeseriesIsMutable();
+          timeseries_.set(index, value);
+          onChanged();
+        } else {
+          timeseriesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder setTimeseries(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder builderForValue) {
+        if (timeseriesBuilder_ == null) {
+          ensureTimeseriesIsMutable();
+          timeseries_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          timeseriesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder addTimeseries(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries value) {
+        if (timeseriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTimeseriesIsMutable();
+          timeseries_.add(value);
+          onChanged();
+        } else {
+          timeseriesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder addTimeseries(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries value) {
+        if (timeseriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTimeseriesIsMutable();
+          timeseries_.add(index, value);
+          onChanged();
+        } else {
+          timeseriesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder addTimeseries(
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder builderForValue) {
+        if (timeseriesBuilder_ == null) {
+          ensureTimeseriesIsMutable();
+          timeseries_.add(builderForValue.build());
+          onChanged();
+        } else {
+          timeseriesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder addTimeseries(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder builderForValue) {
+        if (timeseriesBuilder_ == null) {
+          ensureTimeseriesIsMutable();
+          timeseries_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          timeseriesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder addAllTimeseries(
+          java.lang.Iterable<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries> values) {
+        if (timeseriesBuilder_ == null) {
+          ensureTimeseriesIsMutable();
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractMessageLite.Builder.addAll(
+              values, timeseries_);
+          onChanged();
+        } else {
+          timeseriesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder clearTimeseries() {
+        if (timeseriesBuilder_ == null) {
+          timeseries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          timeseriesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public Builder removeTimeseries(int index) {
+        if (timeseriesBuilder_ == null) {
+          ensureTimeseriesIsMutable();
+          timeseries_.remove(index);
+          onChanged();
+        } else {
+          timeseriesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder getTimeseriesBuilder(
+          int index) {
+        return getTimeseriesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder getTimeseriesOrBuilder(
+          int index) {
+        if (timeseriesBuilder_ == null) {
+          return timeseries_.get(index);  } else {
+          return timeseriesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder> 
+           getTimeseriesOrBuilderList() {
+        if (timeseriesBuilder_ != null) {
+          return timeseriesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(timeseries_);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder addTimeseriesBuilder() {
+        return getTimeseriesFieldBuilder().addBuilder(
+            io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder addTimeseriesBuilder(
+          int index) {
+        return getTimeseriesFieldBuilder().addBuilder(
+            index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.TimeSeries timeseries = 1;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder> 
+           getTimeseriesBuilderList() {
+        return getTimeseriesFieldBuilder().getBuilderList();
+      }
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder> 
+          getTimeseriesFieldBuilder() {
+        if (timeseriesBuilder_ == null) {
+          timeseriesBuilder_ = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder>(
+                  timeseries_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          timeseries_ = null;
+        }
+        return timeseriesBuilder_;
+      }
+
+      private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> metadata_ =
+        java.util.Collections.emptyList();
+      private void ensureMetadataIsMutable() {
+        if (!((bitField0_ & 0x00000002) != 0)) {
+          metadata_ = new java.util.ArrayList<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata>(metadata_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder> metadataBuilder_;
+
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> getMetadataList() {
+        if (metadataBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(metadata_);
+        } else {
+          return metadataBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public int getMetadataCount() {
+        if (metadataBuilder_ == null) {
+          return metadata_.size();
+        } else {
+          return metadataBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getMetadata(int index) {
+        if (metadataBuilder_ == null) {
+          return metadata_.get(index);
+        } else {
+          return metadataBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder setMetadata(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata value) {
+        if (metadataBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMetadataIsMutable();
+          metadata_.set(index, value);
+          onChanged();
+        } else {
+          metadataBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder setMetadata(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder builderForValue) {
+        if (metadataBuilder_ == null) {
+          ensureMetadataIsMutable();
+          metadata_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          metadataBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder addMetadata(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata value) {
+        if (metadataBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMetadataIsMutable();
+          metadata_.add(value);
+          onChanged();
+        } else {
+          metadataBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder addMetadata(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata value) {
+        if (metadataBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMetadataIsMutable();
+          metadata_.add(index, value);
+          onChanged();
+        } else {
+          metadataBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder addMetadata(
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder builderForValue) {
+        if (metadataBuilder_ == null) {
+          ensureMetadataIsMutable();
+          metadata_.add(builderForValue.build());
+          onChanged();
+        } else {
+          metadataBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder addMetadata(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder builderForValue) {
+        if (metadataBuilder_ == null) {
+          ensureMetadataIsMutable();
+          metadata_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          metadataBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder addAllMetadata(
+          java.lang.Iterable<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata> values) {
+        if (metadataBuilder_ == null) {
+          ensureMetadataIsMutable();
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractMessageLite.Builder.addAll(
+              values, metadata_);
+          onChanged();
+        } else {
+          metadataBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder clearMetadata() {
+        if (metadataBuilder_ == null) {
+          metadata_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          metadataBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public Builder removeMetadata(int index) {
+        if (metadataBuilder_ == null) {
+          ensureMetadataIsMutable();
+          metadata_.remove(index);
+          onChanged();
+        } else {
+          metadataBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder getMetadataBuilder(
+          int index) {
+        return getMetadataFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder getMetadataOrBuilder(
+          int index) {
+        if (metadataBuilder_ == null) {
+          return metadata_.get(index);  } else {
+          return metadataBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder> 
+           getMetadataOrBuilderList() {
+        if (metadataBuilder_ != null) {
+          return metadataBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(metadata_);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder addMetadataBuilder() {
+        return getMetadataFieldBuilder().addBuilder(
+            io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder addMetadataBuilder(
+          int index) {
+        return getMetadataFieldBuilder().addBuilder(
+            index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.MetricMetadata metadata = 3;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder> 
+           getMetadataBuilderList() {
+        return getMetadataFieldBuilder().getBuilderList();
+      }
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder> 
+          getMetadataFieldBuilder() {
+        if (metadataBuilder_ == null) {
+          metadataBuilder_ = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder>(
+                  metadata_,
+                  ((bitField0_ & 0x00000002) != 0),
+                  getParentForChildren(),
+                  isClean());
+          metadata_ = null;
+        }
+        return metadataBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:prometheus.WriteRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:prometheus.WriteRequest)
+    private static final io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest();
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<WriteRequest>
+        PARSER = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractParser<WriteRequest>() {
+      @java.lang.Override
+      public WriteRequest parsePartialFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<WriteRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<WriteRequest> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.WriteRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface MetricMetadataOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:prometheus.MetricMetadata)
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * Represents the metric type, these match the set from Prometheus.
+     * Refer to github.com/prometheus/common/model/metadata.go for details.
+     * </pre>
+     *
+     * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+     * @return The enum numeric value on the wire for type.
+     */
+    int getTypeValue();
+    /**
+     * <pre>
+     * Represents the metric type, these match the set from Prometheus.
+     * Refer to github.com/prometheus/common/model/metadata.go for details.
+     * </pre>
+     *
+     * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+     * @return The type.
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType getType();
+
+    /**
+     * <code>string metric_family_name = 2;</code>
+     * @return The metricFamilyName.
+     */
+    java.lang.String getMetricFamilyName();
+    /**
+     * <code>string metric_family_name = 2;</code>
+     * @return The bytes for metricFamilyName.
+     */
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getMetricFamilyNameBytes();
+
+    /**
+     * <code>string help = 4;</code>
+     * @return The help.
+     */
+    java.lang.String getHelp();
+    /**
+     * <code>string help = 4;</code>
+     * @return The bytes for help.
+     */
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getHelpBytes();
+
+    /**
+     * <code>string unit = 5;</code>
+     * @return The unit.
+     */
+    java.lang.String getUnit();
+    /**
+     * <code>string unit = 5;</code>
+     * @return The bytes for unit.
+     */
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getUnitBytes();
+  }
+  /**
+   * Protobuf type {@code prometheus.MetricMetadata}
+   */
+  public static final class MetricMetadata extends
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:prometheus.MetricMetadata)
+      MetricMetadataOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use MetricMetadata.newBuilder() to construct.
+    private MetricMetadata(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private MetricMetadata() {
+      type_ = 0;
+      metricFamilyName_ = "";
+      help_ = "";
+      unit_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new MetricMetadata();
+    }
+
+    @java.lang.Override
+    public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+        getDescriptor() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_MetricMetadata_descriptor;
+    }
+
+    @java.lang.Override
+    protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_MetricMetadata_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder.class);
+    }
+
+    /**
+     * Protobuf enum {@code prometheus.MetricMetadata.MetricType}
+     */
+    public enum MetricType
+        implements io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ProtocolMessageEnum {
+      /**
+       * <code>UNKNOWN = 0;</code>
+       */
+      UNKNOWN(0),
+      /**
+       * <code>COUNTER = 1;</code>
+       */
+      COUNTER(1),
+      /**
+       * <code>GAUGE = 2;</code>
+       */
+      GAUGE(2),
+      /**
+       * <code>HISTOGRAM = 3;</code>
+       */
+      HISTOGRAM(3),
+      /**
+       * <code>GAUGEHISTOGRAM = 4;</code>
+       */
+      GAUGEHISTOGRAM(4),
+      /**
+       * <code>SUMMARY = 5;</code>
+       */
+      SUMMARY(5),
+      /**
+       * <code>INFO = 6;</code>
+       */
+      INFO(6),
+      /**
+       * <code>STATESET = 7;</code>
+       */
+      STATESET(7),
+      UNRECOGNIZED(-1),
+      ;
+
+      /**
+       * <code>UNKNOWN = 0;</code>
+       */
+      public static final int UNKNOWN_VALUE = 0;
+      /**
+       * <code>COUNTER = 1;</code>
+       */
+      public static final int COUNTER_VALUE = 1;
+      /**
+       * <code>GAUGE = 2;</code>
+       */
+      public static final int GAUGE_VALUE = 2;
+      /**
+       * <code>HISTOGRAM = 3;</code>
+       */
+      public static final int HISTOGRAM_VALUE = 3;
+      /**
+       * <code>GAUGEHISTOGRAM = 4;</code>
+       */
+      public static final int GAUGEHISTOGRAM_VALUE = 4;
+      /**
+       * <code>SUMMARY = 5;</code>
+       */
+      public static final int SUMMARY_VALUE = 5;
+      /**
+       * <code>INFO = 6;</code>
+       */
+      public static final int INFO_VALUE = 6;
+      /**
+       * <code>STATESET = 7;</code>
+       */
+      public static final int STATESET_VALUE = 7;
+
+
+      public final int getNumber() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalArgumentException(
+              "Can't get the number of an unknown enum value.");
+        }
+        return value;
+      }
+
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static MetricType valueOf(int value) {
+        return forNumber(value);
+      }
+
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       */
+      public static MetricType forNumber(int value) {
+        switch (value) {
+          case 0: return UNKNOWN;
+          case 1: return COUNTER;
+          case 2: return GAUGE;
+          case 3: return HISTOGRAM;
+          case 4: return GAUGEHISTOGRAM;
+          case 5: return SUMMARY;
+          case 6: return INFO;
+          case 7: return STATESET;
+          default: return null;
+        }
+      }
+
+      public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Internal.EnumLiteMap<MetricType>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Internal.EnumLiteMap<
+          MetricType> internalValueMap =
+            new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Internal.EnumLiteMap<MetricType>() {
+              public MetricType findValueByNumber(int number) {
+                return MetricType.forNumber(number);
+              }
+            };
+
+      public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalStateException(
+              "Can't get the descriptor of an unrecognized enum value.");
+        }
+        return getDescriptor().getValues().get(ordinal());
+      }
+      public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.getDescriptor().getEnumTypes().get(0);
+      }
+
+      private static final MetricType[] VALUES = values();
+
+      public static MetricType valueOf(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        if (desc.getIndex() == -1) {
+          return UNRECOGNIZED;
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int value;
+
+      private MetricType(int value) {
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:prometheus.MetricMetadata.MetricType)
+    }
+
+    public static final int TYPE_FIELD_NUMBER = 1;
+    private int type_;
+    /**
+     * <pre>
+     * Represents the metric type, these match the set from Prometheus.
+     * Refer to github.com/prometheus/common/model/metadata.go for details.
+     * </pre>
+     *
+     * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+     * @return The enum numeric value on the wire for type.
+     */
+    @java.lang.Override public int getTypeValue() {
+      return type_;
+    }
+    /**
+     * <pre>
+     * Represents the metric type, these match the set from Prometheus.
+     * Refer to github.com/prometheus/common/model/metadata.go for details.
+     * </pre>
+     *
+     * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+     * @return The type.
+     */
+    @java.lang.Override public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType getType() {
+      @SuppressWarnings("deprecation")
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType result = io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.valueOf(type_);
+      return result == null ? io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.UNRECOGNIZED : result;
+    }
+
+    public static final int METRIC_FAMILY_NAME_FIELD_NUMBER = 2;
+    private volatile java.lang.Object metricFamilyName_;
+    /**
+     * <code>string metric_family_name = 2;</code>
+     * @return The metricFamilyName.
+     */
+    @java.lang.Override
+    public java.lang.String getMetricFamilyName() {
+      java.lang.Object ref = metricFamilyName_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs = 
+            (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        metricFamilyName_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string metric_family_name = 2;</code>
+     * @return The bytes for metricFamilyName.
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getMetricFamilyNameBytes() {
+      java.lang.Object ref = metricFamilyName_;
+      if (ref instanceof java.lang.String) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+            io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        metricFamilyName_ = b;
+        return b;
+      } else {
+        return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+      }
+    }
+
+    public static final int HELP_FIELD_NUMBER = 4;
+    private volatile java.lang.Object help_;
+    /**
+     * <code>string help = 4;</code>
+     * @return The help.
+     */
+    @java.lang.Override
+    public java.lang.String getHelp() {
+      java.lang.Object ref = help_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs = 
+            (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        help_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string help = 4;</code>
+     * @return The bytes for help.
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getHelpBytes() {
+      java.lang.Object ref = help_;
+      if (ref instanceof java.lang.String) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+            io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        help_ = b;
+        return b;
+      } else {
+        return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+      }
+    }
+
+    public static final int UNIT_FIELD_NUMBER = 5;
+    private volatile java.lang.Object unit_;
+    /**
+     * <code>string unit = 5;</code>
+     * @return The unit.
+     */
+    @java.lang.Override
+    public java.lang.String getUnit() {
+      java.lang.Object ref = unit_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs = 
+            (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        unit_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string unit = 5;</code>
+     * @return The bytes for unit.
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getUnitBytes() {
+      java.lang.Object ref = unit_;
+      if (ref instanceof java.lang.String) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+            io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        unit_ = b;
+        return b;
+      } else {
+        return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (type_ != io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.UNKNOWN.getNumber()) {
+        output.writeEnum(1, type_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(metricFamilyName_)) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.writeString(output, 2, metricFamilyName_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(help_)) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.writeString(output, 4, help_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(unit_)) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.writeString(output, 5, unit_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (type_ != io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.UNKNOWN.getNumber()) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeEnumSize(1, type_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(metricFamilyName_)) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.computeStringSize(2, metricFamilyName_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(help_)) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.computeStringSize(4, help_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(unit_)) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.computeStringSize(5, unit_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata)) {
+        return super.equals(obj);
+      }
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata other = (io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata) obj;
+
+      if (type_ != other.type_) return false;
+      if (!getMetricFamilyName()
+          .equals(other.getMetricFamilyName())) return false;
+      if (!getHelp()
+          .equals(other.getHelp())) return false;
+      if (!getUnit()
+          .equals(other.getUnit())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TYPE_FIELD_NUMBER;
+      hash = (53 * hash) + type_;
+      hash = (37 * hash) + METRIC_FAMILY_NAME_FIELD_NUMBER;
+      hash = (53 * hash) + getMetricFamilyName().hashCode();
+      hash = (37 * hash) + HELP_FIELD_NUMBER;
+      hash = (53 * hash) + getHelp().hashCode();
+      hash = (37 * hash) + UNIT_FIELD_NUMBER;
+      hash = (53 * hash) + getUnit().hashCode();
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        java.nio.ByteBuffer data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        java.nio.ByteBuffer data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(byte[] data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        byte[] data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseDelimitedFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code prometheus.MetricMetadata}
+     */
+    public static final class Builder extends
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:prometheus.MetricMetadata)
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadataOrBuilder {
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_MetricMetadata_descriptor;
+      }
+
+      @java.lang.Override
+      protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_MetricMetadata_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.Builder.class);
+      }
+
+      // Construct using io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        type_ = 0;
+
+        metricFamilyName_ = "";
+
+        help_ = "";
+
+        unit_ = "";
+
+        return this;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptorForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_MetricMetadata_descriptor;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getDefaultInstanceForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata build() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata buildPartial() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata result = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata(this);
+        result.type_ = type_;
+        result.metricFamilyName_ = metricFamilyName_;
+        result.help_ = help_;
+        result.unit_ = unit_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Message other) {
+        if (other instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata) {
+          return mergeFrom((io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata other) {
+        if (other == io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.getDefaultInstance()) return this;
+        if (other.type_ != 0) {
+          setTypeValue(other.getTypeValue());
+        }
+        if (!other.getMetricFamilyName().isEmpty()) {
+          metricFamilyName_ = other.metricFamilyName_;
+          onChanged();
+        }
+        if (!other.getHelp().isEmpty()) {
+          help_ = other.help_;
+          onChanged();
+        }
+        if (!other.getUnit().isEmpty()) {
+          unit_ = other.unit_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 8: {
+                type_ = input.readEnum();
+
+                break;
+              } // case 8
+              case 18: {
+                metricFamilyName_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 18
+              case 34: {
+                help_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 34
+              case 42: {
+                unit_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 42
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+
+      private int type_ = 0;
+      /**
+       * <pre>
+       * Represents the metric type, these match the set from Prometheus.
+       * Refer to github.com/prometheus/common/model/metadata.go for details.
+       * </pre>
+       *
+       * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+       * @return The enum numeric value on the wire for type.
+       */
+      @java.lang.Override public int getTypeValue() {
+        return type_;
+      }
+      /**
+       * <pre>
+       * Represents the metric type, these match the set from Prometheus.
+       * Refer to github.com/prometheus/common/model/metadata.go for details.
+       * </pre>
+       *
+       * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+       * @param value The enum numeric value on the wire for type to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTypeValue(int value) {
+        
+        type_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Represents the metric type, these match the set from Prometheus.
+       * Refer to github.com/prometheus/common/model/metadata.go for details.
+       * </pre>
+       *
+       * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+       * @return The type.
+       */
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType getType() {
+        @SuppressWarnings("deprecation")
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType result = io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.valueOf(type_);
+        return result == null ? io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType.UNRECOGNIZED : result;
+      }
+      /**
+       * <pre>
+       * Represents the metric type, these match the set from Prometheus.
+       * Refer to github.com/prometheus/common/model/metadata.go for details.
+       * </pre>
+       *
+       * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+       * @param value The type to set.
+       * @return This builder for chaining.
+       */
+      public Builder setType(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata.MetricType value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        type_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Represents the metric type, these match the set from Prometheus.
+       * Refer to github.com/prometheus/common/model/metadata.go for details.
+       * </pre>
+       *
+       * <code>.prometheus.MetricMetadata.MetricType type = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearType() {
+        
+        type_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object metricFamilyName_ = "";
+      /**
+       * <code>string metric_family_name = 2;</code>
+       * @return The metricFamilyName.
+       */
+      public java.lang.String getMetricFamilyName() {
+        java.lang.Object ref = metricFamilyName_;
+        if (!(ref instanceof java.lang.String)) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs =
+              (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          metricFamilyName_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string metric_family_name = 2;</code>
+       * @return The bytes for metricFamilyName.
+       */
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+          getMetricFamilyNameBytes() {
+        java.lang.Object ref = metricFamilyName_;
+        if (ref instanceof String) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+              io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          metricFamilyName_ = b;
+          return b;
+        } else {
+          return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string metric_family_name = 2;</code>
+       * @param value The metricFamilyName to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMetricFamilyName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        metricFamilyName_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string metric_family_name = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearMetricFamilyName() {
+        
+        metricFamilyName_ = getDefaultInstance().getMetricFamilyName();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string metric_family_name = 2;</code>
+       * @param value The bytes for metricFamilyName to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMetricFamilyNameBytes(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        metricFamilyName_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object help_ = "";
+      /**
+       * <code>string help = 4;</code>
+       * @return The help.
+       */
+      public java.lang.String getHelp() {
+        java.lang.Object ref = help_;
+        if (!(ref instanceof java.lang.String)) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs =
+              (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          help_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string help = 4;</code>
+       * @return The bytes for help.
+       */
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+          getHelpBytes() {
+        java.lang.Object ref = help_;
+        if (ref instanceof String) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+              io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          help_ = b;
+          return b;
+        } else {
+          return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string help = 4;</code>
+       * @param value The help to set.
+       * @return This builder for chaining.
+       */
+      public Builder setHelp(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        help_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string help = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearHelp() {
+        
+        help_ = getDefaultInstance().getHelp();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string help = 4;</code>
+       * @param value The bytes for help to set.
+       * @return This builder for chaining.
+       */
+      public Builder setHelpBytes(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        help_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object unit_ = "";
+      /**
+       * <code>string unit = 5;</code>
+       * @return The unit.
+       */
+      public java.lang.String getUnit() {
+        java.lang.Object ref = unit_;
+        if (!(ref instanceof java.lang.String)) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs =
+              (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          unit_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string unit = 5;</code>
+       * @return The bytes for unit.
+       */
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+          getUnitBytes() {
+        java.lang.Object ref = unit_;
+        if (ref instanceof String) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+              io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          unit_ = b;
+          return b;
+        } else {
+          return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string unit = 5;</code>
+       * @param value The unit to set.
+       * @return This builder for chaining.
+       */
+      public Builder setUnit(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        unit_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string unit = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearUnit() {
+        
+        unit_ = getDefaultInstance().getUnit();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string unit = 5;</code>
+       * @param value The bytes for unit to set.
+       * @return This builder for chaining.
+       */
+      public Builder setUnitBytes(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        unit_ = value;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:prometheus.MetricMetadata)
+    }
+
+    // @@protoc_insertion_point(class_scope:prometheus.MetricMetadata)
+    private static final io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata();
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<MetricMetadata>
+        PARSER = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractParser<MetricMetadata>() {
+      @java.lang.Override
+      public MetricMetadata parsePartialFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<MetricMetadata> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<MetricMetadata> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.MetricMetadata getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface SampleOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:prometheus.Sample)
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.MessageOrBuilder {
+
+    /**
+     * <code>double value = 1;</code>
+     * @return The value.
+     */
+    double getValue();
+
+    /**
+     * <pre>
+     * timestamp is in ms format, see model/timestamp/timestamp.go for
+     * conversion from time.Time to Prometheus timestamp.
+     * </pre>
+     *
+     * <code>int64 timestamp = 2;</code>
+     * @return The timestamp.
+     */
+    long getTimestamp();
+  }
+  /**
+   * Protobuf type {@code prometheus.Sample}
+   */
+  public static final class Sample extends
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:prometheus.Sample)
+      SampleOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Sample.newBuilder() to construct.
+    private Sample(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Sample() {
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Sample();
+    }
+
+    @java.lang.Override
+    public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+        getDescriptor() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Sample_descriptor;
+    }
+
+    @java.lang.Override
+    protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Sample_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder.class);
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 1;
+    private double value_;
+    /**
+     * <code>double value = 1;</code>
+     * @return The value.
+     */
+    @java.lang.Override
+    public double getValue() {
+      return value_;
+    }
+
+    public static final int TIMESTAMP_FIELD_NUMBER = 2;
+    private long timestamp_;
+    /**
+     * <pre>
+     * timestamp is in ms format, see model/timestamp/timestamp.go for
+     * conversion from time.Time to Prometheus timestamp.
+     * </pre>
+     *
+     * <code>int64 timestamp = 2;</code>
+     * @return The timestamp.
+     */
+    @java.lang.Override
+    public long getTimestamp() {
+      return timestamp_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (java.lang.Double.doubleToRawLongBits(value_) != 0) {
+        output.writeDouble(1, value_);
+      }
+      if (timestamp_ != 0L) {
+        output.writeInt64(2, timestamp_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (java.lang.Double.doubleToRawLongBits(value_) != 0) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeDoubleSize(1, value_);
+      }
+      if (timestamp_ != 0L) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeInt64Size(2, timestamp_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample)) {
+        return super.equals(obj);
+      }
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample other = (io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample) obj;
+
+      if (java.lang.Double.doubleToLongBits(getValue())
+          != java.lang.Double.doubleToLongBits(
+              other.getValue())) return false;
+      if (getTimestamp()
+          != other.getTimestamp()) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + VALUE_FIELD_NUMBER;
+      hash = (53 * hash) + io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Internal.hashLong(
+          java.lang.Double.doubleToLongBits(getValue()));
+      hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
+      hash = (53 * hash) + io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Internal.hashLong(
+          getTimestamp());
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        java.nio.ByteBuffer data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        java.nio.ByteBuffer data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(byte[] data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        byte[] data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseDelimitedFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code prometheus.Sample}
+     */
+    public static final class Builder extends
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:prometheus.Sample)
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder {
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Sample_descriptor;
+      }
+
+      @java.lang.Override
+      protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Sample_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder.class);
+      }
+
+      // Construct using io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        value_ = 0D;
+
+        timestamp_ = 0L;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptorForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Sample_descriptor;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getDefaultInstanceForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample build() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample buildPartial() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample result = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample(this);
+        result.value_ = value_;
+        result.timestamp_ = timestamp_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Message other) {
+        if (other instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample) {
+          return mergeFrom((io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample other) {
+        if (other == io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.getDefaultInstance()) return this;
+        if (other.getValue() != 0D) {
+          setValue(other.getValue());
+        }
+        if (other.getTimestamp() != 0L) {
+          setTimestamp(other.getTimestamp());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 9: {
+                value_ = input.readDouble();
+
+                break;
+              } // case 9
+              case 16: {
+                timestamp_ = input.readInt64();
+
+                break;
+              } // case 16
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+
+      private double value_ ;
+      /**
+       * <code>double value = 1;</code>
+       * @return The value.
+       */
+      @java.lang.Override
+      public double getValue() {
+        return value_;
+      }
+      /**
+       * <code>double value = 1;</code>
+       * @param value The value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValue(double value) {
+        
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>double value = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearValue() {
+        
+        value_ = 0D;
+        onChanged();
+        return this;
+      }
+
+      private long timestamp_ ;
+      /**
+       * <pre>
+       * timestamp is in ms format, see model/timestamp/timestamp.go for
+       * conversion from time.Time to Prometheus timestamp.
+       * </pre>
+       *
+       * <code>int64 timestamp = 2;</code>
+       * @return The timestamp.
+       */
+      @java.lang.Override
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <pre>
+       * timestamp is in ms format, see model/timestamp/timestamp.go for
+       * conversion from time.Time to Prometheus timestamp.
+       * </pre>
+       *
+       * <code>int64 timestamp = 2;</code>
+       * @param value The timestamp to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTimestamp(long value) {
+        
+        timestamp_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * timestamp is in ms format, see model/timestamp/timestamp.go for
+       * conversion from time.Time to Prometheus timestamp.
+       * </pre>
+       *
+       * <code>int64 timestamp = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTimestamp() {
+        
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:prometheus.Sample)
+    }
+
+    // @@protoc_insertion_point(class_scope:prometheus.Sample)
+    private static final io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample();
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Sample>
+        PARSER = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractParser<Sample>() {
+      @java.lang.Override
+      public Sample parsePartialFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Sample> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Sample> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface TimeSeriesOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:prometheus.TimeSeries)
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> 
+        getLabelsList();
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getLabels(int index);
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    int getLabelsCount();
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder> 
+        getLabelsOrBuilderList();
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder getLabelsOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> 
+        getSamplesList();
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getSamples(int index);
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    int getSamplesCount();
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder> 
+        getSamplesOrBuilderList();
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder getSamplesOrBuilder(
+        int index);
+  }
+  /**
+   * <pre>
+   * TimeSeries represents samples and labels for a single time series.
+   * </pre>
+   *
+   * Protobuf type {@code prometheus.TimeSeries}
+   */
+  public static final class TimeSeries extends
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:prometheus.TimeSeries)
+      TimeSeriesOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use TimeSeries.newBuilder() to construct.
+    private TimeSeries(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private TimeSeries() {
+      labels_ = java.util.Collections.emptyList();
+      samples_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new TimeSeries();
+    }
+
+    @java.lang.Override
+    public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+        getDescriptor() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_TimeSeries_descriptor;
+    }
+
+    @java.lang.Override
+    protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_TimeSeries_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder.class);
+    }
+
+    public static final int LABELS_FIELD_NUMBER = 1;
+    private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> labels_;
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> getLabelsList() {
+      return labels_;
+    }
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder> 
+        getLabelsOrBuilderList() {
+      return labels_;
+    }
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    @java.lang.Override
+    public int getLabelsCount() {
+      return labels_.size();
+    }
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getLabels(int index) {
+      return labels_.get(index);
+    }
+    /**
+     * <pre>
+     * For a timeseries to be valid, and for the samples and exemplars
+     * to be ingested by the remote system properly, the labels field is required.
+     * </pre>
+     *
+     * <code>repeated .prometheus.Label labels = 1;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder getLabelsOrBuilder(
+        int index) {
+      return labels_.get(index);
+    }
+
+    public static final int SAMPLES_FIELD_NUMBER = 2;
+    private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> samples_;
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    @java.lang.Override
+    public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> getSamplesList() {
+      return samples_;
+    }
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder> 
+        getSamplesOrBuilderList() {
+      return samples_;
+    }
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    @java.lang.Override
+    public int getSamplesCount() {
+      return samples_.size();
+    }
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getSamples(int index) {
+      return samples_.get(index);
+    }
+    /**
+     * <code>repeated .prometheus.Sample samples = 2;</code>
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder getSamplesOrBuilder(
+        int index) {
+      return samples_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < labels_.size(); i++) {
+        output.writeMessage(1, labels_.get(i));
+      }
+      for (int i = 0; i < samples_.size(); i++) {
+        output.writeMessage(2, samples_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < labels_.size(); i++) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeMessageSize(1, labels_.get(i));
+      }
+      for (int i = 0; i < samples_.size(); i++) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream
+          .computeMessageSize(2, samples_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries)) {
+        return super.equals(obj);
+      }
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries other = (io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries) obj;
+
+      if (!getLabelsList()
+          .equals(other.getLabelsList())) return false;
+      if (!getSamplesList()
+          .equals(other.getSamplesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getLabelsCount() > 0) {
+        hash = (37 * hash) + LABELS_FIELD_NUMBER;
+        hash = (53 * hash) + getLabelsList().hashCode();
+      }
+      if (getSamplesCount() > 0) {
+        hash = (37 * hash) + SAMPLES_FIELD_NUMBER;
+        hash = (53 * hash) + getSamplesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        java.nio.ByteBuffer data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        java.nio.ByteBuffer data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(byte[] data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        byte[] data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseDelimitedFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * TimeSeries represents samples and labels for a single time series.
+     * </pre>
+     *
+     * Protobuf type {@code prometheus.TimeSeries}
+     */
+    public static final class Builder extends
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:prometheus.TimeSeries)
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeriesOrBuilder {
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_TimeSeries_descriptor;
+      }
+
+      @java.lang.Override
+      protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_TimeSeries_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.Builder.class);
+      }
+
+      // Construct using io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        if (labelsBuilder_ == null) {
+          labels_ = java.util.Collections.emptyList();
+        } else {
+          labels_ = null;
+          labelsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (samplesBuilder_ == null) {
+          samples_ = java.util.Collections.emptyList();
+        } else {
+          samples_ = null;
+          samplesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptorForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_TimeSeries_descriptor;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getDefaultInstanceForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries build() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries buildPartial() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries result = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries(this);
+        int from_bitField0_ = bitField0_;
+        if (labelsBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            labels_ = java.util.Collections.unmodifiableList(labels_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.labels_ = labels_;
+        } else {
+          result.labels_ = labelsBuilder_.build();
+        }
+        if (samplesBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) != 0)) {
+            samples_ = java.util.Collections.unmodifiableList(samples_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.samples_ = samples_;
+        } else {
+          result.samples_ = samplesBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Message other) {
+        if (other instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries) {
+          return mergeFrom((io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries other) {
+        if (other == io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries.getDefaultInstance()) return this;
+        if (labelsBuilder_ == null) {
+          if (!other.labels_.isEmpty()) {
+            if (labels_.isEmpty()) {
+              labels_ = other.labels_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureLabelsIsMutable();
+              labels_.addAll(other.labels_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.labels_.isEmpty()) {
+            if (labelsBuilder_.isEmpty()) {
+              labelsBuilder_.dispose();
+              labelsBuilder_ = null;
+              labels_ = other.labels_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              labelsBuilder_ = 
+                io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getLabelsFieldBuilder() : null;
+            } else {
+              labelsBuilder_.addAllMessages(other.labels_);
+            }
+          }
+        }
+        if (samplesBuilder_ == null) {
+          if (!other.samples_.isEmpty()) {
+            if (samples_.isEmpty()) {
+              samples_ = other.samples_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureSamplesIsMutable();
+              samples_.addAll(other.samples_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.samples_.isEmpty()) {
+            if (samplesBuilder_.isEmpty()) {
+              samplesBuilder_.dispose();
+              samplesBuilder_ = null;
+              samples_ = other.samples_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              samplesBuilder_ = 
+                io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getSamplesFieldBuilder() : null;
+            } else {
+              samplesBuilder_.addAllMessages(other.samples_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label m =
+                    input.readMessage(
+                        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.parser(),
+                        extensionRegistry);
+                if (labelsBuilder_ == null) {
+                  ensureLabelsIsMutable();
+                  labels_.add(m);
+                } else {
+                  labelsBuilder_.addMessage(m);
+                }
+                break;
+              } // case 10
+              case 18: {
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample m =
+                    input.readMessage(
+                        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.parser(),
+                        extensionRegistry);
+                if (samplesBuilder_ == null) {
+                  ensureSamplesIsMutable();
+                  samples_.add(m);
+                } else {
+                  samplesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> labels_ =
+        java.util.Collections.emptyList();
+      private void ensureLabelsIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          labels_ = new java.util.ArrayList<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label>(labels_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder> labelsBuilder_;
+
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> getLabelsList() {
+        if (labelsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(labels_);
+        } else {
+          return labelsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public int getLabelsCount() {
+        if (labelsBuilder_ == null) {
+          return labels_.size();
+        } else {
+          return labelsBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getLabels(int index) {
+        if (labelsBuilder_ == null) {
+          return labels_.get(index);
+        } else {
+          return labelsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder setLabels(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label value) {
+        if (labelsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLabelsIsMutable();
+          labels_.set(index, value);
+          onChanged();
+        } else {
+          labelsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder setLabels(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder builderForValue) {
+        if (labelsBuilder_ == null) {
+          ensureLabelsIsMutable();
+          labels_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          labelsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder addLabels(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label value) {
+        if (labelsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLabelsIsMutable();
+          labels_.add(value);
+          onChanged();
+        } else {
+          labelsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder addLabels(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label value) {
+        if (labelsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureLabelsIsMutable();
+          labels_.add(index, value);
+          onChanged();
+        } else {
+          labelsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder addLabels(
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder builderForValue) {
+        if (labelsBuilder_ == null) {
+          ensureLabelsIsMutable();
+          labels_.add(builderForValue.build());
+          onChanged();
+        } else {
+          labelsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder addLabels(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder builderForValue) {
+        if (labelsBuilder_ == null) {
+          ensureLabelsIsMutable();
+          labels_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          labelsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder addAllLabels(
+          java.lang.Iterable<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label> values) {
+        if (labelsBuilder_ == null) {
+          ensureLabelsIsMutable();
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractMessageLite.Builder.addAll(
+              values, labels_);
+          onChanged();
+        } else {
+          labelsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder clearLabels() {
+        if (labelsBuilder_ == null) {
+          labels_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          labelsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public Builder removeLabels(int index) {
+        if (labelsBuilder_ == null) {
+          ensureLabelsIsMutable();
+          labels_.remove(index);
+          onChanged();
+        } else {
+          labelsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder getLabelsBuilder(
+          int index) {
+        return getLabelsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder getLabelsOrBuilder(
+          int index) {
+        if (labelsBuilder_ == null) {
+          return labels_.get(index);  } else {
+          return labelsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder> 
+           getLabelsOrBuilderList() {
+        if (labelsBuilder_ != null) {
+          return labelsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(labels_);
+        }
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder addLabelsBuilder() {
+        return getLabelsFieldBuilder().addBuilder(
+            io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder addLabelsBuilder(
+          int index) {
+        return getLabelsFieldBuilder().addBuilder(
+            index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * For a timeseries to be valid, and for the samples and exemplars
+       * to be ingested by the remote system properly, the labels field is required.
+       * </pre>
+       *
+       * <code>repeated .prometheus.Label labels = 1;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder> 
+           getLabelsBuilderList() {
+        return getLabelsFieldBuilder().getBuilderList();
+      }
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder> 
+          getLabelsFieldBuilder() {
+        if (labelsBuilder_ == null) {
+          labelsBuilder_ = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder>(
+                  labels_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          labels_ = null;
+        }
+        return labelsBuilder_;
+      }
+
+      private java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> samples_ =
+        java.util.Collections.emptyList();
+      private void ensureSamplesIsMutable() {
+        if (!((bitField0_ & 0x00000002) != 0)) {
+          samples_ = new java.util.ArrayList<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample>(samples_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder> samplesBuilder_;
+
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> getSamplesList() {
+        if (samplesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(samples_);
+        } else {
+          return samplesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public int getSamplesCount() {
+        if (samplesBuilder_ == null) {
+          return samples_.size();
+        } else {
+          return samplesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample getSamples(int index) {
+        if (samplesBuilder_ == null) {
+          return samples_.get(index);
+        } else {
+          return samplesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder setSamples(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample value) {
+        if (samplesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSamplesIsMutable();
+          samples_.set(index, value);
+          onChanged();
+        } else {
+          samplesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder setSamples(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder builderForValue) {
+        if (samplesBuilder_ == null) {
+          ensureSamplesIsMutable();
+          samples_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          samplesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder addSamples(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample value) {
+        if (samplesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSamplesIsMutable();
+          samples_.add(value);
+          onChanged();
+        } else {
+          samplesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder addSamples(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample value) {
+        if (samplesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureSamplesIsMutable();
+          samples_.add(index, value);
+          onChanged();
+        } else {
+          samplesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder addSamples(
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder builderForValue) {
+        if (samplesBuilder_ == null) {
+          ensureSamplesIsMutable();
+          samples_.add(builderForValue.build());
+          onChanged();
+        } else {
+          samplesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder addSamples(
+          int index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder builderForValue) {
+        if (samplesBuilder_ == null) {
+          ensureSamplesIsMutable();
+          samples_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          samplesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder addAllSamples(
+          java.lang.Iterable<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample> values) {
+        if (samplesBuilder_ == null) {
+          ensureSamplesIsMutable();
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractMessageLite.Builder.addAll(
+              values, samples_);
+          onChanged();
+        } else {
+          samplesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder clearSamples() {
+        if (samplesBuilder_ == null) {
+          samples_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          samplesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public Builder removeSamples(int index) {
+        if (samplesBuilder_ == null) {
+          ensureSamplesIsMutable();
+          samples_.remove(index);
+          onChanged();
+        } else {
+          samplesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder getSamplesBuilder(
+          int index) {
+        return getSamplesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder getSamplesOrBuilder(
+          int index) {
+        if (samplesBuilder_ == null) {
+          return samples_.get(index);  } else {
+          return samplesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public java.util.List<? extends io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder> 
+           getSamplesOrBuilderList() {
+        if (samplesBuilder_ != null) {
+          return samplesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(samples_);
+        }
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder addSamplesBuilder() {
+        return getSamplesFieldBuilder().addBuilder(
+            io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder addSamplesBuilder(
+          int index) {
+        return getSamplesFieldBuilder().addBuilder(
+            index, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .prometheus.Sample samples = 2;</code>
+       */
+      public java.util.List<io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder> 
+           getSamplesBuilderList() {
+        return getSamplesFieldBuilder().getBuilderList();
+      }
+      private io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+          io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder> 
+          getSamplesFieldBuilder() {
+        if (samplesBuilder_ == null) {
+          samplesBuilder_ = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.RepeatedFieldBuilderV3<
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Sample.Builder, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.SampleOrBuilder>(
+                  samples_,
+                  ((bitField0_ & 0x00000002) != 0),
+                  getParentForChildren(),
+                  isClean());
+          samples_ = null;
+        }
+        return samplesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:prometheus.TimeSeries)
+    }
+
+    // @@protoc_insertion_point(class_scope:prometheus.TimeSeries)
+    private static final io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries();
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<TimeSeries>
+        PARSER = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractParser<TimeSeries>() {
+      @java.lang.Override
+      public TimeSeries parsePartialFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<TimeSeries> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<TimeSeries> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.TimeSeries getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface LabelOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:prometheus.Label)
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.MessageOrBuilder {
+
+    /**
+     * <code>string name = 1;</code>
+     * @return The name.
+     */
+    java.lang.String getName();
+    /**
+     * <code>string name = 1;</code>
+     * @return The bytes for name.
+     */
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getNameBytes();
+
+    /**
+     * <code>string value = 2;</code>
+     * @return The value.
+     */
+    java.lang.String getValue();
+    /**
+     * <code>string value = 2;</code>
+     * @return The bytes for value.
+     */
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getValueBytes();
+  }
+  /**
+   * Protobuf type {@code prometheus.Label}
+   */
+  public static final class Label extends
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:prometheus.Label)
+      LabelOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Label.newBuilder() to construct.
+    private Label(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Label() {
+      name_ = "";
+      value_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Label();
+    }
+
+    @java.lang.Override
+    public final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+        getDescriptor() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Label_descriptor;
+    }
+
+    @java.lang.Override
+    protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Label_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder.class);
+    }
+
+    public static final int NAME_FIELD_NUMBER = 1;
+    private volatile java.lang.Object name_;
+    /**
+     * <code>string name = 1;</code>
+     * @return The name.
+     */
+    @java.lang.Override
+    public java.lang.String getName() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs = 
+            (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        name_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string name = 1;</code>
+     * @return The bytes for name.
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getNameBytes() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+            io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        name_ = b;
+        return b;
+      } else {
+        return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private volatile java.lang.Object value_;
+    /**
+     * <code>string value = 2;</code>
+     * @return The value.
+     */
+    @java.lang.Override
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs = 
+            (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        value_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string value = 2;</code>
+     * @return The bytes for value.
+     */
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+            io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(name_)) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.writeString(output, 1, name_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(value_)) {
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.writeString(output, 2, value_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(name_)) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.computeStringSize(1, name_);
+      }
+      if (!io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.isStringEmpty(value_)) {
+        size += io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.computeStringSize(2, value_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label)) {
+        return super.equals(obj);
+      }
+      io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label other = (io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label) obj;
+
+      if (!getName()
+          .equals(other.getName())) return false;
+      if (!getValue()
+          .equals(other.getValue())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + NAME_FIELD_NUMBER;
+      hash = (53 * hash) + getName().hashCode();
+      hash = (37 * hash) + VALUE_FIELD_NUMBER;
+      hash = (53 * hash) + getValue().hashCode();
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        java.nio.ByteBuffer data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        java.nio.ByteBuffer data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(byte[] data)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        byte[] data,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseDelimitedFrom(
+        java.io.InputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label parseFrom(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code prometheus.Label}
+     */
+    public static final class Builder extends
+        io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:prometheus.Label)
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.LabelOrBuilder {
+      public static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptor() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Label_descriptor;
+      }
+
+      @java.lang.Override
+      protected io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Label_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.class, io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.Builder.class);
+      }
+
+      // Construct using io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        name_ = "";
+
+        value_ = "";
+
+        return this;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+          getDescriptorForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.internal_static_prometheus_Label_descriptor;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getDefaultInstanceForType() {
+        return io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label build() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label buildPartial() {
+        io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label result = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label(this);
+        result.name_ = name_;
+        result.value_ = value_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Message other) {
+        if (other instanceof io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label) {
+          return mergeFrom((io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label other) {
+        if (other == io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label.getDefaultInstance()) return this;
+        if (!other.getName().isEmpty()) {
+          name_ = other.name_;
+          onChanged();
+        }
+        if (!other.getValue().isEmpty()) {
+          value_ = other.value_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                name_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 10
+              case 18: {
+                value_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+
+      private java.lang.Object name_ = "";
+      /**
+       * <code>string name = 1;</code>
+       * @return The name.
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (!(ref instanceof java.lang.String)) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs =
+              (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          name_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string name = 1;</code>
+       * @return The bytes for name.
+       */
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof String) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+              io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string name = 1;</code>
+       * @param value The name to set.
+       * @return This builder for chaining.
+       */
+      public Builder setName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        name_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string name = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearName() {
+        
+        name_ = getDefaultInstance().getName();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string name = 1;</code>
+       * @param value The bytes for name to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNameBytes(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        name_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object value_ = "";
+      /**
+       * <code>string value = 2;</code>
+       * @return The value.
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString bs =
+              (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          value_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string value = 2;</code>
+       * @return The bytes for value.
+       */
+      public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString b = 
+              io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string value = 2;</code>
+       * @param value The value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string value = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearValue() {
+        
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string value = 2;</code>
+       * @param value The bytes for value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValueBytes(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:prometheus.Label)
+    }
+
+    // @@protoc_insertion_point(class_scope:prometheus.Label)
+    private static final io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label();
+    }
+
+    public static io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Label>
+        PARSER = new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.AbstractParser<Label>() {
+      @java.lang.Override
+      public Label parsePartialFrom(
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedInputStream input,
+          io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.ExtensionRegistryLite extensionRegistry)
+          throws io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Label> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Parser<Label> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote.Label getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+    internal_static_prometheus_WriteRequest_descriptor;
+  private static final 
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+      internal_static_prometheus_WriteRequest_fieldAccessorTable;
+  private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+    internal_static_prometheus_MetricMetadata_descriptor;
+  private static final 
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+      internal_static_prometheus_MetricMetadata_fieldAccessorTable;
+  private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+    internal_static_prometheus_Sample_descriptor;
+  private static final 
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+      internal_static_prometheus_Sample_fieldAccessorTable;
+  private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+    internal_static_prometheus_TimeSeries_descriptor;
+  private static final 
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+      internal_static_prometheus_TimeSeries_fieldAccessorTable;
+  private static final io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.Descriptor
+    internal_static_prometheus_Label_descriptor;
+  private static final 
+    io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable
+      internal_static_prometheus_Label_fieldAccessorTable;
+
+  public static io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\036src/main/protobuf/remote.proto\022\npromet" +
+      "heus\"n\n\014WriteRequest\022*\n\ntimeseries\030\001 \003(\013" +
+      "2\026.prometheus.TimeSeries\022,\n\010metadata\030\003 \003" +
+      "(\0132\032.prometheus.MetricMetadataJ\004\010\002\020\003\"\370\001\n" +
+      "\016MetricMetadata\0223\n\004type\030\001 \001(\0162%.promethe" +
+      "us.MetricMetadata.MetricType\022\032\n\022metric_f" +
+      "amily_name\030\002 \001(\t\022\014\n\004help\030\004 \001(\t\022\014\n\004unit\030\005" +
+      " \001(\t\"y\n\nMetricType\022\013\n\007UNKNOWN\020\000\022\013\n\007COUNT" +
+      "ER\020\001\022\t\n\005GAUGE\020\002\022\r\n\tHISTOGRAM\020\003\022\022\n\016GAUGEH" +
+      "ISTOGRAM\020\004\022\013\n\007SUMMARY\020\005\022\010\n\004INFO\020\006\022\014\n\010STA" +
+      "TESET\020\007\"*\n\006Sample\022\r\n\005value\030\001 \001(\001\022\021\n\ttime" +
+      "stamp\030\002 \001(\003\"T\n\nTimeSeries\022!\n\006labels\030\001 \003(" +
+      "\0132\021.prometheus.Label\022#\n\007samples\030\002 \003(\0132\022." +
+      "prometheus.Sample\"$\n\005Label\022\014\n\004name\030\001 \001(\t" +
+      "\022\r\n\005value\030\002 \001(\tBY\nOio.prometheus.metrics" +
+      ".exporter.remotewrite.generated.com_goog" +
+      "le_protobuf_3_21_7Z\006prompbb\006proto3"
+    };
+    descriptor = io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.Descriptors.FileDescriptor[] {
+        });
+    internal_static_prometheus_WriteRequest_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_prometheus_WriteRequest_fieldAccessorTable = new
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_prometheus_WriteRequest_descriptor,
+        new java.lang.String[] { "Timeseries", "Metadata", });
+    internal_static_prometheus_MetricMetadata_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_prometheus_MetricMetadata_fieldAccessorTable = new
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_prometheus_MetricMetadata_descriptor,
+        new java.lang.String[] { "Type", "MetricFamilyName", "Help", "Unit", });
+    internal_static_prometheus_Sample_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_prometheus_Sample_fieldAccessorTable = new
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_prometheus_Sample_descriptor,
+        new java.lang.String[] { "Value", "Timestamp", });
+    internal_static_prometheus_TimeSeries_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_prometheus_TimeSeries_fieldAccessorTable = new
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_prometheus_TimeSeries_descriptor,
+        new java.lang.String[] { "Labels", "Samples", });
+    internal_static_prometheus_Label_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_prometheus_Label_fieldAccessorTable = new
+      io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_prometheus_Label_descriptor,
+        new java.lang.String[] { "Name", "Value", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
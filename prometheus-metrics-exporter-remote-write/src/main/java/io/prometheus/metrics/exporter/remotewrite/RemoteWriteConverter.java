@@ -0,0 +1,242 @@
+package io.prometheus.metrics.exporter.remotewrite;
+
+import io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote;
+import io.prometheus.metrics.model.snapshots.ClassicHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.DataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.InfoSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.Quantile;
+import io.prometheus.metrics.model.snapshots.StateSetSnapshot;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import io.prometheus.metrics.model.snapshots.UnknownSnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Convert {@link MetricSnapshots} to remote write requests.
+ * <p>
+ * Each data point is converted to the same time series that Prometheus would create when scraping the
+ * Prometheus text format, i.e. histograms and summaries are split into {@code _bucket}, {@code _count},
+ * and {@code _sum} series. The time series are split into multiple requests with at most
+ * {@code maxSamplesPerRequest} samples each.
+ */
+class RemoteWriteConverter {
+
+    private static final Comparator<Remote.Label> LABEL_ORDER = Comparator.comparing(Remote.Label::getName);
+
+    private final Labels externalLabels;
+    private final int maxSamplesPerRequest;
+
+    RemoteWriteConverter(Labels externalLabels, int maxSamplesPerRequest) {
+        this.externalLabels = externalLabels;
+        this.maxSamplesPerRequest = maxSamplesPerRequest;
+    }
+
+    List<Remote.WriteRequest> convert(MetricSnapshots snapshots, long timestampMillis) {
+        Batch batch = new Batch(maxSamplesPerRequest);
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getDataPoints().isEmpty()) {
+                continue;
+            }
+            MetricMetadata metadata = snapshot.getMetadata();
+            String name = metadata.getPrometheusName();
+            if (snapshot instanceof CounterSnapshot) {
+                batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.COUNTER));
+                for (CounterSnapshot.CounterDataPointSnapshot data : ((CounterSnapshot) snapshot).getDataPoints()) {
+                    batch.add(timeSeries(name + "_total", data.getLabels(), null, null, data.getValue(), timestamp(data, timestampMillis)));
+                }
+            } else if (snapshot instanceof GaugeSnapshot) {
+                batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.GAUGE));
+                for (GaugeSnapshot.GaugeDataPointSnapshot data : ((GaugeSnapshot) snapshot).getDataPoints()) {
+                    batch.add(timeSeries(name, data.getLabels(), null, null, data.getValue(), timestamp(data, timestampMillis)));
+                }
+            } else if (snapshot instanceof HistogramSnapshot) {
+                convertHistogram(batch, (HistogramSnapshot) snapshot, timestampMillis);
+            } else if (snapshot instanceof SummarySnapshot) {
+                convertSummary(batch, (SummarySnapshot) snapshot, timestampMillis);
+            } else if (snapshot instanceof InfoSnapshot) {
+                batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.INFO));
+                for (InfoSnapshot.InfoDataPointSnapshot data : ((InfoSnapshot) snapshot).getDataPoints()) {
+                    batch.add(timeSeries(name + "_info", data.getLabels(), null, null, 1.0, timestamp(data, timestampMillis)));
+                }
+            } else if (snapshot instanceof StateSetSnapshot) {
+                batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.STATESET));
+                for (StateSetSnapshot.StateSetDataPointSnapshot data : ((StateSetSnapshot) snapshot).getDataPoints()) {
+                    for (int i = 0; i < data.size(); i++) {
+                        batch.add(timeSeries(name, data.getLabels(), name, data.getName(i), data.isTrue(i) ? 1.0 : 0.0, timestamp(data, timestampMillis)));
+                    }
+                }
+            } else if (snapshot instanceof UnknownSnapshot) {
+                batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.UNKNOWN));
+                for (UnknownSnapshot.UnknownDataPointSnapshot data : ((UnknownSnapshot) snapshot).getDataPoints()) {
+                    batch.add(timeSeries(name, data.getLabels(), null, null, data.getValue(), timestamp(data, timestampMillis)));
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private void convertHistogram(Batch batch, HistogramSnapshot snapshot, long timestampMillis) {
+        MetricMetadata metadata = snapshot.getMetadata();
+        String name = metadata.getPrometheusName();
+        boolean gauge = snapshot.isGaugeHistogram();
+        batch.startFamily(metadata(metadata, gauge ? Remote.MetricMetadata.MetricType.GAUGEHISTOGRAM : Remote.MetricMetadata.MetricType.HISTOGRAM));
+        for (HistogramSnapshot.HistogramDataPointSnapshot data : snapshot.getDataPoints()) {
+            long timestamp = timestamp(data, timestampMillis);
+            ClassicHistogramBuckets buckets = data.getClassicBuckets();
+            if (buckets.isEmpty()) {
+                // Native histograms are not supported by remote write 1.0, send the count as +Inf bucket
+                // like the text format does.
+                buckets = ClassicHistogramBuckets.of(new double[]{Double.POSITIVE_INFINITY}, new long[]{data.getCount()});
+            }
+            long cumulativeCount = 0;
+            for (int i = 0; i < buckets.size(); i++) {
+                cumulativeCount += buckets.getCount(i);
+                batch.add(timeSeries(name + "_bucket", data.getLabels(), "le", formatDouble(buckets.getUpperBound(i)), cumulativeCount, timestamp));
+            }
+            if (data.hasCount()) {
+                batch.add(timeSeries(name + (gauge ? "_gcount" : "_count"), data.getLabels(), null, null, data.getCount(), timestamp));
+            }
+            if (data.hasSum()) {
+                batch.add(timeSeries(name + (gauge ? "_gsum" : "_sum"), data.getLabels(), null, null, data.getSum(), timestamp));
+            }
+        }
+    }
+
+    private void convertSummary(Batch batch, SummarySnapshot snapshot, long timestampMillis) {
+        MetricMetadata metadata = snapshot.getMetadata();
+        String name = metadata.getPrometheusName();
+        batch.startFamily(metadata(metadata, Remote.MetricMetadata.MetricType.SUMMARY));
+        for (SummarySnapshot.SummaryDataPointSnapshot data : snapshot.getDataPoints()) {
+            long timestamp = timestamp(data, timestampMillis);
+            for (Quantile quantile : data.getQuantiles()) {
+                batch.add(timeSeries(name, data.getLabels(), "quantile", formatDouble(quantile.getQuantile()), quantile.getValue(), timestamp));
+            }
+            if (data.hasCount()) {
+                batch.add(timeSeries(name + "_count", data.getLabels(), null, null, data.getCount(), timestamp));
+            }
+            if (data.hasSum()) {
+                batch.add(timeSeries(name + "_sum", data.getLabels(), null, null, data.getSum(), timestamp));
+            }
+        }
+    }
+
+    private Remote.TimeSeries timeSeries(String name, Labels labels, String additionalLabelName, String additionalLabelValue, double value, long timestampMillis) {
+        List<Remote.Label> result = new ArrayList<>(labels.size() + externalLabels.size() + 2);
+        result.add(label("__name__", name));
+        for (int i = 0; i < labels.size(); i++) {
+            result.add(label(labels.getPrometheusName(i), labels.getValue(i)));
+        }
+        if (additionalLabelName != null) {
+            result.add(label(additionalLabelName, additionalLabelValue));
+        }
+        // External labels do not overwrite labels of the metric, same as in the Prometheus server.
+        for (int i = 0; i < externalLabels.size(); i++) {
+            if (!labels.contains(externalLabels.getName(i)) && !externalLabels.getPrometheusName(i).equals(additionalLabelName)) {
+                result.add(label(externalLabels.getPrometheusName(i), externalLabels.getValue(i)));
+            }
+        }
+        // Remote write requires labels sorted by name.
+        result.sort(LABEL_ORDER);
+        return Remote.TimeSeries.newBuilder()
+                .addAllLabels(result)
+                .addSamples(Remote.Sample.newBuilder()
+                        .setValue(value)
+                        .setTimestamp(timestampMillis)
+                        .build())
+                .build();
+    }
+
+    private static Remote.Label label(String name, String value) {
+        return Remote.Label.newBuilder()
+                .setName(name)
+                .setValue(value)
+                .build();
+    }
+
+    private static Remote.MetricMetadata metadata(MetricMetadata metadata, Remote.MetricMetadata.MetricType type) {
+        Remote.MetricMetadata.Builder builder = Remote.MetricMetadata.newBuilder()
+                .setType(type)
+                .setMetricFamilyName(metadata.getPrometheusName());
+        if (metadata.getHelp() != null) {
+            builder.setHelp(metadata.getHelp());
+        }
+        if (metadata.hasUnit()) {
+            builder.setUnit(metadata.getUnit().toString());
+        }
+        return builder.build();
+    }
+
+    private static long timestamp(DataPointSnapshot data, long defaultTimestampMillis) {
+        return data.hasScrapeTimestamp() ? data.getScrapeTimestampMillis() : defaultTimestampMillis;
+    }
+
+    // Same format as the le and quantile labels in the Prometheus text format.
+    private static String formatDouble(double d) {
+        if (d == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (d == Double.NEGATIVE_INFINITY) {
+            return "-Inf";
+        } else {
+            return Double.toString(d);
+        }
+    }
+
+    /**
+     * Collects time series into write requests with at most {@code maxSamples} samples.
+     * The metadata of a metric family is added to each request containing time series of that family.
+     */
+    private static class Batch {
+
+        private final int maxSamples;
+        private final List<Remote.WriteRequest> result = new ArrayList<>();
+        private Remote.WriteRequest.Builder current;
+        private int samples;
+        private Remote.MetricMetadata familyMetadata;
+        private boolean familyMetadataAdded;
+
+        private Batch(int maxSamples) {
+            this.maxSamples = maxSamples;
+        }
+
+        private void startFamily(Remote.MetricMetadata metadata) {
+            familyMetadata = metadata;
+            familyMetadataAdded = false;
+        }
+
+        private void add(Remote.TimeSeries timeSeries) {
+            if (current == null || samples >= maxSamples) {
+                finishCurrent();
+                current = Remote.WriteRequest.newBuilder();
+                familyMetadataAdded = false;
+            }
+            if (!familyMetadataAdded) {
+                current.addMetadata(familyMetadata);
+                familyMetadataAdded = true;
+            }
+            current.addTimeseries(timeSeries);
+            samples += timeSeries.getSamplesCount();
+        }
+
+        private void finishCurrent() {
+            if (current != null) {
+                result.add(current.build());
+            }
+            samples = 0;
+        }
+
+        private List<Remote.WriteRequest> finish() {
+            finishCurrent();
+            current = null;
+            return result;
+        }
+    }
+}
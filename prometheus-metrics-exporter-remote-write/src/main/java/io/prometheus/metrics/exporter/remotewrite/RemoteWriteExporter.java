@@ -0,0 +1,359 @@
+package io.prometheus.metrics.exporter.remotewrite;
+
+import io.prometheus.metrics.config.ExporterFilterProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.common.ExporterNameFilter;
+import io.prometheus.metrics.exporter.common.HttpPushClient;
+import io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.shaded.com_google_protobuf_3_21_7.CodedOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Push metrics to a Prometheus remote write endpoint, for applications that cannot be scraped.
+ * <pre>{@code
+ * RemoteWriteExporter.builder()
+ *     .url("http://localhost:9090/api/v1/write")
+ *     .externalLabel("job", "batch-job")
+ *     .buildAndStart();
+ * }</pre>
+ * The registry is scraped periodically, and the samples are sent as snappy-compressed
+ * <a href="https://prometheus.io/docs/concepts/remote_write_spec/">remote write 1.0</a> requests.
+ * Large scrapes are split into multiple requests with at most {@link Builder#maxSamplesPerSend(int)} samples.
+ * <p>
+ * Requests are sent by a background thread from a bounded queue. Requests are retried with exponential backoff
+ * on connection errors and on HTTP status 5xx and 429. If the remote endpoint is slower than the scrape interval,
+ * the queue fills up and scraping blocks until there is space in the queue. If the queue is still full after one
+ * scrape interval the remaining requests of that scrape are dropped.
+ * <p>
+ * Remote write has no target labels, so you should use {@link Builder#externalLabel(String, String)} to add labels
+ * like {@code job} and {@code instance}.
+ */
+public class RemoteWriteExporter implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(RemoteWriteExporter.class.getName());
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long INITIAL_BACKOFF_MILLIS = 30;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    private final PrometheusRegistry registry;
+    private final Predicate<String> nameFilter;
+    private final URL url;
+    private final HttpPushClient client;
+    private final int timeoutMillis;
+    private final long intervalMillis;
+    private final RemoteWriteConverter converter;
+    private final BlockingQueue<Remote.WriteRequest> queue;
+    private final ScheduledExecutorService scheduler;
+    private final Thread sender;
+
+    // Number of requests that are queued or in flight. Guarded by pendingLock.
+    private final Object pendingLock = new Object();
+    private int pending;
+
+    // Buffers are reused between requests. Only used by the sender thread.
+    private byte[] uncompressed = new byte[16 * 1024];
+    private final SnappyCompressor compressor = new SnappyCompressor();
+
+    private final Consumer<Remote.WriteRequest> beforeSend; // null unless set for testing
+
+    private RemoteWriteExporter(PrometheusRegistry registry, Predicate<String> nameFilter, URL url, Map<String, String> headers,
+                                int timeoutMillis, int intervalSeconds, Labels externalLabels, int maxSamplesPerSend, int queueCapacity,
+                                Consumer<Remote.WriteRequest> beforeSend) {
+        this.registry = registry;
+        this.nameFilter = nameFilter;
+        this.url = url;
+        HttpPushClient.Builder client = HttpPushClient.builder(url)
+                .timeoutMillis(timeoutMillis)
+                .maxAttempts(MAX_ATTEMPTS)
+                .backoff(INITIAL_BACKOFF_MILLIS, 2, MAX_BACKOFF_MILLIS)
+                .header("Content-Type", "application/x-protobuf")
+                .header("Content-Encoding", "snappy")
+                .header("User-Agent", "prometheus-metrics-exporter-remote-write")
+                .header("X-Prometheus-Remote-Write-Version", "0.1.0");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            client.header(header.getKey(), header.getValue());
+        }
+        this.client = client.build();
+        this.timeoutMillis = timeoutMillis;
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+        this.converter = new RemoteWriteConverter(externalLabels, maxSamplesPerSend);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.beforeSend = beforeSend;
+        this.sender = new Thread(this::sendLoop, "prometheus-remote-write-sender");
+        this.sender.setDaemon(true);
+        this.sender.start();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-remote-write-scraper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                export();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to export metrics to " + url, e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Scrape the registry now, independent of the scrape interval, and queue the samples for sending.
+     * <p>
+     * This blocks while the queue is full, for at most one scrape interval.
+     * Requests that cannot be queued within that time are dropped.
+     */
+    public synchronized void export() {
+        MetricSnapshots snapshots = nameFilter != null ? registry.scrape(nameFilter) : registry.scrape();
+        List<Remote.WriteRequest> requests = converter.convert(snapshots, System.currentTimeMillis());
+        for (int i = 0; i < requests.size(); i++) {
+            synchronized (pendingLock) {
+                pending++;
+            }
+            boolean queued = false;
+            try {
+                queued = queue.offer(requests.get(i), intervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!queued) {
+                    done();
+                }
+            }
+            if (!queued) {
+                logger.log(Level.WARNING, url + ": remote write queue is full, dropping " + (requests.size() - i) + " of " + requests.size() + " requests.");
+                return;
+            }
+        }
+    }
+
+    private void sendLoop() {
+        try {
+            while (true) {
+                Remote.WriteRequest request = queue.take();
+                try {
+                    sendWithRetry(request);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Failed to send metrics to " + url + ", dropping request.", e);
+                } catch (RuntimeException e) {
+                    // Keep the sender thread alive, otherwise the queue fills up and nothing is sent ever again.
+                    logger.log(Level.SEVERE, "Unexpected error sending metrics to " + url + ", dropping request.", e);
+                } finally {
+                    done();
+                }
+            }
+        } catch (InterruptedException e) {
+            // close() was called
+        }
+    }
+
+    private void done() {
+        synchronized (pendingLock) {
+            pending--;
+            pendingLock.notifyAll();
+        }
+    }
+
+    private void sendWithRetry(Remote.WriteRequest request) throws IOException, InterruptedException {
+        if (beforeSend != null) {
+            beforeSend.accept(request);
+        }
+        int size = request.getSerializedSize();
+        if (uncompressed.length < size) {
+            uncompressed = new byte[Math.max(size, 2 * uncompressed.length)];
+        }
+        CodedOutputStream out = CodedOutputStream.newInstance(uncompressed, 0, size);
+        request.writeTo(out);
+        out.checkNoSpaceLeft();
+        compressor.compress(uncompressed, size);
+        client.post(compressor.size(), stream -> stream.write(compressor.buffer(), 0, compressor.size()));
+    }
+
+    /**
+     * Stop scraping, and wait until the queued requests are sent.
+     * Waiting is limited to the timeout configured with {@link Builder#timeoutSeconds(int)},
+     * requests that are still queued after that are dropped.
+     * <p>
+     * Samples collected since the last scrape are not sent. For short-lived applications,
+     * call {@link #export()} before {@code close()} to send the final values.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (pendingLock) {
+            long remaining;
+            while (pending > 0 && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    pendingLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        sender.interrupt();
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private PrometheusRegistry registry = null;
+        private String url;
+        private final Map<String, String> headers = new HashMap<>();
+        private int intervalSeconds = 60;
+        private int timeoutSeconds = 10;
+        private Labels externalLabels = Labels.EMPTY;
+        private int maxSamplesPerSend = 2000;
+        private int queueCapacity = 10;
+        private Predicate<String> nameFilter;
+        private Consumer<Remote.WriteRequest> beforeSend;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        public Builder registry(PrometheusRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * The remote write URL, like {@code "http://localhost:9090/api/v1/write"}. Required.
+         */
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * Add an HTTP header to be applied to outgoing requests, like {@code Authorization}.
+         * Call multiple times to add multiple headers.
+         */
+        public Builder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * The interval between the start of two scrapes. Default is 60.
+         */
+        public Builder intervalSeconds(int intervalSeconds) {
+            if (intervalSeconds <= 0) {
+                throw new IllegalStateException(intervalSeconds + ": expecting a push interval > 0s");
+            }
+            this.intervalSeconds = intervalSeconds;
+            return this;
+        }
+
+        /**
+         * The timeout for connecting and for reading the response, per attempt.
+         * This is also the maximum time {@link RemoteWriteExporter#close()} waits for queued requests. Default is 10.
+         */
+        public Builder timeoutSeconds(int timeoutSeconds) {
+            if (timeoutSeconds <= 0) {
+                throw new IllegalStateException(timeoutSeconds + ": expecting a timeout > 0s");
+            }
+            this.timeoutSeconds = timeoutSeconds;
+            return this;
+        }
+
+        /**
+         * Add a label to all time series. Labels of the metrics take precedence over external labels with the same name.
+         * Call multiple times to add multiple labels.
+         */
+        public Builder externalLabel(String name, String value) {
+            this.externalLabels = externalLabels.add(name, value);
+            return this;
+        }
+
+        /**
+         * Maximum number of samples per request. Default is 2000.
+         */
+        public Builder maxSamplesPerSend(int maxSamplesPerSend) {
+            if (maxSamplesPerSend <= 0) {
+                throw new IllegalStateException(maxSamplesPerSend + ": expecting maxSamplesPerSend > 0");
+            }
+            this.maxSamplesPerSend = maxSamplesPerSend;
+            return this;
+        }
+
+        /**
+         * Maximum number of requests waiting to be sent. Default is 10.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalStateException(queueCapacity + ": expecting queueCapacity > 0");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Only export metrics where {@code nameFilter.test(name)} is {@code true}.
+         * This is ignored if the {@code io.prometheus.exporter.filter} properties are configured,
+         * see {@link ExporterFilterProperties}. Default is to export all metrics.
+         */
+        public Builder metricNameFilter(Predicate<String> nameFilter) {
+            this.nameFilter = nameFilter;
+            return this;
+        }
+
+        /**
+         * Called by the sender thread before each request is sent. Package private. For testing only.
+         */
+        Builder beforeSend(Consumer<Remote.WriteRequest> beforeSend) {
+            this.beforeSend = beforeSend;
+            return this;
+        }
+
+        public RemoteWriteExporter buildAndStart() {
+            if (url == null) {
+                throw new IllegalStateException("url is required");
+            }
+            if (registry == null) {
+                registry = PrometheusRegistry.defaultRegistry;
+            }
+            try {
+                return new RemoteWriteExporter(registry, getNameFilter(config.getExporterFilterProperties()), new URL(url), headers,
+                        (int) TimeUnit.SECONDS.toMillis(timeoutSeconds), intervalSeconds, externalLabels, maxSamplesPerSend, queueCapacity,
+                        beforeSend);
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(url + ": Invalid remote write URL", e);
+            }
+        }
+
+        private Predicate<String> getNameFilter(ExporterFilterProperties properties) {
+            MetricNameFilter result = ExporterNameFilter.of(properties);
+            return result != null ? result : nameFilter;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.prometheus.metrics.exporter.remotewrite;
+
+import java.util.Arrays;
+
+/**
+ * Snappy compression in the block format, as required by the remote write protocol.
+ * <p>
+ * See <a href="https://github.com/google/snappy/blob/main/format_description.txt">format_description.txt</a>.
+ * This is a straightforward implementation of the greedy algorithm used by the reference implementations:
+ * The input is split into 64 KiB blocks, and within each block 4 byte sequences are looked up in a hash table
+ * to find matches. The output is compatible with any snappy decoder, though the compression ratio may be slightly
+ * worse than with the reference implementation.
+ * <p>
+ * The hash table and the output buffer are reused, so an instance must not be used by multiple threads concurrently.
+ */
+class SnappyCompressor {
+
+    private static final int MAX_BLOCK_SIZE = 1 << 16;
+    private static final int HASH_TABLE_BITS = 14;
+    // Blocks smaller than this are emitted as a single literal.
+    private static final int MIN_NON_LITERAL_BLOCK_SIZE = 1 + 1 + 15;
+
+    private static final int TAG_LITERAL = 0x00;
+    private static final int TAG_COPY_1 = 0x01;
+    private static final int TAG_COPY_2 = 0x02;
+
+    private final int[] table = new int[1 << HASH_TABLE_BITS];
+    private byte[] out = new byte[0];
+    private int pos;
+
+    /**
+     * Compress {@code length} bytes of {@code src}.
+     * The result is available via {@link #buffer()} and {@link #size()} until the next call.
+     */
+    void compress(byte[] src, int length) {
+        int maxLength = 32 + length + length / 6;
+        if (out.length < maxLength) {
+            out = new byte[maxLength];
+        }
+        pos = 0;
+        writeUncompressedLength(length);
+        for (int blockStart = 0; blockStart < length; blockStart += MAX_BLOCK_SIZE) {
+            int blockEnd = Math.min(blockStart + MAX_BLOCK_SIZE, length);
+            if (blockEnd - blockStart < MIN_NON_LITERAL_BLOCK_SIZE) {
+                emitLiteral(src, blockStart, blockEnd - blockStart);
+            } else {
+                compressBlock(src, blockStart, blockEnd);
+            }
+        }
+    }
+
+    byte[] buffer() {
+        return out;
+    }
+
+    int size() {
+        return pos;
+    }
+
+    private void compressBlock(byte[] src, int blockStart, int blockEnd) {
+        // Positions from previous blocks must not be used, because offsets are limited to 64 KiB.
+        Arrays.fill(table, -1);
+        int nextEmit = blockStart;
+        int s = blockStart + 1;
+        int sLimit = blockEnd - 4;
+        while (s <= sLimit) {
+            int current = load32(src, s);
+            int hash = hash(current);
+            int candidate = table[hash];
+            table[hash] = s;
+            if (candidate >= 0 && load32(src, candidate) == current) {
+                emitLiteral(src, nextEmit, s - nextEmit);
+                int base = s;
+                s += 4;
+                int c = candidate + 4;
+                while (s < blockEnd && src[s] == src[c]) {
+                    s++;
+                    c++;
+                }
+                emitCopy(base - candidate, s - base);
+                nextEmit = s;
+                if (s - 1 <= sLimit) {
+                    table[hash(load32(src, s - 1))] = s - 1;
+                }
+            } else {
+                // Skip faster through incompressible data, like the reference implementation.
+                s += 1 + ((s - nextEmit) >> 5);
+            }
+        }
+        if (nextEmit < blockEnd) {
+            emitLiteral(src, nextEmit, blockEnd - nextEmit);
+        }
+    }
+
+    private void writeUncompressedLength(int length) {
+        while ((length & ~0x7F) != 0) {
+            out[pos++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out[pos++] = (byte) length;
+    }
+
+    private void emitLiteral(byte[] src, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        int n = length - 1;
+        if (n < 60) {
+            out[pos++] = (byte) (n << 2 | TAG_LITERAL);
+        } else if (n < 1 << 8) {
+            out[pos++] = (byte) (60 << 2 | TAG_LITERAL);
+            out[pos++] = (byte) n;
+        } else {
+            // Literals never exceed the block size of 64 KiB, so 2 bytes are enough.
+            out[pos++] = (byte) (61 << 2 | TAG_LITERAL);
+            out[pos++] = (byte) n;
+            out[pos++] = (byte) (n >>> 8);
+        }
+        System.arraycopy(src, offset, out, pos, length);
+        pos += length;
+    }
+
+    private void emitCopy(int offset, int length) {
+        // A copy with 2 byte offset can copy at most 64 bytes. Make sure the remainder is at least 4 bytes.
+        while (length >= 68) {
+            emitCopy2(offset, 64);
+            length -= 64;
+        }
+        if (length > 64) {
+            emitCopy2(offset, 60);
+            length -= 60;
+        }
+        if (length >= 12 || offset >= 2048) {
+            emitCopy2(offset, length);
+        } else {
+            out[pos++] = (byte) ((offset >>> 8) << 5 | (length - 4) << 2 | TAG_COPY_1);
+            out[pos++] = (byte) offset;
+        }
+    }
+
+    private void emitCopy2(int offset, int length) {
+        out[pos++] = (byte) ((length - 1) << 2 | TAG_COPY_2);
+        out[pos++] = (byte) offset;
+        out[pos++] = (byte) (offset >>> 8);
+    }
+
+    private static int load32(byte[] src, int i) {
+        return (src[i] & 0xFF) | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF) << 16 | (src[i + 3] & 0xFF) << 24;
+    }
+
+    private static int hash(int value) {
+        return (value * 0x1e35a7bd) >>> (32 - HASH_TABLE_BITS);
+    }
+}
@@ -0,0 +1,285 @@
+package io.prometheus.metrics.exporter.remotewrite;
+
+import com.sun.net.httpserver.HttpServer;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Gauge;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.exporter.remotewrite.generated.com_google_protobuf_3_21_7.Remote;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteWriteExporterTest {
+
+    private HttpServer receiver;
+    private final List<Remote.WriteRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile int failureStatus = 503;
+
+    @Before
+    public void setUp() throws IOException {
+        // Stand-in for a remote write receiver like the Prometheus server.
+        receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/api/v1/write", exchange -> {
+            Assert.assertEquals("POST", exchange.getRequestMethod());
+            Assert.assertEquals("application/x-protobuf", exchange.getRequestHeaders().getFirst("Content-Type"));
+            Assert.assertEquals("snappy", exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            Assert.assertEquals("0.1.0", exchange.getRequestHeaders().getFirst("X-Prometheus-Remote-Write-Version"));
+            byte[] body = readAll(exchange.getRequestBody());
+            attempts.incrementAndGet();
+            int status = failuresBeforeSuccess.getAndDecrement() > 0 ? failureStatus : 204;
+            if (status == 204) {
+                requests.add(Remote.WriteRequest.parseFrom(uncompress(body)));
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        receiver.start();
+    }
+
+    @After
+    public void tearDown() {
+        receiver.stop(0);
+    }
+
+    private RemoteWriteExporter.Builder exporter(PrometheusRegistry registry) {
+        return RemoteWriteExporter.builder(PrometheusProperties.get())
+                .registry(registry)
+                .url("http://localhost:" + receiver.getAddress().getPort() + "/api/v1/write")
+                .intervalSeconds(3600);
+    }
+
+    @Test
+    public void testExportWithRetry() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter.builder()
+                .name("requests_total")
+                .help("total number of requests")
+                .labelNames("path")
+                .register(registry)
+                .labelValues("/hello")
+                .inc(3);
+        Histogram.builder()
+                .name("latency_seconds")
+                .classicOnly()
+                .classicUpperBounds(0.1, 1.0)
+                .register(registry)
+                .observe(0.5);
+        failuresBeforeSuccess.set(1);
+        try (RemoteWriteExporter exporter = exporter(registry).externalLabel("job", "batch").buildAndStart()) {
+            exporter.export();
+        }
+        Assert.assertEquals(2, attempts.get()); // 503 was retried
+        Assert.assertEquals(1, requests.size());
+        Remote.WriteRequest request = requests.get(0);
+        Assert.assertEquals(1 + 3 + 2, request.getTimeseriesCount()); // counter, 3 buckets, _count, _sum
+        Remote.TimeSeries counter = find(request, "requests_total");
+        Assert.assertEquals("__name__=requests_total,job=batch,path=/hello", labels(counter));
+        Assert.assertEquals(3.0, counter.getSamples(0).getValue(), 0.0);
+        Assert.assertTrue(counter.getSamples(0).getTimestamp() > 0);
+        List<String> buckets = new ArrayList<>();
+        for (Remote.TimeSeries series : request.getTimeseriesList()) {
+            if (labels(series).startsWith("__name__=latency_seconds_bucket,")) {
+                buckets.add(labels(series) + " " + series.getSamples(0).getValue());
+            }
+        }
+        Assert.assertEquals(Arrays.asList(
+                "__name__=latency_seconds_bucket,job=batch,le=0.1 0.0",
+                "__name__=latency_seconds_bucket,job=batch,le=1.0 1.0",
+                "__name__=latency_seconds_bucket,job=batch,le=+Inf 1.0"
+        ), buckets);
+        Assert.assertEquals(2, request.getMetadataCount());
+        for (Remote.MetricMetadata metadata : request.getMetadataList()) {
+            if (metadata.getMetricFamilyName().equals("requests")) {
+                Assert.assertEquals(Remote.MetricMetadata.MetricType.COUNTER, metadata.getType());
+                Assert.assertEquals("total number of requests", metadata.getHelp());
+            } else {
+                Assert.assertEquals("latency_seconds", metadata.getMetricFamilyName());
+                Assert.assertEquals(Remote.MetricMetadata.MetricType.HISTOGRAM, metadata.getType());
+            }
+        }
+    }
+
+    @Test
+    public void testBatching() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Gauge gauge = Gauge.builder().name("temperature").labelNames("room").register(registry);
+        for (int i = 0; i < 5; i++) {
+            gauge.labelValues("room-" + i).set(i);
+        }
+        try (RemoteWriteExporter exporter = exporter(registry).maxSamplesPerSend(2).buildAndStart()) {
+            exporter.export();
+        }
+        Assert.assertEquals(3, requests.size());
+        int samples = 0;
+        for (Remote.WriteRequest request : requests) {
+            Assert.assertTrue(request.getTimeseriesCount() <= 2);
+            Assert.assertEquals(1, request.getMetadataCount());
+            samples += request.getTimeseriesCount();
+        }
+        Assert.assertEquals(5, samples);
+    }
+
+    @Test
+    public void testNoRetryOnBadRequest() {
+        failureStatus = 400;
+        failuresBeforeSuccess.set(1);
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter.builder().name("events_total").register(registry).inc();
+        try (RemoteWriteExporter exporter = exporter(registry).buildAndStart()) {
+            exporter.export();
+        }
+        Assert.assertEquals(1, attempts.get());
+        Assert.assertEquals(0, requests.size());
+    }
+
+    @Test
+    public void testSenderSurvivesUnexpectedException() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Counter counter = Counter.builder().name("events_total").register(registry);
+        AtomicInteger sends = new AtomicInteger();
+        try (RemoteWriteExporter exporter = exporter(registry)
+                .beforeSend(request -> {
+                    if (sends.incrementAndGet() == 1) {
+                        throw new IllegalArgumentException("Simulating an encoding error.");
+                    }
+                })
+                .buildAndStart()) {
+            counter.inc();
+            exporter.export();
+            counter.inc();
+            exporter.export();
+        }
+        Assert.assertEquals(2, sends.get());
+        Assert.assertEquals(1, attempts.get());
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(2.0, find(requests.get(0), "events_total").getSamples(0).getValue(), 0.0);
+    }
+
+    @Test
+    public void testSnappyRoundTrip() throws IOException {
+        SnappyCompressor compressor = new SnappyCompressor();
+        Random random = new Random(0);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 200_000) {
+            text.append("http_requests_total{path=\"/api/").append(random.nextInt(100)).append("\"} ").append(random.nextDouble()).append('\n');
+        }
+        byte[] compressible = text.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] incompressible = new byte[100_000];
+        random.nextBytes(incompressible);
+        for (byte[] input : Arrays.asList(new byte[0], new byte[]{42}, compressible, incompressible)) {
+            compressor.compress(input, input.length);
+            byte[] compressed = Arrays.copyOf(compressor.buffer(), compressor.size());
+            Assert.assertArrayEquals(input, uncompress(compressed));
+            if (input == compressible) {
+                Assert.assertTrue(compressed.length < input.length / 2);
+            }
+        }
+    }
+
+    private static Remote.TimeSeries find(Remote.WriteRequest request, String name) {
+        for (Remote.TimeSeries series : request.getTimeseriesList()) {
+            if (series.getLabels(0).getValue().equals(name)) {
+                return series;
+            }
+        }
+        throw new AssertionError(name + ": not found");
+    }
+
+    private static String labels(Remote.TimeSeries series) {
+        StringBuilder result = new StringBuilder();
+        for (Remote.Label label : series.getLabelsList()) {
+            if (result.length() > 0) {
+                result.append(',');
+            }
+            result.append(label.getName()).append('=').append(label.getValue());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Snappy block format decoder, see https://github.com/google/snappy/blob/main/format_description.txt
+     */
+    private static byte[] uncompress(byte[] in) throws IOException {
+        int pos = 0;
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in[pos++] & 0xFF;
+            length |= (b & 0x7F) << shift;
+            if (b < 0x80) {
+                break;
+            }
+        }
+        byte[] out = new byte[length];
+        int outPos = 0;
+        while (pos < in.length) {
+            int tag = in[pos++] & 0xFF;
+            int len;
+            int offset;
+            switch (tag & 0x03) {
+                case 0: // literal
+                    len = tag >>> 2;
+                    if (len >= 60) {
+                        int extraBytes = len - 59;
+                        len = 0;
+                        for (int i = 0; i < extraBytes; i++) {
+                            len |= (in[pos++] & 0xFF) << (8 * i);
+                        }
+                    }
+                    len++;
+                    System.arraycopy(in, pos, out, outPos, len);
+                    pos += len;
+                    outPos += len;
+                    continue;
+                case 1:
+                    len = ((tag >>> 2) & 0x07) + 4;
+                    offset = ((tag >>> 5) << 8) | (in[pos++] & 0xFF);
+                    break;
+                case 2:
+                    len = (tag >>> 2) + 1;
+                    offset = (in[pos] & 0xFF) | (in[pos + 1] & 0xFF) << 8;
+                    pos += 2;
+                    break;
+                default:
+                    throw new IOException("copy with 4 byte offset not expected");
+            }
+            if (offset == 0 || offset > outPos) {
+                throw new IOException("invalid offset " + offset);
+            }
+            for (int i = 0; i < len; i++) {
+                out[outPos] = out[outPos - offset];
+                outPos++;
+            }
+        }
+        if (outPos != length) {
+            throw new IOException("expected " + length + " bytes, got " + outPos);
+        }
+        return out;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            result.write(buf, 0, n);
+        }
+        return result.toByteArray();
+    }
+}
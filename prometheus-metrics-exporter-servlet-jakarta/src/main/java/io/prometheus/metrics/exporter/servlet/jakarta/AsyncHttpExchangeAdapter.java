@@ -0,0 +1,262 @@
+package io.prometheus.metrics.exporter.servlet.jakarta;
+
+import io.prometheus.metrics.exporter.common.PrometheusHttpExchange;
+import io.prometheus.metrics.exporter.common.PrometheusHttpRequest;
+import io.prometheus.metrics.exporter.common.PrometheusHttpResponse;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exchange for the async mode of the {@link PrometheusMetricsServlet}.
+ * <p>
+ * The scrape handler runs on the servlet's executor and hands over its pooled response buffer.
+ * When the handler closes the exchange, the buffer is written to the client with non-blocking I/O,
+ * so neither the container's request threads nor the executor's threads wait for a slow client.
+ * <p>
+ * Status and headers are kept in the exchange until it is closed, because the container may complete the request
+ * on timeout while the handler is still running. Once the request is completed the exchange must not touch the
+ * servlet response anymore, as the container may already reuse it for another request.
+ */
+class AsyncHttpExchangeAdapter implements PrometheusHttpExchange, WriteListener, AsyncListener {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final Logger logger = Logger.getLogger(AsyncHttpExchangeAdapter.class.getName());
+
+    private final AsyncContext asyncContext;
+    private final HttpServletResponse servletResponse;
+    private final HttpExchangeAdapter.Request request;
+    private final Response response = new Response();
+    private final Object lock = new Object();
+
+    // guarded by lock
+    private int statusCode = 500;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private ByteArrayOutputStream smallBody; // for streamed responses like gzip, and for error responses
+    private byte[] body;
+    private int length;
+    private Runnable release;
+    private ServletOutputStream outputStream;
+    private int offset = 0;
+    private boolean done = false; // true when the async context is completed
+
+    AsyncHttpExchangeAdapter(AsyncContext asyncContext, HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+        this.asyncContext = asyncContext;
+        this.servletResponse = servletResponse;
+        this.request = new HttpExchangeAdapter.Request(servletRequest);
+    }
+
+    private class Response implements PrometheusHttpResponse {
+
+        @Override
+        public void setHeader(String name, String value) {
+            synchronized (lock) {
+                headers.put(name, value);
+            }
+        }
+
+        @Override
+        public OutputStream sendHeadersAndGetBody(int statusCode, int contentLength) {
+            synchronized (lock) {
+                AsyncHttpExchangeAdapter.this.statusCode = statusCode;
+                smallBody = new ByteArrayOutputStream();
+                return smallBody;
+            }
+        }
+
+        @Override
+        public void sendHeadersAndBody(int statusCode, byte[] body, int length, Runnable release) {
+            synchronized (lock) {
+                if (done) {
+                    release.run();
+                    return;
+                }
+                AsyncHttpExchangeAdapter.this.statusCode = statusCode;
+                AsyncHttpExchangeAdapter.this.body = body;
+                AsyncHttpExchangeAdapter.this.length = length;
+                AsyncHttpExchangeAdapter.this.release = release;
+            }
+        }
+    }
+
+    @Override
+    public PrometheusHttpRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public PrometheusHttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public void handleException(IOException e) {
+        sendErrorResponseWithStackTrace(e);
+    }
+
+    @Override
+    public void handleException(RuntimeException e) {
+        sendErrorResponseWithStackTrace(e);
+    }
+
+    /**
+     * The container can't handle exceptions thrown on the executor, so we respond with HTTP 500 ourselves.
+     * Nothing has been sent yet, so we can replace whatever the handler produced.
+     */
+    private void sendErrorResponseWithStackTrace(Exception requestHandlerException) {
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+        printWriter.write("An Exception occurred while scraping metrics: ");
+        requestHandlerException.printStackTrace(printWriter);
+        byte[] stackTrace = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            releaseBody();
+            headers.clear();
+            headers.put("Content-Type", "text/plain; charset=utf-8");
+            statusCode = 500;
+            smallBody = new ByteArrayOutputStream(stackTrace.length);
+            smallBody.write(stackTrace, 0, stackTrace.length);
+        }
+    }
+
+    /**
+     * Start writing the response body. The async context is completed when the body is written.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (done) {
+                // The request timed out or failed while the handler was running.
+                releaseBody();
+                return;
+            }
+            if (body == null && smallBody != null) {
+                body = smallBody.toByteArray();
+                length = body.length;
+            }
+            try {
+                servletResponse.setStatus(statusCode);
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    servletResponse.setHeader(header.getKey(), header.getValue());
+                }
+                if (!headers.containsKey("Content-Length")) {
+                    servletResponse.setContentLength(length);
+                }
+                if (body == null) {
+                    complete();
+                    return;
+                }
+                outputStream = servletResponse.getOutputStream();
+                outputStream.setWriteListener(this);
+            } catch (IOException | RuntimeException e) {
+                onError(e);
+            }
+        }
+    }
+
+    /**
+     * Called by the container when the output stream is ready to accept data.
+     */
+    @Override
+    public void onWritePossible() throws IOException {
+        synchronized (lock) {
+            while (!done && outputStream.isReady()) {
+                if (offset >= length) {
+                    complete();
+                    return;
+                }
+                int n = Math.min(CHUNK_SIZE, length - offset);
+                outputStream.write(body, offset, n);
+                offset += n;
+            }
+        }
+    }
+
+    /**
+     * Called by the container if writing the response fails.
+     */
+    @Override
+    public void onError(Throwable t) {
+        logger.log(Level.FINE, "Failed to write the metrics response.", t);
+        synchronized (lock) {
+            complete();
+        }
+    }
+
+    /**
+     * Called by the container if the request times out, see {@link AsyncContext#setTimeout(long)}.
+     * If the handler is still running its response is discarded when it is done.
+     */
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            logger.log(Level.WARNING, "Scrape timed out after " + asyncContext.getTimeout() + "ms.");
+            if (outputStream == null) {
+                // Nothing has been sent yet.
+                servletResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+            complete();
+        }
+    }
+
+    /**
+     * Called by the container if the request fails, for example because the client went away.
+     */
+    @Override
+    public void onError(AsyncEvent event) {
+        onError(event.getThrowable());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        synchronized (lock) {
+            // The container may complete the request without calling the other listener methods.
+            done = true;
+            if (outputStream != null) {
+                releaseBody();
+            }
+        }
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    // guarded by lock
+    private void complete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        releaseBody();
+        asyncContext.complete();
+    }
+
+    // guarded by lock
+    private void releaseBody() {
+        if (release != null) {
+            release.run();
+            release = null;
+        }
+        body = null;
+        smallBody = null;
+    }
+}
@@ -3,20 +3,39 @@ package io.prometheus.metrics.exporter.servlet.jakarta;
 import io.prometheus.metrics.config.PrometheusProperties;
 import io.prometheus.metrics.exporter.common.PrometheusScrapeHandler;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Initial example exporter so that we can try the new metrics library out.
  * <p>
  * We'll add a Jakarta servlet, the built-in HTTPServer, etc. soon, and likely move common code into a common module.
+ * <p>
+ * By default, scrapes are served on the container's request thread. In async mode, see {@link Builder#async(boolean)},
+ * metrics are collected on a dedicated executor and the response is written with non-blocking I/O,
+ * so scrapes don't occupy the container's request threads.
  */
 public class PrometheusMetricsServlet extends HttpServlet {
 
+    private static final Logger logger = Logger.getLogger(PrometheusMetricsServlet.class.getName());
+    private static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
     private final PrometheusScrapeHandler handler;
+    private final ExecutorService asyncExecutor; // null if async mode is disabled
+    private final boolean shutdownAsyncExecutor;
+    private final long asyncTimeoutMillis;
 
     public PrometheusMetricsServlet() {
         this(PrometheusProperties.get(), PrometheusRegistry.defaultRegistry);
@@ -31,11 +50,150 @@ public class PrometheusMetricsServlet extends HttpServlet {
     }
 
     public PrometheusMetricsServlet(PrometheusProperties config, PrometheusRegistry registry) {
+        this(config, registry, null, false, DEFAULT_ASYNC_TIMEOUT_MILLIS);
+    }
+
+    private PrometheusMetricsServlet(PrometheusProperties config, PrometheusRegistry registry, ExecutorService asyncExecutor, boolean shutdownAsyncExecutor, long asyncTimeoutMillis) {
         this.handler = new PrometheusScrapeHandler(config, registry);
+        this.asyncExecutor = asyncExecutor;
+        this.shutdownAsyncExecutor = shutdownAsyncExecutor;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
     }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        handler.handleRequest(new HttpExchangeAdapter(request, response));
+        // HEAD requests don't have a body to write asynchronously.
+        if (asyncExecutor != null && request.isAsyncSupported() && !"HEAD".equals(request.getMethod())) {
+            AsyncContext asyncContext = request.startAsync();
+            asyncContext.setTimeout(asyncTimeoutMillis);
+            AsyncHttpExchangeAdapter exchange = new AsyncHttpExchangeAdapter(asyncContext, request, response);
+            asyncContext.addListener(exchange);
+            try {
+                asyncExecutor.execute(() -> {
+                    try {
+                        handler.handleRequest(exchange);
+                    } catch (IOException e) {
+                        // The exchange handles exceptions itself, so this should not happen.
+                        logger.log(Level.WARNING, "Failed to handle the metrics request.", e);
+                        exchange.close();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent scrapes.");
+                asyncContext.complete();
+            }
+        } else {
+            handler.handleRequest(new HttpExchangeAdapter(request, response));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (shutdownAsyncExecutor) {
+            asyncExecutor.shutdown();
+        }
+        super.destroy();
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private PrometheusRegistry registry = null;
+        private boolean async = false;
+        private ExecutorService asyncExecutorService = null;
+        private long asyncTimeoutMillis = DEFAULT_ASYNC_TIMEOUT_MILLIS;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Optional: Default is {@link PrometheusRegistry#defaultRegistry}.
+         */
+        public Builder registry(PrometheusRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * Optional: Serve scrapes asynchronously. Default is {@code false}.
+         * <p>
+         * In async mode the servlet returns the container's request thread right away. Metrics are collected and encoded
+         * on a dedicated executor, and the response is written with a {@link jakarta.servlet.WriteListener},
+         * so neither the container's threads nor the executor's threads wait for a slow client.
+         * <p>
+         * The default executor has 2 threads and queues up to 16 scrapes. Scrapes exceeding that are answered with
+         * HTTP 503, so a burst of scrapes can't pile up work. Use {@link #asyncExecutorService(ExecutorService)}
+         * to provide your own executor.
+         * <p>
+         * The servlet must be registered with async support, e.g. {@code <async-supported>true</async-supported>}
+         * in {@code web.xml} or {@code Wrapper.setAsyncSupported(true)} in embedded Tomcat.
+         * Otherwise, scrapes are served synchronously.
+         */
+        public Builder async(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        /**
+         * Optional: Executor for collecting metrics in async mode. Implies {@link #async(boolean) async(true)}.
+         * The executor is not shut down when the servlet is destroyed.
+         */
+        public Builder asyncExecutorService(ExecutorService executorService) {
+            this.asyncExecutorService = executorService;
+            return this;
+        }
+
+        /**
+         * Optional: Timeout for scrapes in async mode. Default is 60 seconds.
+         * <p>
+         * Scrapes that are not completed within the timeout are answered with HTTP 503 if nothing has been sent yet.
+         * Otherwise, the response is cut off.
+         */
+        public Builder asyncTimeout(long timeout, TimeUnit unit) {
+            if (timeout <= 0) {
+                throw new IllegalArgumentException(timeout + ": asyncTimeout must be > 0");
+            }
+            this.asyncTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public PrometheusMetricsServlet build() {
+            if (registry == null) {
+                registry = PrometheusRegistry.defaultRegistry;
+            }
+            if (asyncExecutorService != null) {
+                return new PrometheusMetricsServlet(config, registry, asyncExecutorService, false, asyncTimeoutMillis);
+            } else if (async) {
+                return new PrometheusMetricsServlet(config, registry, makeAsyncExecutorService(), true, asyncTimeoutMillis);
+            } else {
+                return new PrometheusMetricsServlet(config, registry, null, false, asyncTimeoutMillis);
+            }
+        }
+
+        private ExecutorService makeAsyncExecutorService() {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            ThreadPoolExecutor result = new ThreadPoolExecutor(
+                    2,
+                    2,
+                    60,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(16),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "prometheus-servlet-async-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            result.allowCoreThreadTimeOut(true);
+            return result;
+        }
     }
 }
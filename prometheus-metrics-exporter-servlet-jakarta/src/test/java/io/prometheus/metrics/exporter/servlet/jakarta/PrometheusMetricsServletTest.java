@@ -0,0 +1,189 @@
+package io.prometheus.metrics.exporter.servlet.jakarta;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.model.registry.Collector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+public class PrometheusMetricsServletTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final PrometheusRegistry registry = new PrometheusRegistry();
+    private final CountDownLatch scrapeStarted = new CountDownLatch(1);
+    private final CountDownLatch blockScrape = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    private Tomcat tomcat;
+
+    @Before
+    public void setUp() {
+        Counter.builder().name("requests_total").register(registry).inc();
+    }
+
+    @After
+    public void tearDown() throws LifecycleException {
+        blockScrape.countDown();
+        if (tomcat != null) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        executor.shutdown();
+    }
+
+    private void start(PrometheusMetricsServlet servlet) throws LifecycleException {
+        tomcat = new Tomcat();
+        tomcat.setPort(0);
+        tomcat.setBaseDir(tmp.getRoot().getAbsolutePath());
+        Context context = tomcat.addContext("", tmp.getRoot().getAbsolutePath());
+        Tomcat.addServlet(context, "metrics", servlet).setAsyncSupported(true);
+        context.addServletMappingDecoded("/metrics", "metrics");
+        tomcat.getConnector();
+        tomcat.start();
+    }
+
+    private void registerSlowCollector() {
+        Counter slow = Counter.builder().name("slow_total").build();
+        registry.register(() -> {
+            scrapeStarted.countDown();
+            try {
+                blockScrape.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return slow.collect();
+        });
+    }
+
+    @Test
+    public void testAsyncScrape() throws Exception {
+        start(PrometheusMetricsServlet.builder(PrometheusProperties.get())
+                .registry(registry)
+                .asyncExecutorService(executor)
+                .build());
+        for (int i = 0; i < 3; i++) { // pooled buffers are reused
+            HttpURLConnection connection = open();
+            Assert.assertEquals(200, connection.getResponseCode());
+            String body = readBody(connection.getInputStream());
+            Assert.assertEquals(body.length(), connection.getContentLength());
+            Assert.assertTrue(body.contains("requests_total 1.0"));
+        }
+    }
+
+    @Test
+    public void testAsyncScrapeWithGzip() throws Exception {
+        start(PrometheusMetricsServlet.builder(PrometheusProperties.get())
+                .registry(registry)
+                .asyncExecutorService(executor)
+                .build());
+        HttpURLConnection connection = open();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        Assert.assertEquals(200, connection.getResponseCode());
+        Assert.assertEquals("gzip", connection.getContentEncoding());
+        Assert.assertTrue(readBody(new GZIPInputStream(connection.getInputStream())).contains("requests_total 1.0"));
+    }
+
+    @Test
+    public void testAsyncScrapeFails() throws Exception {
+        Collector failingCollector = () -> {
+            throw new RuntimeException("Simulating an error.");
+        };
+        registry.register(failingCollector);
+        start(PrometheusMetricsServlet.builder(PrometheusProperties.get())
+                .registry(registry)
+                .asyncExecutorService(executor)
+                .build());
+        HttpURLConnection connection = open();
+        Assert.assertEquals(500, connection.getResponseCode());
+        Assert.assertTrue(readBody(connection.getErrorStream()).contains("Simulating an error."));
+    }
+
+    @Test
+    public void testAsyncTimeout() throws Exception {
+        registerSlowCollector();
+        start(PrometheusMetricsServlet.builder(PrometheusProperties.get())
+                .registry(registry)
+                .asyncExecutorService(executor)
+                .asyncTimeout(200, TimeUnit.MILLISECONDS)
+                .build());
+        Assert.assertEquals(503, open().getResponseCode());
+
+        // The scrape that timed out finishes in the background. Its response is discarded.
+        blockScrape.countDown();
+        while (executor.getActiveCount() > 0) {
+            Thread.sleep(10);
+        }
+        HttpURLConnection connection = open();
+        Assert.assertEquals(200, connection.getResponseCode());
+        Assert.assertTrue(readBody(connection.getInputStream()).contains("requests_total 1.0"));
+    }
+
+    @Test
+    public void testTooManyConcurrentScrapes() throws Exception {
+        registerSlowCollector();
+        // Single thread and no queue, so that the second scrape is rejected.
+        ThreadPoolExecutor noQueue = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        try {
+            start(PrometheusMetricsServlet.builder(PrometheusProperties.get())
+                    .registry(registry)
+                    .asyncExecutorService(noQueue)
+                    .build());
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return open().getResponseCode();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Assert.assertTrue(scrapeStarted.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(503, open().getResponseCode());
+            blockScrape.countDown();
+            Assert.assertEquals(200, first.get(10, TimeUnit.SECONDS).intValue());
+        } finally {
+            noQueue.shutdown();
+        }
+    }
+
+    private HttpURLConnection open() throws IOException {
+        URL url = new URL("http://localhost:" + tomcat.getConnector().getLocalPort() + "/metrics");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(10_000);
+        connection.setReadTimeout(10_000);
+        return connection;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = stream.read(buffer)) > 0) {
+                result.write(buffer, 0, n);
+            }
+            return new String(result.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
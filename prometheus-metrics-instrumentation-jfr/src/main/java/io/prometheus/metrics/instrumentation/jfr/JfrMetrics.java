@@ -0,0 +1,309 @@
+package io.prometheus.metrics.instrumentation.jfr;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Unit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM metrics from JDK Flight Recorder (JFR) events. Requires Java 17 or newer.
+ * <pre>{@code
+ *   JfrMetrics jfrMetrics = JfrMetrics.builder().register();
+ * }</pre>
+ * Unlike the MXBean based metrics in {@code prometheus-metrics-instrumentation-jvm}, which provide totals only,
+ * {@link JfrMetrics} observe each individual event in a native histogram. Events are consumed from a
+ * {@link RecordingStream} on a background thread. The data points are looked up once per label value and reused,
+ * so handling an event does not allocate.
+ * <p>
+ * Example metrics being exported (native histograms are shown as {@code _count} and {@code _sum} in the text format):
+ * <pre>
+ * # HELP jvm_gc_pause_seconds Time spent in GC pauses, per collection.
+ * # TYPE jvm_gc_pause_seconds histogram
+ * jvm_gc_pause_seconds_count{cause="G1 Evacuation Pause",gc="G1New"} 12
+ * jvm_gc_pause_seconds_sum{cause="G1 Evacuation Pause",gc="G1New"} 0.0341
+ * # HELP jvm_gc_phase_pause_seconds Duration of GC phases during pauses.
+ * # TYPE jvm_gc_phase_pause_seconds histogram
+ * jvm_gc_phase_pause_seconds_count{phase="Evacuate Collection Set"} 12
+ * jvm_gc_phase_pause_seconds_sum{phase="Evacuate Collection Set"} 0.0252
+ * # HELP jvm_gc_concurrent_phase_seconds Duration of concurrent GC phases.
+ * # TYPE jvm_gc_concurrent_phase_seconds histogram
+ * jvm_gc_concurrent_phase_seconds_count{phase="Concurrent Mark"} 2
+ * jvm_gc_concurrent_phase_seconds_sum{phase="Concurrent Mark"} 0.0113
+ * # HELP jvm_safepoint_sync_seconds Time to reach a safepoint, i.e. until all threads are stopped.
+ * # TYPE jvm_safepoint_sync_seconds histogram
+ * jvm_safepoint_sync_seconds_count 37
+ * jvm_safepoint_sync_seconds_sum 0.0013
+ * # HELP jvm_monitor_contention_seconds Time threads were blocked entering a contended monitor, above the threshold.
+ * # TYPE jvm_monitor_contention_seconds histogram
+ * jvm_monitor_contention_seconds_count 3
+ * jvm_monitor_contention_seconds_sum 0.157
+ * # HELP jvm_thread_park_seconds Time threads were parked, above the threshold.
+ * # TYPE jvm_thread_park_seconds histogram
+ * jvm_thread_park_seconds_count 291
+ * jvm_thread_park_seconds_sum 301.4
+ * # HELP jvm_jit_compilation_seconds Duration of JIT compilations.
+ * # TYPE jvm_jit_compilation_seconds histogram
+ * jvm_jit_compilation_seconds_count{tier="3"} 2140
+ * jvm_jit_compilation_seconds_sum{tier="3"} 1.17
+ * jvm_jit_compilation_seconds_count{tier="4"} 612
+ * jvm_jit_compilation_seconds_sum{tier="4"} 3.92
+ * </pre>
+ * With {@link Builder#allocationEvents(boolean) allocationEvents(true)}, allocation events are recorded as well:
+ * <pre>
+ * # HELP jvm_allocation_tlab_bytes_total Size of newly allocated thread-local allocation buffers (TLABs).
+ * # TYPE jvm_allocation_tlab_bytes counter
+ * jvm_allocation_tlab_bytes_total 1.2582912E9
+ * # HELP jvm_allocation_outside_tlab_bytes_total Bytes allocated outside of thread-local allocation buffers (TLABs).
+ * # TYPE jvm_allocation_outside_tlab_bytes counter
+ * jvm_allocation_outside_tlab_bytes_total 4194304.0
+ * </pre>
+ * On Java 21 and newer, virtual thread events are recorded as well:
+ * <pre>
+ * # HELP jvm_virtual_thread_pinned_seconds Time virtual threads were pinned to their carrier thread while blocking, above the threshold.
+ * # TYPE jvm_virtual_thread_pinned_seconds histogram
+ * jvm_virtual_thread_pinned_seconds_count 17
+ * jvm_virtual_thread_pinned_seconds_sum 0.853
+ * # HELP jvm_virtual_thread_submit_failed_total Virtual threads that could not be scheduled because the scheduler rejected the task.
+ * # TYPE jvm_virtual_thread_submit_failed counter
+ * jvm_virtual_thread_submit_failed_total 0.0
+ * </pre>
+ * See {@link VirtualThreadSchedulerMetrics} for the state of the virtual thread scheduler.
+ * <p>
+ * Call {@link #close()} to stop the recording.
+ */
+public class JfrMetrics implements Closeable {
+
+    private static final String JVM_GC_PAUSE_SECONDS = "jvm_gc_pause_seconds";
+    private static final String JVM_GC_PHASE_PAUSE_SECONDS = "jvm_gc_phase_pause_seconds";
+    private static final String JVM_GC_CONCURRENT_PHASE_SECONDS = "jvm_gc_concurrent_phase_seconds";
+    private static final String JVM_SAFEPOINT_SYNC_SECONDS = "jvm_safepoint_sync_seconds";
+    private static final String JVM_MONITOR_CONTENTION_SECONDS = "jvm_monitor_contention_seconds";
+    private static final String JVM_THREAD_PARK_SECONDS = "jvm_thread_park_seconds";
+    private static final String JVM_ALLOCATION_TLAB_BYTES_TOTAL = "jvm_allocation_tlab_bytes_total";
+    private static final String JVM_ALLOCATION_OUTSIDE_TLAB_BYTES_TOTAL = "jvm_allocation_outside_tlab_bytes_total";
+    private static final String JVM_JIT_COMPILATION_SECONDS = "jvm_jit_compilation_seconds";
+    private static final String JVM_VIRTUAL_THREAD_PINNED_SECONDS = "jvm_virtual_thread_pinned_seconds";
+    private static final String JVM_VIRTUAL_THREAD_SUBMIT_FAILED_TOTAL = "jvm_virtual_thread_submit_failed_total";
+
+    // Compilation levels 0 (interpreter) to 4 (C2).
+    private static final int MAX_COMPILE_LEVEL = 4;
+
+    private final PrometheusProperties config;
+    private final Duration contentionThreshold;
+    private final Duration parkThreshold;
+    private final Duration pinnedThreshold;
+    private final boolean allocationEvents;
+    private final RecordingStream stream;
+
+    // Data points by label value. Only accessed by the stream's event handler thread.
+    private final Map<String, DistributionDataPoint> gcPhasePauseByName = new HashMap<>();
+    private final Map<String, DistributionDataPoint> gcConcurrentPhaseByName = new HashMap<>();
+    private final Map<String, Map<String, DistributionDataPoint>> gcPauseByNameAndCause = new HashMap<>();
+    private final DistributionDataPoint[] jitCompilationByTier = new DistributionDataPoint[MAX_COMPILE_LEVEL + 1];
+
+    private JfrMetrics(Duration contentionThreshold, Duration parkThreshold, Duration pinnedThreshold, boolean allocationEvents, PrometheusProperties config) {
+        this.config = config;
+        this.contentionThreshold = contentionThreshold;
+        this.parkThreshold = parkThreshold;
+        this.pinnedThreshold = pinnedThreshold;
+        this.allocationEvents = allocationEvents;
+        this.stream = new RecordingStream();
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        Histogram gcPause = nativeHistogram(JVM_GC_PAUSE_SECONDS, "Time spent in GC pauses, per collection.", "gc", "cause")
+                .register(registry);
+        stream.enable("jdk.GarbageCollection").withoutThreshold();
+        stream.onEvent("jdk.GarbageCollection", event -> gcPauseDataPoint(gcPause, nonNull(event.getString("name")), nonNull(event.getString("cause")))
+                .observe(seconds(event.getDuration("sumOfPauses"))));
+
+        Histogram gcPhasePause = nativeHistogram(JVM_GC_PHASE_PAUSE_SECONDS, "Duration of GC phases during pauses.", "phase")
+                .register(registry);
+        stream.enable("jdk.GCPhasePauseLevel1").withoutThreshold();
+        stream.onEvent("jdk.GCPhasePauseLevel1", event -> gcPhasePauseByName
+                .computeIfAbsent(nonNull(event.getString("name")), gcPhasePause::labelValues)
+                .observe(seconds(event.getDuration())));
+
+        Histogram gcConcurrentPhase = nativeHistogram(JVM_GC_CONCURRENT_PHASE_SECONDS, "Duration of concurrent GC phases.", "phase")
+                .register(registry);
+        stream.enable("jdk.GCPhaseConcurrent").withoutThreshold();
+        stream.onEvent("jdk.GCPhaseConcurrent", event -> gcConcurrentPhaseByName
+                .computeIfAbsent(nonNull(event.getString("name")), gcConcurrentPhase::labelValues)
+                .observe(seconds(event.getDuration())));
+
+        Histogram safepointSync = nativeHistogram(JVM_SAFEPOINT_SYNC_SECONDS, "Time to reach a safepoint, i.e. until all threads are stopped.")
+                .register(registry);
+        stream.enable("jdk.SafepointStateSynchronization").withoutThreshold();
+        stream.onEvent("jdk.SafepointStateSynchronization", event -> safepointSync.observe(seconds(event.getDuration())));
+
+        Histogram monitorContention = nativeHistogram(JVM_MONITOR_CONTENTION_SECONDS, "Time threads were blocked entering a contended monitor, above the threshold.")
+                .register(registry);
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(contentionThreshold).withoutStackTrace();
+        stream.onEvent("jdk.JavaMonitorEnter", event -> monitorContention.observe(seconds(event.getDuration())));
+
+        Histogram threadPark = nativeHistogram(JVM_THREAD_PARK_SECONDS, "Time threads were parked, above the threshold.")
+                .register(registry);
+        stream.enable("jdk.ThreadPark").withThreshold(parkThreshold).withoutStackTrace();
+        stream.onEvent("jdk.ThreadPark", event -> threadPark.observe(seconds(event.getDuration())));
+
+        if (allocationEvents) {
+            Counter tlabBytes = Counter.builder(config)
+                    .name(JVM_ALLOCATION_TLAB_BYTES_TOTAL)
+                    .help("Size of newly allocated thread-local allocation buffers (TLABs).")
+                    .unit(Unit.BYTES)
+                    .register(registry);
+            stream.enable("jdk.ObjectAllocationInNewTLAB").withoutStackTrace();
+            stream.onEvent("jdk.ObjectAllocationInNewTLAB", event -> tlabBytes.inc(event.getLong("tlabSize")));
+
+            Counter outsideTlabBytes = Counter.builder(config)
+                    .name(JVM_ALLOCATION_OUTSIDE_TLAB_BYTES_TOTAL)
+                    .help("Bytes allocated outside of thread-local allocation buffers (TLABs).")
+                    .unit(Unit.BYTES)
+                    .register(registry);
+            stream.enable("jdk.ObjectAllocationOutsideTLAB").withoutStackTrace();
+            stream.onEvent("jdk.ObjectAllocationOutsideTLAB", event -> outsideTlabBytes.inc(event.getLong("allocationSize")));
+        }
+
+        Histogram jitCompilation = nativeHistogram(JVM_JIT_COMPILATION_SECONDS, "Duration of JIT compilations.", "tier")
+                .register(registry);
+        stream.enable("jdk.Compilation").withoutThreshold();
+        stream.onEvent("jdk.Compilation", event -> jitCompilationDataPoint(jitCompilation, event)
+                .observe(seconds(event.getDuration())));
+
+        if (Runtime.version().feature() >= 21) {
+            Histogram virtualThreadPinned = nativeHistogram(JVM_VIRTUAL_THREAD_PINNED_SECONDS, "Time virtual threads were pinned to their carrier thread while blocking, above the threshold.")
+                    .register(registry);
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreshold).withoutStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", event -> virtualThreadPinned.observe(seconds(event.getDuration())));
+
+            Counter virtualThreadSubmitFailed = Counter.builder(config)
+                    .name(JVM_VIRTUAL_THREAD_SUBMIT_FAILED_TOTAL)
+                    .help("Virtual threads that could not be scheduled because the scheduler rejected the task.")
+                    .register(registry);
+            stream.enable("jdk.VirtualThreadSubmitFailed").withoutStackTrace();
+            stream.onEvent("jdk.VirtualThreadSubmitFailed", event -> virtualThreadSubmitFailed.inc());
+        }
+
+        stream.startAsync();
+    }
+
+    private Histogram.Builder nativeHistogram(String name, String help, String... labelNames) {
+        return Histogram.builder(config)
+                .name(name)
+                .help(help)
+                .unit(Unit.SECONDS)
+                .labelNames(labelNames)
+                .nativeOnly();
+    }
+
+    private DistributionDataPoint gcPauseDataPoint(Histogram gcPause, String name, String cause) {
+        return gcPauseByNameAndCause
+                .computeIfAbsent(name, n -> new HashMap<>())
+                .computeIfAbsent(cause, c -> gcPause.labelValues(name, c));
+    }
+
+    private DistributionDataPoint jitCompilationDataPoint(Histogram jitCompilation, RecordedEvent event) {
+        int level = Math.max(0, Math.min(MAX_COMPILE_LEVEL, event.getInt("compileLevel")));
+        DistributionDataPoint result = jitCompilationByTier[level];
+        if (result == null) {
+            result = jitCompilation.labelValues(Integer.toString(level));
+            jitCompilationByTier[level] = result;
+        }
+        return result;
+    }
+
+    private static String nonNull(String labelValue) {
+        return labelValue != null ? labelValue : "unknown";
+    }
+
+    private static double seconds(Duration duration) {
+        return Unit.nanosToSeconds(duration.toNanos());
+    }
+
+    /**
+     * Stop the JFR recording. The metrics remain registered, but will not be updated anymore.
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private Duration contentionThreshold = Duration.ofMillis(10);
+        private Duration parkThreshold = Duration.ofMillis(10);
+        private Duration pinnedThreshold = Duration.ofMillis(10);
+        private boolean allocationEvents = false;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Only monitor contentions longer than {@code threshold} are observed in {@code jvm_monitor_contention_seconds}.
+         * Default is 10ms.
+         */
+        public Builder monitorContentionThreshold(Duration threshold) {
+            this.contentionThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Only parks longer than {@code threshold} are observed in {@code jvm_thread_park_seconds}.
+         * Default is 10ms.
+         */
+        public Builder threadParkThreshold(Duration threshold) {
+            this.parkThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Only pinned virtual threads blocking longer than {@code threshold} are observed in
+         * {@code jvm_virtual_thread_pinned_seconds}. Default is 10ms. Ignored before Java 21.
+         */
+        public Builder virtualThreadPinnedThreshold(Duration threshold) {
+            this.pinnedThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Whether to record TLAB allocation events for {@code jvm_allocation_tlab_bytes_total} and
+         * {@code jvm_allocation_outside_tlab_bytes_total}. These events are not throttled: one event is emitted whenever
+         * a thread gets a new TLAB or allocates outside a TLAB, which can be many thousands per second in allocation heavy
+         * applications. JFR's own default profile disables them for that reason. Default is {@code false}.
+         */
+        public Builder allocationEvents(boolean allocationEvents) {
+            this.allocationEvents = allocationEvents;
+            return this;
+        }
+
+        public JfrMetrics register() {
+            return register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public JfrMetrics register(PrometheusRegistry registry) {
+            JfrMetrics jfrMetrics = new JfrMetrics(contentionThreshold, parkThreshold, pinnedThreshold, allocationEvents, config);
+            jfrMetrics.register(registry);
+            return jfrMetrics;
+        }
+    }
+}
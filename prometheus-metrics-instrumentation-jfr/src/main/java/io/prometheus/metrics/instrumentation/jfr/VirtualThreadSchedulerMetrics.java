@@ -0,0 +1,134 @@
+package io.prometheus.metrics.instrumentation.jfr;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+/**
+ * Metrics of the virtual thread scheduler, i.e. the pool of carrier threads running virtual threads.
+ * <pre>{@code
+ *   VirtualThreadSchedulerMetrics.builder().register();
+ * }</pre>
+ * The data is coming from the {@code jdk.management.VirtualThreadSchedulerMXBean}, which is available in Java 24
+ * and newer. On older Java versions no metrics are registered. Example metrics being exported:
+ * <pre>
+ * # HELP jvm_virtual_thread_scheduler_parallelism Target parallelism of the virtual thread scheduler.
+ * # TYPE jvm_virtual_thread_scheduler_parallelism gauge
+ * jvm_virtual_thread_scheduler_parallelism 8.0
+ * # HELP jvm_virtual_thread_scheduler_pool_size Current number of carrier threads, started or terminating.
+ * # TYPE jvm_virtual_thread_scheduler_pool_size gauge
+ * jvm_virtual_thread_scheduler_pool_size 8.0
+ * # HELP jvm_virtual_thread_scheduler_mounted_threads Estimated number of virtual threads currently mounted on carrier threads.
+ * # TYPE jvm_virtual_thread_scheduler_mounted_threads gauge
+ * jvm_virtual_thread_scheduler_mounted_threads 6.0
+ * # HELP jvm_virtual_thread_scheduler_queued_threads Estimated number of virtual threads queued to the scheduler to start or continue.
+ * # TYPE jvm_virtual_thread_scheduler_queued_threads gauge
+ * jvm_virtual_thread_scheduler_queued_threads 31.0
+ * </pre>
+ */
+public class VirtualThreadSchedulerMetrics {
+
+    private static final String JVM_VIRTUAL_THREAD_SCHEDULER_PARALLELISM = "jvm_virtual_thread_scheduler_parallelism";
+    private static final String JVM_VIRTUAL_THREAD_SCHEDULER_POOL_SIZE = "jvm_virtual_thread_scheduler_pool_size";
+    private static final String JVM_VIRTUAL_THREAD_SCHEDULER_MOUNTED_THREADS = "jvm_virtual_thread_scheduler_mounted_threads";
+    private static final String JVM_VIRTUAL_THREAD_SCHEDULER_QUEUED_THREADS = "jvm_virtual_thread_scheduler_queued_threads";
+
+    static final String OBJECT_NAME = "jdk.management:type=VirtualThreadScheduler";
+
+    private final PrometheusProperties config;
+    private final MBeanServer mBeanServer;
+    private final ObjectName objectName;
+
+    private VirtualThreadSchedulerMetrics(MBeanServer mBeanServer, PrometheusProperties config) {
+        this.config = config;
+        this.mBeanServer = mBeanServer;
+        try {
+            this.objectName = new ObjectName(OBJECT_NAME);
+        } catch (JMException e) {
+            throw new IllegalStateException(OBJECT_NAME + ": invalid object name", e);
+        }
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        if (!mBeanServer.isRegistered(objectName)) {
+            return;
+        }
+
+        GaugeWithCallback.builder(config)
+                .name(JVM_VIRTUAL_THREAD_SCHEDULER_PARALLELISM)
+                .help("Target parallelism of the virtual thread scheduler.")
+                .callback(callback -> getAttribute("Parallelism", callback::call))
+                .register(registry);
+
+        GaugeWithCallback.builder(config)
+                .name(JVM_VIRTUAL_THREAD_SCHEDULER_POOL_SIZE)
+                .help("Current number of carrier threads, started or terminating.")
+                .callback(callback -> getAttribute("PoolSize", callback::call))
+                .register(registry);
+
+        GaugeWithCallback.builder(config)
+                .name(JVM_VIRTUAL_THREAD_SCHEDULER_MOUNTED_THREADS)
+                .help("Estimated number of virtual threads currently mounted on carrier threads.")
+                .callback(callback -> getAttribute("MountedVirtualThreadCount", callback::call))
+                .register(registry);
+
+        GaugeWithCallback.builder(config)
+                .name(JVM_VIRTUAL_THREAD_SCHEDULER_QUEUED_THREADS)
+                .help("Estimated number of virtual threads queued to the scheduler to start or continue.")
+                .callback(callback -> getAttribute("QueuedVirtualThreadCount", callback::call))
+                .register(registry);
+    }
+
+    private void getAttribute(String attribute, Consumer<Double> consumer) {
+        try {
+            Object value = mBeanServer.getAttribute(objectName, attribute);
+            if (value instanceof Number) {
+                consumer.accept(((Number) value).doubleValue());
+            }
+        } catch (JMException ignored) {
+            // The attribute is not available in this Java version, don't produce a data point.
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private MBeanServer mBeanServer;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder mBeanServer(MBeanServer mBeanServer) {
+            this.mBeanServer = mBeanServer;
+            return this;
+        }
+
+        public void register() {
+            register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public void register(PrometheusRegistry registry) {
+            MBeanServer mBeanServer = this.mBeanServer != null ? this.mBeanServer : ManagementFactory.getPlatformMBeanServer();
+            new VirtualThreadSchedulerMetrics(mBeanServer, config).register(registry);
+        }
+    }
+}
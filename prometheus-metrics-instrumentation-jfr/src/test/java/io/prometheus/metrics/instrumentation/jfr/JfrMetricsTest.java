@@ -0,0 +1,68 @@
+package io.prometheus.metrics.instrumentation.jfr;
+
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class JfrMetricsTest {
+
+    @Test
+    public void testEventsAreObserved() throws Exception {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        try (JfrMetrics ignored = JfrMetrics.builder()
+                .threadParkThreshold(Duration.ofMillis(1))
+                .monitorContentionThreshold(Duration.ofMillis(1))
+                .register(registry)) {
+            // Wait for the recording to start, events before that are not seen.
+            Thread.sleep(500);
+            System.gc();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            contendMonitor();
+            // Events are flushed to the stream about once per second.
+            long deadline = System.currentTimeMillis() + 20_000;
+            while (System.currentTimeMillis() < deadline
+                    && (count(registry, "jvm_gc_pause_seconds") == 0
+                    || count(registry, "jvm_thread_park_seconds") == 0
+                    || count(registry, "jvm_monitor_contention_seconds") == 0)) {
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(count(registry, "jvm_gc_pause_seconds") > 0);
+            Assert.assertTrue(count(registry, "jvm_thread_park_seconds") > 0);
+            Assert.assertTrue(count(registry, "jvm_monitor_contention_seconds") > 0);
+        }
+    }
+
+    private void contendMonitor() throws InterruptedException {
+        Object monitor = new Object();
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (monitor) {
+                locked.countDown();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            }
+        });
+        holder.start();
+        locked.await();
+        synchronized (monitor) {
+            // blocks until the holder releases the monitor
+        }
+        holder.join();
+    }
+
+    private long count(PrometheusRegistry registry, String name) {
+        long result = 0;
+        for (MetricSnapshot snapshot : registry.scrape(name::equals)) {
+            for (HistogramSnapshot.HistogramDataPointSnapshot data : ((HistogramSnapshot) snapshot).getDataPoints()) {
+                result += data.getCount();
+            }
+        }
+        return result;
+    }
+}
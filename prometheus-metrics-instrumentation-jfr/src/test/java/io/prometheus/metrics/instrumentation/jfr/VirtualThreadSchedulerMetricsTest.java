@@ -0,0 +1,86 @@
+package io.prometheus.metrics.instrumentation.jfr;
+
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.util.HashMap;
+import java.util.Map;
+
+public class VirtualThreadSchedulerMetricsTest {
+
+    public interface SchedulerMBean {
+        int getParallelism();
+
+        int getPoolSize();
+
+        int getMountedVirtualThreadCount();
+
+        long getQueuedVirtualThreadCount();
+    }
+
+    public static class Scheduler implements SchedulerMBean {
+
+        @Override
+        public int getParallelism() {
+            return 8;
+        }
+
+        @Override
+        public int getPoolSize() {
+            return 9;
+        }
+
+        @Override
+        public int getMountedVirtualThreadCount() {
+            return 7;
+        }
+
+        @Override
+        public long getQueuedVirtualThreadCount() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void testGoodCase() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        mBeanServer.registerMBean(new StandardMBean(new Scheduler(), SchedulerMBean.class), new ObjectName(VirtualThreadSchedulerMetrics.OBJECT_NAME));
+        PrometheusRegistry registry = new PrometheusRegistry();
+        VirtualThreadSchedulerMetrics.builder()
+                .mBeanServer(mBeanServer)
+                .register(registry);
+        Map<String, Double> values = getValues(registry.scrape());
+        Assert.assertEquals(4, values.size());
+        Assert.assertEquals(8.0, values.get("jvm_virtual_thread_scheduler_parallelism"), 0.0);
+        Assert.assertEquals(9.0, values.get("jvm_virtual_thread_scheduler_pool_size"), 0.0);
+        Assert.assertEquals(7.0, values.get("jvm_virtual_thread_scheduler_mounted_threads"), 0.0);
+        Assert.assertEquals(42.0, values.get("jvm_virtual_thread_scheduler_queued_threads"), 0.0);
+    }
+
+    @Test
+    public void testNotRegisteredWithoutMBean() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        VirtualThreadSchedulerMetrics.builder()
+                .mBeanServer(MBeanServerFactory.newMBeanServer())
+                .register(registry);
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+
+    private Map<String, Double> getValues(MetricSnapshots snapshots) {
+        Map<String, Double> result = new HashMap<>();
+        for (MetricSnapshot snapshot : snapshots) {
+            for (GaugeSnapshot.GaugeDataPointSnapshot data : ((GaugeSnapshot) snapshot).getDataPoints()) {
+                result.put(snapshot.getMetadata().getName(), data.getValue());
+            }
+        }
+        return result;
+    }
+}
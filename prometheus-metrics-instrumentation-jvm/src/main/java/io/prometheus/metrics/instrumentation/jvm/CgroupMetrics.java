@@ -0,0 +1,409 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Container resource metrics from the cgroup of the JVM process. Supports cgroup v1 and cgroup v2.
+ * <pre>{@code
+ *   CgroupMetrics.builder().register();
+ * }</pre>
+ * These metrics show whether the application is limited by its container rather than by the JVM:
+ * CPU throttling by the CFS quota, memory usage relative to the limit, pressure stall information (PSI), and I/O.
+ * Example metrics being exported (cgroup v2):
+ * <pre>
+ * # HELP cgroup_cpu_periods_total Number of CPU enforcement periods that have elapsed.
+ * # TYPE cgroup_cpu_periods_total counter
+ * cgroup_cpu_periods_total 3120.0
+ * # HELP cgroup_cpu_throttled_periods_total Number of CPU enforcement periods in which the cgroup was throttled.
+ * # TYPE cgroup_cpu_throttled_periods_total counter
+ * cgroup_cpu_throttled_periods_total 212.0
+ * # HELP cgroup_cpu_throttled_seconds_total Total time the cgroup was throttled.
+ * # TYPE cgroup_cpu_throttled_seconds_total counter
+ * cgroup_cpu_throttled_seconds_total 9.817
+ * # HELP cgroup_io_read_bytes_total Bytes read from a given block device.
+ * # TYPE cgroup_io_read_bytes_total counter
+ * cgroup_io_read_bytes_total{device="8:0"} 1.1657216E7
+ * # HELP cgroup_memory_limit_bytes Memory limit of the cgroup. Not present if the memory is unlimited.
+ * # TYPE cgroup_memory_limit_bytes gauge
+ * cgroup_memory_limit_bytes 1.073741824E9
+ * # HELP cgroup_memory_usage_bytes Memory currently used by the cgroup, including page cache.
+ * # TYPE cgroup_memory_usage_bytes gauge
+ * cgroup_memory_usage_bytes 5.36870912E8
+ * # HELP cgroup_pressure_cpu_waiting_seconds_total Total time in which at least one task in the cgroup was waiting for cpu.
+ * # TYPE cgroup_pressure_cpu_waiting_seconds_total counter
+ * cgroup_pressure_cpu_waiting_seconds_total 12.4
+ * ...
+ * </pre>
+ * Pressure stall information is only available with cgroup v2. Metrics are only registered if the
+ * corresponding cgroup files exist, so nothing is registered outside of a cgroup, for example on Windows.
+ * <p>
+ * The cgroup files are kept open and read into a reusable buffer on each scrape.
+ */
+public class CgroupMetrics {
+
+    private static final String CGROUP_CPU_PERIODS_TOTAL = "cgroup_cpu_periods_total";
+    private static final String CGROUP_CPU_THROTTLED_PERIODS_TOTAL = "cgroup_cpu_throttled_periods_total";
+    private static final String CGROUP_CPU_THROTTLED_SECONDS_TOTAL = "cgroup_cpu_throttled_seconds_total";
+    private static final String CGROUP_MEMORY_USAGE_BYTES = "cgroup_memory_usage_bytes";
+    private static final String CGROUP_MEMORY_LIMIT_BYTES = "cgroup_memory_limit_bytes";
+    private static final String CGROUP_IO_READ_BYTES_TOTAL = "cgroup_io_read_bytes_total";
+    private static final String CGROUP_IO_WRITTEN_BYTES_TOTAL = "cgroup_io_written_bytes_total";
+    private static final String CGROUP_IO_READS_TOTAL = "cgroup_io_reads_total";
+    private static final String CGROUP_IO_WRITES_TOTAL = "cgroup_io_writes_total";
+    private static final String[] PRESSURE_RESOURCES = {"cpu", "memory", "io"};
+
+    // cgroup v1 reports "unlimited" as the largest page aligned long.
+    private static final long V1_UNLIMITED = 0x7FFFFFFFFFFFF000L;
+
+    private static final Path SYS_FS_CGROUP = Paths.get("/sys/fs/cgroup");
+    private static final Path PROC_SELF_CGROUP = Paths.get("/proc/self/cgroup");
+
+    private final boolean v2;
+    private final PseudoFile cpuStat;
+    private final PseudoFile memoryUsage;
+    private final PseudoFile memoryLimit;
+    private final PseudoFile ioStat; // v2: io.stat, v1: blkio.throttle.io_service_bytes
+    private final PseudoFile ioServiced; // v1 only: blkio.throttle.io_serviced
+    private final PseudoFile[] pressure = new PseudoFile[PRESSURE_RESOURCES.length];
+    private final List<String> prometheusNames = new ArrayList<>();
+
+    private CgroupMetrics(Path cgroupRoot, Path procSelfCgroup) {
+        List<String> cgroups = readLines(procSelfCgroup);
+        this.v2 = Files.exists(cgroupRoot.resolve("cgroup.controllers"));
+        if (v2) {
+            Path dir = resolveV2(cgroupRoot, cgroups);
+            cpuStat = PseudoFile.ifExists(dir.resolve("cpu.stat"));
+            memoryUsage = PseudoFile.ifExists(dir.resolve("memory.current"));
+            memoryLimit = PseudoFile.ifExists(dir.resolve("memory.max"));
+            ioStat = PseudoFile.ifExists(dir.resolve("io.stat"));
+            ioServiced = null;
+            for (int i = 0; i < PRESSURE_RESOURCES.length; i++) {
+                pressure[i] = PseudoFile.ifExists(dir.resolve(PRESSURE_RESOURCES[i] + ".pressure"));
+            }
+        } else {
+            Path cpuDir = resolveV1(cgroupRoot, cgroups, "cpu");
+            Path memoryDir = resolveV1(cgroupRoot, cgroups, "memory");
+            Path blkioDir = resolveV1(cgroupRoot, cgroups, "blkio");
+            cpuStat = PseudoFile.ifExists(cpuDir.resolve("cpu.stat"));
+            memoryUsage = PseudoFile.ifExists(memoryDir.resolve("memory.usage_in_bytes"));
+            memoryLimit = PseudoFile.ifExists(memoryDir.resolve("memory.limit_in_bytes"));
+            ioStat = PseudoFile.ifExists(blkioDir.resolve("blkio.throttle.io_service_bytes"));
+            ioServiced = PseudoFile.ifExists(blkioDir.resolve("blkio.throttle.io_serviced"));
+        }
+        if (cpuStat != null) {
+            addPrometheusNames(CGROUP_CPU_PERIODS_TOTAL, CGROUP_CPU_THROTTLED_PERIODS_TOTAL, CGROUP_CPU_THROTTLED_SECONDS_TOTAL);
+        }
+        if (memoryUsage != null) {
+            addPrometheusNames(CGROUP_MEMORY_USAGE_BYTES);
+        }
+        if (memoryLimit != null) {
+            addPrometheusNames(CGROUP_MEMORY_LIMIT_BYTES);
+        }
+        if (ioStat != null) {
+            addPrometheusNames(CGROUP_IO_READ_BYTES_TOTAL, CGROUP_IO_WRITTEN_BYTES_TOTAL);
+        }
+        if (ioStat != null && (v2 || ioServiced != null)) {
+            addPrometheusNames(CGROUP_IO_READS_TOTAL, CGROUP_IO_WRITES_TOTAL);
+        }
+        for (int i = 0; i < PRESSURE_RESOURCES.length; i++) {
+            if (pressure[i] != null) {
+                addPrometheusNames(pressureName(PRESSURE_RESOURCES[i], "waiting"), pressureName(PRESSURE_RESOURCES[i], "stalled"));
+            }
+        }
+    }
+
+    private void addPrometheusNames(String... names) {
+        for (String name : names) {
+            prometheusNames.add(name.endsWith("_total") ? name.substring(0, name.length() - "_total".length()) : name);
+        }
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        if (prometheusNames.isEmpty()) {
+            return;
+        }
+
+        registry.register(new MultiCollector() {
+            @Override
+            public MetricSnapshots collect() {
+                return CgroupMetrics.this.collect();
+            }
+
+            @Override
+            public List<String> getPrometheusNames() {
+                return prometheusNames;
+            }
+        });
+    }
+
+    private synchronized MetricSnapshots collect() {
+        MetricSnapshots.Builder result = MetricSnapshots.builder();
+        collectCpu(result);
+        collectMemory(result);
+        collectIo(result);
+        collectPressure(result);
+        return result.build();
+    }
+
+    private void collectCpu(MetricSnapshots.Builder result) {
+        if (cpuStat == null || !cpuStat.read()) {
+            return;
+        }
+        long periods = cpuStat.value("nr_periods");
+        long throttledPeriods = cpuStat.value("nr_throttled");
+        double throttledSeconds;
+        if (v2) {
+            long throttledMicros = cpuStat.value("throttled_usec");
+            throttledSeconds = throttledMicros < 0 ? -1 : throttledMicros / 1E6;
+        } else {
+            long throttledNanos = cpuStat.value("throttled_time");
+            throttledSeconds = throttledNanos < 0 ? -1 : Unit.nanosToSeconds(throttledNanos);
+        }
+        addCounter(result, CGROUP_CPU_PERIODS_TOTAL, "Number of CPU enforcement periods that have elapsed.", null, periods);
+        addCounter(result, CGROUP_CPU_THROTTLED_PERIODS_TOTAL, "Number of CPU enforcement periods in which the cgroup was throttled.", null, throttledPeriods);
+        addCounter(result, CGROUP_CPU_THROTTLED_SECONDS_TOTAL, "Total time the cgroup was throttled.", Unit.SECONDS, throttledSeconds);
+    }
+
+    private void collectMemory(MetricSnapshots.Builder result) {
+        if (memoryUsage != null && memoryUsage.read()) {
+            addGauge(result, CGROUP_MEMORY_USAGE_BYTES, "Memory currently used by the cgroup, including page cache.", memoryUsage.value());
+        }
+        if (memoryLimit != null && memoryLimit.read()) {
+            // v2 reports "max" if unlimited, which parses as -1.
+            long limit = memoryLimit.value();
+            if (limit >= 0 && limit < V1_UNLIMITED) {
+                addGauge(result, CGROUP_MEMORY_LIMIT_BYTES, "Memory limit of the cgroup. Not present if the memory is unlimited.", limit);
+            }
+        }
+    }
+
+    private void collectIo(MetricSnapshots.Builder result) {
+        if (ioStat == null || !ioStat.read()) {
+            return;
+        }
+        CounterSnapshot.Builder readBytes = counter(CGROUP_IO_READ_BYTES_TOTAL, "Bytes read from a given block device.", Unit.BYTES);
+        CounterSnapshot.Builder writtenBytes = counter(CGROUP_IO_WRITTEN_BYTES_TOTAL, "Bytes written to a given block device.", Unit.BYTES);
+        CounterSnapshot.Builder reads = counter(CGROUP_IO_READS_TOTAL, "Number of read operations on a given block device.", null);
+        CounterSnapshot.Builder writes = counter(CGROUP_IO_WRITES_TOTAL, "Number of write operations on a given block device.", null);
+        if (v2) {
+            // 8:0 rbytes=1459200 wbytes=314773504 rios=192 wios=353 dbytes=0 dios=0
+            for (int line = 0; line < ioStat.length(); line = ioStat.nextLine(line)) {
+                int end = ioStat.endOfToken(line);
+                if (end == line) {
+                    continue;
+                }
+                Labels labels = Labels.of("device", ioStat.string(line, end));
+                addDataPoint(readBytes, labels, ioStat.field(line, "rbytes="));
+                addDataPoint(writtenBytes, labels, ioStat.field(line, "wbytes="));
+                addDataPoint(reads, labels, ioStat.field(line, "rios="));
+                addDataPoint(writes, labels, ioStat.field(line, "wios="));
+            }
+        } else {
+            addV1IoDataPoints(ioStat, readBytes, writtenBytes);
+            if (ioServiced != null && ioServiced.read()) {
+                addV1IoDataPoints(ioServiced, reads, writes);
+            }
+        }
+        result.metricSnapshot(readBytes.build());
+        result.metricSnapshot(writtenBytes.build());
+        if (v2 || ioServiced != null) {
+            result.metricSnapshot(reads.build());
+            result.metricSnapshot(writes.build());
+        }
+    }
+
+    // 8:0 Read 1459200
+    // 8:0 Write 314773504
+    // ...
+    // Total 316232704
+    private void addV1IoDataPoints(PseudoFile file, CounterSnapshot.Builder read, CounterSnapshot.Builder write) {
+        for (int line = 0; line < file.length(); line = file.nextLine(line)) {
+            int deviceEnd = file.endOfToken(line);
+            int op = file.skipSpaces(deviceEnd);
+            if (deviceEnd == line || op == deviceEnd) {
+                continue;
+            }
+            if (file.startsWith(op, "Read ")) {
+                addDataPoint(read, Labels.of("device", file.string(line, deviceEnd)), file.parseLong(file.skipSpaces(op + 5)));
+            } else if (file.startsWith(op, "Write ")) {
+                addDataPoint(write, Labels.of("device", file.string(line, deviceEnd)), file.parseLong(file.skipSpaces(op + 6)));
+            }
+        }
+    }
+
+    // some avg10=0.00 avg60=0.00 avg300=0.00 total=12400000
+    // full avg10=0.00 avg60=0.00 avg300=0.00 total=8100000
+    private void collectPressure(MetricSnapshots.Builder result) {
+        for (int i = 0; i < PRESSURE_RESOURCES.length; i++) {
+            PseudoFile file = pressure[i];
+            if (file == null || !file.read()) {
+                continue;
+            }
+            String resource = PRESSURE_RESOURCES[i];
+            long someMicros = file.field(file.findLine("some "), "total=");
+            long fullMicros = file.field(file.findLine("full "), "total=");
+            addCounter(result, pressureName(resource, "waiting"), "Total time in which at least one task in the cgroup was waiting for " + resource + ".", Unit.SECONDS, someMicros < 0 ? -1 : someMicros / 1E6);
+            addCounter(result, pressureName(resource, "stalled"), "Total time in which all non-idle tasks in the cgroup were stalled on " + resource + ".", Unit.SECONDS, fullMicros < 0 ? -1 : fullMicros / 1E6);
+        }
+    }
+
+    private static String pressureName(String resource, String kind) {
+        return "cgroup_pressure_" + resource + "_" + kind + "_seconds_total";
+    }
+
+    private static CounterSnapshot.Builder counter(String name, String help, Unit unit) {
+        return CounterSnapshot.builder()
+                .name(name.substring(0, name.length() - "_total".length()))
+                .help(help)
+                .unit(unit);
+    }
+
+    private static void addDataPoint(CounterSnapshot.Builder counter, Labels labels, double value) {
+        if (value >= 0) {
+            counter.dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                    .labels(labels)
+                    .value(value)
+                    .build());
+        }
+    }
+
+    private static void addCounter(MetricSnapshots.Builder result, String name, String help, Unit unit, double value) {
+        if (value >= 0) {
+            CounterSnapshot.Builder counter = counter(name, help, unit);
+            addDataPoint(counter, Labels.EMPTY, value);
+            result.metricSnapshot(counter.build());
+        }
+    }
+
+    private static void addGauge(MetricSnapshots.Builder result, String name, String help, double value) {
+        if (value >= 0) {
+            result.metricSnapshot(GaugeSnapshot.builder()
+                    .name(name)
+                    .help(help)
+                    .unit(Unit.BYTES)
+                    .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                            .value(value)
+                            .build())
+                    .build());
+        }
+    }
+
+    /**
+     * With cgroup v2, {@code /proc/self/cgroup} has a single line like {@code 0::/system.slice/app.service}.
+     * In a container with its own cgroup namespace the path is {@code /}.
+     */
+    private static Path resolveV2(Path cgroupRoot, List<String> cgroups) {
+        for (String line : cgroups) {
+            if (line.startsWith("0::")) {
+                return existingDirOrDefault(cgroupRoot, line.substring(3));
+            }
+        }
+        return cgroupRoot;
+    }
+
+    /**
+     * With cgroup v1, {@code /proc/self/cgroup} has one line per hierarchy like {@code 4:cpu,cpuacct:/docker/abc}.
+     * If the path is not visible, for example because the container only sees its own cgroup at the mount point,
+     * the controller's mount point is used.
+     */
+    private static Path resolveV1(Path cgroupRoot, List<String> cgroups, String controller) {
+        Path mountPoint = cgroupRoot.resolve(controller);
+        for (String line : cgroups) {
+            String[] parts = line.split(":", 3);
+            if (parts.length == 3) {
+                for (String c : parts[1].split(",")) {
+                    if (c.equals(controller)) {
+                        return existingDirOrDefault(mountPoint, parts[2]);
+                    }
+                }
+            }
+        }
+        return mountPoint;
+    }
+
+    private static Path existingDirOrDefault(Path base, String cgroupPath) {
+        String relative = cgroupPath.startsWith("/") ? cgroupPath.substring(1) : cgroupPath;
+        if (!relative.isEmpty()) {
+            Path dir = base.resolve(relative);
+            if (Files.isDirectory(dir)) {
+                return dir;
+            }
+        }
+        return base;
+    }
+
+    private static List<String> readLines(Path file) {
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                result.add(line);
+            }
+        } catch (IOException ignored) {
+            // Not Linux, or /proc is not mounted.
+        }
+        return result;
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private Path cgroupRoot;
+        private Path procSelfCgroup;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder cgroupRoot(Path cgroupRoot) {
+            this.cgroupRoot = cgroupRoot;
+            return this;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder procSelfCgroup(Path procSelfCgroup) {
+            this.procSelfCgroup = procSelfCgroup;
+            return this;
+        }
+
+        public void register() {
+            register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public void register(PrometheusRegistry registry) {
+            Path cgroupRoot = this.cgroupRoot != null ? this.cgroupRoot : SYS_FS_CGROUP;
+            Path procSelfCgroup = this.procSelfCgroup != null ? this.procSelfCgroup : PROC_SELF_CGROUP;
+            new CgroupMetrics(cgroupRoot, procSelfCgroup).register(registry);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duration of each garbage collection and bytes reclaimed per memory pool. The {@link JvmGarbageCollectionDurationMetrics}
+ * are not registered by default. Enable them as part of the {@link JvmMetrics} like this:
+ * <pre>{@code
+ *   JvmMetrics.builder().gcDurationMetrics(true).register();
+ * }</pre>
+ * or register them directly:
+ * <pre>{@code
+ *   JvmGarbageCollectionDurationMetrics.builder().register();
+ * }</pre>
+ * While {@link JvmGarbageCollectorMetrics} provide only the total count and time, this observes the duration of each
+ * individual collection in a native histogram, so that you can see the distribution and percentiles of GC durations.
+ * Example metrics being exported (native histograms are shown as {@code _count} and {@code _sum} in the text format):
+ * <pre>
+ * # HELP jvm_gc_duration_seconds Duration of JVM garbage collections.
+ * # TYPE jvm_gc_duration_seconds histogram
+ * jvm_gc_duration_seconds_count{action="end of minor GC",cause="G1 Evacuation Pause",gc="G1 Young Generation"} 14
+ * jvm_gc_duration_seconds_sum{action="end of minor GC",cause="G1 Evacuation Pause",gc="G1 Young Generation"} 0.058
+ * # HELP jvm_gc_reclaimed_bytes_total Bytes freed in a given JVM memory pool by garbage collection.
+ * # TYPE jvm_gc_reclaimed_bytes_total counter
+ * jvm_gc_reclaimed_bytes_total{pool="G1 Eden Space"} 2.34881024E8
+ * jvm_gc_reclaimed_bytes_total{pool="G1 Old Gen"} 1048576.0
+ * </pre>
+ */
+public class JvmGarbageCollectionDurationMetrics {
+
+    private static final String JVM_GC_DURATION_SECONDS = "jvm_gc_duration_seconds";
+    private static final String JVM_GC_RECLAIMED_BYTES_TOTAL = "jvm_gc_reclaimed_bytes_total";
+
+    private final PrometheusProperties config;
+    private final List<GarbageCollectorMXBean> garbageCollectorBeans;
+
+    private JvmGarbageCollectionDurationMetrics(List<GarbageCollectorMXBean> garbageCollectorBeans, PrometheusProperties config) {
+        this.garbageCollectorBeans = garbageCollectorBeans;
+        this.config = config;
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        Histogram duration = Histogram.builder(config)
+                .name(JVM_GC_DURATION_SECONDS)
+                .help("Duration of JVM garbage collections.")
+                .unit(Unit.SECONDS)
+                .labelNames("gc", "action", "cause")
+                .nativeOnly()
+                .register(registry);
+
+        Counter reclaimed = Counter.builder(config)
+                .name(JVM_GC_RECLAIMED_BYTES_TOTAL)
+                .help("Bytes freed in a given JVM memory pool by garbage collection.")
+                .unit(Unit.BYTES)
+                .labelNames("pool")
+                .register(registry);
+
+        GcDurationNotificationListener listener = new GcDurationNotificationListener(duration, reclaimed);
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorBeans) {
+            if (garbageCollectorMXBean instanceof NotificationEmitter) {
+                ((NotificationEmitter) garbageCollectorMXBean).addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    /**
+     * The data points are cached by label values, so that handling a notification does not need to build
+     * label arrays or look up the data points in the metric. The caches are concurrent maps, so the listener
+     * does not need a lock even if notifications from different collectors are delivered concurrently.
+     */
+    static class GcDurationNotificationListener implements NotificationListener {
+
+        private final Histogram duration;
+        private final Counter reclaimed;
+        // gc -> action -> cause -> data point
+        private final Map<String, Map<String, Map<String, DistributionDataPoint>>> durationDataPoints = new ConcurrentHashMap<>();
+        private final Map<String, CounterDataPoint> reclaimedDataPoints = new ConcurrentHashMap<>();
+
+        GcDurationNotificationListener(Histogram duration, Counter reclaimed) {
+            this.duration = duration;
+            this.reclaimed = reclaimed;
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            GcInfo gcInfo = info.getGcInfo();
+            handleGc(info.getGcName(), info.getGcAction(), info.getGcCause(), gcInfo.getDuration());
+            Map<String, MemoryUsage> memoryUsageBeforeGc = gcInfo.getMemoryUsageBeforeGc();
+            Map<String, MemoryUsage> memoryUsageAfterGc = gcInfo.getMemoryUsageAfterGc();
+            for (Map.Entry<String, MemoryUsage> entry : memoryUsageBeforeGc.entrySet()) {
+                MemoryUsage after = memoryUsageAfterGc.get(entry.getKey());
+                if (after != null) {
+                    handleMemoryPool(entry.getKey(), entry.getValue().getUsed(), after.getUsed());
+                }
+            }
+        }
+
+        // Visible for testing
+        void handleGc(String gc, String action, String cause, long durationMillis) {
+            durationDataPoints
+                    .computeIfAbsent(gc, g -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(action, a -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(cause, c -> duration.labelValues(gc, action, c))
+                    .observe(Unit.millisToSeconds(durationMillis));
+        }
+
+        // Visible for testing
+        void handleMemoryPool(String memoryPool, long before, long after) {
+            long freed = before - after;
+            if (freed > 0) {
+                reclaimedDataPoints
+                        .computeIfAbsent(memoryPool, reclaimed::labelValues)
+                        .inc(freed);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private List<GarbageCollectorMXBean> garbageCollectorBeans;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder withGarbageCollectorBeans(List<GarbageCollectorMXBean> garbageCollectorBeans) {
+            this.garbageCollectorBeans = garbageCollectorBeans;
+            return this;
+        }
+
+        public void register() {
+            register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public void register(PrometheusRegistry registry) {
+            List<GarbageCollectorMXBean> garbageCollectorBeans = this.garbageCollectorBeans;
+            if (garbageCollectorBeans == null) {
+                garbageCollectorBeans = ManagementFactory.getGarbageCollectorMXBeans();
+            }
+            new JvmGarbageCollectionDurationMetrics(garbageCollectorBeans, config).register(registry);
+        }
+    }
+}
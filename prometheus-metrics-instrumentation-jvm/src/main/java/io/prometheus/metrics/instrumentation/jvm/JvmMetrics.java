@@ -1,15 +1,24 @@
 package io.prometheus.metrics.instrumentation.jvm;
 
 import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 /**
  * Registers all JVM metrics. Example usage:
  * <pre>{@code
  *   JvmMetrics.builder().register();
  * }</pre>
+ * If startup time matters, for example for short-lived or serverless applications, JVM metrics can be
+ * registered {@link Builder#lazy(boolean) lazily}:
+ * <pre>{@code
+ *   JvmMetrics.builder().lazy(true).register();
+ * }</pre>
  */
 public class JvmMetrics {
 
@@ -29,11 +38,61 @@ public class JvmMetrics {
     public static class Builder {
 
         private final PrometheusProperties config;
+        private long threadStateRefreshInterval = 0;
+        private TimeUnit threadStateRefreshIntervalUnit;
+        private boolean lazy = false;
+        private boolean gcDurationMetrics = false;
 
         private Builder(PrometheusProperties config) {
             this.config = config;
         }
 
+        /**
+         * See {@link JvmThreadsMetrics.Builder#threadStateRefreshInterval(long, TimeUnit)}.
+         */
+        public Builder threadStateRefreshInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": threadStateRefreshInterval must be > 0");
+            }
+            this.threadStateRefreshInterval = interval;
+            this.threadStateRefreshIntervalUnit = unit;
+            return this;
+        }
+
+        /**
+         * Defer the registration of the JVM metrics until the first scrape. Default is {@code false}.
+         * <p>
+         * Registering the JVM metrics looks up the platform MXBeans, installs GC notification listeners,
+         * and loads and initializes about a dozen collector classes. In lazy mode, {@code register()} registers a
+         * single placeholder collector, and all of this happens when the registry is scraped for the first time.
+         * This takes the cost off the application's startup path.
+         * <p>
+         * Trade-offs:
+         * <ul>
+         *     <li>Metrics based on GC notifications, like {@code jvm_memory_pool_allocated_bytes_total}, do not include
+         *     garbage collections that happened before the first scrape.</li>
+         *     <li>Name conflicts with other metrics in the registry are not detected at registration time,
+         *     duplicate names will cause an exception during the first scrape.</li>
+         *     <li>The first scrape takes longer.</li>
+         * </ul>
+         */
+        public Builder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        /**
+         * Also register the {@link JvmGarbageCollectionDurationMetrics}. Default is {@code false}.
+         * <p>
+         * These observe each garbage collection in a native histogram labeled by collector, action, and cause,
+         * and install an additional GC notification listener. Native histograms are only visible with the
+         * Prometheus protobuf format, the text formats show just {@code _count} and {@code _sum}.
+         */
+        public Builder gcDurationMetrics(boolean gcDurationMetrics) {
+            this.gcDurationMetrics = gcDurationMetrics;
+            return this;
+        }
+
         /**
          * Register all JVM metrics with the default registry.
          * <p>
@@ -53,15 +112,68 @@ public class JvmMetrics {
          * throw an Exception because you are trying to register duplicate metrics.
          */
         public void register(PrometheusRegistry registry) {
-            JvmThreadsMetrics.builder(config).register(registry);
+            if (lazy) {
+                registry.register(new LazyJvmMetrics(this));
+            } else {
+                registerAll(registry);
+            }
+        }
+
+        private void registerAll(PrometheusRegistry registry) {
+            JvmThreadsMetrics.Builder threadsMetrics = JvmThreadsMetrics.builder(config);
+            if (threadStateRefreshInterval > 0) {
+                threadsMetrics.threadStateRefreshInterval(threadStateRefreshInterval, threadStateRefreshIntervalUnit);
+            }
+            threadsMetrics.register(registry);
             JvmBufferPoolMetrics.builder(config).register(registry);
             JvmClassLoadingMetrics.builder(config).register(registry);
             JvmCompilationMetrics.builder(config).register(registry);
             JvmGarbageCollectorMetrics.builder(config).register(registry);
+            if (gcDurationMetrics) {
+                JvmGarbageCollectionDurationMetrics.builder(config).register(registry);
+            }
             JvmMemoryPoolAllocationMetrics.builder(config).register(registry);
             JvmMemoryMetrics.builder(config).register(registry);
             JvmRuntimeInfoMetric.builder(config).register(registry);
             ProcessMetrics.builder(config).register(registry);
         }
     }
+
+    /**
+     * Registers the JVM metrics with an internal registry on the first scrape, and delegates to that registry.
+     */
+    private static class LazyJvmMetrics implements MultiCollector {
+
+        private final Builder builder;
+        private volatile PrometheusRegistry registry;
+
+        private LazyJvmMetrics(Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public MetricSnapshots collect() {
+            return getRegistry().scrape();
+        }
+
+        @Override
+        public MetricSnapshots collect(Predicate<String> includedNames) {
+            return getRegistry().scrape(includedNames);
+        }
+
+        private PrometheusRegistry getRegistry() {
+            PrometheusRegistry result = registry;
+            if (result == null) {
+                synchronized (this) {
+                    result = registry;
+                    if (result == null) {
+                        result = new PrometheusRegistry();
+                        builder.registerAll(result);
+                        registry = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,232 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.model.registry.CollectorOptions;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JVM native memory metrics from Native Memory Tracking (NMT). This is not part of {@link JvmMetrics},
+ * you need to register it explicitly:
+ * <pre>{@code
+ *   JvmNativeMemoryMetrics.builder().register();
+ * }</pre>
+ * Native Memory Tracking must be enabled with {@code -XX:NativeMemoryTracking=summary} (or {@code detail}),
+ * otherwise no metrics are registered. NMT shows the memory used by the JVM itself, broken down by category like
+ * Java heap, class metadata, thread stacks, code cache, GC data structures, and internal allocations.
+ * It does not include memory allocated by native libraries. Example metrics being exported:
+ * <pre>
+ * # HELP jvm_native_memory_committed_bytes Committed native memory of a given JVM memory category, as reported by Native Memory Tracking.
+ * # TYPE jvm_native_memory_committed_bytes gauge
+ * jvm_native_memory_committed_bytes{category="Class"} 539648.0
+ * jvm_native_memory_committed_bytes{category="Code"} 7823360.0
+ * jvm_native_memory_committed_bytes{category="Java Heap"} 9.8566144E7
+ * jvm_native_memory_committed_bytes{category="Thread"} 724992.0
+ * # HELP jvm_native_memory_reserved_bytes Reserved native memory of a given JVM memory category, as reported by Native Memory Tracking.
+ * # TYPE jvm_native_memory_reserved_bytes gauge
+ * jvm_native_memory_reserved_bytes{category="Class"} 1.073888256E9
+ * jvm_native_memory_reserved_bytes{category="Code"} 2.5372672E8
+ * jvm_native_memory_reserved_bytes{category="Java Heap"} 1.577058304E9
+ * jvm_native_memory_reserved_bytes{category="Thread"} 1.3668352E7
+ * </pre>
+ * The data is obtained by running the {@code VM.native_memory summary} diagnostic command via the
+ * {@code com.sun.management.DiagnosticCommand} MBean. The command walks the JVM's memory bookkeeping and is
+ * relatively expensive, so the result is cached for the {@link Builder#refreshInterval(long, TimeUnit) refresh interval}
+ * and refreshed in the background.
+ */
+public class JvmNativeMemoryMetrics {
+
+    private static final String JVM_NATIVE_MEMORY_RESERVED_BYTES = "jvm_native_memory_reserved_bytes";
+    private static final String JVM_NATIVE_MEMORY_COMMITTED_BYTES = "jvm_native_memory_committed_bytes";
+
+    static final String OBJECT_NAME = "com.sun.management:type=DiagnosticCommand";
+    private static final String OPERATION = "vmNativeMemory";
+    private static final String[] SIGNATURE = {String[].class.getName()};
+    private static final Object[] ARGS = {new String[]{"summary", "scale=KB"}};
+
+    // -                 Java Heap (reserved=1540096KB, committed=96256KB)
+    private static final Pattern CATEGORY = Pattern.compile("^-\\s+(.+?)\\s+\\(reserved=(\\d+)([KMG]?B)?, committed=(\\d+)([KMG]?B)?\\)", Pattern.MULTILINE);
+
+    private final PrometheusProperties config;
+    private final MBeanServer mBeanServer;
+    private final ObjectName objectName;
+    private final long refreshIntervalNanos;
+    private volatile List<Category> categories = Collections.emptyList();
+
+    private JvmNativeMemoryMetrics(MBeanServer mBeanServer, long refreshIntervalNanos, PrometheusProperties config) {
+        this.config = config;
+        this.mBeanServer = mBeanServer;
+        this.refreshIntervalNanos = refreshIntervalNanos;
+        try {
+            this.objectName = new ObjectName(OBJECT_NAME);
+        } catch (JMException e) {
+            throw new IllegalStateException(OBJECT_NAME + ": invalid object name", e);
+        }
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        String summary = invoke();
+        if (summary == null || parse(summary).isEmpty()) {
+            // The DiagnosticCommand MBean is not available, or Native Memory Tracking is not enabled.
+            return;
+        }
+
+        GaugeWithCallback reserved = GaugeWithCallback.builder(config)
+                .name(JVM_NATIVE_MEMORY_RESERVED_BYTES)
+                .help("Reserved native memory of a given JVM memory category, as reported by Native Memory Tracking.")
+                .unit(Unit.BYTES)
+                .labelNames("category")
+                .callback(callback -> {
+                    for (Category category : categories) {
+                        callback.call(category.reservedBytes, category.name);
+                    }
+                })
+                .build();
+
+        GaugeWithCallback committed = GaugeWithCallback.builder(config)
+                .name(JVM_NATIVE_MEMORY_COMMITTED_BYTES)
+                .help("Committed native memory of a given JVM memory category, as reported by Native Memory Tracking.")
+                .unit(Unit.BYTES)
+                .labelNames("category")
+                .callback(callback -> {
+                    for (Category category : categories) {
+                        callback.call(category.committedBytes, category.name);
+                    }
+                })
+                .build();
+
+        MultiCollector collector = new MultiCollector() {
+            @Override
+            public MetricSnapshots collect() {
+                String summary = invoke();
+                categories = summary == null ? Collections.emptyList() : parse(summary);
+                return new MetricSnapshots(reserved.collect(), committed.collect());
+            }
+
+            @Override
+            public List<String> getPrometheusNames() {
+                return Arrays.asList(reserved.getPrometheusName(), committed.getPrometheusName());
+            }
+        };
+
+        registry.register(collector, CollectorOptions.builder()
+                .minRefreshInterval(refreshIntervalNanos, TimeUnit.NANOSECONDS)
+                .backgroundRefresh(true)
+                .build());
+    }
+
+    private String invoke() {
+        try {
+            Object result = mBeanServer.invoke(objectName, OPERATION, ARGS, SIGNATURE);
+            return result instanceof String ? (String) result : null;
+        } catch (JMException e) {
+            return null;
+        }
+    }
+
+    // Visible for testing
+    static List<Category> parse(String summary) {
+        List<Category> result = new ArrayList<>();
+        Matcher matcher = CATEGORY.matcher(summary);
+        while (matcher.find()) {
+            result.add(new Category(
+                    matcher.group(1),
+                    toBytes(Long.parseLong(matcher.group(2)), matcher.group(3)),
+                    toBytes(Long.parseLong(matcher.group(4)), matcher.group(5))));
+        }
+        return result;
+    }
+
+    private static double toBytes(long value, String unit) {
+        if (unit == null || unit.equals("B")) {
+            return value;
+        }
+        switch (unit) {
+            case "KB":
+                return value * 1024.0;
+            case "MB":
+                return value * 1024.0 * 1024.0;
+            default: // GB
+                return value * 1024.0 * 1024.0 * 1024.0;
+        }
+    }
+
+    static class Category {
+
+        final String name;
+        final double reservedBytes;
+        final double committedBytes;
+
+        private Category(String name, double reservedBytes, double committedBytes) {
+            this.name = name;
+            this.reservedBytes = reservedBytes;
+            this.committedBytes = committedBytes;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private MBeanServer mBeanServer;
+        private long refreshIntervalNanos = TimeUnit.MINUTES.toNanos(1);
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Run the Native Memory Tracking summary at most once per {@code interval}. Default is 1 minute.
+         * <p>
+         * Scrapes read the result of the last run. If the interval has expired, the next run is started
+         * in the background, see {@link CollectorOptions.Builder#backgroundRefresh(boolean)}.
+         */
+        public Builder refreshInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": refreshInterval must be > 0");
+            }
+            this.refreshIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder mBeanServer(MBeanServer mBeanServer) {
+            this.mBeanServer = mBeanServer;
+            return this;
+        }
+
+        public void register() {
+            register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public void register(PrometheusRegistry registry) {
+            MBeanServer mBeanServer = this.mBeanServer != null ? this.mBeanServer : ManagementFactory.getPlatformMBeanServer();
+            new JvmNativeMemoryMetrics(mBeanServer, refreshIntervalNanos, config).register(registry);
+        }
+    }
+}
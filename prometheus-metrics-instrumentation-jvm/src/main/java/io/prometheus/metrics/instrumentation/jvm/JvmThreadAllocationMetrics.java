@@ -0,0 +1,406 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.metrics.CounterWithCallback;
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.model.registry.CollectorOptions;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Continuous heap allocation metrics, sampled from the per-thread allocation counters of the JVM.
+ * <pre>{@code
+ *   JvmThreadAllocationMetrics.builder().register();
+ * }</pre>
+ * {@link JvmMemoryPoolAllocationMetrics} are only updated after a garbage collection, which may happen rarely with
+ * large heaps. These metrics sum {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long[])} over all live
+ * threads on each sample, so allocations are visible immediately. Allocations of threads that terminated since the
+ * last sample are not counted.
+ * <p>
+ * In addition, the allocation rate of the top allocating thread groups is reported. Thread names are grouped by
+ * replacing each sequence of digits with {@code #}, so that for example {@code pool-1-thread-7} is reported as
+ * {@code pool-#-thread-#}. Only the {@link Builder#topThreadGroups(int) top N} groups are reported individually,
+ * all other groups are summed up as {@code other}. Threads named {@code other} and threads whose name cannot be
+ * determined are always counted in {@code other}. Example metrics being exported:
+ * <pre>
+ * # HELP jvm_allocated_bytes_total Bytes allocated on the heap by JVM threads.
+ * # TYPE jvm_allocated_bytes_total counter
+ * jvm_allocated_bytes_total 4.8563208E8
+ * # HELP jvm_thread_group_allocated_bytes_per_second Allocation rate of the top allocating thread name groups.
+ * # TYPE jvm_thread_group_allocated_bytes_per_second gauge
+ * jvm_thread_group_allocated_bytes_per_second{thread_group="http-nio-#-exec-#"} 1.2582912E7
+ * jvm_thread_group_allocated_bytes_per_second{thread_group="main"} 524288.0
+ * jvm_thread_group_allocated_bytes_per_second{thread_group="other"} 2048.0
+ * </pre>
+ * The rate is calculated between two consecutive samples. By default, a sample is taken on each scrape. Use
+ * {@link Builder#sampleInterval(long, TimeUnit)} to sample in the background at a fixed interval instead.
+ * <p>
+ * These metrics are not registered if the JVM does not support thread allocation measurement.
+ */
+public class JvmThreadAllocationMetrics {
+
+    private static final String JVM_ALLOCATED_BYTES_TOTAL = "jvm_allocated_bytes_total";
+    private static final String JVM_THREAD_GROUP_ALLOCATED_BYTES_PER_SECOND = "jvm_thread_group_allocated_bytes_per_second";
+
+    private final PrometheusProperties config;
+    private final ThreadMXBean threadBean;
+    private final int topThreadGroups;
+    private final long sampleIntervalNanos;
+
+    private JvmThreadAllocationMetrics(ThreadMXBean threadBean, int topThreadGroups, long sampleIntervalNanos, PrometheusProperties config) {
+        this.config = config;
+        this.threadBean = threadBean;
+        this.topThreadGroups = topThreadGroups;
+        this.sampleIntervalNanos = sampleIntervalNanos;
+    }
+
+    private void register(PrometheusRegistry registry) {
+
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!sunThreadBean.isThreadAllocatedMemorySupported() || !sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        AllocationSampler sampler = new AllocationSampler(sunThreadBean, topThreadGroups);
+
+        CounterWithCallback allocatedBytes = CounterWithCallback.builder(config)
+                .name(JVM_ALLOCATED_BYTES_TOTAL)
+                .help("Bytes allocated on the heap by JVM threads.")
+                .unit(Unit.BYTES)
+                .callback(callback -> callback.call(sampler.getAllocatedBytes()))
+                .build();
+
+        GaugeWithCallback threadGroupRate = GaugeWithCallback.builder(config)
+                .name(JVM_THREAD_GROUP_ALLOCATED_BYTES_PER_SECOND)
+                .help("Allocation rate of the top allocating thread name groups.")
+                .unit(new Unit("bytes_per_second"))
+                .labelNames("thread_group")
+                .callback(callback -> {
+                    for (int i = 0; i < sampler.getTopCount(); i++) {
+                        callback.call(sampler.getTopRate(i), sampler.getTopGroup(i));
+                    }
+                })
+                .build();
+
+        MultiCollector collector = new MultiCollector() {
+            @Override
+            public MetricSnapshots collect() {
+                synchronized (sampler) {
+                    sampler.sample(System.nanoTime());
+                    if (topThreadGroups > 0) {
+                        return new MetricSnapshots(allocatedBytes.collect(), threadGroupRate.collect());
+                    } else {
+                        return new MetricSnapshots(allocatedBytes.collect());
+                    }
+                }
+            }
+
+            @Override
+            public List<String> getPrometheusNames() {
+                if (topThreadGroups > 0) {
+                    return Arrays.asList(allocatedBytes.getPrometheusName(), threadGroupRate.getPrometheusName());
+                } else {
+                    return Arrays.asList(allocatedBytes.getPrometheusName());
+                }
+            }
+        };
+
+        if (sampleIntervalNanos > 0) {
+            registry.register(collector, CollectorOptions.builder()
+                    .minRefreshInterval(sampleIntervalNanos, TimeUnit.NANOSECONDS)
+                    .backgroundRefresh(true)
+                    .build());
+        } else {
+            registry.register(collector);
+        }
+    }
+
+    /**
+     * Keeps the allocated bytes of each thread from the previous sample in arrays sorted by thread id,
+     * so that the next sample can be merged without boxing thread ids in a map. The arrays are double-buffered
+     * and only re-allocated when the number of threads grows. Thread names are only looked up for threads
+     * that were not present in the previous sample.
+     * <p>
+     * Not thread safe, callers synchronize on the sampler.
+     */
+    static class AllocationSampler {
+
+        private static final Pattern DIGITS = Pattern.compile("[0-9]+");
+        static final String OTHER = "other";
+
+        private final com.sun.management.ThreadMXBean threadBean;
+        private final int topN;
+
+        private long[] prevIds = new long[0];
+        private long[] prevBytes = new long[0];
+        private String[] prevGroups = new String[0];
+        private int prevCount = 0;
+        private long[] nextIds = new long[0];
+        private long[] nextBytes = new long[0];
+        private String[] nextGroups = new String[0];
+        private long[] deltas = new long[0];
+        private int[] unnamed = new int[0];
+
+        // thread group -> bytes allocated since the previous sample
+        private final Map<String, long[]> groupBytes = new HashMap<>();
+        private final String[] topGroups;
+        private final long[] topBytes;
+        private final double[] topRates;
+        private int topCount = 0;
+
+        private long lastSampleNanos = 0;
+        private long allocatedBytes = 0;
+
+        AllocationSampler(com.sun.management.ThreadMXBean threadBean, int topN) {
+            this.threadBean = threadBean;
+            this.topN = topN;
+            this.topGroups = new String[topN + 1];
+            this.topBytes = new long[topN + 1];
+            this.topRates = new double[topN + 1];
+        }
+
+        void sample(long nowNanos) {
+            long[] ids = threadBean.getAllThreadIds();
+            Arrays.sort(ids);
+            long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+            ensureCapacity(ids.length);
+            int nextCount = 0;
+            int unnamedCount = 0;
+            int j = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] < 0) {
+                    continue; // thread terminated
+                }
+                while (j < prevCount && prevIds[j] < ids[i]) {
+                    j++;
+                }
+                long delta;
+                if (j < prevCount && prevIds[j] == ids[i]) {
+                    delta = Math.max(0, bytes[i] - prevBytes[j]);
+                    nextGroups[nextCount] = prevGroups[j];
+                } else {
+                    delta = bytes[i];
+                    nextGroups[nextCount] = null;
+                    unnamed[unnamedCount++] = nextCount;
+                }
+                allocatedBytes += delta;
+                deltas[nextCount] = delta;
+                nextIds[nextCount] = ids[i];
+                nextBytes[nextCount] = bytes[i];
+                nextCount++;
+            }
+            if (unnamedCount > 0) {
+                resolveGroups(unnamedCount);
+            }
+            boolean hasPreviousSample = lastSampleNanos != 0;
+            if (topN > 0) {
+                collectGroupBytes(nextCount);
+                if (hasPreviousSample) {
+                    selectTopGroups(nowNanos - lastSampleNanos);
+                }
+            }
+            swap(nextCount);
+            lastSampleNanos = nowNanos;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (nextIds.length < capacity) {
+                int newCapacity = Math.max(capacity, nextIds.length * 2);
+                nextIds = new long[newCapacity];
+                nextBytes = new long[newCapacity];
+                nextGroups = new String[newCapacity];
+                deltas = new long[newCapacity];
+                unnamed = new int[newCapacity];
+            }
+        }
+
+        private void resolveGroups(int unnamedCount) {
+            long[] unnamedIds = new long[unnamedCount];
+            for (int k = 0; k < unnamedCount; k++) {
+                unnamedIds[k] = nextIds[unnamed[k]];
+            }
+            ThreadInfo[] infos = threadBean.getThreadInfo(unnamedIds, 0);
+            for (int k = 0; k < unnamedCount; k++) {
+                ThreadInfo info = infos[k];
+                nextGroups[unnamed[k]] = info == null ? OTHER : threadGroup(info.getThreadName());
+            }
+        }
+
+        private void collectGroupBytes(int nextCount) {
+            for (long[] value : groupBytes.values()) {
+                value[0] = 0;
+            }
+            for (int i = 0; i < nextCount; i++) {
+                long[] value = groupBytes.get(nextGroups[i]);
+                if (value == null) {
+                    value = new long[1];
+                    groupBytes.put(nextGroups[i], value);
+                }
+                value[0] += deltas[i];
+            }
+            // Forget groups without allocations, so that the map does not grow with every thread name ever seen.
+            Iterator<long[]> iterator = groupBytes.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next()[0] == 0) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void selectTopGroups(long elapsedNanos) {
+            topCount = 0;
+            long otherBytes = 0;
+            for (Map.Entry<String, long[]> entry : groupBytes.entrySet()) {
+                long value = entry.getValue()[0];
+                String group = entry.getKey();
+                if (OTHER.equals(group)) {
+                    // Threads without a name, or literally named "other", must not be reported twice with the same label.
+                    otherBytes += value;
+                    continue;
+                }
+                if (topCount < topN) {
+                    topCount++;
+                } else if (value > topBytes[topCount - 1]) {
+                    otherBytes += topBytes[topCount - 1];
+                } else {
+                    otherBytes += value;
+                    continue;
+                }
+                // insertion sort, descending by bytes
+                int k = topCount - 1;
+                while (k > 0 && topBytes[k - 1] < value) {
+                    topBytes[k] = topBytes[k - 1];
+                    topGroups[k] = topGroups[k - 1];
+                    k--;
+                }
+                topBytes[k] = value;
+                topGroups[k] = group;
+            }
+            if (otherBytes > 0) {
+                topGroups[topCount] = OTHER;
+                topBytes[topCount] = otherBytes;
+                topCount++;
+            }
+            double elapsedSeconds = Unit.nanosToSeconds(elapsedNanos);
+            for (int i = 0; i < topCount; i++) {
+                topRates[i] = elapsedSeconds > 0 ? topBytes[i] / elapsedSeconds : 0;
+            }
+        }
+
+        private void swap(int nextCount) {
+            long[] tmpIds = prevIds;
+            long[] tmpBytes = prevBytes;
+            String[] tmpGroups = prevGroups;
+            prevIds = nextIds;
+            prevBytes = nextBytes;
+            prevGroups = nextGroups;
+            prevCount = nextCount;
+            nextIds = tmpIds;
+            nextBytes = tmpBytes;
+            nextGroups = tmpGroups;
+        }
+
+        static String threadGroup(String threadName) {
+            if (threadName == null) {
+                return OTHER;
+            }
+            return DIGITS.matcher(threadName).replaceAll("#");
+        }
+
+        long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        int getTopCount() {
+            return topCount;
+        }
+
+        String getTopGroup(int i) {
+            return topGroups[i];
+        }
+
+        double getTopRate(int i) {
+            return topRates[i];
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(PrometheusProperties.get());
+    }
+
+    public static Builder builder(PrometheusProperties config) {
+        return new Builder(config);
+    }
+
+    public static class Builder {
+
+        private final PrometheusProperties config;
+        private ThreadMXBean threadBean;
+        private int topThreadGroups = 10;
+        private long sampleIntervalNanos = 0;
+
+        private Builder(PrometheusProperties config) {
+            this.config = config;
+        }
+
+        /**
+         * Number of thread name groups reported individually in {@code jvm_thread_group_allocated_bytes_per_second}.
+         * Allocations of all other groups are reported as {@code thread_group="other"}.
+         * Default is 10. Use 0 to disable {@code jvm_thread_group_allocated_bytes_per_second}.
+         */
+        public Builder topThreadGroups(int topThreadGroups) {
+            if (topThreadGroups < 0) {
+                throw new IllegalArgumentException(topThreadGroups + ": topThreadGroups must be >= 0");
+            }
+            this.topThreadGroups = topThreadGroups;
+            return this;
+        }
+
+        /**
+         * Sample the per-thread allocated bytes at most once per {@code interval} in the background.
+         * <p>
+         * By default, a sample is taken on each scrape. With a sample interval, scrapes read the values from the
+         * last sample, and the allocation rate is calculated over a fixed interval independent of the number of
+         * scrapers. See {@link CollectorOptions.Builder#backgroundRefresh(boolean)}.
+         */
+        public Builder sampleInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": sampleInterval must be > 0");
+            }
+            this.sampleIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Package private. For testing only.
+         */
+        Builder threadBean(ThreadMXBean threadBean) {
+            this.threadBean = threadBean;
+            return this;
+        }
+
+        public void register() {
+            register(PrometheusRegistry.defaultRegistry);
+        }
+
+        public void register(PrometheusRegistry registry) {
+            ThreadMXBean threadBean = this.threadBean != null ? this.threadBean : ManagementFactory.getThreadMXBean();
+            new JvmThreadAllocationMetrics(threadBean, topThreadGroups, sampleIntervalNanos, config).register(registry);
+        }
+    }
+}
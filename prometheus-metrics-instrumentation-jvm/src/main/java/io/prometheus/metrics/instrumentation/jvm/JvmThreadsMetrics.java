@@ -3,14 +3,14 @@ package io.prometheus.metrics.instrumentation.jvm;
 import io.prometheus.metrics.config.PrometheusProperties;
 import io.prometheus.metrics.core.metrics.CounterWithCallback;
 import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.model.registry.CollectorOptions;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JVM Thread metrics. The {@link JvmThreadsMetrics} are registered as part of the {@link JvmMetrics} like this:
@@ -51,10 +51,14 @@ import java.util.Map;
  * jvm_threads_state{state="UNKNOWN"} 0.0
  * jvm_threads_state{state="WAITING"} 3.0
  * </pre>
+ * {@code jvm_threads_state} calls {@link ThreadMXBean#getThreadInfo(long[], int)} for all threads, which is expensive
+ * for applications with thousands of threads. Use {@link Builder#threadStateRefreshInterval(long, TimeUnit)}
+ * to compute the thread state counts in the background, so that scrapes read precomputed numbers.
  */
 public class JvmThreadsMetrics {
 
     private static final String UNKNOWN = "UNKNOWN";
+    private static final Thread.State[] THREAD_STATES = Thread.State.values();
     private static final String JVM_THREADS_STATE = "jvm_threads_state";
     private static final String JVM_THREADS_CURRENT = "jvm_threads_current";
     private static final String JVM_THREADS_DAEMON = "jvm_threads_daemon";
@@ -66,11 +70,13 @@ public class JvmThreadsMetrics {
     private final PrometheusProperties config;
     private final ThreadMXBean threadBean;
     private final boolean isNativeImage;
+    private final long threadStateRefreshIntervalNanos;
 
-    private JvmThreadsMetrics(boolean isNativeImage, ThreadMXBean threadBean, PrometheusProperties config) {
+    private JvmThreadsMetrics(boolean isNativeImage, ThreadMXBean threadBean, long threadStateRefreshIntervalNanos, PrometheusProperties config) {
         this.config = config;
         this.threadBean = threadBean;
         this.isNativeImage = isNativeImage;
+        this.threadStateRefreshIntervalNanos = threadStateRefreshIntervalNanos;
     }
 
     private void register(PrometheusRegistry registry) {
@@ -113,21 +119,36 @@ public class JvmThreadsMetrics {
                     .register(registry);
 
 
-            GaugeWithCallback.builder(config)
+            GaugeWithCallback threadsState = GaugeWithCallback.builder(config)
                     .name(JVM_THREADS_STATE)
                     .help("Current count of threads by state")
                     .labelNames("state")
                     .callback(callback -> {
-                        Map<String, Integer> threadStateCounts = getThreadStateCountMap(threadBean);
-                        for (Map.Entry<String, Integer> entry : threadStateCounts.entrySet()) {
-                            callback.call(entry.getValue(), entry.getKey());
+                        int[] threadStateCounts = new int[THREAD_STATES.length];
+                        int numberOfInvalidThreadIds = countThreadStates(threadBean, threadStateCounts);
+                        for (int i = 0; i < THREAD_STATES.length; i++) {
+                            callback.call(threadStateCounts[i], THREAD_STATES[i].name());
                         }
+                        callback.call(numberOfInvalidThreadIds, UNKNOWN);
                     })
-                    .register(registry);
+                    .build();
+            if (threadStateRefreshIntervalNanos > 0) {
+                registry.register(threadsState, CollectorOptions.builder()
+                        .minRefreshInterval(threadStateRefreshIntervalNanos, TimeUnit.NANOSECONDS)
+                        .backgroundRefresh(true)
+                        .build());
+            } else {
+                registry.register(threadsState);
+            }
         }
     }
 
-    private Map<String, Integer> getThreadStateCountMap(ThreadMXBean threadBean) {
+    /**
+     * Count the threads by {@link Thread.State}, using {@link Thread.State#ordinal()} as index into {@code counts}.
+     *
+     * @return the number of invalid thread ids, i.e. thread ids {@code <= 0}.
+     */
+    private int countThreadStates(ThreadMXBean threadBean, int[] counts) {
         long[] threadIds = threadBean.getAllThreadIds();
 
         // Code to remove any thread id values <= 0
@@ -139,29 +160,20 @@ public class JvmThreadsMetrics {
         }
 
         int numberOfInvalidThreadIds = threadIds.length - writePos;
-        threadIds = Arrays.copyOf(threadIds, writePos);
+        if (numberOfInvalidThreadIds > 0) {
+            threadIds = Arrays.copyOf(threadIds, writePos);
+        }
 
         // Get thread information without computing any stack traces
         ThreadInfo[] allThreads = threadBean.getThreadInfo(threadIds, 0);
 
-        // Initialize the map with all thread states
-        HashMap<String, Integer> threadCounts = new HashMap<String, Integer>();
-        for (Thread.State state : Thread.State.values()) {
-            threadCounts.put(state.name(), 0);
-        }
-
         // Collect the actual thread counts
         for (ThreadInfo curThread : allThreads) {
             if (curThread != null) {
-                Thread.State threadState = curThread.getThreadState();
-                threadCounts.put(threadState.name(), threadCounts.get(threadState.name()) + 1);
+                counts[curThread.getThreadState().ordinal()]++;
             }
         }
-
-        // Add the thread count for invalid thread ids
-        threadCounts.put(UNKNOWN, numberOfInvalidThreadIds);
-
-        return threadCounts;
+        return numberOfInvalidThreadIds;
     }
 
     private double nullSafeArrayLength(long[] array) {
@@ -181,11 +193,29 @@ public class JvmThreadsMetrics {
         private final PrometheusProperties config;
         private Boolean isNativeImage;
         private ThreadMXBean threadBean;
+        private long threadStateRefreshIntervalNanos = 0;
 
         private Builder(PrometheusProperties config) {
             this.config = config;
         }
 
+        /**
+         * Compute {@code jvm_threads_state} at most once per {@code interval} in the background.
+         * <p>
+         * By default, the thread states are counted on each scrape, which involves a VM operation
+         * for getting the {@link ThreadInfo} of all threads. With a refresh interval, scrapes read the
+         * counts from the last refresh and never wait for the thread states to be counted
+         * (except for the very first scrape). If the interval has expired, a refresh is started
+         * asynchronously, see {@link CollectorOptions.Builder#backgroundRefresh(boolean)}.
+         */
+        public Builder threadStateRefreshInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": threadStateRefreshInterval must be > 0");
+            }
+            this.threadStateRefreshIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
         /**
          * Package private. For testing only.
          */
@@ -209,7 +239,7 @@ public class JvmThreadsMetrics {
         public void register(PrometheusRegistry registry) {
             ThreadMXBean threadBean = this.threadBean != null ? this.threadBean : ManagementFactory.getThreadMXBean();
             boolean isNativeImage = this.isNativeImage != null ? this.isNativeImage : NativeImageChecker.isGraalVmNativeImage;
-            new JvmThreadsMetrics(isNativeImage, threadBean, config).register(registry);
+            new JvmThreadsMetrics(isNativeImage, threadBean, threadStateRefreshIntervalNanos, config).register(registry);
         }
     }
 }
@@ -3,18 +3,26 @@ package io.prometheus.metrics.instrumentation.jvm;
 import io.prometheus.metrics.config.PrometheusProperties;
 import io.prometheus.metrics.core.metrics.CounterWithCallback;
 import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import io.prometheus.metrics.model.snapshots.Unit;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Process metrics.
@@ -55,6 +63,31 @@ import java.lang.reflect.Method;
  * # TYPE process_virtual_memory_bytes gauge
  * process_virtual_memory_bytes 1.2683624448E10
  * </pre>
+ * On Linux, the following metrics are read from {@code /proc/self} in addition. They are not part of the
+ * standard process metrics, but help diagnosing latency issues:
+ * <pre>
+ * # HELP process_io_read_bytes_total Bytes the process caused to be fetched from the storage layer.
+ * # TYPE process_io_read_bytes_total counter
+ * process_io_read_bytes_total 1.1657216E7
+ * # HELP process_io_written_bytes_total Bytes the process caused to be sent to the storage layer.
+ * # TYPE process_io_written_bytes_total counter
+ * process_io_written_bytes_total 409600.0
+ * # HELP process_major_page_faults_total Number of major page faults, which required loading a page from disk.
+ * # TYPE process_major_page_faults_total counter
+ * process_major_page_faults_total 12.0
+ * # HELP process_minor_page_faults_total Number of minor page faults, which did not require loading a page from disk.
+ * # TYPE process_minor_page_faults_total counter
+ * process_minor_page_faults_total 31275.0
+ * </pre>
+ * If enabled with {@link Builder#threadSchedulerStats(boolean)}, the following metrics are exported as well:
+ * <pre>
+ * # HELP process_context_switches_total Number of times a thread of the process was switched onto a CPU.
+ * # TYPE process_context_switches_total counter
+ * process_context_switches_total 48213.0
+ * # HELP process_run_queue_wait_seconds_total Time threads of the process spent runnable, waiting in a run queue for a CPU.
+ * # TYPE process_run_queue_wait_seconds_total counter
+ * process_run_queue_wait_seconds_total 0.82
+ * </pre>
  */
 public class ProcessMetrics {
 
@@ -65,20 +98,29 @@ public class ProcessMetrics {
     private static final String PROCESS_VIRTUAL_MEMORY_BYTES = "process_virtual_memory_bytes";
     private static final String PROCESS_RESIDENT_MEMORY_BYTES = "process_resident_memory_bytes";
 
-    private static final File PROC_SELF_STATUS = new File("/proc/self/status");
+    private static final String PROCESS_MINOR_PAGE_FAULTS_TOTAL = "process_minor_page_faults_total";
+    private static final String PROCESS_MAJOR_PAGE_FAULTS_TOTAL = "process_major_page_faults_total";
+    private static final String PROCESS_IO_READ_BYTES_TOTAL = "process_io_read_bytes_total";
+    private static final String PROCESS_IO_WRITTEN_BYTES_TOTAL = "process_io_written_bytes_total";
+    private static final String PROCESS_CONTEXT_SWITCHES_TOTAL = "process_context_switches_total";
+    private static final String PROCESS_RUN_QUEUE_WAIT_SECONDS_TOTAL = "process_run_queue_wait_seconds_total";
+
+    private static final Path PROC_SELF = Paths.get("/proc/self");
 
     private final PrometheusProperties config;
     private final OperatingSystemMXBean osBean;
     private final RuntimeMXBean runtimeBean;
-    private final Grepper grepper;
-    private final boolean linux;
+    private final Path procSelf;
+    private final boolean procSelfStatus;
+    private final boolean threadSchedulerStats;
 
-    private ProcessMetrics(OperatingSystemMXBean osBean, RuntimeMXBean runtimeBean, Grepper grepper, PrometheusProperties config) {
+    private ProcessMetrics(OperatingSystemMXBean osBean, RuntimeMXBean runtimeBean, Path procSelf, boolean threadSchedulerStats, PrometheusProperties config) {
         this.osBean = osBean;
         this.runtimeBean = runtimeBean;
-        this.grepper = grepper;
+        this.procSelf = procSelf;
+        this.threadSchedulerStats = threadSchedulerStats;
         this.config = config;
-        this.linux = PROC_SELF_STATUS.canRead();
+        this.procSelfStatus = Files.isReadable(procSelf.resolve("status"));
     }
 
     private void register(PrometheusRegistry registry) {
@@ -136,33 +178,8 @@ public class ProcessMetrics {
                 })
                 .register(registry);
 
-        if (linux) {
-
-            GaugeWithCallback.builder(config)
-                    .name(PROCESS_VIRTUAL_MEMORY_BYTES)
-                    .help("Virtual memory size in bytes.")
-                    .unit(Unit.BYTES)
-                    .callback(callback -> {
-                        try {
-                            String line = grepper.lineStartingWith(PROC_SELF_STATUS, "VmSize:");
-                            callback.call(Unit.kiloBytesToBytes(Double.parseDouble(line.split("\\s+")[1])));
-                        } catch (Exception ignored) {
-                        }
-                    })
-                    .register(registry);
-
-            GaugeWithCallback.builder(config)
-                    .name(PROCESS_RESIDENT_MEMORY_BYTES)
-                    .help("Resident memory size in bytes.")
-                    .unit(Unit.BYTES)
-                    .callback(callback -> {
-                        try {
-                            String line = grepper.lineStartingWith(PROC_SELF_STATUS, "VmRSS:");
-                            callback.call(Unit.kiloBytesToBytes(Double.parseDouble(line.split("\\s+")[1])));
-                        } catch (Exception ignored) {
-                        }
-                    })
-                    .register(registry);
+        if (procSelfStatus) {
+            registry.register(new ProcSelfCollector(procSelf, threadSchedulerStats));
         }
     }
 
@@ -207,24 +224,191 @@ public class ProcessMetrics {
         return null;
     }
 
-    interface Grepper {
-        String lineStartingWith(File file, String prefix) throws IOException;
-    }
+    /**
+     * Reads {@code status}, {@code stat}, and {@code io} from {@code /proc/self} once per scrape, and, if
+     * {@code threadSchedulerStats} is enabled, {@code schedstat} of each thread in {@code /proc/self/task}. The files are parsed without regular expressions
+     * or intermediate Strings, see {@link PseudoFile}.
+     * <p>
+     * Context switches and run queue wait time are only available per thread ({@code /proc/self/schedstat} is for the
+     * main thread only, which is idle in most Java applications). The values of each thread from the previous scrape
+     * are kept in arrays sorted by thread id, and only the growth since the previous scrape is added to the totals,
+     * so that the counters don't decrease when threads terminate.
+     */
+    private static class ProcSelfCollector implements MultiCollector {
+
+        private final PseudoFile status;
+        private final PseudoFile stat;
+        private final PseudoFile io;
+        private final Path taskDir;
+        private final PseudoFile taskSchedstat; // re-used for reading the schedstat file of each thread
+        private final List<String> prometheusNames = new ArrayList<>();
 
-    private static class FileGrepper implements Grepper {
+        private long[] tids = new long[64];
+        private int tidCount = 0;
+        private long[] prevTids = new long[64];
+        private long[] prevRunDelay = new long[64];
+        private long[] prevTimeslices = new long[64];
+        private int prevCount = 0;
+        private long[] nextTids = new long[64];
+        private long[] nextRunDelay = new long[64];
+        private long[] nextTimeslices = new long[64];
+        private long runDelayNanos = 0;
+        private long timeslices = 0;
+
+        private ProcSelfCollector(Path procSelf, boolean threadSchedulerStats) {
+            status = PseudoFile.ifExists(procSelf.resolve("status"));
+            stat = PseudoFile.ifExists(procSelf.resolve("stat"));
+            io = PseudoFile.ifExists(procSelf.resolve("io"));
+            taskDir = procSelf.resolve("task");
+            if (threadSchedulerStats && Files.isReadable(procSelf.resolve("schedstat")) && Files.isDirectory(taskDir)) {
+                taskSchedstat = new PseudoFile(taskDir, false, 64);
+            } else {
+                taskSchedstat = null;
+            }
+            if (status != null) {
+                prometheusNames.add(PROCESS_VIRTUAL_MEMORY_BYTES);
+                prometheusNames.add(PROCESS_RESIDENT_MEMORY_BYTES);
+            }
+            if (stat != null) {
+                prometheusNames.add(withoutTotal(PROCESS_MINOR_PAGE_FAULTS_TOTAL));
+                prometheusNames.add(withoutTotal(PROCESS_MAJOR_PAGE_FAULTS_TOTAL));
+            }
+            if (io != null) {
+                prometheusNames.add(withoutTotal(PROCESS_IO_READ_BYTES_TOTAL));
+                prometheusNames.add(withoutTotal(PROCESS_IO_WRITTEN_BYTES_TOTAL));
+            }
+            if (taskSchedstat != null) {
+                prometheusNames.add(withoutTotal(PROCESS_CONTEXT_SWITCHES_TOTAL));
+                prometheusNames.add(withoutTotal(PROCESS_RUN_QUEUE_WAIT_SECONDS_TOTAL));
+            }
+        }
 
         @Override
-        public String lineStartingWith(File file, String prefix) throws IOException {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line = reader.readLine();
-                while (line != null) {
-                    if (line.startsWith(prefix)) {
-                        return line;
+        public synchronized MetricSnapshots collect() {
+            MetricSnapshots.Builder result = MetricSnapshots.builder();
+            if (status != null && status.read()) {
+                // VmSize:     6036 kB
+                addGauge(result, PROCESS_VIRTUAL_MEMORY_BYTES, "Virtual memory size in bytes.", status.value("VmSize:"));
+                addGauge(result, PROCESS_RESIDENT_MEMORY_BYTES, "Resident memory size in bytes.", status.value("VmRSS:"));
+            }
+            if (stat != null && stat.read()) {
+                // pid (comm) state ppid ..., the command may contain spaces and parentheses.
+                int pos = stat.lastIndexOf(')');
+                if (pos >= 0) {
+                    pos = stat.skipSpaces(pos + 1); // field 3: state
+                    for (int field = 3; field < 10; field++) {
+                        pos = stat.nextToken(pos);
                     }
-                    line = reader.readLine();
+                    long minorFaults = stat.parseLong(pos); // field 10: minflt
+                    pos = stat.nextToken(stat.nextToken(pos));
+                    long majorFaults = stat.parseLong(pos); // field 12: majflt
+                    addCounter(result, PROCESS_MINOR_PAGE_FAULTS_TOTAL, "Number of minor page faults, which did not require loading a page from disk.", null, minorFaults);
+                    addCounter(result, PROCESS_MAJOR_PAGE_FAULTS_TOTAL, "Number of major page faults, which required loading a page from disk.", null, majorFaults);
                 }
             }
-            return null;
+            if (io != null && io.read()) {
+                addCounter(result, PROCESS_IO_READ_BYTES_TOTAL, "Bytes the process caused to be fetched from the storage layer.", Unit.BYTES, io.value("read_bytes:"));
+                addCounter(result, PROCESS_IO_WRITTEN_BYTES_TOTAL, "Bytes the process caused to be sent to the storage layer.", Unit.BYTES, io.value("write_bytes:"));
+            }
+            if (taskSchedstat != null && sampleThreads()) {
+                addCounter(result, PROCESS_CONTEXT_SWITCHES_TOTAL, "Number of times a thread of the process was switched onto a CPU.", null, timeslices);
+                addCounter(result, PROCESS_RUN_QUEUE_WAIT_SECONDS_TOTAL, "Time threads of the process spent runnable, waiting in a run queue for a CPU.", Unit.SECONDS, Unit.nanosToSeconds(runDelayNanos));
+            }
+            return result.build();
+        }
+
+        private boolean sampleThreads() {
+            tidCount = 0;
+            try (DirectoryStream<Path> tasks = Files.newDirectoryStream(taskDir)) {
+                for (Path task : tasks) {
+                    if (tidCount == tids.length) {
+                        tids = Arrays.copyOf(tids, tids.length * 2);
+                    }
+                    tids[tidCount++] = Long.parseLong(task.getFileName().toString());
+                }
+            } catch (IOException | NumberFormatException e) {
+                return false;
+            }
+            Arrays.sort(tids, 0, tidCount);
+            if (nextTids.length < tidCount) {
+                nextTids = new long[tids.length];
+                nextRunDelay = new long[tids.length];
+                nextTimeslices = new long[tids.length];
+            }
+            int nextCount = 0;
+            int j = 0;
+            for (int i = 0; i < tidCount; i++) {
+                // <time on cpu in ns> <time waiting in the run queue in ns> <number of timeslices>
+                if (!taskSchedstat.read(taskDir.resolve(Long.toString(tids[i])).resolve("schedstat"))) {
+                    continue; // thread terminated
+                }
+                int pos = taskSchedstat.nextToken(0);
+                long runDelay = taskSchedstat.parseLong(pos);
+                long slices = taskSchedstat.parseLong(taskSchedstat.nextToken(pos));
+                if (runDelay < 0 || slices < 0) {
+                    continue;
+                }
+                while (j < prevCount && prevTids[j] < tids[i]) {
+                    j++;
+                }
+                if (j < prevCount && prevTids[j] == tids[i]) {
+                    runDelayNanos += Math.max(0, runDelay - prevRunDelay[j]);
+                    timeslices += Math.max(0, slices - prevTimeslices[j]);
+                } else {
+                    runDelayNanos += runDelay;
+                    timeslices += slices;
+                }
+                nextTids[nextCount] = tids[i];
+                nextRunDelay[nextCount] = runDelay;
+                nextTimeslices[nextCount] = slices;
+                nextCount++;
+            }
+            long[] tmp = prevTids;
+            prevTids = nextTids;
+            nextTids = tmp;
+            tmp = prevRunDelay;
+            prevRunDelay = nextRunDelay;
+            nextRunDelay = tmp;
+            tmp = prevTimeslices;
+            prevTimeslices = nextTimeslices;
+            nextTimeslices = tmp;
+            prevCount = nextCount;
+            return true;
+        }
+
+        @Override
+        public List<String> getPrometheusNames() {
+            return prometheusNames;
+        }
+
+        private static String withoutTotal(String name) {
+            return name.substring(0, name.length() - "_total".length());
+        }
+
+        private static void addGauge(MetricSnapshots.Builder result, String name, String help, long kiloBytes) {
+            if (kiloBytes >= 0) {
+                result.metricSnapshot(GaugeSnapshot.builder()
+                        .name(name)
+                        .help(help)
+                        .unit(Unit.BYTES)
+                        .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                                .value(Unit.kiloBytesToBytes(kiloBytes))
+                                .build())
+                        .build());
+            }
+        }
+
+        private static void addCounter(MetricSnapshots.Builder result, String name, String help, Unit unit, double value) {
+            if (value >= 0) {
+                result.metricSnapshot(CounterSnapshot.builder()
+                        .name(withoutTotal(name))
+                        .help(help)
+                        .unit(unit)
+                        .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                                .value(value)
+                                .build())
+                        .build());
+            }
         }
     }
 
@@ -241,7 +425,8 @@ public class ProcessMetrics {
         private final PrometheusProperties config;
         private OperatingSystemMXBean osBean;
         private RuntimeMXBean runtimeBean;
-        private Grepper grepper;
+        private Path procSelf;
+        private boolean threadSchedulerStats = false;
 
         private Builder(PrometheusProperties config) {
             this.config = config;
@@ -266,8 +451,20 @@ public class ProcessMetrics {
         /**
          * Package private. For testing only.
          */
-        Builder grepper(Grepper grepper) {
-            this.grepper = grepper;
+        Builder procSelf(Path procSelf) {
+            this.procSelf = procSelf;
+            return this;
+        }
+
+        /**
+         * Optional: Export {@code process_context_switches_total} and {@code process_run_queue_wait_seconds_total}
+         * on Linux. Default is {@code false}.
+         * <p>
+         * These are summed up over the {@code schedstat} files of all threads in {@code /proc/self/task}, so the cost
+         * of a scrape grows with the number of threads.
+         */
+        public Builder threadSchedulerStats(boolean threadSchedulerStats) {
+            this.threadSchedulerStats = threadSchedulerStats;
             return this;
         }
 
@@ -278,8 +475,8 @@ public class ProcessMetrics {
         public void register(PrometheusRegistry registry) {
             OperatingSystemMXBean osBean = this.osBean != null ? this.osBean : ManagementFactory.getOperatingSystemMXBean();
             RuntimeMXBean runtimeMXBean = this.runtimeBean != null ? this.runtimeBean : ManagementFactory.getRuntimeMXBean();
-            Grepper grepper = this.grepper != null ? this.grepper : new FileGrepper();
-            new ProcessMetrics(osBean, runtimeMXBean, grepper, config).register(registry);
+            Path procSelf = this.procSelf != null ? this.procSelf : PROC_SELF;
+            new ProcessMetrics(osBean, runtimeMXBean, procSelf, threadSchedulerStats, config).register(registry);
         }
     }
 }
@@ -0,0 +1,214 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file in {@code /proc} or {@code /sys} that is kept open and read with positional reads into a reusable buffer.
+ * The content of these files is generated by the kernel on each read from offset 0.
+ * <p>
+ * The parse methods operate on the raw ASCII bytes without creating Strings, and return -1 if a value is not found.
+ * Positions are byte offsets into the content of the last {@link #read()}.
+ * <p>
+ * Not thread safe.
+ */
+class PseudoFile {
+
+    private final Path path;
+    private final boolean keepOpen;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private int length;
+
+    /**
+     * @param keepOpen if {@code false}, the file is closed after each read, for files that may disappear,
+     *                 like files of a thread in {@code /proc/self/task}.
+     */
+    PseudoFile(Path path, boolean keepOpen, int initialBufferSize) {
+        this.path = path;
+        this.keepOpen = keepOpen;
+        this.buffer = ByteBuffer.allocate(initialBufferSize);
+    }
+
+    PseudoFile(Path path) {
+        this(path, true, 256);
+    }
+
+    static PseudoFile ifExists(Path path) {
+        return Files.isReadable(path) ? new PseudoFile(path) : null;
+    }
+
+    /**
+     * Read the current content of the file. Returns false if the file cannot be read.
+     */
+    boolean read() {
+        return read(path);
+    }
+
+    /**
+     * Read the content of {@code path} into the buffer of this file. This is used to read a series of
+     * similar files, like {@code /proc/self/task/<tid>/schedstat} for each thread, with a single buffer.
+     * Only valid if {@code keepOpen} is {@code false}.
+     */
+    boolean read(Path path) {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            buffer.clear();
+            while (channel.read(buffer, buffer.position()) >= 0) {
+                if (!buffer.hasRemaining()) {
+                    // The content is generated on read, so re-read from the start with a larger buffer.
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                }
+            }
+            length = buffer.position();
+            if (!keepOpen) {
+                close();
+            }
+            return true;
+        } catch (IOException e) {
+            close();
+            return false;
+        }
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * The file content is a single number, like {@code memory.current}.
+     */
+    long value() {
+        return parseLong(0);
+    }
+
+    /**
+     * The file has lines of the form {@code key value}, like {@code cpu.stat}, or {@code VmRSS:   1788 kB}
+     * like {@code /proc/self/status}. The key and value may be separated by spaces or tabs.
+     */
+    long value(String key) {
+        for (int line = 0; line < length; line = nextLine(line)) {
+            if (startsWith(line, key) && line + key.length() < length && isSpace(buffer.get(line + key.length()))) {
+                return parseLong(skipSpaces(line + key.length()));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the value of a {@code name=value} field in the line starting at {@code line}.
+     * The {@code name} parameter includes the trailing {@code =}.
+     */
+    long field(int line, String name) {
+        if (line < 0) {
+            return -1;
+        }
+        int end = nextLine(line);
+        for (int pos = line; pos < end; pos = nextToken(pos)) {
+            if (startsWith(pos, name)) {
+                return parseLong(pos + name.length());
+            }
+        }
+        return -1;
+    }
+
+    int findLine(String prefix) {
+        for (int line = 0; line < length; line = nextLine(line)) {
+            if (startsWith(line, prefix)) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    int lastIndexOf(char c) {
+        for (int pos = length - 1; pos >= 0; pos--) {
+            if (buffer.get(pos) == c) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    int nextLine(int pos) {
+        while (pos < length && buffer.get(pos) != '\n') {
+            pos++;
+        }
+        return pos + 1;
+    }
+
+    /**
+     * Position of the next space separated token on the same line.
+     */
+    int nextToken(int pos) {
+        return skipSpaces(endOfToken(pos));
+    }
+
+    int endOfToken(int pos) {
+        while (pos < length && !isSpace(buffer.get(pos)) && buffer.get(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    int skipSpaces(int pos) {
+        while (pos < length && isSpace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    boolean startsWith(int pos, String prefix) {
+        if (pos < 0 || pos + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(pos + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long parseLong(int pos) {
+        long result = 0;
+        int start = pos;
+        while (pos < length) {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (result > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            result = result * 10 + digit;
+            pos++;
+        }
+        return pos == start ? -1 : result;
+    }
+
+    String string(int from, int to) {
+        return new String(buffer.array(), from, to - from, StandardCharsets.US_ASCII);
+    }
+}
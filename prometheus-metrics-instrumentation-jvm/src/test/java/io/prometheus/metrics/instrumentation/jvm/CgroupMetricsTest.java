@@ -0,0 +1,169 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.prometheus.metrics.instrumentation.jvm.TestUtil.convertToOpenMetricsFormat;
+
+public class CgroupMetricsTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testCgroupV2() throws Exception {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        CgroupMetrics.builder()
+                .cgroupRoot(resource("cgroup/v2"))
+                .procSelfCgroup(resource("cgroup/proc-self-cgroup-v2"))
+                .register(registry);
+        MetricSnapshots snapshots = registry.scrape();
+
+        String expected = "" +
+                "# TYPE cgroup_cpu_periods counter\n" +
+                "# HELP cgroup_cpu_periods Number of CPU enforcement periods that have elapsed.\n" +
+                "cgroup_cpu_periods_total 3120.0\n" +
+                "# TYPE cgroup_cpu_throttled_periods counter\n" +
+                "# HELP cgroup_cpu_throttled_periods Number of CPU enforcement periods in which the cgroup was throttled.\n" +
+                "cgroup_cpu_throttled_periods_total 212.0\n" +
+                "# TYPE cgroup_cpu_throttled_seconds counter\n" +
+                "# UNIT cgroup_cpu_throttled_seconds seconds\n" +
+                "# HELP cgroup_cpu_throttled_seconds Total time the cgroup was throttled.\n" +
+                "cgroup_cpu_throttled_seconds_total 9.817\n" +
+                "# TYPE cgroup_io_read_bytes counter\n" +
+                "# UNIT cgroup_io_read_bytes bytes\n" +
+                "# HELP cgroup_io_read_bytes Bytes read from a given block device.\n" +
+                "cgroup_io_read_bytes_total{device=\"253:1\"} 4096.0\n" +
+                "cgroup_io_read_bytes_total{device=\"8:0\"} 1.1657216E7\n" +
+                "# TYPE cgroup_io_reads counter\n" +
+                "# HELP cgroup_io_reads Number of read operations on a given block device.\n" +
+                "cgroup_io_reads_total{device=\"253:1\"} 1.0\n" +
+                "cgroup_io_reads_total{device=\"8:0\"} 192.0\n" +
+                "# TYPE cgroup_io_writes counter\n" +
+                "# HELP cgroup_io_writes Number of write operations on a given block device.\n" +
+                "cgroup_io_writes_total{device=\"253:1\"} 0.0\n" +
+                "cgroup_io_writes_total{device=\"8:0\"} 353.0\n" +
+                "# TYPE cgroup_io_written_bytes counter\n" +
+                "# UNIT cgroup_io_written_bytes bytes\n" +
+                "# HELP cgroup_io_written_bytes Bytes written to a given block device.\n" +
+                "cgroup_io_written_bytes_total{device=\"253:1\"} 0.0\n" +
+                "cgroup_io_written_bytes_total{device=\"8:0\"} 3.14773504E8\n" +
+                "# TYPE cgroup_memory_limit_bytes gauge\n" +
+                "# UNIT cgroup_memory_limit_bytes bytes\n" +
+                "# HELP cgroup_memory_limit_bytes Memory limit of the cgroup. Not present if the memory is unlimited.\n" +
+                "cgroup_memory_limit_bytes 1.073741824E9\n" +
+                "# TYPE cgroup_memory_usage_bytes gauge\n" +
+                "# UNIT cgroup_memory_usage_bytes bytes\n" +
+                "# HELP cgroup_memory_usage_bytes Memory currently used by the cgroup, including page cache.\n" +
+                "cgroup_memory_usage_bytes 5.36870912E8\n" +
+                "# TYPE cgroup_pressure_cpu_stalled_seconds counter\n" +
+                "# UNIT cgroup_pressure_cpu_stalled_seconds seconds\n" +
+                "# HELP cgroup_pressure_cpu_stalled_seconds Total time in which all non-idle tasks in the cgroup were stalled on cpu.\n" +
+                "cgroup_pressure_cpu_stalled_seconds_total 8.1\n" +
+                "# TYPE cgroup_pressure_cpu_waiting_seconds counter\n" +
+                "# UNIT cgroup_pressure_cpu_waiting_seconds seconds\n" +
+                "# HELP cgroup_pressure_cpu_waiting_seconds Total time in which at least one task in the cgroup was waiting for cpu.\n" +
+                "cgroup_pressure_cpu_waiting_seconds_total 12.4\n" +
+                "# TYPE cgroup_pressure_memory_stalled_seconds counter\n" +
+                "# UNIT cgroup_pressure_memory_stalled_seconds seconds\n" +
+                "# HELP cgroup_pressure_memory_stalled_seconds Total time in which all non-idle tasks in the cgroup were stalled on memory.\n" +
+                "cgroup_pressure_memory_stalled_seconds_total 0.2\n" +
+                "# TYPE cgroup_pressure_memory_waiting_seconds counter\n" +
+                "# UNIT cgroup_pressure_memory_waiting_seconds seconds\n" +
+                "# HELP cgroup_pressure_memory_waiting_seconds Total time in which at least one task in the cgroup was waiting for memory.\n" +
+                "cgroup_pressure_memory_waiting_seconds_total 0.25\n" +
+                "# EOF\n";
+
+        Assert.assertEquals(expected, convertToOpenMetricsFormat(snapshots));
+    }
+
+    @Test
+    public void testCgroupV1() throws Exception {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        CgroupMetrics.builder()
+                .cgroupRoot(resource("cgroup/v1"))
+                .procSelfCgroup(resource("cgroup/proc-self-cgroup-v1"))
+                .register(registry);
+        MetricSnapshots snapshots = registry.scrape();
+
+        // The memory limit is "unlimited", so there is no cgroup_memory_limit_bytes.
+        String expected = "" +
+                "# TYPE cgroup_cpu_periods counter\n" +
+                "# HELP cgroup_cpu_periods Number of CPU enforcement periods that have elapsed.\n" +
+                "cgroup_cpu_periods_total 100.0\n" +
+                "# TYPE cgroup_cpu_throttled_periods counter\n" +
+                "# HELP cgroup_cpu_throttled_periods Number of CPU enforcement periods in which the cgroup was throttled.\n" +
+                "cgroup_cpu_throttled_periods_total 7.0\n" +
+                "# TYPE cgroup_cpu_throttled_seconds counter\n" +
+                "# UNIT cgroup_cpu_throttled_seconds seconds\n" +
+                "# HELP cgroup_cpu_throttled_seconds Total time the cgroup was throttled.\n" +
+                "cgroup_cpu_throttled_seconds_total 1.5\n" +
+                "# TYPE cgroup_io_read_bytes counter\n" +
+                "# UNIT cgroup_io_read_bytes bytes\n" +
+                "# HELP cgroup_io_read_bytes Bytes read from a given block device.\n" +
+                "cgroup_io_read_bytes_total{device=\"8:0\"} 1459200.0\n" +
+                "# TYPE cgroup_io_reads counter\n" +
+                "# HELP cgroup_io_reads Number of read operations on a given block device.\n" +
+                "cgroup_io_reads_total{device=\"8:0\"} 192.0\n" +
+                "# TYPE cgroup_io_writes counter\n" +
+                "# HELP cgroup_io_writes Number of write operations on a given block device.\n" +
+                "cgroup_io_writes_total{device=\"8:0\"} 353.0\n" +
+                "# TYPE cgroup_io_written_bytes counter\n" +
+                "# UNIT cgroup_io_written_bytes bytes\n" +
+                "# HELP cgroup_io_written_bytes Bytes written to a given block device.\n" +
+                "cgroup_io_written_bytes_total{device=\"8:0\"} 3.14773504E8\n" +
+                "# TYPE cgroup_memory_usage_bytes gauge\n" +
+                "# UNIT cgroup_memory_usage_bytes bytes\n" +
+                "# HELP cgroup_memory_usage_bytes Memory currently used by the cgroup, including page cache.\n" +
+                "cgroup_memory_usage_bytes 2.68435456E8\n" +
+                "# EOF\n";
+
+        Assert.assertEquals(expected, convertToOpenMetricsFormat(snapshots));
+    }
+
+    @Test
+    public void testFileIsReadAgainOnEachScrape() throws IOException {
+        Path root = tmp.getRoot().toPath();
+        Files.write(root.resolve("cgroup.controllers"), "cpu memory\n".getBytes(StandardCharsets.US_ASCII));
+        Path memoryCurrent = root.resolve("memory.current");
+        Files.write(memoryCurrent, "1024\n".getBytes(StandardCharsets.US_ASCII));
+        PrometheusRegistry registry = new PrometheusRegistry();
+        CgroupMetrics.builder()
+                .cgroupRoot(root)
+                .procSelfCgroup(root.resolve("does-not-exist"))
+                .register(registry);
+        Assert.assertTrue(convertToOpenMetricsFormat(registry.scrape()).contains("cgroup_memory_usage_bytes 1024.0\n"));
+        // longer than the initial buffer
+        StringBuilder content = new StringBuilder("2048");
+        for (int i = 0; i < 300; i++) {
+            content.append(' ');
+        }
+        Files.write(memoryCurrent, content.toString().getBytes(StandardCharsets.US_ASCII));
+        Assert.assertTrue(convertToOpenMetricsFormat(registry.scrape()).contains("cgroup_memory_usage_bytes 2048.0\n"));
+    }
+
+    @Test
+    public void testNoCgroup() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        CgroupMetrics.builder()
+                .cgroupRoot(tmp.getRoot().toPath())
+                .procSelfCgroup(tmp.getRoot().toPath().resolve("does-not-exist"))
+                .register(registry);
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+
+    private Path resource(String name) throws URISyntaxException {
+        return Paths.get(getClass().getClassLoader().getResource(name).toURI());
+    }
+}
@@ -0,0 +1,71 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.instrumentation.jvm.JvmGarbageCollectionDurationMetrics.GcDurationNotificationListener;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JvmGarbageCollectionDurationMetricsTest {
+
+    @Test
+    public void testListenerLogic() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        Histogram duration = Histogram.builder().name("test_duration").labelNames("gc", "action", "cause").nativeOnly().register(registry);
+        Counter reclaimed = Counter.builder().name("test_reclaimed").labelNames("pool").register(registry);
+        GcDurationNotificationListener listener = new GcDurationNotificationListener(duration, reclaimed);
+
+        listener.handleGc("G1 Young Generation", "end of minor GC", "G1 Evacuation Pause", 12);
+        listener.handleGc("G1 Young Generation", "end of minor GC", "G1 Evacuation Pause", 8);
+        listener.handleGc("G1 Old Generation", "end of major GC", "System.gc()", 150);
+
+        HistogramSnapshot.HistogramDataPointSnapshot young = getHistogram(registry.scrape(), Labels.of("gc", "G1 Young Generation", "action", "end of minor GC", "cause", "G1 Evacuation Pause"));
+        assertEquals(2, young.getCount());
+        assertEquals(0.020, young.getSum(), 0.000001);
+        HistogramSnapshot.HistogramDataPointSnapshot old = getHistogram(registry.scrape(), Labels.of("gc", "G1 Old Generation", "action", "end of major GC", "cause", "System.gc()"));
+        assertEquals(1, old.getCount());
+        assertEquals(0.150, old.getSum(), 0.000001);
+
+        // Only decreases are counted as reclaimed
+        listener.handleMemoryPool("G1 Eden Space", 1000, 0);
+        listener.handleMemoryPool("G1 Old Gen", 100, 300);
+        listener.handleMemoryPool("G1 Eden Space", 500, 100);
+        assertEquals(1400, getReclaimed(registry.scrape(), "G1 Eden Space"), 0.0);
+        assertEquals(0, getReclaimed(registry.scrape(), "G1 Old Gen"), 0.0);
+    }
+
+    private HistogramSnapshot.HistogramDataPointSnapshot getHistogram(MetricSnapshots snapshots, Labels labels) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot instanceof HistogramSnapshot) {
+                for (HistogramSnapshot.HistogramDataPointSnapshot data : ((HistogramSnapshot) snapshot).getDataPoints()) {
+                    if (data.getLabels().equals(labels)) {
+                        return data;
+                    }
+                }
+            }
+        }
+        Assert.fail(labels + " not found.");
+        return null;
+    }
+
+    private double getReclaimed(MetricSnapshots snapshots, String poolName) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot instanceof CounterSnapshot) {
+                for (CounterSnapshot.CounterDataPointSnapshot data : ((CounterSnapshot) snapshot).getDataPoints()) {
+                    if (data.getLabels().get("pool").equals(poolName)) {
+                        return data.getValue();
+                    }
+                }
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,67 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+public class JvmMetricsTest {
+
+    @Test
+    public void testLazyRegistersTheSameMetrics() {
+        PrometheusRegistry eager = new PrometheusRegistry();
+        JvmMetrics.builder().register(eager);
+        PrometheusRegistry lazy = new PrometheusRegistry();
+        JvmMetrics.builder().lazy(true).register(lazy);
+        Assert.assertEquals(names(eager.scrape()), names(lazy.scrape()));
+    }
+
+    @Test
+    public void testLazyRegistersOnFirstScrapeOnly() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmMetrics.builder().lazy(true).register(registry);
+        MetricSnapshots first = registry.scrape();
+        // A second registration would throw because of duplicate metric names.
+        MetricSnapshots second = registry.scrape();
+        Assert.assertEquals(names(first), names(second));
+    }
+
+    @Test
+    public void testLazyWithNameFilter() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmMetrics.builder().lazy(true).register(registry);
+        MetricSnapshots snapshots = registry.scrape(MetricNameFilter.builder()
+                .nameMustBeEqualTo("jvm_memory_used_bytes")
+                .build());
+        Assert.assertEquals(1, snapshots.size());
+        Assert.assertEquals("jvm_memory_used_bytes", snapshots.get(0).getMetadata().getPrometheusName());
+    }
+
+    @Test
+    public void testGcDurationMetricsAreOptIn() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmMetrics.builder().register(registry);
+        Set<String> names = names(registry.scrape());
+        Assert.assertFalse(names.contains("jvm_gc_duration_seconds"));
+        Assert.assertFalse(names.contains("jvm_gc_reclaimed_bytes"));
+
+        registry = new PrometheusRegistry();
+        JvmMetrics.builder().gcDurationMetrics(true).register(registry);
+        names = names(registry.scrape());
+        Assert.assertTrue(names.contains("jvm_gc_duration_seconds"));
+        Assert.assertTrue(names.contains("jvm_gc_reclaimed_bytes"));
+    }
+
+    private Set<String> names(MetricSnapshots snapshots) {
+        Set<String> result = new TreeSet<>();
+        for (MetricSnapshot snapshot : snapshots) {
+            result.add(snapshot.getMetadata().getPrometheusName());
+        }
+        return result;
+    }
+}
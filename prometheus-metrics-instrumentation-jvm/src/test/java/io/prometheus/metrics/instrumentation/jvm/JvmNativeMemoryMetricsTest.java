@@ -0,0 +1,128 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JvmNativeMemoryMetricsTest {
+
+    public interface DiagnosticCommandMBean {
+        String vmNativeMemory(String[] args);
+    }
+
+    public static class DiagnosticCommand implements DiagnosticCommandMBean {
+
+        private final String result;
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        public DiagnosticCommand(String result) {
+            this.result = result;
+        }
+
+        @Override
+        public String vmNativeMemory(String[] args) {
+            invocations.incrementAndGet();
+            Assert.assertArrayEquals(new String[]{"summary", "scale=KB"}, args);
+            return result;
+        }
+    }
+
+    @Test
+    public void testGoodCase() throws Exception {
+        DiagnosticCommand diagnosticCommand = new DiagnosticCommand(readSummary());
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmNativeMemoryMetrics.builder()
+                .mBeanServer(mBeanServer(diagnosticCommand))
+                .register(registry);
+
+        MetricSnapshots snapshots = registry.scrape();
+        Assert.assertEquals(20, getDataPoints(snapshots, "jvm_native_memory_reserved_bytes"));
+        Assert.assertEquals(20, getDataPoints(snapshots, "jvm_native_memory_committed_bytes"));
+        Assert.assertEquals(1540096 * 1024.0, getValue(snapshots, "jvm_native_memory_reserved_bytes", "Java Heap"), 0.0);
+        Assert.assertEquals(96256 * 1024.0, getValue(snapshots, "jvm_native_memory_committed_bytes", "Java Heap"), 0.0);
+        Assert.assertEquals(292 * 1024.0, getValue(snapshots, "jvm_native_memory_committed_bytes", "Native Memory Tracking"), 0.0);
+
+        // The result is cached for the refresh interval, one invocation at registration and one for the first scrape.
+        registry.scrape();
+        registry.scrape();
+        Assert.assertEquals(2, diagnosticCommand.invocations.get());
+    }
+
+    @Test
+    public void testNotEnabled() throws Exception {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmNativeMemoryMetrics.builder()
+                .mBeanServer(mBeanServer(new DiagnosticCommand("Native memory tracking is not enabled\n")))
+                .register(registry);
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+
+    @Test
+    public void testNoDiagnosticCommand() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmNativeMemoryMetrics.builder()
+                .mBeanServer(MBeanServerFactory.newMBeanServer())
+                .register(registry);
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+
+    @Test
+    public void testParseOtherScales() {
+        String summary = "" +
+                "-                 Java Heap (reserved=2GB, committed=96MB)\n" +
+                "                            (mmap: reserved=2GB, committed=96MB)\n" +
+                "-                     Other (reserved=10240, committed=10240B)\n";
+        Assert.assertEquals(2, JvmNativeMemoryMetrics.parse(summary).size());
+        Assert.assertEquals(2 * 1024 * 1024 * 1024.0, JvmNativeMemoryMetrics.parse(summary).get(0).reservedBytes, 0.0);
+        Assert.assertEquals(96 * 1024 * 1024.0, JvmNativeMemoryMetrics.parse(summary).get(0).committedBytes, 0.0);
+        Assert.assertEquals(10240.0, JvmNativeMemoryMetrics.parse(summary).get(1).reservedBytes, 0.0);
+        Assert.assertEquals(10240.0, JvmNativeMemoryMetrics.parse(summary).get(1).committedBytes, 0.0);
+    }
+
+    private MBeanServer mBeanServer(DiagnosticCommand diagnosticCommand) throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        mBeanServer.registerMBean(new StandardMBean(diagnosticCommand, DiagnosticCommandMBean.class), new ObjectName(JvmNativeMemoryMetrics.OBJECT_NAME));
+        return mBeanServer;
+    }
+
+    private String readSummary() throws IOException, URISyntaxException {
+        return new String(Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource("nmt/summary.txt").toURI())), StandardCharsets.UTF_8);
+    }
+
+    private int getDataPoints(MetricSnapshots snapshots, String name) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getMetadata().getPrometheusName().equals(name)) {
+                return snapshot.getDataPoints().size();
+            }
+        }
+        return 0;
+    }
+
+    private double getValue(MetricSnapshots snapshots, String name, String category) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getMetadata().getPrometheusName().equals(name)) {
+                for (GaugeSnapshot.GaugeDataPointSnapshot data : ((GaugeSnapshot) snapshot).getDataPoints()) {
+                    if (category.equals(data.getLabels().get("category"))) {
+                        return data.getValue();
+                    }
+                }
+            }
+        }
+        Assert.fail(name + "{category=\"" + category + "\"} not found.");
+        return 0.0;
+    }
+}
@@ -0,0 +1,127 @@
+package io.prometheus.metrics.instrumentation.jvm;
+
+import io.prometheus.metrics.instrumentation.jvm.JvmThreadAllocationMetrics.AllocationSampler;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+public class JvmThreadAllocationMetricsTest {
+
+    private final com.sun.management.ThreadMXBean mockThreadsBean = Mockito.mock(com.sun.management.ThreadMXBean.class);
+    private final Map<Long, String> threadNames = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        when(mockThreadsBean.isThreadAllocatedMemorySupported()).thenReturn(true);
+        when(mockThreadsBean.isThreadAllocatedMemoryEnabled()).thenReturn(true);
+        threadNames.put(1L, "main");
+        threadNames.put(2L, "pool-1-thread-1");
+        threadNames.put(3L, "pool-1-thread-2");
+        threadNames.put(4L, "worker-1");
+        when(mockThreadsBean.getThreadInfo(any(long[].class), anyInt())).thenAnswer(invocation -> {
+            long[] ids = invocation.getArgument(0);
+            ThreadInfo[] result = new ThreadInfo[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                String name = threadNames.get(ids[i]);
+                if (name != null) { // getThreadInfo() returns null for threads that terminated
+                    result[i] = Mockito.mock(ThreadInfo.class);
+                    when(result[i].getThreadName()).thenReturn(name);
+                }
+            }
+            return result;
+        });
+    }
+
+    @Test
+    public void testSampler() {
+        AllocationSampler sampler = new AllocationSampler(mockThreadsBean, 1);
+
+        when(mockThreadsBean.getAllThreadIds()).thenReturn(new long[]{2L, 1L});
+        when(mockThreadsBean.getThreadAllocatedBytes(new long[]{1L, 2L})).thenReturn(new long[]{100L, 200L});
+        sampler.sample(TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(300L, sampler.getAllocatedBytes());
+        Assert.assertEquals(0, sampler.getTopCount()); // no rate after the first sample
+
+        // thread 1 terminated, thread 3 and 4 started, thread 4 terminated before its bytes were read
+        when(mockThreadsBean.getAllThreadIds()).thenReturn(new long[]{4L, 3L, 2L});
+        when(mockThreadsBean.getThreadAllocatedBytes(new long[]{2L, 3L, 4L})).thenReturn(new long[]{1200L, 1000L, -1L});
+        sampler.sample(TimeUnit.SECONDS.toNanos(3));
+        Assert.assertEquals(2300L, sampler.getAllocatedBytes());
+        Assert.assertEquals(1, sampler.getTopCount());
+        Assert.assertEquals("pool-#-thread-#", sampler.getTopGroup(0));
+        Assert.assertEquals(1000.0, sampler.getTopRate(0), 0.0);
+
+        // worker-1 allocates most, pool threads go to "other"
+        when(mockThreadsBean.getAllThreadIds()).thenReturn(new long[]{2L, 3L, 4L});
+        when(mockThreadsBean.getThreadAllocatedBytes(new long[]{2L, 3L, 4L})).thenReturn(new long[]{1300L, 1100L, 5000L});
+        sampler.sample(TimeUnit.SECONDS.toNanos(4));
+        Assert.assertEquals(7500L, sampler.getAllocatedBytes());
+        Assert.assertEquals(2, sampler.getTopCount());
+        Assert.assertEquals("worker-#", sampler.getTopGroup(0));
+        Assert.assertEquals(5000.0, sampler.getTopRate(0), 0.0);
+        Assert.assertEquals("other", sampler.getTopGroup(1));
+        Assert.assertEquals(200.0, sampler.getTopRate(1), 0.0);
+    }
+
+    @Test
+    public void testOtherGroupIsNotDuplicated() {
+        threadNames.put(5L, "other");
+        // thread 6 has no ThreadInfo
+        long[] ids = new long[]{1L, 2L, 4L, 5L, 6L};
+        when(mockThreadsBean.getAllThreadIds()).thenReturn(ids);
+        when(mockThreadsBean.getThreadAllocatedBytes(ids)).thenReturn(new long[]{0L, 0L, 0L, 0L, 0L});
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmThreadAllocationMetrics.builder()
+                .threadBean(mockThreadsBean)
+                .topThreadGroups(2)
+                .register(registry);
+        registry.scrape();
+
+        // "other" and the thread without ThreadInfo allocate the most, but they are not ranked as a group of their own.
+        when(mockThreadsBean.getThreadAllocatedBytes(ids)).thenReturn(new long[]{300L, 200L, 100L, 5000L, 4000L});
+        GaugeSnapshot snapshot = (GaugeSnapshot) registry.scrape(name -> name.equals("jvm_thread_group_allocated_bytes_per_second")).get(0);
+        Map<String, Double> rates = new HashMap<>();
+        for (GaugeSnapshot.GaugeDataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            rates.put(dataPoint.getLabels().get("thread_group"), dataPoint.getValue());
+        }
+        Assert.assertEquals(3, rates.size());
+        Assert.assertTrue(rates.containsKey("main"));
+        Assert.assertTrue(rates.containsKey("pool-#-thread-#"));
+        Assert.assertTrue(rates.get("other") > rates.get("main"));
+    }
+
+    @Test
+    public void testRegister() {
+        when(mockThreadsBean.getAllThreadIds()).thenReturn(new long[]{1L});
+        when(mockThreadsBean.getThreadAllocatedBytes(new long[]{1L})).thenReturn(new long[]{4096L});
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmThreadAllocationMetrics.builder()
+                .threadBean(mockThreadsBean)
+                .register(registry);
+        CounterSnapshot snapshot = (CounterSnapshot) registry.scrape(name -> name.equals("jvm_allocated_bytes")).get(0);
+        Assert.assertEquals(4096.0, snapshot.getDataPoints().get(0).getValue(), 0.0);
+    }
+
+    @Test
+    public void testNotSupported() {
+        when(mockThreadsBean.isThreadAllocatedMemorySupported()).thenReturn(false);
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmThreadAllocationMetrics.builder()
+                .threadBean(mockThreadsBean)
+                .register(registry);
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+}
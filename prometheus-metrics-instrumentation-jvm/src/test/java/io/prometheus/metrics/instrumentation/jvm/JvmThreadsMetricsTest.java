@@ -16,6 +16,7 @@ import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static io.prometheus.metrics.instrumentation.jvm.TestUtil.convertToOpenMetricsFormat;
 import static org.mockito.Mockito.times;
@@ -105,6 +106,28 @@ public class JvmThreadsMetricsTest {
         verify(mockThreadsBean, times(1)).getThreadCount();
     }
 
+    @Test
+    public void testThreadStateRefreshInterval() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        JvmThreadsMetrics.builder()
+                .threadBean(mockThreadsBean)
+                .isNativeImage(false)
+                .threadStateRefreshInterval(1, TimeUnit.HOURS)
+                .register(registry);
+        MetricNameFilter filter = MetricNameFilter.builder()
+                .nameMustBeEqualTo("jvm_threads_state")
+                .build();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Double> counts = getCountByState(registry.scrape(filter));
+            Assert.assertEquals(1.0, counts.get("BLOCKED"), 0.0);
+            Assert.assertEquals(2.0, counts.get("RUNNABLE"), 0.0);
+            Assert.assertEquals(0.0, counts.get("WAITING"), 0.0);
+            Assert.assertEquals(0.0, counts.get("UNKNOWN"), 0.0);
+        }
+        // Only the first scrape counted the thread states, the others got the cached counts.
+        verify(mockThreadsBean, times(1)).getThreadInfo(new long[]{3L, 4L, 5L}, 0);
+    }
+
     @Test
     public void testInvalidThreadIds() {
         try {
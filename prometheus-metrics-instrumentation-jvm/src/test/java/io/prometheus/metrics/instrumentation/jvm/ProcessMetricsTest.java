@@ -5,17 +5,19 @@ import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
-import java.io.File;
 import java.io.IOException;
 import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 import static io.prometheus.metrics.instrumentation.jvm.TestUtil.convertToOpenMetricsFormat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,8 +26,11 @@ public class ProcessMetricsTest {
 
     private com.sun.management.UnixOperatingSystemMXBean sunOsBean = Mockito.mock(com.sun.management.UnixOperatingSystemMXBean.class);
     private java.lang.management.OperatingSystemMXBean javaOsBean = Mockito.mock(java.lang.management.OperatingSystemMXBean.class);
-    private ProcessMetrics.Grepper linuxGrepper = Mockito.mock(ProcessMetrics.Grepper.class);
-    private ProcessMetrics.Grepper windowsGrepper = Mockito.mock(ProcessMetrics.Grepper.class);
+    private Path linuxProcSelf;
+    private Path windowsProcSelf;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
     private RuntimeMXBean runtimeBean = Mockito.mock(RuntimeMXBean.class);
 
     @Before
@@ -34,8 +39,29 @@ public class ProcessMetricsTest {
         when(sunOsBean.getOpenFileDescriptorCount()).thenReturn(127L);
         when(sunOsBean.getMaxFileDescriptorCount()).thenReturn(244L);
         when(runtimeBean.getStartTime()).thenReturn(37100L);
-        when(linuxGrepper.lineStartingWith(any(File.class), eq("VmSize:"))).thenReturn("VmSize:     6036 kB");
-        when(linuxGrepper.lineStartingWith(any(File.class), eq("VmRSS:"))).thenReturn("VmRSS:      1012 kB");
+        linuxProcSelf = tmp.newFolder("self").toPath();
+        windowsProcSelf = linuxProcSelf.resolve("does-not-exist");
+        write(linuxProcSelf.resolve("status"), "" +
+                "Name:\tjava\n" +
+                "VmPeak:\t    6100 kB\n" +
+                "VmSize:\t    6036 kB\n" +
+                "VmRSS:\t    1012 kB\n" +
+                "voluntary_ctxt_switches:\t2\n");
+        // the command name may contain spaces and parentheses
+        write(linuxProcSelf.resolve("stat"), "" +
+                "4711 (my (java) app) S 1 4711 4711 0 -1 4194560 31275 0 12 0 163 22 0 0 20 0 37 0 509371 6180864 253 " +
+                "18446744073709551615 1 1 0 0 0 0 0 4096 1260 0 0 0 17 3 0 0 0 0 0\n");
+        write(linuxProcSelf.resolve("io"), "" +
+                "rchar: 3980\n" +
+                "wchar: 512\n" +
+                "syscr: 9\n" +
+                "syscw: 1\n" +
+                "read_bytes: 11657216\n" +
+                "write_bytes: 409600\n" +
+                "cancelled_write_bytes: 0\n");
+        write(linuxProcSelf.resolve("schedstat"), "464325 67850 2\n");
+        writeSchedstat(4711, "464325 67850 2\n");
+        writeSchedstat(4712, "98000000 820000000 48211\n");
     }
 
     @Test
@@ -44,18 +70,36 @@ public class ProcessMetricsTest {
         ProcessMetrics.builder()
                         .osBean(sunOsBean)
                                 .runtimeBean(runtimeBean)
-                .grepper(linuxGrepper)
+                .procSelf(linuxProcSelf)
+                .threadSchedulerStats(true)
                 .register(registry);
         MetricSnapshots snapshots = registry.scrape();
 
         String expected = "" +
+                "# TYPE process_context_switches counter\n" +
+                "# HELP process_context_switches Number of times a thread of the process was switched onto a CPU.\n" +
+                "process_context_switches_total 48213.0\n" +
                 "# TYPE process_cpu_seconds counter\n" +
                 "# UNIT process_cpu_seconds seconds\n" +
                 "# HELP process_cpu_seconds Total user and system CPU time spent in seconds.\n" +
                 "process_cpu_seconds_total 0.072\n" +
+                "# TYPE process_io_read_bytes counter\n" +
+                "# UNIT process_io_read_bytes bytes\n" +
+                "# HELP process_io_read_bytes Bytes the process caused to be fetched from the storage layer.\n" +
+                "process_io_read_bytes_total 1.1657216E7\n" +
+                "# TYPE process_io_written_bytes counter\n" +
+                "# UNIT process_io_written_bytes bytes\n" +
+                "# HELP process_io_written_bytes Bytes the process caused to be sent to the storage layer.\n" +
+                "process_io_written_bytes_total 409600.0\n" +
+                "# TYPE process_major_page_faults counter\n" +
+                "# HELP process_major_page_faults Number of major page faults, which required loading a page from disk.\n" +
+                "process_major_page_faults_total 12.0\n" +
                 "# TYPE process_max_fds gauge\n" +
                 "# HELP process_max_fds Maximum number of open file descriptors.\n" +
                 "process_max_fds 244.0\n" +
+                "# TYPE process_minor_page_faults counter\n" +
+                "# HELP process_minor_page_faults Number of minor page faults, which did not require loading a page from disk.\n" +
+                "process_minor_page_faults_total 31275.0\n" +
                 "# TYPE process_open_fds gauge\n" +
                 "# HELP process_open_fds Number of open file descriptors.\n" +
                 "process_open_fds 127.0\n" +
@@ -63,6 +107,10 @@ public class ProcessMetricsTest {
                 "# UNIT process_resident_memory_bytes bytes\n" +
                 "# HELP process_resident_memory_bytes Resident memory size in bytes.\n" +
                 "process_resident_memory_bytes 1036288.0\n" +
+                "# TYPE process_run_queue_wait_seconds counter\n" +
+                "# UNIT process_run_queue_wait_seconds seconds\n" +
+                "# HELP process_run_queue_wait_seconds Time threads of the process spent runnable, waiting in a run queue for a CPU.\n" +
+                "process_run_queue_wait_seconds_total 0.82006785\n" +
                 "# TYPE process_start_time_seconds gauge\n" +
                 "# UNIT process_start_time_seconds seconds\n" +
                 "# HELP process_start_time_seconds Start time of the process since unix epoch in seconds.\n" +
@@ -82,7 +130,7 @@ public class ProcessMetricsTest {
         ProcessMetrics.builder()
                 .osBean(javaOsBean)
                 .runtimeBean(runtimeBean)
-                .grepper(windowsGrepper)
+                .procSelf(windowsProcSelf)
                 .register(registry);
         MetricSnapshots snapshots = registry.scrape();
 
@@ -106,11 +154,54 @@ public class ProcessMetricsTest {
         ProcessMetrics.builder()
                 .osBean(sunOsBean)
                 .runtimeBean(runtimeBean)
-                .grepper(linuxGrepper)
+                .procSelf(linuxProcSelf)
                 .register(registry);
         registry.scrape(filter);
 
         verify(sunOsBean, times(0)).getMaxFileDescriptorCount();
         verify(sunOsBean, times(1)).getOpenFileDescriptorCount();
     }
+
+    @Test
+    public void testTerminatedThreadsDoNotDecreaseCounters() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        ProcessMetrics.builder()
+                .osBean(javaOsBean)
+                .runtimeBean(runtimeBean)
+                .procSelf(linuxProcSelf)
+                .threadSchedulerStats(true)
+                .register(registry);
+        Assert.assertTrue(convertToOpenMetricsFormat(registry.scrape()).contains("process_context_switches_total 48213.0\n"));
+
+        // thread 4712 terminated, thread 4713 started
+        Files.delete(linuxProcSelf.resolve("task/4712/schedstat"));
+        Files.delete(linuxProcSelf.resolve("task/4712"));
+        writeSchedstat(4711, "464325 67850 10\n");
+        writeSchedstat(4713, "1000 0 5\n");
+        Assert.assertTrue(convertToOpenMetricsFormat(registry.scrape()).contains("process_context_switches_total 48226.0\n"));
+    }
+
+    @Test
+    public void testThreadSchedulerStatsDisabledByDefault() throws IOException {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        ProcessMetrics.builder()
+                .osBean(javaOsBean)
+                .runtimeBean(runtimeBean)
+                .procSelf(linuxProcSelf)
+                .register(registry);
+        String result = convertToOpenMetricsFormat(registry.scrape());
+        Assert.assertTrue(result.contains("process_minor_page_faults_total 31275.0\n"));
+        Assert.assertFalse(result.contains("process_context_switches"));
+        Assert.assertFalse(result.contains("process_run_queue_wait_seconds"));
+    }
+
+    private void writeSchedstat(long tid, String content) throws IOException {
+        Path dir = linuxProcSelf.resolve("task").resolve(Long.toString(tid));
+        Files.createDirectories(dir);
+        write(dir.resolve("schedstat"), content);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    }
 }
@@ -50,4 +50,14 @@ public interface Collector {
     default String getPrometheusName() {
         return null;
     }
+
+    /**
+     * Number of series and estimated memory footprint, see {@link PrometheusRegistry#cardinality()}.
+     * <p>
+     * Returning {@code null} means the registry calls {@link #collect()} and counts the series in the snapshot.
+     * Override this if the numbers can be computed without collecting.
+     */
+    default MetricCardinality getCardinality() {
+        return null;
+    }
 }
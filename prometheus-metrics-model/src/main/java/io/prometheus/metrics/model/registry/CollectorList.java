@@ -0,0 +1,76 @@
+package io.prometheus.metrics.model.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registered collectors in registration order.
+ * <p>
+ * Unlike {@link java.util.concurrent.CopyOnWriteArrayList}, {@link #add(Object)} and {@link #remove(Object)}
+ * don't copy the entire list, so registering and unregistering many collectors takes linear rather than quadratic time.
+ * The cost of copying is moved to {@link #snapshot()}, which creates a copy at most once after each modification.
+ * <p>
+ * The same collector may be added multiple times. It will be included in the snapshot as often as it was added.
+ */
+class CollectorList<T> implements Iterable<T> {
+
+    // Value is the number of times the collector was added.
+    private final Map<T, Integer> collectors = new LinkedHashMap<>();
+    private volatile List<T> snapshot = Collections.emptyList();
+
+    void add(T collector) {
+        synchronized (collectors) {
+            collectors.merge(collector, 1, Integer::sum);
+            snapshot = null;
+        }
+    }
+
+    boolean remove(T collector) {
+        synchronized (collectors) {
+            Integer count = collectors.get(collector);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                collectors.remove(collector);
+            } else {
+                collectors.put(collector, count - 1);
+            }
+            snapshot = null;
+            return true;
+        }
+    }
+
+    /**
+     * Immutable view of the current collectors in registration order.
+     * Concurrent modifications are not reflected in the returned list.
+     */
+    List<T> snapshot() {
+        List<T> result = snapshot;
+        if (result == null) {
+            synchronized (collectors) {
+                result = snapshot;
+                if (result == null) {
+                    List<T> copy = new ArrayList<>(collectors.size());
+                    for (Map.Entry<T, Integer> entry : collectors.entrySet()) {
+                        for (int i = 0; i < entry.getValue(); i++) {
+                            copy.add(entry.getKey());
+                        }
+                    }
+                    result = Collections.unmodifiableList(copy);
+                    snapshot = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return snapshot().iterator();
+    }
+}
@@ -0,0 +1,169 @@
+package io.prometheus.metrics.model.registry;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options for collectors registered with {@link PrometheusRegistry#register(Collector, CollectorOptions)}
+ * or {@link PrometheusRegistry#register(MultiCollector, CollectorOptions)}.
+ * <p>
+ * Example: Make sure a collector that calls a remote service does not block the scrape for more than 2 seconds:
+ * <pre>{@code
+ * registry.register(remotePoolCollector, CollectorOptions.builder()
+ *     .timeout(2, TimeUnit.SECONDS)
+ *     .build());
+ * }</pre>
+ * Example: Call an expensive collector at most once every 30 seconds, no matter how often the registry is scraped:
+ * <pre>{@code
+ * registry.register(threadsCollector, CollectorOptions.builder()
+ *     .minRefreshInterval(30, TimeUnit.SECONDS)
+ *     .build());
+ * }</pre>
+ */
+public class CollectorOptions {
+
+    private final String name;
+    private final long timeoutNanos;
+    private final long minRefreshIntervalNanos;
+    private final boolean backgroundRefresh;
+    private final Executor executor;
+
+    private CollectorOptions(String name, long timeoutNanos, long minRefreshIntervalNanos, boolean backgroundRefresh, Executor executor) {
+        this.name = name;
+        this.timeoutNanos = timeoutNanos;
+        this.minRefreshIntervalNanos = minRefreshIntervalNanos;
+        this.backgroundRefresh = backgroundRefresh;
+        this.executor = executor;
+    }
+
+    /**
+     * Name of the collector in the {@code collector} label of the registry's own metrics,
+     * like {@code prometheus_collector_timeouts_total}.
+     * May be {@code null}, see {@link Builder#name(String)} for the default.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Collection deadline in nanoseconds, {@code 0} means no deadline.
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * Minimum time between two calls to the collector in nanoseconds, {@code 0} means the collector is called on every scrape.
+     */
+    public long getMinRefreshIntervalNanos() {
+        return minRefreshIntervalNanos;
+    }
+
+    /**
+     * If {@code true}, expired snapshots are refreshed asynchronously and the scrape does not wait for the refresh.
+     */
+    public boolean isBackgroundRefresh() {
+        return backgroundRefresh;
+    }
+
+    /**
+     * Executor for collecting asynchronously. May be {@code null}, in which case the registry's
+     * default executor is used.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private String name;
+        private long timeoutNanos = 0;
+        private long minRefreshIntervalNanos = 0;
+        private boolean backgroundRefresh = false;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Name of the collector in the {@code collector} label of the registry's own metrics.
+         * <p>
+         * Default is the Prometheus name of the collector, or the first name for a {@link MultiCollector},
+         * or the class name if the collector doesn't provide a name.
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Collect asynchronously and stop waiting for the collector after {@code timeout}.
+         * <p>
+         * If the collector does not return in time, the scrape does not wait any longer and
+         * uses the last successfully collected snapshot instead. The snapshot is marked as stale
+         * with {@code prometheus_collector_stale{collector="..."} 1}, and
+         * {@code prometheus_collector_timeouts_total{collector="..."}} is incremented.
+         * If there is no previous snapshot, the collector's metrics are omitted.
+         * <p>
+         * While a collection is still in progress the collector will not be called again.
+         * The deadline is measured from the start of the collection, so subsequent scrapes
+         * return the stale snapshot immediately until the collection in progress has finished.
+         */
+        public Builder timeout(long timeout, TimeUnit unit) {
+            if (timeout <= 0) {
+                throw new IllegalArgumentException(timeout + ": timeout must be > 0");
+            }
+            this.timeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Cache the collector's snapshot and call the collector at most once per {@code interval}.
+         * <p>
+         * Scrapes within the interval get the cached snapshot. This bounds the CPU spent on expensive collectors
+         * no matter how many scrapers there are and how often they scrape.
+         * Concurrent scrapes after the interval has expired trigger a single call to the collector.
+         */
+        public Builder minRefreshInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException(interval + ": minRefreshInterval must be > 0");
+            }
+            this.minRefreshIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Only relevant in combination with {@link #minRefreshInterval(long, TimeUnit)}.
+         * <p>
+         * If {@code true}, a scrape after the refresh interval has expired gets the cached snapshot immediately,
+         * and the collector is called asynchronously to refresh the cache for subsequent scrapes.
+         * Only the very first scrape waits for the collector.
+         * Default is {@code false}, i.e. the scrape waits for the refresh.
+         */
+        public Builder backgroundRefresh(boolean backgroundRefresh) {
+            this.backgroundRefresh = backgroundRefresh;
+            return this;
+        }
+
+        /**
+         * Executor for collecting asynchronously, see {@link #timeout(long, TimeUnit)} and {@link #backgroundRefresh(boolean)}.
+         * <p>
+         * Default is a pool of daemon threads shared by all collectors of the registry.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public CollectorOptions build() {
+            if (backgroundRefresh && minRefreshIntervalNanos == 0) {
+                throw new IllegalArgumentException("backgroundRefresh requires a minRefreshInterval");
+            }
+            return new CollectorOptions(name, timeoutNanos, minRefreshIntervalNanos, backgroundRefresh, executor);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.prometheus.metrics.model.registry;
+
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * State of a collector registered with {@link CollectorOptions}.
+ */
+class CollectorState {
+
+    private static final MetricSnapshots EMPTY = new MetricSnapshots();
+
+    private final String name;
+    private final Supplier<MetricSnapshots> collectFunction;
+    private final long timeoutNanos;
+    private final long minRefreshIntervalNanos;
+    private final boolean backgroundRefresh;
+    private final Executor executor;
+    private final LongSupplier nanoTime;
+    private final AtomicLong timeouts = new AtomicLong();
+    private final Object refreshLock = new Object();
+    private volatile CachedResult lastResult;
+    private volatile boolean stale;
+    private InFlightCollection inFlight; // guarded by this
+    private InFlightCollection started; // guarded by this, started by startCollection() for the next collect()
+
+    CollectorState(String name, Supplier<MetricSnapshots> collectFunction, CollectorOptions options, Executor executor, LongSupplier nanoTime) {
+        this.name = name;
+        this.collectFunction = collectFunction;
+        this.timeoutNanos = options.getTimeoutNanos();
+        this.minRefreshIntervalNanos = options.getMinRefreshIntervalNanos();
+        this.backgroundRefresh = options.isBackgroundRefresh();
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean hasTimeout() {
+        return timeoutNanos > 0;
+    }
+
+    long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * {@code true} if the last call to {@link #collect()} returned a previous result because of a timeout.
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Start collecting asynchronously, so that multiple collectors with deadlines can run in parallel.
+     * No-op if the collector has no deadline or if the cached result is still fresh.
+     */
+    void startCollection() {
+        if (hasTimeout() && !isFresh(lastResult)) {
+            synchronized (this) {
+                started = getOrStartCollection();
+            }
+        }
+    }
+
+    MetricSnapshots collect() {
+        CachedResult cached = lastResult;
+        if (isFresh(cached)) {
+            return cached.snapshots;
+        }
+        if (backgroundRefresh && cached != null) {
+            getOrStartCollection();
+            return cached.snapshots;
+        }
+        if (hasTimeout()) {
+            return collectWithTimeout();
+        }
+        if (minRefreshIntervalNanos > 0) {
+            // Concurrent scrapes wait for a single refresh rather than all calling the collector.
+            synchronized (refreshLock) {
+                cached = lastResult;
+                if (isFresh(cached)) {
+                    return cached.snapshots;
+                }
+                MetricSnapshots result = collectFunction.get();
+                lastResult = new CachedResult(result, nanoTime.getAsLong());
+                return result;
+            }
+        }
+        return collectFunction.get();
+    }
+
+    private boolean isFresh(CachedResult cached) {
+        return minRefreshIntervalNanos > 0 && cached != null && nanoTime.getAsLong() - cached.collectedAtNanos < minRefreshIntervalNanos;
+    }
+
+    private MetricSnapshots collectWithTimeout() {
+        InFlightCollection collection;
+        synchronized (this) {
+            // The collection started by startCollection() may already be completed. Use its result rather than
+            // collecting again, unless it is older than the deadline, i.e. it was not started for this scrape.
+            collection = started;
+            started = null;
+            if (collection == null || nanoTime.getAsLong() - collection.startNanos > timeoutNanos) {
+                collection = getOrStartCollection();
+            }
+        }
+        try {
+            // The deadline starts when the collection starts. If the collection was started by a previous scrape
+            // and is still running, we don't wait at all.
+            long remainingNanos = timeoutNanos - (nanoTime.getAsLong() - collection.startNanos);
+            MetricSnapshots result = collection.future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            // The whenComplete() callback may not have run yet, so cache the result here as well.
+            // Otherwise, a scrape right after this one would find no fresh result and collect again.
+            CachedResult cached = lastResult;
+            if (cached == null || cached.snapshots != result) {
+                lastResult = new CachedResult(result, nanoTime.getAsLong());
+            }
+            stale = false;
+            return result;
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            return staleResult();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return staleResult();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(name + ": collect() failed", cause);
+        }
+    }
+
+    private MetricSnapshots staleResult() {
+        stale = true;
+        CachedResult result = lastResult;
+        return result != null ? result.snapshots : EMPTY;
+    }
+
+    /**
+     * Start a new collection unless there is one in progress.
+     * This makes sure a blocked collector only occupies a single thread, no matter how many scrapes time out.
+     */
+    private synchronized InFlightCollection getOrStartCollection() {
+        InFlightCollection collection = inFlight;
+        if (collection == null) {
+            collection = new InFlightCollection(nanoTime.getAsLong(), CompletableFuture.supplyAsync(collectFunction, executor));
+            inFlight = collection;
+            InFlightCollection started = collection;
+            collection.future.whenComplete((result, exception) -> {
+                if (result != null) {
+                    // A late result is still fresher than the previous one, so use it for the next timeout.
+                    lastResult = new CachedResult(result, nanoTime.getAsLong());
+                }
+                synchronized (this) {
+                    if (inFlight == started) {
+                        inFlight = null;
+                    }
+                }
+            });
+        }
+        // Don't return inFlight, as it is already null if the collection completed synchronously.
+        return collection;
+    }
+
+    private static class CachedResult {
+
+        private final MetricSnapshots snapshots;
+        private final long collectedAtNanos;
+
+        private CachedResult(MetricSnapshots snapshots, long collectedAtNanos) {
+            this.snapshots = snapshots;
+            this.collectedAtNanos = collectedAtNanos;
+        }
+    }
+
+    private static class InFlightCollection {
+
+        private final long startNanos;
+        private final CompletableFuture<MetricSnapshots> future;
+
+        private InFlightCollection(long startNanos, CompletableFuture<MetricSnapshots> future) {
+            this.startNanos = startNanos;
+            this.future = future;
+        }
+    }
+}
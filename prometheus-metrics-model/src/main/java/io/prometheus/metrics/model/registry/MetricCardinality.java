@@ -0,0 +1,91 @@
+package io.prometheus.metrics.model.registry;
+
+import io.prometheus.metrics.model.snapshots.DataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Number of series and estimated memory footprint of a metric, see {@link PrometheusRegistry#cardinality()}.
+ */
+public class MetricCardinality {
+
+    private final String name;
+    private final int seriesCount;
+    private final Map<String, Integer> distinctLabelValues;
+    private final long estimatedBytes;
+
+    /**
+     * @param name                Prometheus name of the metric, like {@code http_requests} for {@code http_requests_total}.
+     * @param seriesCount         number of data points.
+     * @param distinctLabelValues number of distinct values for each label name.
+     * @param estimatedBytes      estimated heap retained by the metric's data points, or {@code -1} if unknown.
+     */
+    public MetricCardinality(String name, int seriesCount, Map<String, Integer> distinctLabelValues, long estimatedBytes) {
+        this.name = name;
+        this.seriesCount = seriesCount;
+        this.distinctLabelValues = sortByValueDescending(distinctLabelValues);
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Count series and label values of a collected snapshot. The memory footprint is unknown.
+     */
+    static MetricCardinality of(MetricSnapshot snapshot) {
+        Map<String, Set<String>> labelValues = new HashMap<>();
+        for (DataPointSnapshot dataPoint : snapshot.getDataPoints()) {
+            Labels labels = dataPoint.getLabels();
+            for (int i = 0; i < labels.size(); i++) {
+                labelValues.computeIfAbsent(labels.getName(i), n -> new HashSet<>()).add(labels.getValue(i));
+            }
+        }
+        Map<String, Integer> distinctLabelValues = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : labelValues.entrySet()) {
+            distinctLabelValues.put(entry.getKey(), entry.getValue().size());
+        }
+        return new MetricCardinality(snapshot.getMetadata().getPrometheusName(), snapshot.getDataPoints().size(), distinctLabelValues, -1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSeriesCount() {
+        return seriesCount;
+    }
+
+    /**
+     * Number of distinct values for each label name, label names with the most distinct values first.
+     */
+    public Map<String, Integer> getDistinctLabelValues() {
+        return distinctLabelValues;
+    }
+
+    /**
+     * Estimated heap retained by the metric's data points in bytes, or {@code -1} if unknown.
+     * <p>
+     * Metrics in {@code prometheus-metrics-core} estimate the size of their counters, buckets, quantile samples,
+     * and exemplars. Metrics that compute their values during {@code collect()} report {@code -1}.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private static Map<String, Integer> sortByValueDescending(Map<String, Integer> map) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(map.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -18,15 +18,17 @@ public class MetricNameFilter implements Predicate<String> {
     public static final Predicate<String> ALLOW_ALL = name -> true;
 
     private final Collection<String> nameIsEqualTo;
-    private final Collection<String> nameIsNotEqualTo;
-    private final Collection<String> nameStartsWith;
-    private final Collection<String> nameDoesNotStartWith;
+    private final PrefixTrie nameIsEqualToTrie;
+    private final PrefixTrie nameIsNotEqualToTrie;
+    private final PrefixTrie nameStartsWithTrie;
+    private final PrefixTrie nameDoesNotStartWithTrie;
 
     private MetricNameFilter(Collection<String> nameIsEqualTo, Collection<String> nameIsNotEqualTo, Collection<String> nameStartsWith, Collection<String> nameDoesNotStartWith) {
         this.nameIsEqualTo = unmodifiableCollection(new ArrayList<>(nameIsEqualTo));
-        this.nameIsNotEqualTo = unmodifiableCollection(new ArrayList<>(nameIsNotEqualTo));
-        this.nameStartsWith = unmodifiableCollection(new ArrayList<>(nameStartsWith));
-        this.nameDoesNotStartWith = unmodifiableCollection(new ArrayList<>(nameDoesNotStartWith));
+        this.nameIsEqualToTrie = new PrefixTrie(nameIsEqualTo);
+        this.nameIsNotEqualToTrie = new PrefixTrie(nameIsNotEqualTo);
+        this.nameStartsWithTrie = new PrefixTrie(nameStartsWith);
+        this.nameDoesNotStartWithTrie = new PrefixTrie(nameDoesNotStartWith);
     }
 
     @Override
@@ -37,56 +39,38 @@ public class MetricNameFilter implements Predicate<String> {
                 && !matchesNameDoesNotStartWith(sampleName);
     }
 
+    /**
+     * The names passed to {@link Builder#nameMustBeEqualTo(Collection)}.
+     * Used by {@link PrometheusRegistry} to look up collectors by name rather than testing each collector.
+     */
+    Collection<String> getNameIsEqualTo() {
+        return nameIsEqualTo;
+    }
+
     private boolean matchesNameEqualTo(String metricName) {
-        if (nameIsEqualTo.isEmpty()) {
+        if (nameIsEqualToTrie.isEmpty()) {
             return true;
         }
-        for (String name : nameIsEqualTo) {
-            // The following ignores suffixes like _total.
-            // "request_count" and "request_count_total" both match a metric named "request_count".
-            if (name.startsWith(metricName)) {
-                return true;
-            }
-        }
-        return false;
+        // The following ignores suffixes like _total.
+        // "request_count" and "request_count_total" both match a metric named "request_count".
+        return nameIsEqualToTrie.isPrefixOfAny(metricName);
     }
 
     private boolean matchesNameNotEqualTo(String metricName) {
-        if (nameIsNotEqualTo.isEmpty()) {
-            return false;
-        }
-        for (String name : nameIsNotEqualTo) {
-            // The following ignores suffixes like _total.
-            // "request_count" and "request_count_total" both match a metric named "request_count".
-            if (name.startsWith(metricName)) {
-                return true;
-            }
-        }
-        return false;
+        // The following ignores suffixes like _total.
+        // "request_count" and "request_count_total" both match a metric named "request_count".
+        return nameIsNotEqualToTrie.isPrefixOfAny(metricName);
     }
 
     private boolean matchesNameStartsWith(String metricName) {
-        if (nameStartsWith.isEmpty()) {
+        if (nameStartsWithTrie.isEmpty()) {
             return true;
         }
-        for (String prefix : nameStartsWith) {
-            if (metricName.startsWith(prefix)) {
-                return true;
-            }
-        }
-        return false;
+        return nameStartsWithTrie.containsPrefixOf(metricName);
     }
 
     private boolean matchesNameDoesNotStartWith(String metricName) {
-        if (nameDoesNotStartWith.isEmpty()) {
-            return false;
-        }
-        for (String prefix : nameDoesNotStartWith) {
-            if (metricName.startsWith(prefix)) {
-                return true;
-            }
-        }
-        return false;
+        return nameDoesNotStartWithTrie.containsPrefixOf(metricName);
     }
 
     public static Builder builder() {
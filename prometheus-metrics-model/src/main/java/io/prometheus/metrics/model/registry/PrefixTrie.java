@@ -0,0 +1,105 @@
+package io.prometheus.metrics.model.registry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable character trie for matching metric names against a set of strings.
+ * <p>
+ * Lookups take time proportional to the length of the metric name,
+ * independent of how many strings the trie contains.
+ */
+class PrefixTrie {
+
+    private final Node root;
+    private final boolean empty;
+
+    PrefixTrie(Collection<String> strings) {
+        MutableNode mutableRoot = new MutableNode();
+        for (String s : strings) {
+            MutableNode node = mutableRoot;
+            for (int i = 0; i < s.length(); i++) {
+                node = node.children.computeIfAbsent(s.charAt(i), c -> new MutableNode());
+            }
+            node.terminal = true;
+        }
+        this.root = mutableRoot.freeze();
+        this.empty = strings.isEmpty();
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * {@code true} if one of the strings in this trie is a prefix of {@code s}.
+     */
+    boolean containsPrefixOf(String s) {
+        Node node = root;
+        for (int i = 0; i < s.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.child(s.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    /**
+     * {@code true} if {@code s} is a prefix of one of the strings in this trie.
+     */
+    boolean isPrefixOfAny(String s) {
+        if (empty) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < s.length(); i++) {
+            node = node.child(s.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Node {
+
+        private final char[] labels; // sorted
+        private final Node[] children;
+        private final boolean terminal;
+
+        private Node(char[] labels, Node[] children, boolean terminal) {
+            this.labels = labels;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+    }
+
+    private static class MutableNode {
+
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private boolean terminal;
+
+        private Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozenChildren = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozenChildren[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozenChildren, terminal);
+        }
+    }
+}
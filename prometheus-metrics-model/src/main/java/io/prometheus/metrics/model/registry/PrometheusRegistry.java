@@ -1,13 +1,26 @@
 package io.prometheus.metrics.model.registry;
 
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
 import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static io.prometheus.metrics.model.snapshots.PrometheusNaming.prometheusName;
 
@@ -15,98 +28,484 @@ public class PrometheusRegistry {
 
     public static final PrometheusRegistry defaultRegistry = new PrometheusRegistry();
 
+    private static final String TIMEOUTS_METRIC_NAME = "prometheus_collector_timeouts";
+    private static final String STALE_METRIC_NAME = "prometheus_collector_stale";
+
     private final Set<String> prometheusNames = ConcurrentHashMap.newKeySet();
-    private final List<Collector> collectors = new CopyOnWriteArrayList<>();
-    private final List<MultiCollector> multiCollectors = new CopyOnWriteArrayList<>();
+    private final CollectorList<Collector> collectors = new CollectorList<>();
+    private final CollectorList<MultiCollector> multiCollectors = new CollectorList<>();
+
+    // Index for scrapes with a name filter, like ?name[]=my_metric.
+    // Collectors without a name cannot be indexed, so they are kept in separate lists and are always scraped.
+    private final Map<String, Collector> collectorsByName = new ConcurrentHashMap<>();
+    private final Map<String, MultiCollector> multiCollectorsByName = new ConcurrentHashMap<>();
+    private final CollectorList<Collector> unnamedCollectors = new CollectorList<>();
+    private final CollectorList<MultiCollector> unnamedMultiCollectors = new CollectorList<>();
+
+    // State of collectors registered with CollectorOptions, keyed by Collector or MultiCollector.
+    private final Map<Object, CollectorState> collectorStates = new ConcurrentHashMap<>();
+    private volatile ExecutorService defaultExecutor;
+
+    // Self-instrumentation, only present if a ScrapeMetrics instance is registered.
+    private volatile ScrapeMetrics scrapeMetrics;
+
+    // Clock for the minimum refresh interval and the collection deadlines of collectors registered with CollectorOptions.
+    private final LongSupplier nanoTime;
+
+    public PrometheusRegistry() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Package private. For testing only.
+     */
+    PrometheusRegistry(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
 
     public void register(Collector collector) {
         String prometheusName = collector.getPrometheusName();
         if (prometheusName != null) {
+            checkNotReserved(prometheusName);
             if (!prometheusNames.add(prometheusName)) {
                 throw new IllegalStateException("Can't register " + prometheusName + " because a metric with that name is already registered.");
             }
+            collectorsByName.put(prometheusName, collector);
+        } else {
+            unnamedCollectors.add(collector);
         }
         collectors.add(collector);
     }
 
     public void register(MultiCollector collector) {
-        for (String prometheusName : collector.getPrometheusNames()) {
+        List<String> names = collector.getPrometheusNames();
+        for (String prometheusName : names) {
+            checkNotReserved(prometheusName);
+        }
+        for (String prometheusName : names) {
             if (!prometheusNames.add(prometheusName)) {
                 throw new IllegalStateException("Can't register " + prometheusName + " because that name is already registered.");
             }
         }
+        for (String prometheusName : names) {
+            multiCollectorsByName.put(prometheusName, collector);
+        }
+        if (names.isEmpty()) {
+            unnamedMultiCollectors.add(collector);
+        }
         multiCollectors.add(collector);
+        if (collector instanceof ScrapeMetrics) {
+            scrapeMetrics = (ScrapeMetrics) collector;
+        }
+    }
+
+    /**
+     * The timeout and stale metrics are added by the registry itself when collectors are registered with
+     * {@link CollectorOptions}. A collector with the same name would cause a duplicate metric name error on every scrape.
+     */
+    private void checkNotReserved(String prometheusName) {
+        if (TIMEOUTS_METRIC_NAME.equals(prometheusName) || STALE_METRIC_NAME.equals(prometheusName)) {
+            throw new IllegalStateException("Can't register " + prometheusName + " because that name is reserved for the registry's collector metrics.");
+        }
+    }
+
+    /**
+     * Register a collector with additional {@link CollectorOptions}, like a collection deadline or a minimum refresh interval.
+     */
+    public void register(Collector collector, CollectorOptions options) {
+        String name = options.getName() != null ? options.getName() : collector.getPrometheusName();
+        CollectorState state = makeState(collector, name, options, () -> {
+            MetricSnapshot snapshot = collector.collect();
+            return snapshot == null ? new MetricSnapshots() : new MetricSnapshots(snapshot);
+        });
+        try {
+            register(collector);
+        } catch (RuntimeException e) {
+            collectorStates.remove(collector, state);
+            throw e;
+        }
+    }
+
+    /**
+     * Register a multi-collector with additional {@link CollectorOptions}, like a collection deadline or a minimum refresh interval.
+     */
+    public void register(MultiCollector collector, CollectorOptions options) {
+        String name = options.getName();
+        if (name == null && !collector.getPrometheusNames().isEmpty()) {
+            name = collector.getPrometheusNames().get(0);
+        }
+        CollectorState state = makeState(collector, name, options, collector::collect);
+        try {
+            register(collector);
+        } catch (RuntimeException e) {
+            collectorStates.remove(collector, state);
+            throw e;
+        }
+    }
+
+    private CollectorState makeState(Object collector, String name, CollectorOptions options, Supplier<MetricSnapshots> collectFunction) {
+        if (name == null) {
+            name = collector.getClass().getName();
+        }
+        for (CollectorState existing : collectorStates.values()) {
+            if (existing.getName().equals(name)) {
+                throw new IllegalStateException("Can't register " + name + " because a collector with that name is already registered with CollectorOptions.");
+            }
+        }
+        Executor executor = options.getExecutor();
+        if (executor == null && (options.getTimeoutNanos() > 0 || options.isBackgroundRefresh())) {
+            executor = getDefaultExecutor();
+        }
+        CollectorState state = new CollectorState(name, collectFunction, options, executor, nanoTime);
+        if (collectorStates.putIfAbsent(collector, state) != null) {
+            throw new IllegalStateException("Can't register " + name + " because it is already registered.");
+        }
+        return state;
+    }
+
+    private Executor getDefaultExecutor() {
+        ExecutorService result = defaultExecutor;
+        if (result == null) {
+            synchronized (this) {
+                result = defaultExecutor;
+                if (result == null) {
+                    AtomicInteger threadNumber = new AtomicInteger(1);
+                    result = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "prometheus-collector-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    defaultExecutor = result;
+                }
+            }
+        }
+        return result;
     }
 
     public void unregister(Collector collector) {
+        collectorStates.remove(collector);
+        removeScrapeMetrics(collector);
         collectors.remove(collector);
         String prometheusName = collector.getPrometheusName();
         if (prometheusName != null) {
             prometheusNames.remove(collector.getPrometheusName());
+            collectorsByName.remove(prometheusName, collector);
+        } else {
+            unnamedCollectors.remove(collector);
         }
     }
 
     public void unregister(MultiCollector collector) {
+        collectorStates.remove(collector);
+        if (collector == scrapeMetrics) {
+            scrapeMetrics = null;
+        } else {
+            removeScrapeMetrics(collector);
+        }
         multiCollectors.remove(collector);
-        for (String prometheusName : collector.getPrometheusNames()) {
+        List<String> names = collector.getPrometheusNames();
+        for (String prometheusName : names) {
             prometheusNames.remove(prometheusName(prometheusName));
+            multiCollectorsByName.remove(prometheusName, collector);
         }
+        if (names.isEmpty()) {
+            unnamedMultiCollectors.remove(collector);
+        }
+    }
+
+    /**
+     * The {@link ScrapeMetrics} registered with this registry, or {@code null} if scrape metrics are not enabled.
+     */
+    public ScrapeMetrics getScrapeMetrics() {
+        return scrapeMetrics;
     }
 
     public MetricSnapshots scrape() {
+        for (CollectorState state : collectorStates.values()) {
+            state.startCollection();
+        }
         MetricSnapshots.Builder result = MetricSnapshots.builder();
         for (Collector collector : collectors) {
-            MetricSnapshot snapshot = collector.collect();
-            if (snapshot != null) {
-                if (result.containsMetricName(snapshot.getMetadata().getName())) {
-                    throw new IllegalStateException(snapshot.getMetadata().getPrometheusName() + ": duplicate metric name.");
+            collect(collector, null, result);
+        }
+        for (MultiCollector collector : multiCollectors) {
+            collect(collector, null, result);
+        }
+        collectStateMetrics(MetricNameFilter.ALLOW_ALL, result);
+        return result.build();
+    }
+
+    /**
+     * Number of series and estimated memory footprint for each metric, metrics with the most series first.
+     * <p>
+     * This is for finding out which metrics use the heap. Metrics in {@code prometheus-metrics-core} report
+     * their numbers without creating snapshots. Other collectors are collected individually.
+     */
+    public List<MetricCardinality> cardinality() {
+        List<MetricCardinality> result = new ArrayList<>();
+        for (Collector collector : collectors) {
+            MetricCardinality cardinality = collector.getCardinality();
+            if (cardinality != null) {
+                result.add(cardinality);
+            } else {
+                CollectorState state = getState(collector);
+                if (state != null) {
+                    addCardinality(state.collect(), result);
+                } else {
+                    MetricSnapshot snapshot = collector.collect();
+                    if (snapshot != null) {
+                        result.add(MetricCardinality.of(snapshot));
+                    }
                 }
-                result.metricSnapshot(snapshot);
             }
         }
         for (MultiCollector collector : multiCollectors) {
-            for (MetricSnapshot snapshot : collector.collect()) {
-                if (result.containsMetricName(snapshot.getMetadata().getName())) {
-                    throw new IllegalStateException(snapshot.getMetadata().getPrometheusName() + ": duplicate metric name.");
-                }
-                result.metricSnapshot(snapshot);
+            CollectorState state = getState(collector);
+            addCardinality(state != null ? state.collect() : collector.collect(), result);
+        }
+        result.sort((a, b) -> Integer.compare(b.getSeriesCount(), a.getSeriesCount()));
+        return result;
+    }
+
+    private void addCardinality(MetricSnapshots snapshots, List<MetricCardinality> result) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot != null) {
+                result.add(MetricCardinality.of(snapshot));
             }
         }
-        return result.build();
     }
 
+    private void removeScrapeMetrics(Object collector) {
+        ScrapeMetrics scrapeMetrics = this.scrapeMetrics;
+        if (scrapeMetrics != null) {
+            scrapeMetrics.remove(collector);
+        }
+    }
+
+    private CollectorState getState(Object collector) {
+        return collectorStates.isEmpty() ? null : collectorStates.get(collector);
+    }
+
+    /**
+     * Like {@link #scrape()}, but only snapshots where {@code includedNames.test(name)} is {@code true} are collected.
+     * <p>
+     * If {@code includedNames} is a {@link MetricNameFilter} with {@link MetricNameFilter.Builder#nameMustBeEqualTo(Collection)},
+     * the collectors are looked up by name, so the cost of the scrape depends on the number of matching metrics
+     * rather than on the number of registered metrics.
+     */
     public MetricSnapshots scrape(Predicate<String> includedNames) {
         if (includedNames == null) {
             return scrape();
         }
+        if (includedNames instanceof MetricNameFilter) {
+            Collection<String> names = ((MetricNameFilter) includedNames).getNameIsEqualTo();
+            if (!names.isEmpty()) {
+                return scrapeByName(names, includedNames);
+            }
+        }
+        startCollections(collectors, multiCollectors, includedNames);
         MetricSnapshots.Builder result = MetricSnapshots.builder();
         for (Collector collector : collectors) {
-            String prometheusName = collector.getPrometheusName();
-            if (prometheusName == null || includedNames.test(prometheusName)) {
-                MetricSnapshot snapshot = collector.collect(includedNames);
-                if (snapshot != null) {
-                    result.metricSnapshot(snapshot);
-                }
-            }
+            collect(collector, includedNames, result);
         }
         for (MultiCollector collector : multiCollectors) {
-            List<String> prometheusNames = collector.getPrometheusNames();
-            boolean excluded = prometheusNames.size() > 0; // the multi-collector is excluded unless at least one name matches
-            for (String prometheusName : prometheusNames) {
-                if (includedNames.test(prometheusName)) {
-                    excluded = false;
-                    break;
+            collect(collector, includedNames, result);
+        }
+        collectStateMetrics(includedNames, result);
+        return result.build();
+    }
+
+    private MetricSnapshots scrapeByName(Collection<String> sampleNames, Predicate<String> includedNames) {
+        Set<Collector> matchingCollectors = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<MultiCollector> matchingMultiCollectors = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String sampleName : sampleNames) {
+            // MetricNameFilter ignores suffixes like _total, i.e. each prefix of the sample name is a candidate metric name.
+            for (int length = sampleName.length(); length > 0; length--) {
+                String candidate = sampleName.substring(0, length);
+                Collector collector = collectorsByName.get(candidate);
+                if (collector != null) {
+                    matchingCollectors.add(collector);
                 }
-            }
-            if (!excluded) {
-                for (MetricSnapshot snapshot : collector.collect(includedNames)) {
-                    if (snapshot != null) {
-                        result.metricSnapshot(snapshot);
-                    }
+                MultiCollector multiCollector = multiCollectorsByName.get(candidate);
+                if (multiCollector != null) {
+                    matchingMultiCollectors.add(multiCollector);
                 }
             }
         }
+        startCollections(matchingCollectors, matchingMultiCollectors, includedNames);
+        startCollections(unnamedCollectors, unnamedMultiCollectors, includedNames);
+        MetricSnapshots.Builder result = MetricSnapshots.builder();
+        for (Collector collector : matchingCollectors) {
+            collect(collector, includedNames, result);
+        }
+        for (Collector collector : unnamedCollectors) {
+            collect(collector, includedNames, result);
+        }
+        for (MultiCollector collector : matchingMultiCollectors) {
+            collect(collector, includedNames, result);
+        }
+        for (MultiCollector collector : unnamedMultiCollectors) {
+            collect(collector, includedNames, result);
+        }
+        collectStateMetrics(includedNames, result);
         return result.build();
     }
 
+    /**
+     * Like the loop in {@link #scrape()}: Start the collections of all matching collectors with a deadline
+     * before collecting any of them, so that they run in parallel rather than one after the other.
+     */
+    private void startCollections(Iterable<Collector> collectors, Iterable<MultiCollector> multiCollectors, Predicate<String> includedNames) {
+        if (collectorStates.isEmpty()) {
+            return;
+        }
+        for (Collector collector : collectors) {
+            CollectorState state = collectorStates.get(collector);
+            if (state != null && isIncluded(collector, includedNames)) {
+                state.startCollection();
+            }
+        }
+        for (MultiCollector collector : multiCollectors) {
+            CollectorState state = collectorStates.get(collector);
+            if (state != null && isIncluded(collector, includedNames)) {
+                state.startCollection();
+            }
+        }
+    }
+
+    private boolean isIncluded(Collector collector, Predicate<String> includedNames) {
+        String prometheusName = collector.getPrometheusName();
+        return includedNames == null || prometheusName == null || includedNames.test(prometheusName);
+    }
+
+    /**
+     * A multi-collector is included if at least one of its names matches, or if it doesn't know its names.
+     */
+    private boolean isIncluded(MultiCollector collector, Predicate<String> includedNames) {
+        if (includedNames == null) {
+            return true;
+        }
+        List<String> prometheusNames = collector.getPrometheusNames();
+        if (prometheusNames.isEmpty()) {
+            return true;
+        }
+        for (String prometheusName : prometheusNames) {
+            if (includedNames.test(prometheusName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param includedNames {@code null} means all snapshots are included.
+     */
+    private void collect(Collector collector, Predicate<String> includedNames, MetricSnapshots.Builder result) {
+        if (!isIncluded(collector, includedNames)) {
+            return;
+        }
+        ScrapeMetrics scrapeMetrics = this.scrapeMetrics;
+        long start = scrapeMetrics != null ? System.nanoTime() : 0;
+        CollectorState state = getState(collector);
+        int series = 0;
+        if (state != null) {
+            series = addSnapshots(state.collect(), includedNames, result);
+        } else {
+            MetricSnapshot snapshot = includedNames == null ? collector.collect() : collector.collect(includedNames);
+            if (snapshot != null) {
+                series = addSnapshot(snapshot, result);
+            }
+        }
+        if (scrapeMetrics != null) {
+            scrapeMetrics.recordCollect(collector, state, System.nanoTime() - start, series);
+        }
+    }
+
+    /**
+     * @param includedNames {@code null} means all snapshots are included.
+     */
+    private void collect(MultiCollector collector, Predicate<String> includedNames, MetricSnapshots.Builder result) {
+        if (!isIncluded(collector, includedNames)) {
+            return;
+        }
+        ScrapeMetrics scrapeMetrics = this.scrapeMetrics;
+        if (collector == scrapeMetrics) {
+            scrapeMetrics = null; // don't instrument the instrumentation
+        }
+        long start = scrapeMetrics != null ? System.nanoTime() : 0;
+        CollectorState state = getState(collector);
+        int series;
+        if (state != null) {
+            series = addSnapshots(state.collect(), includedNames, result);
+        } else {
+            series = addSnapshots(includedNames == null ? collector.collect() : collector.collect(includedNames), null, result);
+        }
+        if (scrapeMetrics != null) {
+            scrapeMetrics.recordCollect(collector, state, System.nanoTime() - start, series);
+        }
+    }
+
+    /**
+     * Add the snapshots where {@code includedNames.test(name)} is {@code true}.
+     *
+     * @return number of data points added.
+     */
+    private int addSnapshots(MetricSnapshots snapshots, Predicate<String> includedNames, MetricSnapshots.Builder result) {
+        int series = 0;
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot != null && (includedNames == null || includedNames.test(snapshot.getMetadata().getPrometheusName()))) {
+                series += addSnapshot(snapshot, result);
+            }
+        }
+        return series;
+    }
+
+    /**
+     * @return number of data points added.
+     */
+    private int addSnapshot(MetricSnapshot snapshot, MetricSnapshots.Builder result) {
+        if (result.containsMetricName(snapshot.getMetadata().getName())) {
+            throw new IllegalStateException(snapshot.getMetadata().getPrometheusName() + ": duplicate metric name.");
+        }
+        result.metricSnapshot(snapshot);
+        return snapshot.getDataPoints().size();
+    }
+
+    /**
+     * Timeout counter and stale flag for collectors registered with {@link CollectorOptions.Builder#timeout(long, java.util.concurrent.TimeUnit)}.
+     */
+    private void collectStateMetrics(Predicate<String> includedNames, MetricSnapshots.Builder result) {
+        if (collectorStates.isEmpty()) {
+            return;
+        }
+        boolean includeTimeouts = includedNames.test(TIMEOUTS_METRIC_NAME);
+        boolean includeStale = includedNames.test(STALE_METRIC_NAME);
+        CounterSnapshot.Builder timeouts = CounterSnapshot.builder()
+                .name(TIMEOUTS_METRIC_NAME)
+                .help("Number of times a collector did not return within its deadline during scrape.");
+        GaugeSnapshot.Builder stale = GaugeSnapshot.builder()
+                .name(STALE_METRIC_NAME)
+                .help("1 if the last scrape used a previous snapshot of the collector because of a timeout, 0 otherwise.");
+        boolean hasTimeouts = false;
+        for (CollectorState state : collectorStates.values()) {
+            if (state.hasTimeout()) {
+                hasTimeouts = true;
+                Labels labels = Labels.of("collector", state.getName());
+                timeouts.dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                        .labels(labels)
+                        .value(state.getTimeouts())
+                        .build());
+                stale.dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                        .labels(labels)
+                        .value(state.isStale() ? 1 : 0)
+                        .build());
+            }
+        }
+        if (hasTimeouts && includeTimeouts) {
+            addSnapshot(timeouts.build(), result);
+        }
+        if (hasTimeouts && includeStale) {
+            addSnapshot(stale.build(), result);
+        }
+    }
 }
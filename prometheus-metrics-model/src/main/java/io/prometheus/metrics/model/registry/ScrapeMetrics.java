@@ -0,0 +1,222 @@
+package io.prometheus.metrics.model.registry;
+
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import io.prometheus.metrics.model.snapshots.Unit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Self-instrumentation of scrapes: Which collectors are slow, how many series they produce,
+ * and how long it takes to encode and compress the response.
+ * <p>
+ * Scrape metrics are disabled by default. Register an instance with the registry to enable them:
+ * <pre>{@code
+ * PrometheusRegistry.defaultRegistry.register(new ScrapeMetrics());
+ * }</pre>
+ * The registry records collection time and series count per collector, and the scrape handlers
+ * of the exporters record encoding time and response sizes per exposition format.
+ * <p>
+ * Each collector and each format gets its data point when it is recorded for the first time.
+ * Subsequent recordings only update counters and don't allocate.
+ * Collectors are identified by their Prometheus name, the first name of a {@link MultiCollector},
+ * or the class name if the collector doesn't provide a name.
+ * Collectors with the same name share a data point.
+ */
+public class ScrapeMetrics implements MultiCollector {
+
+    static final String COLLECT_DURATION = "prometheus_collector_collect_duration_seconds";
+    static final String SERIES = "prometheus_collector_series";
+    static final String ENCODE_DURATION = "prometheus_scrape_encode_duration_seconds";
+    static final String UNCOMPRESSED_BYTES = "prometheus_scrape_uncompressed_bytes";
+    static final String RESPONSE_BYTES = "prometheus_scrape_response_bytes";
+    static final String IN_FLIGHT = "prometheus_scrape_in_flight";
+
+    private static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList(
+            COLLECT_DURATION, SERIES, ENCODE_DURATION, UNCOMPRESSED_BYTES, RESPONSE_BYTES, IN_FLIGHT));
+
+    private final Map<Object, CollectorStats> statsByCollector = new ConcurrentHashMap<>();
+    private final Map<String, CollectorStats> statsByName = new ConcurrentHashMap<>();
+    private final Map<String, FormatStats> statsByFormat = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Called by the scrape handler when a scrape starts. Each call must be followed by {@link #scrapeFinished()}.
+     */
+    public void scrapeStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Called by the scrape handler when a scrape is finished.
+     */
+    public void scrapeFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Called by the scrape handler after the response is written.
+     *
+     * @param format            name of the exposition format, like {@code openmetrics-text}.
+     * @param encodeNanos       time spent encoding the snapshots.
+     * @param uncompressedBytes size of the response before compression.
+     * @param responseBytes     size of the response after compression, or {@code uncompressedBytes}
+     *                          if the response is not compressed.
+     */
+    public void recordEncoding(String format, long encodeNanos, long uncompressedBytes, long responseBytes) {
+        FormatStats stats = statsByFormat.get(format);
+        if (stats == null) {
+            stats = statsByFormat.computeIfAbsent(format, f -> new FormatStats());
+        }
+        stats.count.increment();
+        stats.encodeNanos.add(encodeNanos);
+        stats.uncompressedBytes.add(uncompressedBytes);
+        stats.responseBytes.add(responseBytes);
+    }
+
+    /**
+     * Called by the registry after collecting.
+     *
+     * @param state may be {@code null} if the collector was registered without {@link CollectorOptions}.
+     */
+    void recordCollect(Object collector, CollectorState state, long collectNanos, int series) {
+        CollectorStats stats = statsByCollector.get(collector);
+        if (stats == null) {
+            stats = register(collector, state != null ? state.getName() : nameOf(collector));
+        }
+        stats.count.increment();
+        stats.collectNanos.add(collectNanos);
+        stats.series.set(series);
+    }
+
+    private synchronized CollectorStats register(Object collector, String name) {
+        CollectorStats stats = statsByCollector.get(collector);
+        if (stats == null) {
+            stats = statsByName.computeIfAbsent(name, n -> new CollectorStats());
+            stats.collectors++;
+            statsByCollector.put(collector, stats);
+        }
+        return stats;
+    }
+
+    private static String nameOf(Object collector) {
+        String name = null;
+        if (collector instanceof Collector) {
+            name = ((Collector) collector).getPrometheusName();
+        } else if (collector instanceof MultiCollector) {
+            List<String> names = ((MultiCollector) collector).getPrometheusNames();
+            name = names.isEmpty() ? null : names.get(0);
+        }
+        return name != null ? name : collector.getClass().getName();
+    }
+
+    /**
+     * Called by the registry when a collector is unregistered.
+     */
+    synchronized void remove(Object collector) {
+        CollectorStats stats = statsByCollector.remove(collector);
+        if (stats != null && --stats.collectors == 0) {
+            statsByName.values().remove(stats);
+        }
+    }
+
+    @Override
+    public MetricSnapshots collect() {
+        MetricSnapshots.Builder result = MetricSnapshots.builder();
+        if (!statsByName.isEmpty()) {
+            SummarySnapshot.Builder collectDuration = SummarySnapshot.builder()
+                    .name(COLLECT_DURATION)
+                    .help("Time spent in the collector's collect() method during scrapes.")
+                    .unit(Unit.SECONDS);
+            GaugeSnapshot.Builder series = GaugeSnapshot.builder()
+                    .name(SERIES)
+                    .help("Number of data points returned by the collector's last collect() call.");
+            for (Map.Entry<String, CollectorStats> entry : statsByName.entrySet()) {
+                Labels labels = Labels.of("collector", entry.getKey());
+                CollectorStats stats = entry.getValue();
+                collectDuration.dataPoint(SummarySnapshot.SummaryDataPointSnapshot.builder()
+                        .labels(labels)
+                        .count(stats.count.sum())
+                        .sum(Unit.nanosToSeconds(stats.collectNanos.sum()))
+                        .build());
+                series.dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                        .labels(labels)
+                        .value(stats.series.get())
+                        .build());
+            }
+            result.metricSnapshot(collectDuration.build());
+            result.metricSnapshot(series.build());
+        }
+        if (!statsByFormat.isEmpty()) {
+            SummarySnapshot.Builder encodeDuration = SummarySnapshot.builder()
+                    .name(ENCODE_DURATION)
+                    .help("Time spent encoding scrape responses.")
+                    .unit(Unit.SECONDS);
+            CounterSnapshot.Builder uncompressedBytes = CounterSnapshot.builder()
+                    .name(UNCOMPRESSED_BYTES)
+                    .help("Total size of scrape responses before compression.")
+                    .unit(Unit.BYTES);
+            CounterSnapshot.Builder responseBytes = CounterSnapshot.builder()
+                    .name(RESPONSE_BYTES)
+                    .help("Total size of scrape responses after compression.")
+                    .unit(Unit.BYTES);
+            for (Map.Entry<String, FormatStats> entry : statsByFormat.entrySet()) {
+                Labels labels = Labels.of("format", entry.getKey());
+                FormatStats stats = entry.getValue();
+                encodeDuration.dataPoint(SummarySnapshot.SummaryDataPointSnapshot.builder()
+                        .labels(labels)
+                        .count(stats.count.sum())
+                        .sum(Unit.nanosToSeconds(stats.encodeNanos.sum()))
+                        .build());
+                uncompressedBytes.dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                        .labels(labels)
+                        .value(stats.uncompressedBytes.sum())
+                        .build());
+                responseBytes.dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder()
+                        .labels(labels)
+                        .value(stats.responseBytes.sum())
+                        .build());
+            }
+            result.metricSnapshot(encodeDuration.build());
+            result.metricSnapshot(uncompressedBytes.build());
+            result.metricSnapshot(responseBytes.build());
+        }
+        result.metricSnapshot(GaugeSnapshot.builder()
+                .name(IN_FLIGHT)
+                .help("Number of scrapes currently in progress.")
+                .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                        .value(inFlight.get())
+                        .build())
+                .build());
+        return result.build();
+    }
+
+    @Override
+    public List<String> getPrometheusNames() {
+        return NAMES;
+    }
+
+    private static class CollectorStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder collectNanos = new LongAdder();
+        private final AtomicLong series = new AtomicLong();
+        private int collectors; // guarded by ScrapeMetrics.this
+    }
+
+    private static class FormatStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+        private final LongAdder uncompressedBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+    }
+}
@@ -3,8 +3,10 @@ package io.prometheus.metrics.model.snapshots;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static io.prometheus.metrics.model.snapshots.PrometheusNaming.prometheusName;
@@ -74,17 +76,13 @@ public class MetricSnapshots implements Iterable<MetricSnapshot> {
     public static class Builder {
 
         private final List<MetricSnapshot> snapshots = new ArrayList<>();
+        private final Set<String> prometheusNames = new HashSet<>();
 
         private Builder() {
         }
 
         public boolean containsMetricName(String name) {
-            for (MetricSnapshot snapshot : snapshots) {
-                if (snapshot.getMetadata().getPrometheusName().equals(prometheusName(name))) {
-                    return true;
-                }
-            }
-            return false;
+            return prometheusNames.contains(prometheusName(name));
         }
 
         /**
@@ -92,6 +90,7 @@ public class MetricSnapshots implements Iterable<MetricSnapshot> {
          */
         public Builder metricSnapshot(MetricSnapshot snapshot) {
             snapshots.add(snapshot);
+            prometheusNames.add(snapshot.getMetadata().getPrometheusName());
             return this;
         }
 
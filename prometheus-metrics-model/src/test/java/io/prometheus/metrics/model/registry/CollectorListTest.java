@@ -0,0 +1,61 @@
+package io.prometheus.metrics.model.registry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CollectorListTest {
+
+    @Test
+    public void testRegistrationOrder() {
+        CollectorList<String> list = new CollectorList<>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        list.remove("b");
+        list.add("d");
+        Assert.assertEquals(Arrays.asList("a", "c", "d"), list.snapshot());
+    }
+
+    @Test
+    public void testDuplicates() {
+        CollectorList<String> list = new CollectorList<>();
+        list.add("a");
+        list.add("a");
+        Assert.assertEquals(Arrays.asList("a", "a"), list.snapshot());
+        Assert.assertTrue(list.remove("a"));
+        Assert.assertEquals(Arrays.asList("a"), list.snapshot());
+        Assert.assertTrue(list.remove("a"));
+        Assert.assertFalse(list.remove("a"));
+        Assert.assertTrue(list.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsNotModified() {
+        CollectorList<String> list = new CollectorList<>();
+        list.add("a");
+        List<String> snapshot = list.snapshot();
+        Assert.assertSame(snapshot, list.snapshot()); // no copy if there was no modification
+        list.add("b");
+        list.remove("a");
+        Assert.assertEquals(Arrays.asList("a"), snapshot);
+        Assert.assertEquals(Arrays.asList("b"), list.snapshot());
+    }
+
+    @Test
+    public void testManyRegistrations() {
+        CollectorList<Integer> list = new CollectorList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 100_000; i += 2) {
+            list.remove(i);
+        }
+        List<Integer> snapshot = list.snapshot();
+        Assert.assertEquals(50_000, snapshot.size());
+        Assert.assertEquals(Integer.valueOf(1), snapshot.get(0));
+        Assert.assertEquals(Integer.valueOf(99_999), snapshot.get(49_999));
+    }
+}
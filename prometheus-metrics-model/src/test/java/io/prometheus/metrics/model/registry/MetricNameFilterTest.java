@@ -68,4 +68,31 @@ public class MetricNameFilterTest {
                 .build();
         Assert.assertEquals(0, registry.scrape(filter).size());
     }
+
+    @Test
+    public void testPrefixes() {
+        MetricNameFilter filter = MetricNameFilter.builder()
+                .nameMustStartWith("jvm_", "process_")
+                .nameMustNotStartWith("jvm_memory_pool_", "jvm_gc")
+                .build();
+        Assert.assertTrue(filter.test("jvm_threads_current"));
+        Assert.assertTrue(filter.test("jvm_memory_used_bytes"));
+        Assert.assertTrue(filter.test("process_cpu_seconds"));
+        Assert.assertFalse(filter.test("jvm_memory_pool_used_bytes"));
+        Assert.assertFalse(filter.test("jvm_gc_collection_seconds"));
+        Assert.assertFalse(filter.test("jvm"));
+        Assert.assertFalse(filter.test("http_requests"));
+    }
+
+    @Test
+    public void testEqualToIgnoresSuffix() {
+        MetricNameFilter filter = MetricNameFilter.builder()
+                .nameMustBeEqualTo("request_count_total")
+                .nameMustNotBeEqualTo("request_duration_seconds_bucket")
+                .build();
+        Assert.assertTrue(filter.test("request_count"));
+        Assert.assertTrue(filter.test("request_count_total"));
+        Assert.assertFalse(filter.test("request_count_total_total"));
+        Assert.assertFalse(filter.test("request_duration_seconds"));
+    }
 }
@@ -2,11 +2,21 @@ package io.prometheus.metrics.model.registry;
 
 import io.prometheus.metrics.model.snapshots.CounterSnapshot;
 import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
 import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class PrometheusRegistryTest {
 
     Collector noName = () -> GaugeSnapshot.builder()
@@ -101,4 +111,305 @@ public class PrometheusRegistryTest {
         snapshots = registry.scrape();
         Assert.assertEquals(3, snapshots.size());
     }
+
+    @Test
+    public void scrapeByName() {
+        MultiCollector multiCollector = new MultiCollector() {
+            @Override
+            public MetricSnapshots collect() {
+                return new MetricSnapshots(
+                        GaugeSnapshot.builder().name("multi_a").build(),
+                        GaugeSnapshot.builder().name("multi_b").build());
+            }
+
+            @Override
+            public List<String> getPrometheusNames() {
+                return Arrays.asList("multi_a", "multi_b");
+            }
+        };
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(counterA1);
+        registry.register(counterB);
+        registry.register(gaugeA);
+        registry.register(noName);
+        registry.register(multiCollector);
+
+        MetricSnapshots snapshots = registry.scrape(MetricNameFilter.builder()
+                .nameMustBeEqualTo("counter_a_total", "multi_b")
+                .build());
+        Assert.assertEquals(2, snapshots.size());
+        Assert.assertEquals("counter_a", snapshots.get(0).getMetadata().getName());
+        Assert.assertEquals("multi_b", snapshots.get(1).getMetadata().getName());
+
+        snapshots = registry.scrape(MetricNameFilter.builder()
+                .nameMustBeEqualTo("counter_a_total", "counter_b_total")
+                .nameMustNotStartWith("counter_b")
+                .build());
+        Assert.assertEquals(1, snapshots.size());
+        Assert.assertEquals("counter_a", snapshots.get(0).getMetadata().getName());
+
+        registry.unregister(counterA1);
+        registry.unregister(multiCollector);
+        snapshots = registry.scrape(MetricNameFilter.builder()
+                .nameMustBeEqualTo("counter_a_total", "multi_b")
+                .build());
+        Assert.assertEquals(0, snapshots.size());
+
+        // The unnamed collector is always collected, because its name is not known before collecting.
+        snapshots = registry.scrape(MetricNameFilter.builder()
+                .nameMustBeEqualTo("no_name_gauge")
+                .build());
+        Assert.assertEquals(1, snapshots.size());
+        Assert.assertEquals("no_name_gauge", snapshots.get(0).getMetadata().getName());
+    }
+
+    @Test
+    public void testCollectorTimeout() throws InterruptedException {
+        AtomicBoolean blocked = new AtomicBoolean(false);
+        CountDownLatch unblock = new CountDownLatch(1);
+        Collector slowCollector = new Collector() {
+            @Override
+            public MetricSnapshot collect() {
+                if (blocked.get()) {
+                    try {
+                        unblock.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                return CounterSnapshot.builder()
+                        .name("slow")
+                        .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().value(blocked.get() ? 2 : 1).build())
+                        .build();
+            }
+
+            @Override
+            public String getPrometheusName() {
+                return "slow";
+            }
+        };
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(counterA1);
+        registry.register(slowCollector, CollectorOptions.builder()
+                .timeout(100, TimeUnit.MILLISECONDS)
+                .build());
+
+        MetricSnapshots snapshots = registry.scrape();
+        Assert.assertEquals(4, snapshots.size()); // counter_a, slow, prometheus_collector_stale, prometheus_collector_timeouts
+        Assert.assertEquals(1.0, counterValue(snapshots, "slow"), 0.0);
+        Assert.assertEquals(0.0, gaugeValue(snapshots, "prometheus_collector_stale"), 0.0);
+        Assert.assertEquals(0.0, counterValue(snapshots, "prometheus_collector_timeouts"), 0.0);
+
+        blocked.set(true);
+        long start = System.nanoTime();
+        snapshots = registry.scrape();
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        Assert.assertEquals(4, snapshots.size());
+        Assert.assertEquals(1.0, counterValue(snapshots, "slow"), 0.0); // previous value
+        Assert.assertEquals(1.0, gaugeValue(snapshots, "prometheus_collector_stale"), 0.0);
+        Assert.assertEquals(1.0, counterValue(snapshots, "prometheus_collector_timeouts"), 0.0);
+
+        // The collection is still in progress, so the next scrape does not wait at all.
+        snapshots = registry.scrape(MetricNameFilter.builder().nameMustBeEqualTo("slow_total").build());
+        Assert.assertEquals(1, snapshots.size());
+        Assert.assertEquals(1.0, counterValue(snapshots, "slow"), 0.0);
+
+        unblock.countDown();
+        Thread.sleep(200);
+        snapshots = registry.scrape();
+        Assert.assertEquals(2.0, counterValue(snapshots, "slow"), 0.0);
+        Assert.assertEquals(0.0, gaugeValue(snapshots, "prometheus_collector_stale"), 0.0);
+        Assert.assertEquals(2.0, counterValue(snapshots, "prometheus_collector_timeouts"), 0.0);
+
+        registry.unregister(slowCollector);
+        Assert.assertEquals(1, registry.scrape().size());
+    }
+
+    @Test
+    public void testFilteredScrapeCollectsInParallel() {
+        // Each collector waits for the other one, so the scrape only succeeds if both are collected in parallel.
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        PrometheusRegistry registry = new PrometheusRegistry();
+        for (String name : new String[]{"slow_a", "slow_b"}) {
+            registry.register(new Collector() {
+                @Override
+                public MetricSnapshot collect() {
+                    try {
+                        barrier.await(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return CounterSnapshot.builder().name(name).build();
+                }
+
+                @Override
+                public String getPrometheusName() {
+                    return name;
+                }
+            }, CollectorOptions.builder()
+                    .timeout(10, TimeUnit.SECONDS)
+                    .minRefreshInterval(1, TimeUnit.HOURS)
+                    .build());
+        }
+        // name[] scrape
+        MetricSnapshots snapshots = registry.scrape(MetricNameFilter.builder().nameMustBeEqualTo("slow_a", "slow_b").build());
+        Assert.assertEquals(2, snapshots.size());
+        // The in-time result is cached, so this does not call the collectors again, which would block on the barrier.
+        snapshots = registry.scrape(MetricNameFilter.builder().nameMustBeEqualTo("slow_a").build());
+        Assert.assertEquals(1, snapshots.size());
+
+        registry = new PrometheusRegistry();
+        for (String name : new String[]{"slow_c", "slow_d"}) {
+            registry.register(() -> {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return CounterSnapshot.builder().name(name).build();
+            }, CollectorOptions.builder().name(name).timeout(10, TimeUnit.SECONDS).build());
+        }
+        // scrape with an arbitrary predicate
+        snapshots = registry.scrape(name -> name.startsWith("slow_"));
+        Assert.assertEquals(2, snapshots.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCollectorOptionsDuplicateName() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(counterA1, CollectorOptions.builder().name("test").timeout(1, TimeUnit.SECONDS).build());
+        registry.register(counterB, CollectorOptions.builder().name("test").timeout(1, TimeUnit.SECONDS).build());
+    }
+
+    @Test
+    public void testCollectorMetricNamesAreReserved() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        for (String name : Arrays.asList("prometheus_collector_timeouts", "prometheus_collector_stale")) {
+            Collector collector = new Collector() {
+                @Override
+                public MetricSnapshot collect() {
+                    return GaugeSnapshot.builder().name(name).build();
+                }
+
+                @Override
+                public String getPrometheusName() {
+                    return name;
+                }
+            };
+            try {
+                registry.register(collector);
+                Assert.fail("Expected " + name + " to be reserved");
+            } catch (IllegalStateException e) {
+                Assert.assertTrue(e.getMessage().contains("reserved"));
+            }
+        }
+        MultiCollector multiCollector = new MultiCollector() {
+            @Override
+            public MetricSnapshots collect() {
+                return new MetricSnapshots();
+            }
+
+            @Override
+            public List<String> getPrometheusNames() {
+                return Arrays.asList("counter_c", "prometheus_collector_stale");
+            }
+        };
+        try {
+            registry.register(multiCollector);
+            Assert.fail("Expected prometheus_collector_stale to be reserved");
+        } catch (IllegalStateException expected) {
+        }
+        // nothing was registered, so counter_c is still available
+        registry.register(() -> CounterSnapshot.builder().name("counter_c").build());
+        registry.register(counterA1, CollectorOptions.builder().timeout(1, TimeUnit.SECONDS).build());
+        Assert.assertEquals(2, registry.scrape(name -> name.startsWith("prometheus_collector_")).size());
+    }
+
+    @Test
+    public void testMinRefreshInterval() {
+        AtomicLong nanoTime = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        Collector collector = countingCollector(calls);
+        PrometheusRegistry registry = new PrometheusRegistry(nanoTime::get);
+        registry.register(collector, CollectorOptions.builder()
+                .minRefreshInterval(30, TimeUnit.SECONDS)
+                .build());
+        Assert.assertEquals(1.0, counterValue(registry.scrape(), "calls"), 0.0);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        Assert.assertEquals(1.0, counterValue(registry.scrape(), "calls"), 0.0);
+        Assert.assertEquals(1.0, counterValue(registry.scrape(MetricNameFilter.builder().nameMustBeEqualTo("calls").build()), "calls"), 0.0);
+        Assert.assertEquals(1, calls.get());
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(2.0, counterValue(registry.scrape(), "calls"), 0.0);
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testBackgroundRefresh() {
+        AtomicLong nanoTime = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        Collector collector = countingCollector(calls);
+        PrometheusRegistry registry = new PrometheusRegistry(nanoTime::get);
+        registry.register(collector, CollectorOptions.builder()
+                .minRefreshInterval(30, TimeUnit.SECONDS)
+                .backgroundRefresh(true)
+                .executor(Runnable::run)
+                .build());
+        Assert.assertEquals(1.0, counterValue(registry.scrape(), "calls"), 0.0);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        // The expired snapshot is returned, and the refresh is triggered.
+        Assert.assertEquals(1.0, counterValue(registry.scrape(), "calls"), 0.0);
+        Assert.assertEquals(2, calls.get());
+        Assert.assertEquals(2.0, counterValue(registry.scrape(), "calls"), 0.0);
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBackgroundRefreshWithoutInterval() {
+        CollectorOptions.builder().backgroundRefresh(true).build();
+    }
+
+    private Collector countingCollector(AtomicInteger calls) {
+        return () -> CounterSnapshot.builder()
+                .name("calls")
+                .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().value(calls.incrementAndGet()).build())
+                .build();
+    }
+
+    @Test
+    public void testCardinality() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(counterA1);
+        registry.register(() -> GaugeSnapshot.builder()
+                .name("gauge")
+                .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder().labels(Labels.of("a", "1", "b", "1")).value(1).build())
+                .dataPoint(GaugeSnapshot.GaugeDataPointSnapshot.builder().labels(Labels.of("a", "1", "b", "2")).value(1).build())
+                .build());
+        List<MetricCardinality> result = registry.cardinality();
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals("gauge", result.get(0).getName()); // most series first
+        Assert.assertEquals(2, result.get(0).getSeriesCount());
+        Assert.assertEquals(2, result.get(0).getDistinctLabelValues().get("b").intValue());
+        Assert.assertEquals(1, result.get(0).getDistinctLabelValues().get("a").intValue());
+        Assert.assertEquals(-1, result.get(0).getEstimatedBytes());
+        Assert.assertEquals("counter_a", result.get(1).getName());
+        Assert.assertEquals(0, result.get(1).getSeriesCount());
+    }
+
+    private double counterValue(MetricSnapshots snapshots, String name) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getMetadata().getName().equals(name)) {
+                return ((CounterSnapshot) snapshot).getDataPoints().get(0).getValue();
+            }
+        }
+        throw new AssertionError(name + " not found");
+    }
+
+    private double gaugeValue(MetricSnapshots snapshots, String name) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getMetadata().getName().equals(name)) {
+                return ((GaugeSnapshot) snapshot).getDataPoints().get(0).getValue();
+            }
+        }
+        throw new AssertionError(name + " not found");
+    }
 }
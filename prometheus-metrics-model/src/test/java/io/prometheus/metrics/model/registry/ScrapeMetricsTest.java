@@ -0,0 +1,102 @@
+package io.prometheus.metrics.model.registry;
+
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.DataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import io.prometheus.metrics.model.snapshots.SummarySnapshot;
+import io.prometheus.metrics.model.snapshots.Unit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScrapeMetricsTest {
+
+    private final Collector counter = new Collector() {
+        @Override
+        public MetricSnapshot collect() {
+            return CounterSnapshot.builder()
+                    .name("requests")
+                    .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().labels(Labels.of("path", "/a")).value(1).build())
+                    .dataPoint(CounterSnapshot.CounterDataPointSnapshot.builder().labels(Labels.of("path", "/b")).value(2).build())
+                    .build();
+        }
+
+        @Override
+        public String getPrometheusName() {
+            return "requests";
+        }
+    };
+
+    @Test
+    public void testCollectorMetrics() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        ScrapeMetrics scrapeMetrics = new ScrapeMetrics();
+        registry.register(counter);
+        registry.register(scrapeMetrics);
+        Assert.assertSame(scrapeMetrics, registry.getScrapeMetrics());
+
+        registry.scrape();
+        MetricSnapshots snapshots = registry.scrape();
+
+        SummarySnapshot.SummaryDataPointSnapshot duration = (SummarySnapshot.SummaryDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.COLLECT_DURATION);
+        Assert.assertEquals(Labels.of("collector", "requests"), duration.getLabels());
+        Assert.assertEquals(2, duration.getCount());
+        Assert.assertEquals(2.0, ((GaugeSnapshot.GaugeDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.SERIES)).getValue(), 0.0);
+        Assert.assertNull(find(snapshots, ScrapeMetrics.ENCODE_DURATION)); // only present after the first response
+
+        registry.unregister(counter);
+        Assert.assertNull(find(registry.scrape(), ScrapeMetrics.COLLECT_DURATION));
+
+        registry.unregister(scrapeMetrics);
+        Assert.assertNull(registry.getScrapeMetrics());
+        Assert.assertEquals(0, registry.scrape().size());
+    }
+
+    @Test
+    public void testEncodingMetrics() {
+        ScrapeMetrics scrapeMetrics = new ScrapeMetrics();
+        scrapeMetrics.scrapeStarted();
+        scrapeMetrics.recordEncoding("openmetrics-text", 2_000_000, 1000, 200);
+        scrapeMetrics.recordEncoding("openmetrics-text", 3_000_000, 1000, 200);
+        MetricSnapshots snapshots = scrapeMetrics.collect();
+        SummarySnapshot.SummaryDataPointSnapshot duration = (SummarySnapshot.SummaryDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.ENCODE_DURATION);
+        Assert.assertEquals(Labels.of("format", "openmetrics-text"), duration.getLabels());
+        Assert.assertEquals(2, duration.getCount());
+        Assert.assertEquals(0.005, duration.getSum(), 0.0000001);
+        Assert.assertEquals(2000.0, ((CounterSnapshot.CounterDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.UNCOMPRESSED_BYTES)).getValue(), 0.0);
+        Assert.assertEquals(400.0, ((CounterSnapshot.CounterDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.RESPONSE_BYTES)).getValue(), 0.0);
+        Assert.assertEquals(Unit.SECONDS, find(snapshots, ScrapeMetrics.ENCODE_DURATION).getMetadata().getUnit());
+        Assert.assertEquals(Unit.BYTES, find(snapshots, ScrapeMetrics.UNCOMPRESSED_BYTES).getMetadata().getUnit());
+        Assert.assertEquals(Unit.BYTES, find(snapshots, ScrapeMetrics.RESPONSE_BYTES).getMetadata().getUnit());
+        Assert.assertEquals(1.0, ((GaugeSnapshot.GaugeDataPointSnapshot) dataPoint(snapshots, ScrapeMetrics.IN_FLIGHT)).getValue(), 0.0);
+        scrapeMetrics.scrapeFinished();
+        Assert.assertEquals(0.0, ((GaugeSnapshot.GaugeDataPointSnapshot) dataPoint(scrapeMetrics.collect(), ScrapeMetrics.IN_FLIGHT)).getValue(), 0.0);
+    }
+
+    @Test
+    public void testCollectorOptionsName() {
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(new ScrapeMetrics());
+        registry.register(counter, CollectorOptions.builder().name("my_collector").build());
+        MetricSnapshots snapshots = registry.scrape();
+        Assert.assertEquals(Labels.of("collector", "my_collector"), dataPoint(snapshots, ScrapeMetrics.COLLECT_DURATION).getLabels());
+    }
+
+    private MetricSnapshot find(MetricSnapshots snapshots, String name) {
+        for (MetricSnapshot snapshot : snapshots) {
+            if (snapshot.getMetadata().getName().equals(name)) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    private DataPointSnapshot dataPoint(MetricSnapshots snapshots, String name) {
+        MetricSnapshot snapshot = find(snapshots, name);
+        Assert.assertNotNull(name + " not found", snapshot);
+        Assert.assertEquals(1, snapshot.getDataPoints().size());
+        return snapshot.getDataPoints().get(0);
+    }
+}